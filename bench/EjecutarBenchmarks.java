@@ -0,0 +1,41 @@
+package smarttask;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks de SmartTask.
+ *
+ * <p>Ejecuta todos los benchmarks del módulo con el perfilador de GC
+ * activado, así cada resultado incluye la tasa de asignación
+ * ({@code gc.alloc.rate.norm}: bytes por operación). Acepta las mismas
+ * opciones de línea de comandos que JMH, por ejemplo:</p>
+ * <pre>
+ *   java smarttask.EjecutarBenchmarks buscarPorId -p tamano=1000,1000000
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public class EjecutarBenchmarks {
+
+    /**
+     * @param args opciones de JMH (filtro de benchmarks, {@code -p}, {@code -f}, etc.)
+     * @throws RunnerException            si falla algún benchmark
+     * @throws CommandLineOptionException si las opciones no son válidas
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        ChainedOptionsBuilder opciones = new OptionsBuilder()
+                .parent(linea)
+                .addProfiler(GCProfiler.class);
+        // Sin filtro en la línea de comandos se ejecutan todos los benchmarks del módulo
+        if (linea.getIncludes().isEmpty()) opciones.include(GestorTareasBenchmark.class.getSimpleName());
+        new Runner(opciones.build()).run();
+    }
+}
@@ -0,0 +1,187 @@
+package smarttask;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH de las operaciones más usadas de {@link GestorTareas}.
+ *
+ * <p>Cada benchmark se mide con gestores de distinto tamaño ({@code tamano}),
+ * desde mil hasta diez millones de tareas, en dos modos: operaciones por
+ * segundo ({@code Throughput}) y tiempo promedio por operación
+ * ({@code AverageTime}). Con {@code -prof gc} (ver {@link EjecutarBenchmarks})
+ * también se informa cuántos bytes se asignan por operación.</p>
+ *
+ * <p>Las operaciones que modifican el gestor deshacen su cambio en la misma
+ * invocación (agregar → eliminar, completar → reabrir, eliminar →
+ * reinsertar) para que el tamaño medido sea siempre {@code tamano}. Por eso
+ * el gestor se carga una sola vez por tamaño ({@link Level#Trial}): cargar
+ * diez millones de tareas antes de cada iteración no agrega nada.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class GestorTareasBenchmark {
+
+    /** Cantidad de tareas cargadas antes de medir. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamano;
+
+    /** IDs al azar precalculados: generar el número no debe entrar en la medición. */
+    private static final int IDS_AL_AZAR = 1 << 16;
+
+    private GestorTareas gestor;
+    private int[] ids;
+    private int cursor;
+    private PrintStream salidaOriginal;
+    private final ExportadorTareas exportador = new ExportadorTareas();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = new GestorTareas(false);
+        for (int i = 0; i < tamano; i++) {
+            Prioridad prioridad = Prioridad.desdeCodigo(i % 3);
+            if (i % 10 == 0) gestor.agregarTareaUrgenteLogica("Urgente " + i, prioridad, "2026-03-01");
+            else             gestor.agregarTareaNormalLogica("Tarea " + i, prioridad);
+        }
+        // La mitad de las tareas queda completada para que ambas particiones pesen
+        for (int id = 2; id <= tamano; id += 2) gestor.marcarComoCompletada(id);
+
+        SplittableRandom azar = new SplittableRandom(42);
+        ids = new int[IDS_AL_AZAR];
+        for (int i = 0; i < ids.length; i++) ids[i] = 1 + azar.nextInt(tamano);
+        cursor = 0;
+
+        // listarTodas() imprime: se descarta la salida para medir solo el armado
+        salidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restaurar() {
+        System.setOut(salidaOriginal);
+    }
+
+    private int siguienteId() {
+        return ids[cursor++ & (IDS_AL_AZAR - 1)];
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AGREGAR
+    // ─────────────────────────────────────────────────────────────────────────
+
+    // La tarea nueva es la última de la lista: eliminarla no deja lápida ni
+    // corre nada, así que el costo medido es casi todo el del alta. Su ID se
+    // devuelve para que cada invocación reuse el mismo y no crezcan los IDs.
+
+    @Benchmark
+    public Tarea agregarTareaNormal() {
+        Tarea nueva = gestor.agregarTareaNormalLogica("Nueva tarea", Prioridad.MEDIA);
+        gestor.eliminarTarea(nueva.getId());
+        gestor.devolverIds(nueva.getId(), 1);
+        return nueva;
+    }
+
+    @Benchmark
+    public Tarea agregarTareaUrgente() {
+        Tarea nueva = gestor.agregarTareaUrgenteLogica("Nueva urgente", Prioridad.ALTA, "2026-03-01");
+        gestor.eliminarTarea(nueva.getId());
+        gestor.devolverIds(nueva.getId(), 1);
+        return nueva;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  BUSCAR / COMPLETAR / ELIMINAR
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public Tarea buscarPorId() {
+        return gestor.buscarPorId(siguienteId());
+    }
+
+    @Benchmark
+    public boolean completarYReabrir() {
+        int id = siguienteId();
+        Tarea t = gestor.buscarPorId(id);
+        boolean estabaCompletada = t.isCompletado();
+        if (estabaCompletada) t.setCompletado(false);
+        boolean marcada = gestor.marcarComoCompletada(id);
+        if (!estabaCompletada) t.setCompletado(false);
+        return marcada;
+    }
+
+    @Benchmark
+    public boolean eliminarYReinsertar() {
+        Tarea t = gestor.buscarPorId(siguienteId());
+        boolean eliminada = gestor.eliminarTarea(t.getId());
+        gestor.insertar(t);
+        return eliminada;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSULTAS Y LISTADO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public List<Tarea> obtenerPendientes() {
+        return gestor.obtenerPendientes();
+    }
+
+    @Benchmark
+    public List<Tarea> obtenerCompletadas() {
+        return gestor.obtenerCompletadas();
+    }
+
+    @Benchmark
+    public List<Tarea> buscar() {
+        // El índice se arma en la primera llamada (durante el calentamiento)
+        return gestor.buscar("urgente 12", 20);
+    }
+
+    @Benchmark
+    public List<Tarea> topK() {
+        return gestor.topK(10);
+    }
+
+    @Benchmark
+    public PaginaTareas obtenerPagina() {
+        // Una página de 50 pendientes desde un punto al azar, como una vista paginada
+        return gestor.obtenerPagina(siguienteId(), 50, PaginaTareas.Filtro.PENDIENTES);
+    }
+
+    @Benchmark
+    public void listarTodas() {
+        gestor.listarTodas();
+    }
+
+    @Benchmark
+    public int exportarJsonl() throws IOException {
+        // Canal que descarta los bytes: se mide recorrer, armar y codificar
+        return exportador.exportar(gestor, ExportadorTareas.Formato.JSONL, Channels.newChannel(OutputStream.nullOutputStream()));
+    }
+}
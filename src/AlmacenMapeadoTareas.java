@@ -0,0 +1,414 @@
+package smarttask;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Clase {@code AlmacenMapeadoTareas} — archivo binario de tareas leído con
+ * {@link FileChannel#map}.
+ *
+ * <p>Recrear millones de {@link TareaNormal}/{@link TareaUrgente} una por una
+ * al arrancar es lento. Este formato guarda cada tarea como un registro de
+ * tamaño fijo, así la tarea {@code i} está siempre en la misma posición y se
+ * puede leer sin recorrer las anteriores. Al abrir el archivo solo se mapea en
+ * memoria: el sistema operativo trae cada página del disco la primera vez que
+ * se lee, y nada se copia al heap hasta que se pide.</p>
+ *
+ * <p>{@link #crearGestor()} devuelve un {@link GestorTareas} respaldado por el
+ * archivo: abre sin crear ninguna tarea, responde el total, las búsquedas por
+ * ID y las páginas de {@code obtenerPagina} materializando solo lo que
+ * devuelve, y carga el resto la primera vez que se necesita todo (un cambio,
+ * un listado por estado, una búsqueda por texto). {@link PersistenciaTareas}
+ * guarda sus instantáneas en este formato y las abre así.</p>
+ *
+ * <p>Estructura del archivo:</p>
+ * <pre>
+ *   CABECERA (48 bytes)
+ *     int  magico, version, cantidad, siguienteId, completadas, reservado
+ *     long secuencia     dato libre de quien escribe (PersistenciaTareas: su diario)
+ *     long inicioRegistros, inicioTextos
+ *   REGISTROS (cantidad × 24 bytes, ordenados por ID)
+ *     int  id
+ *     byte tipo          1 = normal, 2 = urgente
+ *     byte prioridad     Prioridad.ordinal(): 0 = ALTA, 1 = MEDIA, 2 = BAJA
+ *     byte completado    0 / 1
+ *     byte reservado
+ *     int  fechaLimite   días desde 1970-01-01 (SIN_FECHA si no tiene)
+ *     int  textoInicio   posición dentro de la zona de textos
+ *     int  largoNombre   bytes UTF-8 del nombre (-1 = null)
+ *     int  largoFecha    bytes de la fecha original si no era AAAA-MM-DD, si no 0
+ *                        (-1 = urgente con fecha null)
+ *   TEXTOS (nombres en UTF-8, uno tras otro)
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class AlmacenMapeadoTareas implements Closeable {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTANTES DEL FORMATO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** "STM1" */
+    private static final int MAGICO  = 0x53544D31;
+    private static final int VERSION = 1;
+
+    private static final int TAM_CABECERA = 48;
+    private static final int TAM_REGISTRO = 24;
+
+    /** Bytes de un texto {@code null}: no ocupa nada en la zona de textos. */
+    private static final byte[] SIN_TEXTO = new byte[0];
+
+    static final byte TIPO_NORMAL  = 1;
+    static final byte TIPO_URGENTE = 2;
+
+    /** Valor de {@code fechaLimite} para tareas sin fecha (o con fecha no ISO). */
+    public static final int SIN_FECHA = TareaUrgente.SIN_FECHA;
+
+    // Desplazamientos dentro de cada registro
+    private static final int R_ID          = 0;
+    private static final int R_TIPO        = 4;
+    private static final int R_PRIORIDAD   = 5;
+    private static final int R_COMPLETADO  = 6;
+    private static final int R_FECHA       = 8;
+    private static final int R_TEXTO       = 12;
+    private static final int R_LARGO_NOMBRE = 16;
+    private static final int R_LARGO_FECHA  = 20;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final FileChannel canal;
+    private final MappedByteBuffer registros;
+    private final MappedByteBuffer textos;
+    private final int cantidad;
+    private final int siguienteId;
+    private final int completadas;
+    private final long secuencia;
+
+    private AlmacenMapeadoTareas(FileChannel canal, MappedByteBuffer registros, MappedByteBuffer textos,
+                                 int cantidad, int siguienteId, int completadas, long secuencia) {
+        this.canal       = canal;
+        this.registros   = registros;
+        this.textos      = textos;
+        this.cantidad    = cantidad;
+        this.siguienteId = siguienteId;
+        this.completadas = completadas;
+        this.secuencia   = secuencia;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  ESCRITURA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Escribe todas las tareas del gestor en el archivo indicado.
+     *
+     * @param gestor  gestor de origen
+     * @param archivo archivo destino (se reemplaza)
+     * @throws IOException si falla la escritura
+     */
+    public static void escribir(GestorTareas gestor, Path archivo) throws IOException {
+        escribir(gestor.obtenerTodas(), gestor.getSiguienteId(), 0, archivo);
+    }
+
+    /**
+     * Escribe las tareas en el archivo indicado. Registros y textos se escriben
+     * en sus zonas con dos búferes reutilizables: la memoria usada no depende
+     * de la cantidad de tareas.
+     *
+     * @param tareas      tareas ordenadas por ID
+     * @param siguienteId próximo ID libre
+     * @param secuencia   valor que devolverá {@link #getSecuencia()}
+     * @param archivo     archivo destino (se reemplaza)
+     * @throws IOException si falla la escritura
+     */
+    static void escribir(Collection<? extends Tarea> tareas, int siguienteId, long secuencia,
+                         Path archivo) throws IOException {
+        int n = tareas.size();
+        long inicioTextos = TAM_CABECERA + (long) n * TAM_REGISTRO;
+        try (FileChannel salida = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer reg = ByteBuffer.allocate(64 * 1024);
+            ByteBuffer txt = ByteBuffer.allocate(64 * 1024);
+            long posReg = TAM_CABECERA, posTxt = inicioTextos;
+            int textoInicio = 0, idAnterior = Integer.MIN_VALUE, completadas = 0;
+
+            for (Tarea t : tareas) {
+                if (t.getId() <= idAnterior) throw new IllegalArgumentException("Las tareas deben estar ordenadas por ID");
+                idAnterior = t.getId();
+
+                byte[] nombre = t.getNombre() == null ? SIN_TEXTO : t.getNombre().getBytes(StandardCharsets.UTF_8);
+                int largoNombre = t.getNombre() == null ? -1 : nombre.length;
+                byte[] fechaTexto = SIN_TEXTO;
+                int largoFecha = 0;
+                int fecha = SIN_FECHA;
+                if (t instanceof TareaUrgente) {
+                    TareaUrgente u = (TareaUrgente) t;
+                    fecha = u.getDiaLimite(); // ya convertida al crear la tarea
+                    if (fecha == SIN_FECHA && u.getFechaLimite() == null) {
+                        largoFecha = -1;
+                    } else if (fecha == SIN_FECHA) {
+                        fechaTexto = u.getFechaLimite().getBytes(StandardCharsets.UTF_8);
+                        largoFecha = fechaTexto.length;
+                    }
+                }
+
+                if (reg.remaining() < TAM_REGISTRO) posReg = volcar(salida, reg, posReg);
+                reg.putInt(t.getId());
+                reg.put(t instanceof TareaUrgente ? TIPO_URGENTE : TIPO_NORMAL);
+                reg.put((byte) t.getPrioridad().ordinal());
+                reg.put((byte) (t.isCompletado() ? 1 : 0));
+                if (t.isCompletado()) completadas++;
+                reg.put((byte) 0);
+                reg.putInt(fecha);
+                reg.putInt(textoInicio);
+                reg.putInt(largoNombre);
+                reg.putInt(largoFecha);
+
+                posTxt = agregarTexto(salida, txt, posTxt, nombre);
+                posTxt = agregarTexto(salida, txt, posTxt, fechaTexto);
+                textoInicio += nombre.length + fechaTexto.length;
+                if (textoInicio < 0) throw new IOException("Los nombres superan el tamaño mapeable (2 GB)");
+            }
+            volcar(salida, reg, posReg);
+            volcar(salida, txt, posTxt);
+
+            ByteBuffer cabecera = ByteBuffer.allocate(TAM_CABECERA);
+            cabecera.putInt(MAGICO).putInt(VERSION).putInt(n).putInt(siguienteId).putInt(completadas).putInt(0)
+                    .putLong(secuencia).putLong(TAM_CABECERA).putLong(inicioTextos).flip();
+            salida.write(cabecera, 0);
+            salida.force(true);
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  LECTURA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Abre un archivo escrito con {@link #escribir}. Solo lee la cabecera y
+     * mapea el resto: el costo no depende de la cantidad de tareas.
+     *
+     * @param archivo archivo a abrir
+     * @return el almacén listo para leer
+     * @throws IOException si el archivo no existe o no tiene el formato esperado
+     */
+    public static AlmacenMapeadoTareas abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(TAM_CABECERA);
+            while (cabecera.hasRemaining() && canal.read(cabecera) >= 0) { /* leer completa */ }
+            cabecera.flip();
+            if (cabecera.remaining() < TAM_CABECERA || cabecera.getInt() != MAGICO) {
+                throw new IOException("No es un almacén de SmartTask: " + archivo);
+            }
+            int version = cabecera.getInt();
+            if (version != VERSION) throw new IOException("Versión de almacén no soportada: " + version);
+            int cantidad        = cabecera.getInt();
+            int siguienteId     = cabecera.getInt();
+            int completadas     = cabecera.getInt();
+            cabecera.getInt(); // reservado
+            long secuencia       = cabecera.getLong();
+            long inicioRegistros = cabecera.getLong();
+            long inicioTextos    = cabecera.getLong();
+            long largoTextos     = canal.size() - inicioTextos;
+            if (largoTextos > Integer.MAX_VALUE || inicioTextos - inicioRegistros > Integer.MAX_VALUE) {
+                throw new IOException("El almacén supera el tamaño mapeable (2 GB por zona)");
+            }
+
+            MappedByteBuffer registros = canal.map(FileChannel.MapMode.READ_ONLY,
+                    inicioRegistros, (long) cantidad * TAM_REGISTRO);
+            MappedByteBuffer textos = canal.map(FileChannel.MapMode.READ_ONLY, inicioTextos, largoTextos);
+            return new AlmacenMapeadoTareas(canal, registros, textos, cantidad, siguienteId, completadas, secuencia);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /** @return cantidad de tareas guardadas */
+    public int getCantidad() { return cantidad; }
+
+    /** @return el próximo ID libre al momento de escribir el archivo */
+    public int getSiguienteId() { return siguienteId; }
+
+    /** @return cantidad de tareas completadas, sin recorrer los registros */
+    public int getCompletadas() { return completadas; }
+
+    /** @return el valor de secuencia con que se escribió el archivo */
+    long getSecuencia() { return secuencia; }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ACCESO POR POSICIÓN — lee directo del mapeo, sin crear objetos
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** @param i posición (0 … cantidad-1) @return ID de la tarea */
+    public int getId(int i)              { return registros.getInt(base(i) + R_ID); }
+
+    /** @param i posición @return {@code true} si es una {@link TareaUrgente} */
+    public boolean esUrgente(int i)      { return registros.get(base(i) + R_TIPO) == TIPO_URGENTE; }
+
+    /** @param i posición @return {@code true} si está completada */
+    public boolean isCompletado(int i)   { return registros.get(base(i) + R_COMPLETADO) != 0; }
+
+    /** @param i posición @return la prioridad de la tarea */
+    public Prioridad getPrioridad(int i) { return Prioridad.desdeCodigo(registros.get(base(i) + R_PRIORIDAD)); }
+
+    /** @param i posición @return fecha límite en días desde 1970-01-01, o {@link #SIN_FECHA} */
+    public int getFechaLimiteDias(int i) { return registros.getInt(base(i) + R_FECHA); }
+
+    /**
+     * Decodifica el nombre de la tarea desde la zona de textos.
+     *
+     * @param i posición
+     * @return el nombre (puede ser {@code null})
+     */
+    public String getNombre(int i) {
+        int b = base(i);
+        return leerTexto(registros.getInt(b + R_TEXTO), registros.getInt(b + R_LARGO_NOMBRE));
+    }
+
+    /**
+     * Devuelve la fecha límite como texto, tal como se guardó.
+     *
+     * @param i posición
+     * @return la fecha, o {@code null} si la tarea no es urgente o no tiene
+     */
+    public String getFechaLimite(int i) {
+        if (!esUrgente(i)) return null;
+        int b = base(i);
+        int largoFecha = registros.getInt(b + R_LARGO_FECHA);
+        if (largoFecha == 0) {
+            int dias = registros.getInt(b + R_FECHA);
+            return dias == SIN_FECHA ? "" : LocalDate.ofEpochDay(dias).toString();
+        }
+        int largoNombre = Math.max(0, registros.getInt(b + R_LARGO_NOMBRE));
+        return leerTexto(registros.getInt(b + R_TEXTO) + largoNombre, largoFecha);
+    }
+
+    /**
+     * Busca la posición de una tarea por su ID (búsqueda binaria sobre los
+     * registros, que están ordenados por ID).
+     *
+     * @param id ID buscado
+     * @return posición, o -1 si no existe
+     */
+    public int posicionDe(int id) {
+        int i = posicionDesde(id);
+        return i < cantidad && getId(i) == id ? i : -1;
+    }
+
+    /**
+     * Primera posición cuyo ID es mayor o igual que {@code id}.
+     *
+     * @param id ID buscado
+     * @return posición, o {@link #getCantidad()} si todos los IDs son menores
+     */
+    public int posicionDesde(int id) {
+        int bajo = 0, alto = cantidad;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (getId(medio) < id) bajo = medio + 1;
+            else                   alto = medio;
+        }
+        return bajo;
+    }
+
+    /**
+     * Crea el objeto {@link Tarea} de la posición indicada.
+     *
+     * @param i posición
+     * @return una {@link TareaNormal} o {@link TareaUrgente} nueva
+     */
+    public Tarea materializar(int i) {
+        Tarea t = esUrgente(i)
+                ? new TareaUrgente(getId(i), getNombre(i), getPrioridad(i), getFechaLimite(i))
+                : new TareaNormal(getId(i), getNombre(i), getPrioridad(i));
+        t.setCompletado(isCompletado(i));
+        return t;
+    }
+
+    /**
+     * Carga todas las tareas en un gestor (que debería estar vacío), una por
+     * una y de inmediato. Para abrir sin crear las tareas, ver
+     * {@link #crearGestor()}.
+     *
+     * @param gestor gestor destino
+     */
+    public void cargarEn(GestorTareas gestor) {
+        for (int i = 0; i < cantidad; i++) gestor.insertar(materializar(i));
+        gestor.ajustarSiguienteId(siguienteId);
+    }
+
+    /**
+     * Crea un gestor respaldado por este archivo. No crea ninguna tarea: el
+     * costo es el mismo con mil que con diez millones. Desde aquí el gestor
+     * es dueño del almacén y lo cierra cuando termina de cargar todo.
+     *
+     * @return gestor con las tareas del archivo, sin materializar
+     */
+    public GestorTareas crearGestor() {
+        GestorTareas gestor = new GestorTareas(false);
+        gestor.respaldarCon(this);
+        return gestor;
+    }
+
+    /**
+     * Cierra el canal. Java libera el mapeo cuando el recolector descarta
+     * los búferes; no se debe seguir leyendo después de cerrar.
+     *
+     * @throws IOException si falla el cierre
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private int base(int i) {
+        if (i < 0 || i >= cantidad) throw new IndexOutOfBoundsException("Posición " + i + " de " + cantidad);
+        return i * TAM_REGISTRO;
+    }
+
+    /** Lee un texto de la zona de textos; un largo negativo es {@code null}. */
+    private String leerTexto(int inicio, int largo) {
+        if (largo < 0) return null;
+        byte[] bytes = new byte[largo];
+        textos.get(inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Agrega bytes a la zona de textos, volcando el búfer cuando se llena. */
+    private static long agregarTexto(FileChannel salida, ByteBuffer txt, long pos, byte[] bytes) throws IOException {
+        int hecho = 0;
+        while (hecho < bytes.length) {
+            if (!txt.hasRemaining()) pos = volcar(salida, txt, pos);
+            int n = Math.min(txt.remaining(), bytes.length - hecho);
+            txt.put(bytes, hecho, n);
+            hecho += n;
+        }
+        return pos;
+    }
+
+    /** Escribe el búfer en la posición indicada y devuelve la posición siguiente. */
+    private static long volcar(FileChannel salida, ByteBuffer buf, long pos) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) pos += salida.write(buf, pos);
+        buf.clear();
+        return pos;
+    }
+}
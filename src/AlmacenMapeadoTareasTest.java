@@ -0,0 +1,179 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link AlmacenMapeadoTareas}: escribir un gestor al formato
+ * binario, abrirlo con {@code FileChannel.map} y comprobar que cada campo
+ * se lee igual que en las tareas originales.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del almacén binario mapeado en memoria")
+class AlmacenMapeadoTareasTest {
+
+    @TempDir
+    Path carpeta;
+
+    private GestorTareas gestor;
+    private Path archivo;
+
+    @BeforeEach
+    void setUp() {
+        gestor  = new GestorTareas(false);
+        archivo = carpeta.resolve("tareas.stm");
+    }
+
+    @Test
+    @DisplayName("Cada campo se lee igual al original sin materializar la tarea")
+    void testCamposPorPosicion() throws IOException {
+        gestor.agregarTareaNormalLogica("Estudiar ñandú", "BAJA");
+        TareaUrgente u = gestor.agregarTareaUrgenteLogica("Entregar", "ALTA", "2026-03-01");
+        gestor.marcarComoCompletada(u.getId());
+
+        AlmacenMapeadoTareas.escribir(gestor, archivo);
+
+        try (AlmacenMapeadoTareas almacen = AlmacenMapeadoTareas.abrir(archivo)) {
+            assertEquals(2, almacen.getCantidad());
+            assertEquals("Estudiar ñandú", almacen.getNombre(0));
+            assertEquals(Prioridad.BAJA, almacen.getPrioridad(0));
+            assertFalse(almacen.esUrgente(0));
+            assertNull(almacen.getFechaLimite(0));
+
+            assertTrue(almacen.esUrgente(1));
+            assertTrue(almacen.isCompletado(1));
+            assertEquals("2026-03-01", almacen.getFechaLimite(1));
+            assertEquals(java.time.LocalDate.of(2026, 3, 1).toEpochDay(), almacen.getFechaLimiteDias(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Un nombre o una fecha límite null vuelven como null; los textos siguientes no se corren")
+    void testTextosNull() throws IOException {
+        gestor.agregarTareaNormalLogica(null, "MEDIA");
+        gestor.agregarTareaUrgenteLogica(null, "ALTA", null);
+        gestor.agregarTareaUrgenteLogica("Sin nombre antes", "ALTA", "pronto");
+        gestor.agregarTareaUrgenteLogica("Vacía", "BAJA", "");
+
+        AlmacenMapeadoTareas.escribir(gestor, archivo);
+
+        try (AlmacenMapeadoTareas almacen = AlmacenMapeadoTareas.abrir(archivo)) {
+            assertNull(almacen.getNombre(0));
+            assertNull(almacen.getNombre(1));
+            assertNull(almacen.getFechaLimite(1));
+            assertEquals("Sin nombre antes", almacen.getNombre(2));
+            assertEquals("pronto", almacen.getFechaLimite(2));
+            assertEquals("", almacen.getFechaLimite(3));
+            TareaUrgente u = (TareaUrgente) almacen.materializar(1);
+            assertNull(u.getNombre());
+            assertNull(u.getFechaLimite());
+        }
+    }
+
+    @Test
+    @DisplayName("cargarEn() reconstruye un gestor equivalente")
+    void testCargarEnGestor() throws IOException {
+        for (int i = 0; i < 5_000; i++) {
+            if (i % 3 == 0) gestor.agregarTareaUrgenteLogica("U" + i, "ALTA", "2026-04-" + (10 + i % 19));
+            else            gestor.agregarTareaNormalLogica("N" + i, i % 2 == 0 ? "MEDIA" : "BAJA");
+        }
+        gestor.eliminarTarea(5_000); // el siguiente ID libre debe conservarse
+        AlmacenMapeadoTareas.escribir(gestor, archivo);
+
+        GestorTareas copia = new GestorTareas(false);
+        try (AlmacenMapeadoTareas almacen = AlmacenMapeadoTareas.abrir(archivo)) {
+            almacen.cargarEn(copia);
+        }
+
+        assertEquals(gestor.getTotalTareas(), copia.getTotalTareas());
+        for (Tarea t : gestor.obtenerTodas()) {
+            assertEquals(t.toString(), copia.buscarPorId(t.getId()).toString());
+        }
+        assertEquals(5_001, copia.agregarTareaNormalLogica("Nueva", "ALTA").getId());
+    }
+
+    @Test
+    @DisplayName("crearGestor() abre sin crear tareas: la apertura se mide aparte de la carga")
+    void testGestorRespaldado() throws IOException {
+        int n = 500_000;
+        List<Tarea> tareas = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            Tarea t = i % 4 == 0
+                    ? new TareaUrgente(i, "Entrega " + i, Prioridad.ALTA, "2026-05-" + (10 + i % 19))
+                    : new TareaNormal(i, "Tarea " + i, Prioridad.MEDIA);
+            if (i % 3 == 0) t.setCompletado(true);
+            tareas.add(t);
+        }
+        AlmacenMapeadoTareas.escribir(tareas, n + 1, 0, archivo);
+
+        long inicio = System.nanoTime();
+        GestorTareas respaldado = AlmacenMapeadoTareas.abrir(archivo).crearGestor();
+        long nanosApertura = System.nanoTime() - inicio;
+
+        assertTrue(respaldado.isRespaldado());
+        assertEquals(n, respaldado.getTotalTareas());
+        assertEquals(n / 3, respaldado.getTotalCompletadas());
+        Tarea t = respaldado.buscarPorId(400_000);
+        assertEquals(tareas.get(399_999).toString(), t.toString());
+        assertSame(t, respaldado.buscarPorId(400_000));
+        assertNull(respaldado.buscarPorId(n + 1));
+        PaginaTareas pagina = respaldado.obtenerPagina(399_999, 3, PaginaTareas.Filtro.TODAS);
+        assertSame(t, pagina.getTareas().get(1));
+        assertEquals(400_002, pagina.getSiguienteCursor());
+
+        // Cambios sobre tareas entregadas antes de cargar: se conservan al cargar
+        assertTrue(respaldado.marcarComoCompletada(400_000));
+        t.setNombre("Renombrada");
+        assertEquals(n / 3 + 1, respaldado.getTotalCompletadas());
+        assertTrue(respaldado.isRespaldado());
+
+        inicio = System.nanoTime();
+        List<Tarea> pendientes = respaldado.obtenerPendientes();
+        long nanosCarga = System.nanoTime() - inicio;
+
+        assertFalse(respaldado.isRespaldado());
+        assertEquals(n - n / 3 - 1, pendientes.size());
+        assertSame(t, respaldado.buscarPorId(400_000));
+        assertTrue(respaldado.obtenerCompletadas().contains(t));
+        assertEquals("Renombrada", respaldado.buscar("renombrada", 5).get(0).getNombre());
+        assertEquals(n + 1, respaldado.agregarTareaNormalLogica("Nueva", Prioridad.BAJA).getId());
+        assertTrue(nanosApertura < nanosCarga, nanosApertura + " ns vs " + nanosCarga + " ns");
+        System.out.printf(Locale.ROOT, "  Almacén mapeado: %d tareas, apertura %.2f ms, carga completa %.0f ms%n",
+                n, nanosApertura / 1e6, nanosCarga / 1e6);
+    }
+
+    @Test
+    @DisplayName("posicionDe() encuentra un ID por búsqueda binaria")
+    void testPosicionDe() throws IOException {
+        for (int i = 0; i < 100; i++) gestor.agregarTareaNormalLogica("T" + i, "MEDIA");
+        gestor.eliminarTarea(50);
+        AlmacenMapeadoTareas.escribir(gestor, archivo);
+
+        try (AlmacenMapeadoTareas almacen = AlmacenMapeadoTareas.abrir(archivo)) {
+            assertEquals("T79", almacen.getNombre(almacen.posicionDe(80)));
+            assertEquals(-1, almacen.posicionDe(50));
+        }
+    }
+
+    @Test
+    @DisplayName("Abrir un archivo ajeno falla con IOException")
+    void testArchivoInvalido() throws IOException {
+        Files.write(archivo, new byte[] { 1, 2, 3 });
+
+        assertThrows(IOException.class, () -> AlmacenMapeadoTareas.abrir(archivo));
+    }
+}
@@ -0,0 +1,392 @@
+package smarttask;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clase {@code BusEventos} — publica cada cambio de un {@link GestorTareas}
+ * para que otros componentes (índices, persistencia, interfaces) lo sigan.
+ *
+ * <p>Es un <em>búfer circular</em> de un productor y varios consumidores. Los
+ * {@link Evento} se crean una sola vez al construir el bus y se reutilizan:
+ * publicar copia los datos de la tarea (tipo, ID, nombre, prioridad, estado y
+ * fecha límite) en la casilla siguiente y avanza un cursor con una escritura
+ * {@code release}, sin candados ni objetos nuevos. Cada consumidor corre en su
+ * propio hilo, lee el cursor y procesa <em>en lote</em> todo lo publicado
+ * desde su última vuelta; solo entonces anuncia hasta dónde llegó.</p>
+ *
+ * <p>Un consumidor sin trabajo gira unas vueltas y después se duerme; el
+ * productor lo despierta al publicar. Mientras nadie duerme, ese aviso cuesta
+ * una lectura volátil por evento.</p>
+ *
+ * <p>El productor es el hilo que usa el gestor. Si el consumidor más lento
+ * está {@link #getCapacidad()} eventos atrás, el productor espera a que libere
+ * lugar: ningún evento se pierde ni se pisa. Con capacidad suficiente esa
+ * espera no ocurre y el camino de escritura no paga nada por los
+ * consumidores.</p>
+ *
+ * <pre>
+ *   BusEventos bus = new BusEventos(gestor, 4096);
+ *   bus.suscribir("auditoria", (evento, secuencia, finDeLote) -&gt; { ... });
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class BusEventos {
+
+    /** Qué le pasó a la tarea. */
+    public enum Tipo { CREADA, COMPLETADA, REABIERTA, MODIFICADA, ELIMINADA }
+
+    /**
+     * Casilla del búfer. Se reutiliza: sus datos solo son válidos dentro de
+     * {@link Consumidor#alEvento}. Los datos de la tarea se copian al publicar,
+     * así que el consumidor ve la tarea como estaba en ese momento aunque el
+     * gestor ya la haya vuelto a cambiar. {@link #getTarea()} es la tarea viva,
+     * que no es segura para hilos: para leerla hay que volver al hilo del
+     * gestor.
+     */
+    public static final class Evento {
+        private Tipo tipo;
+        private int idTarea;
+        private String nombre;
+        private String nombreAnterior;
+        private Prioridad prioridad;
+        private boolean completado;
+        private boolean urgente;
+        private int diaLimite;
+        private Tarea tarea;
+
+        /** @return qué le pasó a la tarea */
+        public Tipo getTipo() { return tipo; }
+
+        /** @return ID de la tarea */
+        public int getIdTarea() { return idTarea; }
+
+        /** @return nombre de la tarea al publicar el evento */
+        public String getNombre() { return nombre; }
+
+        /**
+         * @return nombre que tenía antes, si el evento es un cambio de nombre
+         *         ({@link Tipo#MODIFICADA}); si no, {@code null}
+         */
+        public String getNombreAnterior() { return nombreAnterior; }
+
+        /** @return prioridad de la tarea al publicar el evento */
+        public Prioridad getPrioridad() { return prioridad; }
+
+        /** @return si la tarea estaba completada al publicar el evento */
+        public boolean isCompletado() { return completado; }
+
+        /** @return si la tarea es una {@link TareaUrgente} */
+        public boolean isUrgente() { return urgente; }
+
+        /**
+         * @return fecha límite en días desde 1970-01-01, o
+         *         {@link TareaUrgente#SIN_FECHA} si no es urgente o no tiene
+         *         fecha AAAA-MM-DD
+         */
+        public int getDiaLimite() { return diaLimite; }
+
+        /** @return la tarea (viva, no una copia) */
+        public Tarea getTarea() { return tarea; }
+    }
+
+    /** Procesa los eventos en el hilo de su suscripción. */
+    @FunctionalInterface
+    public interface Consumidor {
+        /**
+         * @param evento    evento (solo válido durante la llamada)
+         * @param secuencia número del evento, creciente desde 1
+         * @param finDeLote {@code true} en el último evento disponible del lote
+         *                  (buen momento para vaciar búferes propios)
+         */
+        void alEvento(Evento evento, long secuencia, boolean finDeLote);
+    }
+
+    /** Capacidad si no se indica otra. */
+    public static final int CAPACIDAD_POR_DEFECTO = 4096;
+
+    /** Vueltas activas antes de ceder el procesador al esperar. */
+    private static final int VUELTAS_ACTIVAS = 200;
+
+    /** Pausa entre consultas después de las vueltas activas. */
+    private static final long PAUSA_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Sueño máximo de un consumidor sin trabajo. Solo importa si se pierde un
+     * aviso del productor (el cursor se publica con {@code release}, no con
+     * una barrera completa): el evento llega igual, con esta demora.
+     */
+    private static final long SUENO_MAXIMO_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final GestorTareas gestor;
+    private final Evento[] eventos;
+    private final int mascara;
+
+    /** Último evento publicado; lo escribe solo el productor. */
+    private final AtomicLong cursor = new AtomicLong();
+
+    /** Copia local del cursor (solo la usa el productor). */
+    private long siguiente;
+
+    /** Menor secuencia consumida vista la última vez que hubo que mirarla. */
+    private long minimoConsumido;
+
+    /** Suscripciones activas; se reemplaza el arreglo entero al cambiar (es raro). */
+    private volatile Suscripcion[] suscripciones = new Suscripcion[0];
+
+    /** Consumidores dormidos esperando eventos; el productor los despierta. */
+    private final AtomicInteger dormidos = new AtomicInteger();
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Crea un bus de {@link #CAPACIDAD_POR_DEFECTO} eventos y lo conecta al gestor.
+     *
+     * @param gestor gestor cuyos cambios se publican
+     */
+    public BusEventos(GestorTareas gestor) {
+        this(gestor, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un bus y lo conecta al gestor: desde aquí cada alta, cambio de
+     * estado, modificación y baja se publica.
+     *
+     * @param gestor    gestor cuyos cambios se publican
+     * @param capacidad eventos que caben sin consumir (se redondea a potencia de 2)
+     * @throws IllegalStateException si el gestor ya tiene un bus
+     */
+    public BusEventos(GestorTareas gestor, int capacidad) {
+        if (capacidad < 2) throw new IllegalArgumentException("La capacidad mínima es 2");
+        if (gestor.bus != null) throw new IllegalStateException("El gestor ya tiene un bus de eventos");
+        int n = Integer.highestOneBit(capacidad);
+        if (n < capacidad) n <<= 1;
+        eventos = new Evento[n];
+        for (int i = 0; i < n; i++) eventos[i] = new Evento();
+        mascara = n - 1;
+        this.gestor = gestor;
+        gestor.bus = this;
+    }
+
+    /** @return eventos que caben sin consumir */
+    public int getCapacidad() {
+        return eventos.length;
+    }
+
+    /** @return secuencia del último evento publicado (0 si ninguno) */
+    public long getPublicados() {
+        return cursor.get();
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  PRODUCTOR (de paquete: lo llama el gestor)
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Publica un evento. Solo espera si el consumidor más lento todavía no
+     * liberó la casilla que toca reutilizar.
+     */
+    void publicar(Tipo tipo, Tarea tarea) {
+        publicar(tipo, tarea, null);
+    }
+
+    /**
+     * Publica un evento con el nombre anterior de la tarea (cambio de nombre).
+     * Copia los campos en la casilla: no crea objetos.
+     */
+    void publicar(Tipo tipo, Tarea tarea, String nombreAnterior) {
+        long secuencia = siguiente + 1;
+        long pisaria = secuencia - eventos.length; // evento que ocupaba esta casilla
+        if (pisaria > minimoConsumido) minimoConsumido = esperarLugar(pisaria);
+
+        Evento e = eventos[(int) secuencia & mascara];
+        e.tipo           = tipo;
+        e.idTarea        = tarea.getId();
+        e.nombre         = tarea.getNombre();
+        e.nombreAnterior = nombreAnterior;
+        e.prioridad      = tarea.getPrioridad();
+        e.completado     = tarea.isCompletado();
+        e.urgente        = tarea instanceof TareaUrgente;
+        e.diaLimite      = e.urgente ? ((TareaUrgente) tarea).getDiaLimite() : TareaUrgente.SIN_FECHA;
+        e.tarea          = tarea;
+        siguiente = secuencia;
+        cursor.setRelease(secuencia); // los campos de arriba se ven antes que el cursor
+        if (dormidos.get() > 0) despertar();
+    }
+
+    /** Despierta a los consumidores dormidos (raro: solo tras un rato sin eventos). */
+    private void despertar() {
+        for (Suscripcion s : suscripciones) {
+            if (s.dormida) LockSupport.unpark(s.hilo);
+        }
+    }
+
+    /** Espera a que todos los consumidores hayan pasado {@code secuencia}. */
+    private long esperarLugar(long secuencia) {
+        for (int vueltas = 0; ; vueltas++) {
+            long minimo = minimoDe(suscripciones, siguiente);
+            if (minimo >= secuencia) return minimo;
+            esperar(vueltas);
+        }
+    }
+
+    private static long minimoDe(Suscripcion[] activas, long tope) {
+        long minimo = tope;
+        for (Suscripcion s : activas) minimo = Math.min(minimo, s.consumido);
+        return minimo;
+    }
+
+    private static void esperar(int vueltas) {
+        if (vueltas < VUELTAS_ACTIVAS) Thread.onSpinWait();
+        else                           LockSupport.parkNanos(PAUSA_NANOS);
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  CONSUMIDORES
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Suscribe un consumidor con su propio hilo. Recibe los eventos
+     * publicados desde este momento.
+     *
+     * @param nombre     nombre del hilo (para depurar)
+     * @param consumidor quien procesa los eventos
+     * @return la suscripción, para cancelarla
+     */
+    public synchronized Suscripcion suscribir(String nombre, Consumidor consumidor) {
+        Suscripcion s = new Suscripcion(consumidor, cursor.get());
+        Suscripcion[] nuevas = Arrays.copyOf(suscripciones, suscripciones.length + 1);
+        nuevas[nuevas.length - 1] = s;
+        suscripciones = nuevas;
+        // El productor ya ve la suscripción: recién ahora se fija desde dónde
+        // empieza. Con el orden inverso, lo publicado entre la lectura del
+        // cursor y el alta podría pisar casillas que esta todavía no leyó.
+        s.consumido = cursor.get();
+        s.hilo = Thread.ofPlatform().daemon().name("bus-" + nombre).unstarted(s::consumir);
+        s.hilo.start();
+        return s;
+    }
+
+    private synchronized void quitar(Suscripcion s) {
+        Suscripcion[] nuevas = new Suscripcion[suscripciones.length];
+        int n = 0;
+        for (Suscripcion otra : suscripciones) if (otra != s) nuevas[n++] = otra;
+        suscripciones = Arrays.copyOf(nuevas, n);
+    }
+
+    /**
+     * Espera a que todos los consumidores procesen lo publicado hasta ahora.
+     *
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public void esperarConsumidores() throws InterruptedException {
+        long objetivo = cursor.get();
+        for (int vueltas = 0; minimoDe(suscripciones, objetivo) < objetivo; vueltas++) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            esperar(vueltas);
+        }
+    }
+
+    /**
+     * Espera a que los consumidores terminen lo publicado, los detiene y
+     * desconecta el bus del gestor.
+     *
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public void cerrar() throws InterruptedException {
+        if (gestor.bus == this) gestor.bus = null;
+        esperarConsumidores();
+        for (Suscripcion s : suscripciones) s.cancelar();
+    }
+
+    /** Un consumidor con su hilo y la secuencia hasta la que llegó. */
+    public final class Suscripcion {
+        private final Consumidor consumidor;
+
+        /** Último evento procesado; el productor lo lee para no pisarlo. */
+        private volatile long consumido;
+
+        private volatile boolean activa = true;
+        private volatile boolean dormida;
+        private volatile Thread hilo;
+        private volatile RuntimeException ultimoError;
+        private volatile long errores; // solo lo escribe el hilo del consumidor
+
+        private Suscripcion(Consumidor consumidor, long desde) {
+            this.consumidor = consumidor;
+            this.consumido  = desde;
+        }
+
+        private void consumir() {
+            long procesado = consumido;
+            int vueltas = 0;
+            while (activa) {
+                long disponible = cursor.getAcquire();
+                if (disponible == procesado) {
+                    if (vueltas++ < VUELTAS_ACTIVAS) Thread.onSpinWait();
+                    else                            dormir(procesado);
+                    continue;
+                }
+                vueltas = 0;
+                for (long s = procesado + 1; s <= disponible; s++) {
+                    try {
+                        consumidor.alEvento(eventos[(int) s & mascara], s, s == disponible);
+                    } catch (RuntimeException e) { // un evento con error no frena al resto
+                        ultimoError = e;
+                        errores++;
+                    }
+                }
+                procesado = disponible;
+                consumido = procesado; // una escritura volátil por lote, no por evento
+            }
+        }
+
+        /**
+         * Duerme hasta que el productor avise. Se anuncia dormida y vuelve a
+         * mirar el cursor antes de estacionarse, para no dormirse justo
+         * después de una publicación.
+         */
+        private void dormir(long procesado) {
+            dormida = true;
+            dormidos.incrementAndGet();
+            if (activa && cursor.get() == procesado) LockSupport.parkNanos(this, SUENO_MAXIMO_NANOS);
+            dormidos.decrementAndGet();
+            dormida = false;
+        }
+
+        /** @return secuencia del último evento procesado */
+        public long getConsumido() { return consumido; }
+
+        /** @return eventos cuyo consumidor lanzó una excepción */
+        public long getErrores() { return errores; }
+
+        /** @return la última excepción del consumidor, o {@code null} */
+        public RuntimeException getUltimoError() { return ultimoError; }
+
+        /**
+         * Detiene el hilo (termina el lote en curso) y deja de frenar al productor.
+         *
+         * @throws InterruptedException si se interrumpe la espera del hilo
+         */
+        public void cancelar() throws InterruptedException {
+            activa = false;
+            quitar(this);
+            Thread h = hilo;
+            if (h != null && h != Thread.currentThread()) {
+                LockSupport.unpark(h);
+                h.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link BusEventos}: orden y tipo de los eventos, copia de los
+ * datos de la tarea, consumidores que se duermen y despiertan, varios
+ * consumidores sobre un búfer pequeño sin perder eventos, lotes, errores de
+ * un consumidor y cancelación.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del bus de eventos sobre búfer circular")
+class BusEventosTest {
+
+    private GestorTareas gestor;
+    private BusEventos bus;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bus != null) bus.cerrar();
+    }
+
+    @Test
+    @DisplayName("Cada cambio del gestor publica su evento, en orden")
+    void testTiposEnOrden() throws InterruptedException {
+        bus = new BusEventos(gestor, 64);
+        List<String> vistos = Collections.synchronizedList(new ArrayList<>());
+        bus.suscribir("registro", (e, secuencia, fin) -> vistos.add(secuencia + ":" + e.getTipo() + "#" + e.getIdTarea()));
+
+        TareaUrgente u = gestor.agregarTareaUrgenteLogica("Entregar", Prioridad.ALTA, "2026-03-01");
+        gestor.agregarTareaNormalLogica("Leer", Prioridad.BAJA);
+        gestor.marcarComoCompletada(1);
+        u.setCompletado(false);
+        u.setNombre("Entregar informe");
+        u.setFechaLimite("2026-04-01");
+        gestor.eliminarTarea(2);
+        bus.esperarConsumidores();
+
+        assertEquals(List.of("1:CREADA#1", "2:CREADA#2", "3:COMPLETADA#1", "4:REABIERTA#1",
+                "5:MODIFICADA#1", "6:MODIFICADA#1", "7:ELIMINADA#2"), vistos);
+        assertEquals(7, bus.getPublicados());
+    }
+
+    @Test
+    @DisplayName("Cada evento lleva una copia de la tarea tal como estaba al publicarse")
+    void testCopiaDeLaTarea() throws InterruptedException {
+        bus = new BusEventos(gestor, 64);
+        CountDownLatch soltar = new CountDownLatch(1);
+        List<String> vistos = Collections.synchronizedList(new ArrayList<>());
+        bus.suscribir("copias", (e, secuencia, fin) -> {
+            if (secuencia == 1) espera(soltar); // la tarea sigue cambiando mientras tanto
+            vistos.add(e.getTipo() + " " + e.getNombre() + " (antes " + e.getNombreAnterior() + ") "
+                    + e.getPrioridad() + " " + e.isCompletado() + " " + e.isUrgente() + " " + e.getDiaLimite());
+        });
+
+        TareaUrgente u = gestor.agregarTareaUrgenteLogica("Entregar", Prioridad.BAJA, "1970-01-03");
+        u.setNombre("Entregar informe");
+        u.setPrioridad(Prioridad.ALTA);
+        u.setFechaLimite("1970-01-05");
+        u.setCompletado(true);
+        soltar.countDown();
+        bus.esperarConsumidores();
+
+        assertEquals(List.of(
+                "CREADA Entregar (antes null) BAJA false true 2",
+                "MODIFICADA Entregar informe (antes Entregar) BAJA false true 2",
+                "MODIFICADA Entregar informe (antes null) ALTA false true 2",
+                "MODIFICADA Entregar informe (antes null) ALTA false true 4",
+                "COMPLETADA Entregar informe (antes null) ALTA true true 4"), vistos);
+    }
+
+    @Test
+    @DisplayName("Un consumidor dormido por falta de eventos despierta al publicar")
+    void testDespiertaTrasInactividad() throws InterruptedException {
+        bus = new BusEventos(gestor, 64);
+        AtomicInteger eventos = new AtomicInteger();
+        bus.suscribir("dormilon", (e, secuencia, fin) -> eventos.incrementAndGet());
+
+        for (int ronda = 1; ronda <= 3; ronda++) {
+            pausa(30); // más que las vueltas activas: el consumidor se duerme
+            gestor.agregarTareaNormalLogica("T" + ronda, Prioridad.MEDIA);
+            bus.esperarConsumidores();
+            assertEquals(ronda, eventos.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Varios consumidores sobre un búfer chico reciben todos los eventos sin huecos")
+    void testVariosConsumidoresSinPerdidas() throws InterruptedException {
+        bus = new BusEventos(gestor, 8);
+        int consumidores = 3, tareas = 20_000;
+        AtomicLong[] sumas = new AtomicLong[consumidores];
+        AtomicInteger huecos = new AtomicInteger();
+        for (int c = 0; c < consumidores; c++) {
+            AtomicLong suma = sumas[c] = new AtomicLong();
+            long[] esperada = { 1 };
+            bus.suscribir("c" + c, (e, secuencia, fin) -> {
+                if (secuencia != esperada[0]++) huecos.incrementAndGet();
+                suma.addAndGet(e.getIdTarea());
+            });
+        }
+
+        for (int i = 0; i < tareas; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+        bus.esperarConsumidores();
+
+        long esperada = (long) tareas * (tareas + 1) / 2;
+        for (AtomicLong suma : sumas) assertEquals(esperada, suma.get());
+        assertEquals(0, huecos.get());
+    }
+
+    @Test
+    @DisplayName("Un consumidor lento recibe lo acumulado en lotes")
+    void testLotes() throws InterruptedException {
+        bus = new BusEventos(gestor, 1024);
+        AtomicInteger eventos = new AtomicInteger(), lotes = new AtomicInteger();
+        bus.suscribir("lento", (e, secuencia, fin) -> {
+            if (secuencia == 1) pausa(50); // mientras tanto se acumulan los demás
+            eventos.incrementAndGet();
+            if (fin) lotes.incrementAndGet();
+        });
+
+        for (int i = 0; i < 500; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+        bus.esperarConsumidores();
+
+        assertEquals(500, eventos.get());
+        assertTrue(lotes.get() < 500, "Lotes: " + lotes.get());
+    }
+
+    @Test
+    @DisplayName("Un consumidor que falla no se detiene; uno cancelado ya no frena al productor")
+    void testErroresYCancelacion() throws InterruptedException {
+        bus = new BusEventos(gestor, 4);
+        BusEventos.Suscripcion conErrores = bus.suscribir("errores", (e, secuencia, fin) -> {
+            if (e.getIdTarea() % 2 == 0) throw new IllegalStateException("par");
+        });
+        BusEventos.Suscripcion bloqueado = bus.suscribir("bloqueado", (e, secuencia, fin) -> { });
+
+        for (int i = 0; i < 10; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+        bus.esperarConsumidores();
+        assertEquals(5, conErrores.getErrores());
+        assertInstanceOf(IllegalStateException.class, conErrores.getUltimoError());
+        assertEquals(10, conErrores.getConsumido());
+
+        bloqueado.cancelar();
+        for (int i = 0; i < 100; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+        bus.esperarConsumidores();
+        assertEquals(110, conErrores.getConsumido());
+        assertEquals(10, bloqueado.getConsumido());
+    }
+
+    @Test
+    @DisplayName("Un gestor admite un solo bus; al cerrarlo deja de publicar")
+    void testConexion() throws InterruptedException {
+        bus = new BusEventos(gestor);
+        assertThrows(IllegalStateException.class, () -> new BusEventos(gestor));
+        bus.cerrar();
+        gestor.agregarTareaNormalLogica("Sin bus", Prioridad.MEDIA);
+        assertEquals(0, bus.getPublicados());
+        bus = null;
+    }
+
+    private static void espera(CountDownLatch senal) {
+        try {
+            senal.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void pausa(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
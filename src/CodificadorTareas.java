@@ -0,0 +1,339 @@
+package smarttask;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Clase {@code CodificadorTareas} — formato binario compacto y versionado
+ * para {@link TareaNormal} y {@link TareaUrgente}.
+ *
+ * <p>La serialización de Java guarda nombres de clases y campos en cada
+ * flujo y usa reflexión al leer; JSON repite las claves en cada tarea y
+ * escribe los números como texto. Este códec escribe directamente en un
+ * {@link ByteBuffer} solo los datos, con el menor número de bytes: una tarea
+ * normal con ID consecutivo y nombre de 20 letras ocupa 23 bytes, contra unos
+ * 95 en JSON.</p>
+ *
+ * <p>Formato de un mensaje:</p>
+ * <pre>
+ *   byte[2] 'S' 'T'     marca del formato
+ *   byte    versión     {@link #VERSION}; otra versión se rechaza al leer
+ *   varint  cantidad    tareas que siguen
+ *   por cada tarea:
+ *     byte    banderas  bits 0-1 tipo (0 normal, 1 urgente)
+ *                       bits 2-3 prioridad (ordinal de {@link Prioridad})
+ *                       bit  4   completada
+ *                       bits 5-6 fecha límite (0 ninguna, 1 en días, 2 como texto)
+ *     varint  ID        diferencia con el ID anterior, en zigzag (1 byte si son consecutivos)
+ *     varint  largo     bytes UTF-8 del nombre + 1 (0 = {@code null})
+ *     byte[]  nombre
+ *     si la fecha va en días:  varint días desde 1970-01-01, en zigzag
+ *     si la fecha va en texto: varint largo + 1 y sus bytes UTF-8 (fechas que no son AAAA-MM-DD)
+ * </pre>
+ *
+ * <p>Los varint usan 7 bits por byte y el bit alto como "sigue otro byte".
+ * Un sustituto UTF-16 suelto en un texto se escribe como {@code '?'}, igual
+ * que al exportar a CSV o JSONL.</p>
+ *
+ * <pre>
+ *   ByteBuffer datos = CodificadorTareas.codificar(gestor.obtenerTodas());
+ *   List&lt;Tarea&gt; copia = CodificadorTareas.leer(datos);
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class CodificadorTareas {
+
+    /** Versión del formato que se escribe y la única que se acepta al leer. */
+    public static final int VERSION = 1;
+
+    private static final byte MARCA_1 = 'S', MARCA_2 = 'T';
+
+    /** Bytes de la cabecera: marca + versión. */
+    private static final int CABECERA = 3;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  BANDERAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static final int TIPO_NORMAL    = 0;
+    private static final int TIPO_URGENTE   = 1;
+    private static final int MASCARA_TIPO   = 0b11;
+
+    private static final int DESPLAZAMIENTO_PRIORIDAD = 2;
+    private static final int BIT_COMPLETADA = 1 << 4;
+
+    private static final int DESPLAZAMIENTO_FECHA = 5;
+    private static final int FECHA_NINGUNA  = 0;
+    private static final int FECHA_EN_DIAS  = 1;
+    private static final int FECHA_EN_TEXTO = 2;
+
+    /** Ninguna tarea ocupa menos: banderas, ID y largo del nombre. */
+    private static final int MINIMO_POR_TAREA = 3;
+
+    private static final Prioridad[] PRIORIDADES = Prioridad.values();
+
+    private CodificadorTareas() { }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  ESCRITURA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Codifica las tareas en un búfer del tamaño justo.
+     *
+     * @param tareas tareas a codificar, idealmente en orden de ID
+     * @return búfer listo para leer (posición 0, límite al final del mensaje)
+     */
+    public static ByteBuffer codificar(Collection<? extends Tarea> tareas) {
+        ByteBuffer destino = ByteBuffer.allocate(tamano(tareas));
+        escribir(destino, tareas);
+        return destino.flip();
+    }
+
+    /**
+     * Escribe un mensaje con las tareas a partir de la posición del búfer.
+     *
+     * @param destino búfer con lugar para {@link #tamano(Collection)} bytes
+     * @param tareas  tareas a codificar, idealmente en orden de ID
+     * @throws BufferOverflowException si no hay lugar; la posición del búfer
+     *                                 queda como estaba
+     */
+    public static void escribir(ByteBuffer destino, Collection<? extends Tarea> tareas) {
+        int inicio = destino.position();
+        try {
+            destino.put(MARCA_1).put(MARCA_2).put((byte) VERSION);
+            varint(destino, tareas.size());
+            int anterior = 0;
+            for (Tarea t : tareas) {
+                escribirTarea(destino, t, anterior);
+                anterior = t.getId();
+            }
+        } catch (BufferOverflowException e) {
+            destino.position(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * @param tareas tareas a codificar
+     * @return bytes exactos que ocupa su mensaje
+     */
+    public static int tamano(Collection<? extends Tarea> tareas) {
+        int total = CABECERA + largoVarint(tareas.size());
+        int anterior = 0;
+        for (Tarea t : tareas) {
+            total += 1 + largoVarint(zigzag(t.getId() - anterior)) + largoTexto(t.getNombre());
+            if (t instanceof TareaUrgente u) {
+                if (u.getDiaLimite() != TareaUrgente.SIN_FECHA) total += largoVarint(zigzag(u.getDiaLimite()));
+                else if (u.getFechaLimite() != null)             total += largoTexto(u.getFechaLimite());
+            }
+            anterior = t.getId();
+        }
+        return total;
+    }
+
+    private static void escribirTarea(ByteBuffer destino, Tarea t, int anterior) {
+        int banderas = t.getPrioridad().ordinal() << DESPLAZAMIENTO_PRIORIDAD;
+        if (t.isCompletado()) banderas |= BIT_COMPLETADA;
+        TareaUrgente urgente = t instanceof TareaUrgente u ? u : null;
+        int fecha = FECHA_NINGUNA;
+        if (urgente != null) {
+            banderas |= TIPO_URGENTE;
+            if (urgente.getDiaLimite() != TareaUrgente.SIN_FECHA) fecha = FECHA_EN_DIAS;
+            else if (urgente.getFechaLimite() != null)           fecha = FECHA_EN_TEXTO;
+        }
+        destino.put((byte) (banderas | fecha << DESPLAZAMIENTO_FECHA));
+        varint(destino, zigzag(t.getId() - anterior));
+        texto(destino, t.getNombre());
+        if (fecha == FECHA_EN_DIAS)  varint(destino, zigzag(urgente.getDiaLimite()));
+        if (fecha == FECHA_EN_TEXTO) texto(destino, urgente.getFechaLimite());
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  LECTURA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lee un mensaje desde la posición del búfer y la deja al final de él.
+     * Las tareas leídas no pertenecen a ningún gestor.
+     *
+     * @param origen búfer con un mensaje de {@link #escribir}
+     * @return las tareas, en el orden en que se escribieron
+     * @throws IllegalArgumentException si los datos no son de este formato,
+     *                                  son de otra versión o están cortados
+     */
+    public static List<Tarea> leer(ByteBuffer origen) {
+        try {
+            if (origen.get() != MARCA_1 || origen.get() != MARCA_2) {
+                throw new IllegalArgumentException("Los datos no son tareas codificadas");
+            }
+            int version = origen.get() & 0xFF;
+            if (version != VERSION) throw new IllegalArgumentException("Versión de formato no soportada: " + version);
+            int cantidad = leerVarint(origen);
+            if (cantidad < 0 || cantidad > origen.remaining() / MINIMO_POR_TAREA) {
+                throw new IllegalArgumentException("Cantidad de tareas no válida: " + Integer.toUnsignedString(cantidad));
+            }
+            List<Tarea> tareas = new ArrayList<>(cantidad);
+            int anterior = 0;
+            for (int i = 0; i < cantidad; i++) {
+                Tarea t = leerTarea(origen, anterior);
+                tareas.add(t);
+                anterior = t.getId();
+            }
+            return tareas;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Datos cortados", e);
+        }
+    }
+
+    private static Tarea leerTarea(ByteBuffer origen, int anterior) {
+        int banderas = origen.get() & 0xFF;
+        int tipo = banderas & MASCARA_TIPO;
+        int prioridad = (banderas >>> DESPLAZAMIENTO_PRIORIDAD) & 0b11;
+        int fecha = (banderas >>> DESPLAZAMIENTO_FECHA) & 0b11;
+        if (tipo > TIPO_URGENTE || prioridad >= PRIORIDADES.length || fecha > FECHA_EN_TEXTO
+                || (tipo == TIPO_NORMAL && fecha != FECHA_NINGUNA) || banderas >= 0x80) {
+            throw new IllegalArgumentException("Banderas de tarea no válidas: 0x" + Integer.toHexString(banderas));
+        }
+        int id = anterior + desZigzag(leerVarint(origen));
+        String nombre = leerTexto(origen);
+
+        Tarea t;
+        if (tipo == TIPO_NORMAL) {
+            t = new TareaNormal(id, nombre, PRIORIDADES[prioridad]);
+        } else {
+            String fechaLimite = switch (fecha) {
+                case FECHA_EN_DIAS  -> diaATexto(desZigzag(leerVarint(origen)));
+                case FECHA_EN_TEXTO -> leerTexto(origen);
+                default             -> null;
+            };
+            t = new TareaUrgente(id, nombre, PRIORIDADES[prioridad], fechaLimite);
+        }
+        if ((banderas & BIT_COMPLETADA) != 0) t.setCompletado(true);
+        return t;
+    }
+
+    private static String diaATexto(int dia) {
+        try {
+            return LocalDate.ofEpochDay(dia).toString();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Fecha fuera de rango: " + dia, e);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  VARINT Y ZIGZAG
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Intercala negativos y positivos (0, -1, 1, -2…) para que los chicos ocupen poco. */
+    private static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private static int desZigzag(int n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    /** Escribe {@code n} como entero sin signo de 1 a 5 bytes. */
+    private static void varint(ByteBuffer destino, int n) {
+        while ((n & ~0x7F) != 0) {
+            destino.put((byte) (n & 0x7F | 0x80));
+            n >>>= 7;
+        }
+        destino.put((byte) n);
+    }
+
+    private static int leerVarint(ByteBuffer origen) {
+        int n = 0;
+        for (int corrimiento = 0; corrimiento < 35; corrimiento += 7) {
+            byte b = origen.get();
+            n |= (b & 0x7F) << corrimiento;
+            if (b >= 0) return n;
+        }
+        throw new IllegalArgumentException("Entero variable demasiado largo");
+    }
+
+    private static int largoVarint(int n) {
+        // 1 byte cada 7 bits significativos, como mínimo 1
+        return (38 - Integer.numberOfLeadingZeros(n | 1)) / 7;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  TEXTOS EN UTF-8
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** @return bytes del largo más los del texto codificado */
+    private static int largoTexto(String s) {
+        if (s == null) return 1;
+        int bytes = largoUtf8(s);
+        return largoVarint(bytes + 1) + bytes;
+    }
+
+    private static int largoUtf8(String s) {
+        int bytes = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) bytes += 1;
+            else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 2; // 4 bytes por los dos char
+                i++;
+            } else if (!Character.isSurrogate(c)) bytes += 2;
+            // un sustituto suelto se escribe como '?': 1 byte
+        }
+        return bytes;
+    }
+
+    /**
+     * Escribe el largo y el texto en UTF-8 sin pasar por un {@code byte[]}
+     * intermedio: los nombres suelen ser ASCII y eso es un byte por char.
+     */
+    private static void texto(ByteBuffer destino, String s) {
+        if (s == null) {
+            destino.put((byte) 0);
+            return;
+        }
+        varint(destino, largoUtf8(s) + 1);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                destino.put((byte) c);
+            } else if (c < 0x800) {
+                destino.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                destino.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                       .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                destino.put((byte) '?');
+            } else {
+                destino.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static String leerTexto(ByteBuffer origen) {
+        int largo = leerVarint(origen) - 1;
+        if (largo == -1) return null;
+        if (largo < 0 || largo > origen.remaining()) throw new BufferUnderflowException();
+        String s;
+        if (origen.hasArray()) {
+            s = new String(origen.array(), origen.arrayOffset() + origen.position(), largo, StandardCharsets.UTF_8);
+            origen.position(origen.position() + largo);
+        } else {
+            byte[] bytes = new byte[largo];
+            origen.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,179 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link CodificadorTareas}: ida y vuelta de cada tipo y caso
+ * borde, tamaño exacto, datos corruptos o de otra versión, y una comparación
+ * de tamaño y velocidad con JSON.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del códec binario de tareas")
+class CodificadorTareasTest {
+
+    private static void assertIguales(List<? extends Tarea> esperadas, List<Tarea> obtenidas) {
+        assertEquals(esperadas.size(), obtenidas.size());
+        for (int i = 0; i < esperadas.size(); i++) {
+            Tarea e = esperadas.get(i), o = obtenidas.get(i);
+            assertEquals(e.getClass(), o.getClass());
+            assertEquals(e.getId(), o.getId());
+            assertEquals(e.getNombre(), o.getNombre());
+            assertEquals(e.getPrioridad(), o.getPrioridad());
+            assertEquals(e.isCompletado(), o.isCompletado());
+            if (e instanceof TareaUrgente u) {
+                assertEquals(u.getFechaLimite(), ((TareaUrgente) o).getFechaLimite());
+                assertEquals(u.getDiaLimite(), ((TareaUrgente) o).getDiaLimite());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cada tipo de tarea y sus casos borde vuelven iguales")
+    void testIdaYVuelta() {
+        List<Tarea> tareas = new ArrayList<>();
+        tareas.add(new TareaNormal(1, "Estudiar Java", Prioridad.ALTA));
+        tareas.add(new TareaUrgente(2, "Entregar informe", Prioridad.MEDIA, "2026-03-01"));
+        tareas.add(new TareaUrgente(3, "Fecha libre", Prioridad.BAJA, "el lunes"));
+        tareas.add(new TareaUrgente(4, "Sin fecha", Prioridad.ALTA, null));
+        tareas.add(new TareaUrgente(5, "Antes de 1970", Prioridad.ALTA, "1969-12-31"));
+        tareas.add(new TareaNormal(6, null, Prioridad.BAJA));
+        tareas.add(new TareaNormal(7, "", Prioridad.MEDIA));
+        tareas.add(new TareaNormal(8, "Año 📅, ñandú y €", Prioridad.MEDIA));
+        tareas.add(new TareaNormal(Integer.MAX_VALUE, "ID máximo", Prioridad.BAJA));
+        tareas.add(new TareaNormal(0, "ID cero, hacia atrás", Prioridad.BAJA));
+        tareas.add(new TareaNormal(-5, "ID negativo", Prioridad.BAJA));
+        for (int i = 0; i < tareas.size(); i += 2) tareas.get(i).setCompletado(true);
+
+        ByteBuffer datos = CodificadorTareas.codificar(tareas);
+        assertEquals(CodificadorTareas.tamano(tareas), datos.remaining());
+        assertIguales(tareas, CodificadorTareas.leer(datos));
+        assertFalse(datos.hasRemaining());
+
+        // Un texto con un sustituto suelto se guarda con '?' y se cuenta bien
+        List<Tarea> rota = List.of(new TareaNormal(1, "a\uD800b", Prioridad.ALTA));
+        ByteBuffer otro = CodificadorTareas.codificar(rota);
+        assertEquals(CodificadorTareas.tamano(rota), otro.remaining());
+        assertEquals("a?b", CodificadorTareas.leer(otro).get(0).getNombre());
+    }
+
+    @Test
+    @DisplayName("El formato es compacto y se puede escribir a continuación de otros datos")
+    void testCompactoYPosicion() {
+        List<Tarea> tareas = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) tareas.add(new TareaNormal(i, "Nombre de veinte let", Prioridad.MEDIA));
+        // cabecera 3 + cantidad 1 + 100 × (banderas 1 + ID 1 + largo 1 + nombre 20)
+        assertEquals(4 + 100 * 23, CodificadorTareas.tamano(tareas));
+
+        ByteBuffer destino = ByteBuffer.allocateDirect(8 + CodificadorTareas.tamano(tareas));
+        destino.putLong(42);
+        CodificadorTareas.escribir(destino, tareas);
+        assertFalse(destino.hasRemaining());
+        destino.flip();
+        assertEquals(42, destino.getLong());
+        assertIguales(tareas, CodificadorTareas.leer(destino));
+
+        ByteBuffer chico = ByteBuffer.allocate(100);
+        chico.put((byte) 9);
+        assertThrows(BufferOverflowException.class, () -> CodificadorTareas.escribir(chico, tareas));
+        assertEquals(1, chico.position());
+    }
+
+    @Test
+    @DisplayName("Datos ajenos, de otra versión o cortados se rechazan")
+    void testDatosNoValidos() {
+        byte[] bytes = CodificadorTareas.codificar(List.of(new TareaUrgente(1, "X", Prioridad.ALTA, "2026-03-01"))).array();
+
+        byte[] ajenos = bytes.clone();
+        ajenos[0] = '{';
+        assertThrows(IllegalArgumentException.class, () -> CodificadorTareas.leer(ByteBuffer.wrap(ajenos)));
+
+        byte[] version = bytes.clone();
+        version[2] = (byte) (CodificadorTareas.VERSION + 1);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CodificadorTareas.leer(ByteBuffer.wrap(version)));
+        assertTrue(e.getMessage().contains("Versión"));
+
+        for (int largo = 0; largo < bytes.length; largo++) {
+            ByteBuffer cortado = ByteBuffer.wrap(bytes, 0, largo);
+            assertThrows(IllegalArgumentException.class, () -> CodificadorTareas.leer(cortado), "largo " + largo);
+        }
+
+        byte[] banderas = bytes.clone();
+        banderas[4] = (byte) 0x80;
+        assertThrows(IllegalArgumentException.class, () -> CodificadorTareas.leer(ByteBuffer.wrap(banderas)));
+    }
+
+    @Test
+    @DisplayName("Comparación con JSON: tamaño y velocidad de ida y vuelta")
+    void testComparacionConJson() {
+        int n = 200_000;
+        List<Tarea> tareas = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            Tarea t = i % 4 == 0
+                    ? new TareaUrgente(i, "Entrega " + i, Prioridad.ALTA, "2026-0" + (1 + i % 9) + "-15")
+                    : new TareaNormal(i, "Tarea de ejemplo " + i, Prioridad.values()[i % 3]);
+            if (i % 3 == 0) t.setCompletado(true);
+            tareas.add(t);
+        }
+
+        long nanosBinario = Long.MAX_VALUE, nanosJson = Long.MAX_VALUE;
+        int bytesBinario = 0, bytesJson = 0;
+        for (int vuelta = 0; vuelta < 3; vuelta++) { // la primera calienta el JIT
+            long inicio = System.nanoTime();
+            ByteBuffer datos = CodificadorTareas.codificar(tareas);
+            bytesBinario = datos.remaining();
+            List<Tarea> leidas = CodificadorTareas.leer(datos);
+            nanosBinario = Math.min(nanosBinario, System.nanoTime() - inicio);
+            assertIguales(tareas, leidas);
+
+            inicio = System.nanoTime();
+            StringBuilder json = new StringBuilder(n * 100);
+            for (Tarea t : tareas) {
+                EscritorJson.tarea(json, t);
+                json.append('\n');
+            }
+            byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            bytesJson = bytes.length;
+            List<Tarea> desdeJson = desdeJson(new String(bytes, StandardCharsets.UTF_8));
+            nanosJson = Math.min(nanosJson, System.nanoTime() - inicio);
+            assertEquals(n, desdeJson.size());
+        }
+
+        assertTrue(bytesBinario * 3 < bytesJson, bytesBinario + " vs " + bytesJson);
+        System.out.printf(Locale.ROOT, "  Códec binario: %d tareas, %.1f bytes/tarea, %.0f tareas/s (JSON: %.1f bytes/tarea, %.0f tareas/s)%n",
+                n, (double) bytesBinario / n, n / (nanosBinario / 1e9), (double) bytesJson / n, n / (nanosJson / 1e9));
+    }
+
+    /** Lectura JSON de referencia, con el mismo lector que usa la importación. */
+    private static List<Tarea> desdeJson(String texto) {
+        List<Tarea> tareas = new ArrayList<>();
+        Map<String, String> campos = new HashMap<>();
+        for (String linea : texto.split("\n")) {
+            campos.clear();
+            new ImportadorTareas.LectorJson(linea).objeto(campos);
+            int id = Integer.parseInt(campos.get("id"));
+            Prioridad prioridad = Prioridad.desde(campos.get("prioridad"));
+            Tarea t = campos.get("tipo").equals("URGENTE")
+                    ? new TareaUrgente(id, campos.get("nombre"), prioridad, campos.get("fechaLimite"))
+                    : new TareaNormal(id, campos.get("nombre"), prioridad);
+            t.setCompletado(Boolean.parseBoolean(campos.get("completada")));
+            tareas.add(t);
+        }
+        return tareas;
+    }
+}
@@ -0,0 +1,287 @@
+package smarttask;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Clase {@code ComandosPorLotes} — ejecuta comandos de texto sobre un
+ * {@link GestorTareas} sin menú, para usar SmartTask desde scripts.
+ *
+ * <p>Lee un comando por línea (de un archivo o de la entrada estándar
+ * redirigida), no imprime el menú ni pide confirmaciones y acumula las
+ * respuestas en un único {@link RenderizadorTareas}, que solo escribe en la
+ * salida cada {@link RenderizadorTareas#FILAS_POR_PAGINA} líneas. Los
+ * listados se escriben en ese mismo búfer, así la salida conserva el orden
+ * de los comandos. Una línea con error se informa y la ejecución sigue.</p>
+ *
+ * <pre>
+ *   # comentario (las líneas vacías también se ignoran)
+ *   agregar   ALTA Estudiar Java                 ← alias: add
+ *   urgente   ALTA 2026-03-01 Entregar informe   ← alias: add-urgent
+ *   completar 3                                  ← alias: complete
+ *   eliminar  4                                  ← alias: delete
+ *   detalle   1                                  ← alias: detail
+ *   listar    pendientes                         ← alias: list; todas (por defecto), pendientes o completadas
+ * </pre>
+ *
+ * <p>Los mensajes son los mismos del menú interactivo.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class ComandosPorLotes {
+
+    /** Errores que se guardan con detalle; los siguientes solo se cuentan. */
+    public static final int MAX_ERRORES_DETALLADOS = 100;
+
+    private final GestorTareas gestor;
+    private final RenderizadorTareas salida;
+
+    /** Líneas acumuladas desde la última escritura. */
+    private int lineasPendientes;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Crea el intérprete escribiendo en la consola con su misma codificación.
+     *
+     * @param gestor  gestor sobre el que se ejecutan los comandos
+     * @param consola flujo de consola (normalmente {@code System.out})
+     */
+    public ComandosPorLotes(GestorTareas gestor, PrintStream consola) {
+        this(gestor, consola, consola.charset());
+    }
+
+    /**
+     * Crea el intérprete sobre cualquier flujo de bytes.
+     *
+     * @param gestor  gestor sobre el que se ejecutan los comandos
+     * @param destino flujo donde se escriben las respuestas
+     * @param juego   codificación de caracteres
+     */
+    public ComandosPorLotes(GestorTareas gestor, OutputStream destino, Charset juego) {
+        this.gestor = gestor;
+        this.salida = new RenderizadorTareas(destino, juego);
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  EJECUCIÓN
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ejecuta todos los comandos de la entrada y escribe lo que quede en el búfer.
+     *
+     * @param entrada texto con un comando por línea
+     * @return resumen de la ejecución
+     * @throws IOException si falla la lectura
+     */
+    public Resultado ejecutar(Reader entrada) throws IOException {
+        long inicio = System.nanoTime();
+        BufferedReader lector = entrada instanceof BufferedReader b ? b : new BufferedReader(entrada, 64 * 1024);
+        Linea linea = new Linea();
+        List<String> errores = new ArrayList<>();
+        int ejecutados = 0, conError = 0;
+        String texto;
+        try {
+            while ((texto = lector.readLine()) != null) {
+                linea.numero++;
+                if (!linea.iniciar(texto)) continue;
+                try {
+                    ejecutar(linea);
+                    ejecutados++;
+                } catch (IllegalArgumentException e) {
+                    conError++;
+                    String motivo = "línea " + linea.numero + ": " + e.getMessage();
+                    if (errores.size() < MAX_ERRORES_DETALLADOS) errores.add(motivo);
+                    responder("  ❌ " + motivo);
+                }
+            }
+        } finally {
+            salida.vaciar();
+            lineasPendientes = 0;
+        }
+        return new Resultado(ejecutados, conError, errores, System.nanoTime() - inicio);
+    }
+
+    /** Ejecuta un comando ya separado en palabras. */
+    private void ejecutar(Linea linea) {
+        String comando = linea.palabra().toLowerCase(Locale.ROOT);
+        switch (comando) {
+            case "agregar", "add"            -> agregar(linea);
+            case "urgente", "add-urgent"     -> agregarUrgente(linea);
+            case "completar", "complete"     -> completar(linea.entero());
+            case "eliminar", "delete"        -> eliminar(linea.entero());
+            case "detalle", "detail"         -> detalle(linea.entero());
+            case "listar", "list"            -> listar(linea.opcional());
+            default -> throw new IllegalArgumentException("comando desconocido: " + comando);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  COMANDOS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void agregar(Linea linea) {
+        Prioridad prioridad = Prioridad.desde(linea.palabra());
+        TareaNormal nueva = gestor.agregarTareaNormalLogica(linea.resto(), prioridad);
+        responder("  ✅ Tarea Normal agregada con ID: " + nueva.getId());
+    }
+
+    private void agregarUrgente(Linea linea) {
+        Prioridad prioridad = Prioridad.desde(linea.palabra());
+        String fechaLimite = linea.palabra();
+        TareaUrgente nueva = gestor.agregarTareaUrgenteLogica(linea.resto(), prioridad, fechaLimite);
+        responder("  🚨 Tarea Urgente agregada con ID: " + nueva.getId());
+        if (nueva.getDiaLimite() == TareaUrgente.SIN_FECHA) {
+            responder("  ⚠ La fecha no tiene formato AAAA-MM-DD: la tarea no aparecerá en las consultas por vencimiento.");
+        }
+    }
+
+    private void completar(int id) {
+        if (gestor.marcarComoCompletada(id))     responder("  ✅ Tarea #" + id + " marcada como completada.");
+        else if (gestor.buscarPorId(id) == null) responder("  ❌ No existe una tarea con ID " + id);
+        else                                     responder("  ⚠ La tarea #" + id + " ya estaba completada.");
+    }
+
+    private void eliminar(int id) {
+        if (gestor.eliminarTarea(id)) responder("  ✅ Tarea #" + id + " eliminada.");
+        else                          responder("  ❌ No existe una tarea con ID " + id);
+    }
+
+    private void detalle(int id) {
+        Tarea tarea = gestor.buscarPorId(id);
+        if (tarea == null)                         responder("  ❌ No existe una tarea con ID " + id);
+        else if (tarea instanceof Accionable a)    responder("  📋 Detalle: " + a.describir());
+        else                                       responder("  " + tarea);
+    }
+
+    private void listar(String filtro) {
+        String cual = filtro == null ? "todas" : filtro.toLowerCase(Locale.ROOT);
+        switch (cual) {
+            case "todas", "all"             -> gestor.listarPorPaginas(salida, PaginaTareas.Filtro.TODAS, "TODAS LAS TAREAS");
+            case "pendientes", "pending"    -> gestor.listarPorPaginas(salida, PaginaTareas.Filtro.PENDIENTES, "TAREAS PENDIENTES");
+            case "completadas", "completed" -> gestor.listarPorPaginas(salida, PaginaTareas.Filtro.COMPLETADAS, "TAREAS COMPLETADAS");
+            default -> throw new IllegalArgumentException("listado desconocido: " + filtro);
+        }
+        lineasPendientes = 0; // la tabla vació el búfer al cerrarse
+    }
+
+    /** Agrega una línea de respuesta y escribe el búfer cuando se llena. */
+    private void responder(String texto) {
+        salida.linea(texto);
+        if (++lineasPendientes == RenderizadorTareas.FILAS_POR_PAGINA) {
+            salida.vaciar();
+            lineasPendientes = 0;
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RESULTADO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Resumen de una ejecución: comandos ejecutados, errores y velocidad. */
+    public static final class Resultado {
+        private final int ejecutados;
+        private final int conError;
+        private final List<String> errores;
+        private final long nanos;
+
+        Resultado(int ejecutados, int conError, List<String> errores, long nanos) {
+            this.ejecutados = ejecutados;
+            this.conError   = conError;
+            this.errores    = Collections.unmodifiableList(errores);
+            this.nanos      = nanos;
+        }
+
+        /** @return comandos ejecutados sin error */
+        public int getEjecutados() { return ejecutados; }
+
+        /** @return líneas descartadas por error */
+        public int getConError() { return conError; }
+
+        /**
+         * @return los primeros {@link #MAX_ERRORES_DETALLADOS} errores, con
+         *         el formato "línea N: motivo"
+         */
+        public List<String> getErrores() { return errores; }
+
+        /** @return duración en milisegundos */
+        public long getMilisegundos() { return nanos / 1_000_000; }
+
+        /** @return comandos procesados (ejecutados o con error) por segundo */
+        public double getComandosPorSegundo() {
+            return nanos == 0 ? 0 : (ejecutados + conError) * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d comandos, %d con error, %d ms (%.0f comandos/s)",
+                    ejecutados, conError, getMilisegundos(), getComandosPorSegundo());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  LECTURA DE LÍNEAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Línea en lectura: recorre las palabras sin expresiones regulares ni {@code split}. */
+    private static final class Linea {
+        private String texto;
+        private int posicion, numero;
+
+        /** @return {@code false} si la línea está vacía o es un comentario */
+        boolean iniciar(String texto) {
+            this.texto = texto;
+            this.posicion = 0;
+            saltarEspacios();
+            return posicion < texto.length() && texto.charAt(posicion) != '#';
+        }
+
+        /** @return la siguiente palabra; lanza IllegalArgumentException si no hay */
+        String palabra() {
+            String p = opcional();
+            if (p == null) throw new IllegalArgumentException("faltan argumentos");
+            return p;
+        }
+
+        /** @return la siguiente palabra, o {@code null} si la línea terminó */
+        String opcional() {
+            saltarEspacios();
+            int desde = posicion, n = texto.length();
+            while (posicion < n && !Character.isWhitespace(texto.charAt(posicion))) posicion++;
+            return desde == posicion ? null : texto.substring(desde, posicion);
+        }
+
+        /** @return la siguiente palabra como número */
+        int entero() {
+            String p = palabra();
+            try {
+                return Integer.parseInt(p);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("ID no válido: " + p);
+            }
+        }
+
+        /** @return el resto de la línea sin espacios a los lados (el nombre de la tarea) */
+        String resto() {
+            String r = texto.substring(posicion).trim();
+            if (r.isEmpty()) throw new IllegalArgumentException("el nombre no puede estar vacío");
+            posicion = texto.length();
+            return r;
+        }
+
+        private void saltarEspacios() {
+            while (posicion < texto.length() && Character.isWhitespace(texto.charAt(posicion))) posicion++;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link ComandosPorLotes}: cada comando y su respuesta, listados
+ * idénticos a los del menú, errores que no detienen el lote y un lote grande.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del modo por lotes")
+class ComandosPorLotesTest {
+
+    private static final String FIN = System.lineSeparator();
+
+    private GestorTareas gestor;
+    private ByteArrayOutputStream bytes;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+        bytes = new ByteArrayOutputStream();
+    }
+
+    private ComandosPorLotes.Resultado ejecutar(String comandos) throws IOException {
+        return new ComandosPorLotes(gestor, bytes, StandardCharsets.UTF_8).ejecutar(new StringReader(comandos));
+    }
+
+    private String salida() {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Cada comando aplica su cambio y responde como el menú")
+    void testComandos() throws IOException {
+        ComandosPorLotes.Resultado r = ejecutar("""
+                # tareas de prueba
+                agregar ALTA Estudiar Java
+                urgente media 2026-03-01   Entregar informe final
+
+                add BAJA Leer
+                completar 1
+                complete 1
+                eliminar 3
+                detalle 2
+                detail 9
+                """);
+
+        assertEquals(8, r.getEjecutados());
+        assertEquals(0, r.getConError());
+        assertEquals(String.join(FIN,
+                "  ✅ Tarea Normal agregada con ID: 1",
+                "  🚨 Tarea Urgente agregada con ID: 2",
+                "  ✅ Tarea Normal agregada con ID: 3",
+                "  ✅ Tarea #1 marcada como completada.",
+                "  ⚠ La tarea #1 ya estaba completada.",
+                "  ✅ Tarea #3 eliminada.",
+                "  📋 Detalle: " + ((Accionable) gestor.buscarPorId(2)).describir(),
+                "  ❌ No existe una tarea con ID 9") + FIN, salida());
+
+        assertEquals(2, gestor.getTotalTareas());
+        assertTrue(gestor.buscarPorId(1).isCompletado());
+        assertEquals("Entregar informe final", gestor.buscarPorId(2).getNombre());
+        assertEquals(Prioridad.MEDIA, gestor.buscarPorId(2).getPrioridad());
+    }
+
+    @Test
+    @DisplayName("Los listados son idénticos a los del menú y respetan el orden de los comandos")
+    void testListados() throws IOException {
+        for (int i = 0; i < 600; i++) gestor.agregarTareaNormalLogica("Tarea " + i, Prioridad.MEDIA);
+        gestor.marcarComoCompletada(5);
+
+        ByteArrayOutputStream consola = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(consola, true, StandardCharsets.UTF_8));
+        try {
+            gestor.listarTodas();
+            gestor.listarCompletadas();
+        } finally {
+            System.setOut(original);
+        }
+
+        ejecutar("listar\nagregar ALTA Nueva\nlist completed\n");
+        String esperado = consola.toString(StandardCharsets.UTF_8);
+        int corte = esperado.indexOf("\n  ══════════════════════ TAREAS COMPLETADAS");
+        assertEquals(esperado.substring(0, corte) + "  ✅ Tarea Normal agregada con ID: 601" + FIN
+                + esperado.substring(corte), salida());
+    }
+
+    @Test
+    @DisplayName("Una línea con error se informa y el lote sigue")
+    void testErrores() throws IOException {
+        ComandosPorLotes.Resultado r = ejecutar("""
+                borrar 1
+                agregar URGENTISIMA Algo
+                agregar ALTA
+                completar uno
+                listar raras
+                agregar ALTA Sigue
+                """);
+
+        assertEquals(1, r.getEjecutados());
+        assertEquals(5, r.getConError());
+        assertEquals("línea 1: comando desconocido: borrar", r.getErrores().get(0));
+        assertEquals("línea 3: el nombre no puede estar vacío", r.getErrores().get(2));
+        assertEquals("línea 4: ID no válido: uno", r.getErrores().get(3));
+        assertTrue(salida().startsWith("  ❌ línea 1: comando desconocido: borrar" + FIN));
+        assertTrue(salida().endsWith("  ✅ Tarea Normal agregada con ID: 1" + FIN));
+        assertEquals(1, gestor.getTotalTareas());
+    }
+
+    @Test
+    @DisplayName("Un lote de 200.000 comandos se ejecuta completo")
+    void testLoteGrande() throws IOException {
+        int n = 100_000;
+        StringBuilder comandos = new StringBuilder(n * 24);
+        for (int i = 1; i <= n; i++) comandos.append("agregar MEDIA Tarea ").append(i).append('\n');
+        for (int i = 1; i <= n; i += 2) comandos.append("completar ").append(i).append('\n');
+        for (int i = 2; i <= n; i += 2) comandos.append("eliminar ").append(i).append('\n');
+
+        ComandosPorLotes.Resultado r = ejecutar(comandos.toString());
+
+        assertEquals(2 * n, r.getEjecutados());
+        assertEquals(n / 2, gestor.getTotalTareas());
+        assertEquals(n / 2, gestor.getTotalCompletadas());
+        assertEquals(2 * n, salida().lines().count());
+        System.out.println("  Lote de " + (2 * n) + " comandos: " + r);
+    }
+}
@@ -0,0 +1,82 @@
+package smarttask;
+
+import java.util.Arrays;
+
+/**
+ * Clase {@code ConjuntoBits} — particiones por estado de {@link GestorTareas}.
+ *
+ * <p>Conjunto de enteros no negativos guardado como bits en un {@code long[]}.
+ * Cumple el mismo papel que {@link java.util.BitSet}, pero no lleva la cuenta
+ * de las palabras en uso: {@code BitSet.clear} sobre el bit más alto vuelve a
+ * buscar hacia abajo la última palabra no vacía, y crear y borrar la tarea
+ * más nueva cuesta tanto como el hueco hasta la anterior. Aquí encender,
+ * apagar y consultar un bit son O(1) siempre.</p>
+ *
+ * <p>El arreglo crece al doble cuando hace falta y solo se achica con
+ * {@link #ajustarCapacidad()}, que el gestor llama al compactar.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class ConjuntoBits {
+
+    /** Palabras iniciales (64 bits cada una). */
+    private static final int PALABRAS_INICIALES = 1;
+
+    private long[] palabras = new long[PALABRAS_INICIALES];
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OPERACIONES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** @return {@code true} si el bit está encendido */
+    boolean get(int bit) {
+        int p = bit >>> 6;
+        return p < palabras.length && (palabras[p] & (1L << bit)) != 0;
+    }
+
+    /** Enciende el bit, creciendo el arreglo si hace falta. */
+    void set(int bit) {
+        int p = bit >>> 6;
+        if (p >= palabras.length) palabras = Arrays.copyOf(palabras, Math.max(p + 1, 2 * palabras.length));
+        palabras[p] |= 1L << bit;
+    }
+
+    /** Apaga el bit; O(1), sin buscar la última palabra en uso. */
+    void clear(int bit) {
+        int p = bit >>> 6;
+        if (p < palabras.length) palabras[p] &= ~(1L << bit);
+    }
+
+    /**
+     * Primer bit encendido a partir de {@code desde} (inclusive).
+     *
+     * @return el bit, o -1 si no hay ninguno
+     */
+    int nextSetBit(int desde) {
+        int p = desde >>> 6;
+        if (p >= palabras.length) return -1;
+        long palabra = palabras[p] & (-1L << desde);
+        while (palabra == 0) {
+            if (++p == palabras.length) return -1;
+            palabra = palabras[p];
+        }
+        return (p << 6) + Long.numberOfTrailingZeros(palabra);
+    }
+
+    /** @return bits reservados (para medir memoria) */
+    int size() {
+        return palabras.length << 6;
+    }
+
+    /**
+     * Achica el arreglo si quedó cuatro veces más grande de lo que ocupa el
+     * bit encendido más alto. Nunca crece.
+     */
+    void ajustarCapacidad() {
+        int usadas = palabras.length;
+        while (usadas > 0 && palabras[usadas - 1] == 0) usadas--;
+        int necesarias = Math.max(PALABRAS_INICIALES, usadas);
+        if (palabras.length >= 4 * necesarias) palabras = Arrays.copyOf(palabras, 2 * necesarias);
+    }
+}
@@ -0,0 +1,542 @@
+package smarttask;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Clase {@code DiarioTareas} — diario de escritura anticipada (<em>write-ahead log</em>).
+ *
+ * <p>Cada cambio del gestor se guarda como un registro binario compacto al
+ * final del archivo. Nunca se reescribe lo ya escrito: agregar un registro
+ * cuesta lo mismo con 10 tareas que con un millón.</p>
+ *
+ * <p>Formato de cada registro:</p>
+ * <pre>
+ *   int   largo      bytes del contenido
+ *   int   crc        CRC32 del contenido (detecta registros a medio escribir)
+ *   byte  tipo       ALTA_NORMAL, ALTA_URGENTE, ESTADO, BAJA o MODIFICACION
+ *   long  secuencia  número creciente del registro
+ *   ...   datos      según el tipo (id, textos en UTF-8 con su largo, etc.;
+ *                    largo -1 = texto {@code null})
+ * </pre>
+ *
+ * <p><strong>Confirmación en grupo</strong>: los registros se acumulan en un
+ * búfer en memoria y un hilo de fondo los escribe y llama a {@code force()}
+ * una vez por intervalo, juntando muchos cambios en una sola sincronización
+ * con el disco. {@link #sincronizar()} fuerza esa escritura en el momento.</p>
+ *
+ * <p>El mismo hilo corre los trabajos pedidos con {@link #enFondo(Runnable)}:
+ * {@link PersistenciaTareas} escribe ahí las instantáneas por umbral y luego
+ * descarta el principio del diario con {@link #descartarHasta(long)}, sin
+ * frenar a quien registra cambios.</p>
+ *
+ * <p>Es de paquete: se usa a través de {@link PersistenciaTareas}.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class DiarioTareas implements Closeable {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  TIPOS DE REGISTRO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    static final byte ALTA_NORMAL  = 1;
+    static final byte ALTA_URGENTE = 2;
+    static final byte ESTADO       = 3;
+    static final byte BAJA         = 4;
+    static final byte MODIFICACION = 5;
+
+    /** Bytes de cabecera de cada registro: largo + crc. */
+    private static final int CABECERA = 8;
+
+    /** Un registro más largo que esto se considera corrupto al leer. */
+    private static final int LARGO_MAXIMO = 1 << 20;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final Path archivo;
+
+    /** Canal del archivo; se reabre al descartar el principio. Protegido por {@link #escritura}. */
+    private FileChannel canal;
+
+    /** Candado de todo lo que toca el canal; se toma antes que {@code this}. */
+    private final Object escritura = new Object();
+
+    /** Última secuencia que ya está en el archivo. Protegida por {@link #escritura}. */
+    private long secuenciaEscrita;
+
+    /** Registros aún no escritos en el archivo. Protegido por {@code this}. */
+    private ByteBuffer pendiente = ByteBuffer.allocate(64 * 1024);
+
+    /** Búfer que se está escribiendo al disco; se intercambia con {@code pendiente}. */
+    private ByteBuffer enVuelo = ByteBuffer.allocate(64 * 1024);
+
+    /** Contenido del registro en armado (se reutiliza). */
+    private ByteBuffer registro = ByteBuffer.allocate(256);
+
+    private final CRC32 crc = new CRC32();
+
+    /** Última secuencia asignada. */
+    private long secuencia;
+
+    /** Bytes del archivo, contando lo pendiente. */
+    private long tamano;
+
+    /**
+     * Error del hilo de fondo. Se informa en {@link #sincronizar()} y
+     * {@link #close()}, no al registrar: el cambio ya está hecho en memoria.
+     */
+    private volatile IOException errorDeFondo;
+
+    /** Hilo que confirma en grupo cada {@code intervaloMs}. */
+    private final Thread confirmador;
+
+    private volatile boolean cerrado;
+
+    /** Monitor con el que {@link #close()} despierta al confirmador. */
+    private final Object senal = new Object();
+
+    /** Trabajo pendiente para el confirmador (ver {@link #enFondo(Runnable)}). */
+    private volatile Runnable trabajo;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTOR
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Abre (o crea) el diario para seguir agregando registros al final.
+     *
+     * @param archivo         ruta del diario
+     * @param secuenciaActual última secuencia ya usada (tras la recuperación)
+     * @param intervaloMs     cada cuánto se confirma en grupo
+     * @throws IOException si no se puede abrir el archivo
+     */
+    DiarioTareas(Path archivo, long secuenciaActual, long intervaloMs) throws IOException {
+        this.archivo = archivo;
+        this.canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        this.tamano    = canal.size();
+        this.secuencia = secuenciaActual;
+        this.secuenciaEscrita = secuenciaActual;
+        canal.position(tamano);
+
+        confirmador = new Thread(() -> {
+            // No se usa interrupt() para detenerlo: interrumpir un hilo dentro
+            // de FileChannel.write() cierra el canal para todos.
+            while (!cerrado) {
+                synchronized (senal) {
+                    try {
+                        if (trabajo == null) senal.wait(intervaloMs);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                try {
+                    escribirPendiente();
+                } catch (IOException e) {
+                    errorDeFondo = e;
+                }
+                correrTrabajo();
+            }
+            correrTrabajo(); // uno pedido justo antes de cerrar
+        }, "smarttask-diario");
+        confirmador.setDaemon(true);
+        confirmador.start();
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  ESCRITURA DE REGISTROS
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Agrega el registro de alta de una tarea.
+     *
+     * @param tarea la tarea recién agregada
+     */
+    synchronized void registrarAlta(Tarea tarea) {
+        boolean urgente = tarea instanceof TareaUrgente;
+        iniciar(urgente ? ALTA_URGENTE : ALTA_NORMAL);
+        registro.putInt(tarea.getId());
+        ponerTexto(tarea.getPrioridad().name());
+        ponerTexto(tarea.getNombre());
+        if (urgente) ponerTexto(((TareaUrgente) tarea).getFechaLimite());
+        terminar();
+    }
+
+    /**
+     * Agrega el registro de un cambio de estado.
+     *
+     * @param tarea la tarea con su estado nuevo
+     */
+    synchronized void registrarEstado(Tarea tarea) {
+        iniciar(ESTADO);
+        registro.putInt(tarea.getId());
+        registro.put((byte) (tarea.isCompletado() ? 1 : 0));
+        terminar();
+    }
+
+    /**
+     * Agrega el registro de un cambio de nombre, prioridad o fecha límite.
+     * Guarda todos esos campos, no solo el que cambió: reproducirlo deja la
+     * tarea igual sin importar qué registros lo precedan.
+     *
+     * @param tarea la tarea con sus valores nuevos
+     */
+    synchronized void registrarModificacion(Tarea tarea) {
+        boolean urgente = tarea instanceof TareaUrgente;
+        iniciar(MODIFICACION);
+        registro.putInt(tarea.getId());
+        registro.put((byte) (urgente ? 1 : 0));
+        ponerTexto(tarea.getPrioridad().name());
+        ponerTexto(tarea.getNombre());
+        if (urgente) ponerTexto(((TareaUrgente) tarea).getFechaLimite());
+        terminar();
+    }
+
+    /**
+     * Agrega el registro de la eliminación de una tarea.
+     *
+     * @param id ID de la tarea eliminada
+     */
+    synchronized void registrarBaja(int id) {
+        iniciar(BAJA);
+        registro.putInt(id);
+        terminar();
+    }
+
+    /** @return última secuencia asignada */
+    synchronized long getSecuencia() { return secuencia; }
+
+    /** @return bytes del diario, incluidos los aún no escritos */
+    synchronized long getTamano() { return tamano; }
+
+    /**
+     * Pide al confirmador que corra un trabajo después de su próxima
+     * escritura. Reemplaza al que todavía no empezó.
+     *
+     * @param trabajo trabajo de fondo; no debe lanzar excepciones
+     */
+    void enFondo(Runnable trabajo) {
+        this.trabajo = trabajo;
+        synchronized (senal) {
+            senal.notifyAll();
+        }
+    }
+
+    /**
+     * Escribe lo pendiente y marca el punto hasta donde llega el archivo. Los
+     * registros que lleguen después quedan más allá del corte.
+     *
+     * @return secuencia y bytes del archivo en ese punto
+     * @throws IOException si falla la escritura
+     */
+    Corte cortar() throws IOException {
+        synchronized (escritura) {
+            escribirPendiente();
+            return new Corte(secuenciaEscrita, canal.position());
+        }
+    }
+
+    /**
+     * Quita del diario los primeros {@code bytes} (ya incluidos en una
+     * instantánea) y conserva lo que sigue. Copia la cola a un archivo
+     * temporal y lo renombra: una caída a mitad de camino deja el diario
+     * completo, y al reabrir se saltan los registros de la instantánea.
+     *
+     * @param bytes largo de un {@link Corte} tomado antes
+     * @throws IOException si falla la copia
+     */
+    void descartarHasta(long bytes) throws IOException {
+        synchronized (escritura) {
+            escribirPendiente();
+            long largo = canal.position();
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            try (FileChannel cola = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (long copiado = 0; bytes + copiado < largo; ) {
+                    copiado += canal.transferTo(bytes + copiado, largo - bytes - copiado, cola);
+                }
+                cola.force(true);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            canal.close();
+            canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.READ);
+            canal.position(largo - bytes);
+            synchronized (this) {
+                tamano -= bytes;
+            }
+        }
+    }
+
+    /**
+     * Escribe todo lo pendiente y lo sincroniza con el disco.
+     *
+     * @throws IOException si falla la escritura
+     */
+    void sincronizar() throws IOException {
+        escribirPendiente();
+        IOException e = errorDeFondo;
+        if (e != null) throw e;
+    }
+
+    /**
+     * Vacía el diario (todo su contenido ya está en una instantánea).
+     *
+     * @throws IOException si falla el truncado
+     */
+    void truncar() throws IOException {
+        synchronized (escritura) {
+            synchronized (this) {
+                pendiente.clear();
+                tamano = 0;
+                secuenciaEscrita = secuencia;
+            }
+            canal.truncate(0);
+            canal.position(0);
+            canal.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        cerrado = true;
+        synchronized (senal) {
+            senal.notifyAll();
+        }
+        try {
+            confirmador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sincronizar();
+        } finally {
+            synchronized (escritura) {
+                canal.close();
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES DE ESCRITURA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Empieza un registro nuevo del tipo indicado. */
+    private void iniciar(byte tipo) {
+        registro.clear();
+        registro.put(tipo);
+        registro.putLong(++secuencia);
+    }
+
+    /** Calcula el CRC del registro y lo copia con su cabecera al búfer pendiente. */
+    private void terminar() {
+        registro.flip();
+        crc.reset();
+        crc.update(registro.array(), 0, registro.limit());
+        int total = CABECERA + registro.limit();
+        if (pendiente.remaining() < total) {
+            ByteBuffer mayor = ByteBuffer.allocate(Math.max(pendiente.capacity() * 2, pendiente.position() + total));
+            pendiente.flip();
+            mayor.put(pendiente);
+            pendiente = mayor;
+        }
+        pendiente.putInt(registro.limit());
+        pendiente.putInt((int) crc.getValue());
+        pendiente.put(registro);
+        tamano += total;
+    }
+
+    /** Agrega un texto como largo + bytes UTF-8; {@code null} se escribe como largo -1. */
+    private void ponerTexto(String texto) {
+        byte[] bytes = texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+        int largo = bytes == null ? 0 : bytes.length;
+        if (registro.remaining() < 4 + largo) {
+            ByteBuffer mayor = ByteBuffer.allocate(Math.max(registro.capacity() * 2, registro.position() + 4 + largo));
+            registro.flip();
+            mayor.put(registro);
+            registro = mayor;
+        }
+        if (bytes == null) {
+            registro.putInt(-1);
+            return;
+        }
+        registro.putInt(bytes.length);
+        registro.put(bytes);
+    }
+
+    /**
+     * Intercambia los búferes y escribe lo pendiente con un único {@code force()}.
+     * Los hilos que registran cambios no esperan al disco: siguen llenando el
+     * otro búfer mientras este se escribe.
+     */
+    private void escribirPendiente() throws IOException {
+        synchronized (escritura) {
+            long hasta;
+            synchronized (this) {
+                if (pendiente.position() == 0) return;
+                ByteBuffer lleno = pendiente;
+                pendiente = enVuelo;
+                enVuelo = lleno;
+                hasta = secuencia;
+            }
+            enVuelo.flip();
+            while (enVuelo.hasRemaining()) canal.write(enVuelo);
+            enVuelo.clear();
+            canal.force(false);
+            secuenciaEscrita = hasta;
+        }
+    }
+
+    /** Corre el trabajo pedido con {@link #enFondo(Runnable)}, si hay uno. */
+    private void correrTrabajo() {
+        Runnable r = trabajo;
+        if (r == null) return;
+        trabajo = null;
+        r.run();
+    }
+
+    /** Punto del diario: última secuencia escrita y bytes hasta ella. */
+    static final class Corte {
+        final long secuencia;
+        final long bytes;
+
+        Corte(long secuencia, long bytes) {
+            this.secuencia = secuencia;
+            this.bytes     = bytes;
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  LECTURA (RECUPERACIÓN)
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Recibe cada registro válido del diario durante la recuperación.
+     */
+    interface Lector {
+        void alta(long secuencia, byte tipo, int id, String prioridad, String nombre, String fechaLimite);
+        void estado(long secuencia, int id, boolean completado);
+        void baja(long secuencia, int id);
+        void modificacion(long secuencia, int id, String prioridad, String nombre, String fechaLimite);
+    }
+
+    /**
+     * Lee el diario desde el principio hasta el último registro íntegro.
+     * Si al final hay un registro cortado o con CRC inválido (caída a mitad
+     * de escritura), el archivo se trunca en ese punto.
+     *
+     * @param archivo ruta del diario (puede no existir)
+     * @param lector  receptor de los registros
+     * @return la última secuencia leída, o 0 si no hay registros
+     * @throws IOException si falla la lectura
+     */
+    static long leer(Path archivo, Lector lector) throws IOException {
+        if (!Files.exists(archivo)) return 0;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long[] resultado = recorrer(canal, canal.size(), lector);
+            if (resultado[1] < canal.size()) canal.truncate(resultado[1]); // cola cortada
+            return resultado[0];
+        }
+    }
+
+    /**
+     * Lee los registros de los primeros {@code bytes} del diario, sin
+     * modificarlo; se puede usar mientras otro hilo sigue agregando al final.
+     *
+     * @param archivo ruta del diario
+     * @param bytes   largo de un {@link Corte}
+     * @param lector  receptor de los registros
+     * @throws IOException si falla la lectura
+     */
+    static void leerHasta(Path archivo, long bytes, Lector lector) throws IOException {
+        if (bytes == 0) return;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            recorrer(canal, bytes, lector);
+        }
+    }
+
+    /**
+     * Recorre los registros íntegros desde el principio hasta {@code limite}.
+     *
+     * @return la última secuencia leída (0 si ninguna) y los bytes válidos
+     */
+    private static long[] recorrer(FileChannel canal, long limite, Lector lector) throws IOException {
+        long ultimaSecuencia = 0;
+        long valido = 0;
+        InputStream entrada = new BufferedInputStream(Channels.newInputStream(canal), 64 * 1024);
+        DataInputStream datos = new DataInputStream(entrada);
+        CRC32 crc = new CRC32();
+        byte[] contenido = new byte[256];
+        while (valido < limite) {
+            int largo, esperado;
+            try {
+                largo    = datos.readInt();
+                esperado = datos.readInt();
+                if (largo <= 0 || largo > LARGO_MAXIMO) break;
+                if (contenido.length < largo) contenido = new byte[Math.max(largo, contenido.length * 2)];
+                datos.readFully(contenido, 0, largo);
+            } catch (EOFException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(contenido, 0, largo);
+            if ((int) crc.getValue() != esperado) break;
+
+            ByteBuffer r = ByteBuffer.wrap(contenido, 0, largo);
+            byte tipo = r.get();
+            long sec  = r.getLong();
+            int id    = r.getInt();
+            switch (tipo) {
+                case ALTA_NORMAL:
+                case ALTA_URGENTE:
+                    String prioridad = leerTexto(r);
+                    String nombre    = leerTexto(r);
+                    String fecha     = tipo == ALTA_URGENTE ? leerTexto(r) : null;
+                    lector.alta(sec, tipo, id, prioridad, nombre, fecha);
+                    break;
+                case ESTADO:
+                    lector.estado(sec, id, r.get() == 1);
+                    break;
+                case BAJA:
+                    lector.baja(sec, id);
+                    break;
+                case MODIFICACION:
+                    boolean urgente       = r.get() == 1;
+                    String prioridadNueva = leerTexto(r);
+                    String nombreNuevo    = leerTexto(r);
+                    lector.modificacion(sec, id, prioridadNueva, nombreNuevo, urgente ? leerTexto(r) : null);
+                    break;
+                default:
+                    throw new IOException("Tipo de registro desconocido: " + tipo);
+            }
+            ultimaSecuencia = sec;
+            valido += CABECERA + largo;
+        }
+        return new long[] { ultimaSecuencia, valido };
+    }
+
+    /** Lee un texto escrito por {@link #ponerTexto(String)}. */
+    private static String leerTexto(ByteBuffer r) {
+        int largo = r.getInt();
+        if (largo < 0) return null;
+        String texto = new String(r.array(), r.arrayOffset() + r.position(), largo, StandardCharsets.UTF_8);
+        r.position(r.position() + largo);
+        return texto;
+    }
+}
@@ -0,0 +1,215 @@
+package smarttask;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Clase {@code EjecutorTareas} — ejecuta en paralelo la acción
+ * {@link Accionable#ejecutar()} de muchas tareas de un {@link GestorTareas}.
+ *
+ * <p>Cada {@code ejecutar()} corre en su propio hilo virtual, así las acciones
+ * que esperan E/S (red, disco) pueden estar miles a la vez sin ocupar un hilo
+ * del sistema cada una. Un {@link Semaphore} limita cuántas hay en vuelo: al
+ * llegar al máximo, la siguiente espera a que termine alguna.</p>
+ *
+ * <p>{@link GestorTareas} no es seguro para hilos, así que mientras corre el
+ * lote las tareas quedan desconectadas del gestor: los hilos virtuales solo
+ * cambian el estado de su propia tarea. Cuando terminan todas, el hilo que
+ * llamó aplica los cambios de estado al gestor de una vez. Si la acción de
+ * una tarea lanza una excepción, su estado vuelve a ser el de antes (aunque
+ * la acción ya la hubiera marcado como completada) y el error queda en el
+ * {@link Resultado}.</p>
+ *
+ * <p>{@code ejecutar()} solo debe cambiar el estado de la tarea: otros cambios
+ * (nombre, prioridad) hechos desde un hilo virtual no llegan a los índices del
+ * gestor.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class EjecutorTareas {
+
+    /** Acciones en vuelo a la vez si no se indica otro límite. */
+    public static final int MAX_EN_VUELO_POR_DEFECTO = 1024;
+
+    private final GestorTareas gestor;
+    private final int maxEnVuelo;
+
+    /**
+     * Crea un ejecutor con {@link #MAX_EN_VUELO_POR_DEFECTO} acciones a la vez.
+     *
+     * @param gestor gestor dueño de las tareas
+     */
+    public EjecutorTareas(GestorTareas gestor) {
+        this(gestor, MAX_EN_VUELO_POR_DEFECTO);
+    }
+
+    /**
+     * @param gestor     gestor dueño de las tareas
+     * @param maxEnVuelo acciones que pueden correr a la vez (mínimo 1)
+     */
+    public EjecutorTareas(GestorTareas gestor, int maxEnVuelo) {
+        if (maxEnVuelo < 1) throw new IllegalArgumentException("Se necesita al menos una acción en vuelo");
+        this.gestor     = gestor;
+        this.maxEnVuelo = maxEnVuelo;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  EJECUCIÓN
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ejecuta todas las tareas pendientes del gestor.
+     *
+     * @return resumen de la ejecución
+     */
+    public Resultado ejecutarPendientes() {
+        return ejecutar(gestor.obtenerPendientes());
+    }
+
+    /**
+     * Ejecuta la acción de cada tarea en un hilo virtual y espera a que
+     * terminen todas. Las tareas que no son {@link Accionable} y las repetidas
+     * se ignoran. Si el hilo que llama se interrumpe, no se lanzan más
+     * acciones, se espera a las que están en vuelo y se devuelve lo hecho
+     * (con el hilo marcado como interrumpido).
+     *
+     * @param seleccion tareas del gestor a ejecutar
+     * @return resumen de la ejecución
+     * @throws IllegalArgumentException si alguna tarea no pertenece al gestor
+     */
+    public Resultado ejecutar(Collection<? extends Tarea> seleccion) {
+        long inicio = System.nanoTime();
+
+        // Se valida y se desconecta todo antes de lanzar el primer hilo
+        List<Tarea> tareas = new ArrayList<>(seleccion.size());
+        BitSet vistas = new BitSet();
+        for (Tarea t : seleccion) {
+            if (!(t instanceof Accionable) || vistas.get(t.getId())) continue;
+            if (gestor.buscarPorId(t.getId()) != t) {
+                throw new IllegalArgumentException("La tarea #" + t.getId() + " no pertenece a este gestor");
+            }
+            vistas.set(t.getId());
+            tareas.add(t);
+        }
+        int n = tareas.size();
+        boolean[] estadoAnterior = new boolean[n];
+        ObservadorTarea[] observadores = new ObservadorTarea[n];
+        for (int i = 0; i < n; i++) {
+            Tarea t = tareas.get(i);
+            estadoAnterior[i] = t.isCompletado();
+            observadores[i]   = t.observador;
+            t.observador      = null;
+        }
+
+        Throwable[] fallos = new Throwable[n];
+        int lanzadas = lanzar(tareas, fallos);
+
+        // Aplicación en el hilo que llamó: el gestor ve todos los cambios juntos
+        List<Tarea> exitosas = new ArrayList<>();
+        List<Fallo> fallidas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Tarea t = tareas.get(i);
+            if (i < lanzadas && fallos[i] != null) {
+                t.setCompletado(estadoAnterior[i]); // sin observador: no avisa a nadie
+                fallidas.add(new Fallo(t, fallos[i]));
+            } else if (i < lanzadas) {
+                exitosas.add(t);
+            }
+            t.observador = observadores[i];
+            if (t.isCompletado() != estadoAnterior[i] && t.observador != null) t.observador.estadoCambiado(t);
+        }
+        return new Resultado(exitosas, fallidas, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Lanza una acción por tarea con a lo sumo {@link #maxEnVuelo} en vuelo y
+     * espera a que terminen.
+     *
+     * @return cuántas se lanzaron (todas, salvo que se interrumpa el hilo)
+     */
+    private int lanzar(List<Tarea> tareas, Throwable[] fallos) {
+        Semaphore permisos = new Semaphore(maxEnVuelo);
+        int lanzadas = 0;
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (; lanzadas < tareas.size(); lanzadas++) {
+                try {
+                    permisos.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                final int i = lanzadas;
+                final Accionable accion = (Accionable) tareas.get(i);
+                hilos.execute(() -> {
+                    try {
+                        accion.ejecutar();
+                    } catch (Throwable e) {
+                        fallos[i] = e;
+                    } finally {
+                        permisos.release();
+                    }
+                });
+            }
+        }
+        // Recuperar todos los permisos garantiza ver lo que escribieron los hilos
+        permisos.acquireUninterruptibly(maxEnVuelo);
+        return lanzadas;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RESULTADO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Una tarea cuya acción lanzó una excepción. */
+    public static final class Fallo {
+        private final Tarea tarea;
+        private final Throwable causa;
+
+        Fallo(Tarea tarea, Throwable causa) {
+            this.tarea = tarea;
+            this.causa = causa;
+        }
+
+        /** @return la tarea, con el estado que tenía antes de ejecutarla */
+        public Tarea getTarea() { return tarea; }
+
+        /** @return la excepción que lanzó {@code ejecutar()} */
+        public Throwable getCausa() { return causa; }
+    }
+
+    /** Resumen de un lote: acciones que terminaron bien, fallos y duración. */
+    public static final class Resultado {
+        private final List<Tarea> exitosas;
+        private final List<Fallo> fallidas;
+        private final long nanos;
+
+        Resultado(List<Tarea> exitosas, List<Fallo> fallidas, long nanos) {
+            this.exitosas = Collections.unmodifiableList(exitosas);
+            this.fallidas = Collections.unmodifiableList(fallidas);
+            this.nanos    = nanos;
+        }
+
+        /** @return tareas cuya acción terminó sin excepción, en el orden recibido */
+        public List<Tarea> getExitosas() { return exitosas; }
+
+        /** @return tareas cuya acción lanzó una excepción, con su causa */
+        public List<Fallo> getFallidas() { return fallidas; }
+
+        /** @return duración del lote en milisegundos */
+        public long getMilisegundos() { return nanos / 1_000_000; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d ejecutadas, %d con error, %d ms",
+                    exitosas.size(), fallidas.size(), getMilisegundos());
+        }
+    }
+}
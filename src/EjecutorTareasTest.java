@@ -0,0 +1,136 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link EjecutorTareas}: ejecución en hilos virtuales con límite
+ * de acciones en vuelo, fallos que no dejan estado a medias y particiones del
+ * gestor sincronizadas al terminar.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del ejecutor de tareas en hilos virtuales")
+class EjecutorTareasTest {
+
+    private GestorTareas gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+    }
+
+    /** Tarea cuya acción espera (como si hiciera E/S), cuenta la concurrencia y puede fallar. */
+    private static final class TareaLenta extends TareaNormal {
+        static final AtomicInteger enVuelo = new AtomicInteger();
+        static final AtomicInteger maximo  = new AtomicInteger();
+        static final AtomicInteger enHilosVirtuales = new AtomicInteger();
+
+        private final boolean falla;
+
+        TareaLenta(int id, boolean falla) {
+            super(id, "Lenta " + id, Prioridad.MEDIA);
+            this.falla = falla;
+        }
+
+        @Override
+        public void ejecutar() {
+            int ahora = enVuelo.incrementAndGet();
+            maximo.accumulateAndGet(ahora, Math::max);
+            if (Thread.currentThread().isVirtual()) enHilosVirtuales.incrementAndGet();
+            try {
+                setCompletado(true);
+                Thread.sleep(5);
+                if (falla) throw new IllegalStateException("servicio caído");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                enVuelo.decrementAndGet();
+            }
+        }
+
+        static void reiniciar() {
+            enVuelo.set(0);
+            maximo.set(0);
+            enHilosVirtuales.set(0);
+        }
+    }
+
+    @Test
+    @DisplayName("ejecutarPendientes() completa todas y actualiza las particiones")
+    void testEjecutarPendientes() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < 500; i++) gestor.agregarTareaNormalLogica("Tarea " + i, Prioridad.BAJA);
+            gestor.agregarTareaUrgenteLogica("Urgente", Prioridad.ALTA, "2026-03-01");
+            gestor.marcarComoCompletada(1);
+
+            EjecutorTareas.Resultado r = new EjecutorTareas(gestor, 16).ejecutarPendientes();
+
+            assertEquals(500, r.getExitosas().size());
+            assertTrue(r.getFallidas().isEmpty());
+            assertEquals(0, gestor.obtenerPendientes().size());
+            assertEquals(501, gestor.obtenerCompletadas().size());
+            assertNull(gestor.siguiente(), "La cola de trabajo queda vacía");
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    @Test
+    @DisplayName("Corre en hilos virtuales sin superar el límite en vuelo")
+    void testLimiteEnVuelo() {
+        TareaLenta.reiniciar();
+        for (int id = 1; id <= 400; id++) gestor.insertar(new TareaLenta(id, false));
+
+        EjecutorTareas.Resultado r = new EjecutorTareas(gestor, 32).ejecutarPendientes();
+
+        assertEquals(400, r.getExitosas().size());
+        assertEquals(400, TareaLenta.enHilosVirtuales.get());
+        assertTrue(TareaLenta.maximo.get() <= 32, "Máximo en vuelo: " + TareaLenta.maximo.get());
+        assertTrue(TareaLenta.maximo.get() > 1, "Las acciones deben solaparse");
+    }
+
+    @Test
+    @DisplayName("Una acción que falla deja su tarea como estaba y no frena a las demás")
+    void testFallos() {
+        TareaLenta.reiniciar();
+        for (int id = 1; id <= 20; id++) gestor.insertar(new TareaLenta(id, id % 5 == 0));
+
+        EjecutorTareas.Resultado r = new EjecutorTareas(gestor).ejecutar(gestor.obtenerTodas());
+
+        assertEquals(16, r.getExitosas().size());
+        assertEquals(4, r.getFallidas().size());
+        for (EjecutorTareas.Fallo f : r.getFallidas()) {
+            assertFalse(f.getTarea().isCompletado(), "El estado vuelve al anterior");
+            assertInstanceOf(IllegalStateException.class, f.getCausa());
+        }
+        assertEquals(List.of(5, 10, 15, 20), gestor.obtenerPendientes().stream().map(Tarea::getId).toList());
+        assertEquals(16, gestor.obtenerCompletadas().size());
+
+        // Las tareas siguen conectadas al gestor después del lote
+        gestor.buscarPorId(1).setCompletado(false);
+        assertEquals(5, gestor.obtenerPendientes().size());
+    }
+
+    @Test
+    @DisplayName("Rechaza tareas de otro gestor y un límite menor que 1")
+    void testValidaciones() {
+        Tarea ajena = new GestorTareas(false).agregarTareaNormalLogica("Ajena", Prioridad.ALTA);
+        EjecutorTareas ejecutor = new EjecutorTareas(gestor);
+        assertThrows(IllegalArgumentException.class, () -> ejecutor.ejecutar(List.of(ajena)));
+        assertFalse(ajena.isCompletado());
+        assertThrows(IllegalArgumentException.class, () -> new EjecutorTareas(gestor, 0));
+    }
+}
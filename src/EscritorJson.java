@@ -0,0 +1,152 @@
+package smarttask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase {@code EscritorJson} — escribe tareas en JSON sobre un flujo de
+ * bytes, a medida que se generan.
+ *
+ * <p>Los elementos se agregan a un {@link StringBuilder} reutilizado y solo
+ * se codifican en UTF-8 y se escriben al llamar a {@link #vaciar()}. Así
+ * quien tiene un candado puede armar una página de elementos con él tomado
+ * y escribirla en la red después de soltarlo. La memoria usada depende del
+ * tamaño de una página, no del total de tareas.</p>
+ *
+ * <p>Un objeto de tarea tiene los mismos campos que una línea de
+ * {@link ExportadorTareas.Formato#JSONL}:</p>
+ * <pre>
+ *   {"id":1,"tipo":"URGENTE","nombre":"Entregar","prioridad":"ALTA","fechaLimite":"2026-03-01","completada":false}
+ * </pre>
+ *
+ * <p>Es de paquete: lo usan {@link ServidorTareas} y {@link ExportadorTareas}.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class EscritorJson {
+
+    /** Bytes codificados que se juntan antes de escribir en el flujo. */
+    static final int TAMANO_BUFER = 16 * 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final OutputStream salida;
+    private final StringBuilder texto = new StringBuilder(TAMANO_BUFER);
+    private char[] caracteres = new char[TAMANO_BUFER];
+    private final ByteBuffer bytes = ByteBuffer.allocate(TAMANO_BUFER);
+    private final CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /** {@code true} hasta el primer elemento del arreglo abierto (no lleva coma). */
+    private boolean primero;
+
+    /**
+     * @param salida flujo donde se escriben los bytes; no se cierra
+     */
+    EscritorJson(OutputStream salida) {
+        this.salida = salida;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ARREGLO DE TAREAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Abre el arreglo. */
+    void inicioArreglo() {
+        texto.append('[');
+        primero = true;
+    }
+
+    /** Agrega una tarea al arreglo (en memoria, hasta {@link #vaciar()}). */
+    void elemento(Tarea tarea) {
+        if (!primero) texto.append(',');
+        primero = false;
+        tarea(texto, tarea);
+    }
+
+    /** Cierra el arreglo. */
+    void finArreglo() {
+        texto.append(']');
+    }
+
+    /**
+     * Codifica lo acumulado, lo escribe y vacía el flujo. Se llama entre
+     * elementos, nunca a mitad de uno.
+     *
+     * @throws IOException si falla la escritura
+     */
+    void vaciar() throws IOException {
+        int largo = texto.length();
+        if (largo > caracteres.length) caracteres = new char[Math.max(largo, caracteres.length * 2)];
+        texto.getChars(0, largo, caracteres, 0);
+        texto.setLength(0);
+
+        // Se vacía entre elementos: nunca queda un par sustituto a medias
+        CharBuffer entrada = CharBuffer.wrap(caracteres, 0, largo);
+        codificador.reset();
+        while (true) {
+            CoderResult r = codificador.encode(entrada, bytes, true);
+            if (r.isOverflow()) escribir();
+            else break;
+        }
+        while (codificador.flush(bytes).isOverflow()) escribir();
+        escribir();
+        salida.flush();
+    }
+
+    private void escribir() throws IOException {
+        salida.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  VALORES (de paquete, sin estado)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Agrega el objeto JSON de una tarea, sin salto de línea. */
+    static void tarea(StringBuilder destino, Tarea t) {
+        boolean urgente = t instanceof TareaUrgente;
+        destino.append("{\"id\":").append(t.getId())
+               .append(",\"tipo\":\"").append(urgente ? "URGENTE" : "NORMAL")
+               .append("\",\"nombre\":");
+        cadena(destino, t.getNombre());
+        destino.append(",\"prioridad\":\"").append(t.getPrioridad().name()).append('"');
+        if (urgente) {
+            destino.append(",\"fechaLimite\":");
+            cadena(destino, ((TareaUrgente) t).getFechaLimite());
+        }
+        destino.append(",\"completada\":").append(t.isCompletado()).append('}');
+    }
+
+    /** Agrega una cadena JSON con sus escapes, o {@code null}. */
+    static void cadena(StringBuilder destino, String valor) {
+        if (valor == null) {
+            destino.append("null");
+            return;
+        }
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"'  -> destino.append("\\\"");
+                case '\\' -> destino.append("\\\\");
+                case '\n' -> destino.append("\\n");
+                case '\r' -> destino.append("\\r");
+                case '\t' -> destino.append("\\t");
+                default -> {
+                    if (c >= 0x20) destino.append(c);
+                    else destino.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                }
+            }
+        }
+        destino.append('"');
+    }
+}
@@ -0,0 +1,241 @@
+package smarttask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Clase {@code ExportadorTareas} — exportación masiva de tareas a CSV,
+ * JSON Lines o la tabla de la consola.
+ *
+ * <p>Exportar con {@code obtenerTodas()} y {@code toString()} copia la lista
+ * entera y crea un {@code String} por tarea. Este exportador recorre la lista
+ * interna del {@link GestorTareas} sin copiarla, escribe cada fila en un
+ * {@link StringBuilder} reutilizado y, cada {@link #TAMANO_BUFER} caracteres,
+ * lo codifica en UTF-8 sobre un {@link ByteBuffer} directo que se manda al
+ * {@link WritableByteChannel}. La memoria usada no depende de la cantidad de
+ * tareas, solo de la fila más larga.</p>
+ *
+ * <p>Los campos de CSV y JSONL son los mismos que lee
+ * {@link ImportadorTareas} ({@code tipo}, {@code nombre}, {@code prioridad},
+ * {@code fechaLimite}, {@code completada}) más el {@code id}, que el
+ * importador ignora: un archivo exportado se puede volver a importar.</p>
+ *
+ * <pre>
+ *   try (FileChannel canal = FileChannel.open(ruta, CREATE, WRITE, TRUNCATE_EXISTING)) {
+ *       new ExportadorTareas().exportar(gestor, ExportadorTareas.Formato.JSONL, canal);
+ *   }
+ * </pre>
+ *
+ * <p>Una instancia reutiliza sus búferes entre exportaciones, pero no es
+ * segura para varios hilos a la vez.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class ExportadorTareas {
+
+    /** Formato de salida. */
+    public enum Formato { CSV, JSONL, TABLA }
+
+    /** Caracteres que se acumulan antes de codificar, y tamaño del búfer de bytes. */
+    public static final int TAMANO_BUFER = 64 * 1024;
+
+    /** Cabecera de las exportaciones CSV. */
+    static final String CABECERA_CSV = "id,tipo,nombre,prioridad,fechaLimite,completada";
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO (reutilizado entre exportaciones)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Texto pendiente de codificar. */
+    private final StringBuilder texto = new StringBuilder(TAMANO_BUFER + 1024);
+
+    /** Copia de {@link #texto} que el codificador puede leer sin crear un {@code String}. */
+    private char[] caracteres = new char[TAMANO_BUFER + 1024];
+
+    /** Bytes codificados pendientes de escribir en el canal. */
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(TAMANO_BUFER);
+
+    private final CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /** Canal de la exportación en curso. */
+    private WritableByteChannel canal;
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  API PÚBLICA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Exporta a un archivo (que se crea o se reemplaza) eligiendo el formato
+     * por la extensión: {@code .jsonl} o {@code .ndjson} como JSON Lines,
+     * {@code .txt} como tabla y cualquier otra como CSV.
+     *
+     * @param gestor  gestor cuyas tareas se exportan
+     * @param archivo archivo de destino (UTF-8)
+     * @return cantidad de tareas exportadas
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static int exportar(GestorTareas gestor, Path archivo) throws IOException {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        Formato formato = nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson") ? Formato.JSONL
+                        : nombre.endsWith(".txt") ? Formato.TABLA
+                        : Formato.CSV;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return new ExportadorTareas().exportar(gestor, formato, canal);
+        }
+    }
+
+    /**
+     * Escribe todas las tareas del gestor, en orden de ID, en el canal. El
+     * canal no se cierra. Si es no bloqueante, se reintenta hasta que acepte
+     * todos los bytes.
+     *
+     * @param gestor  gestor cuyas tareas se exportan
+     * @param formato formato de salida
+     * @param destino canal donde se escriben los bytes UTF-8
+     * @return cantidad de tareas exportadas
+     * @throws IOException si falla la escritura
+     */
+    public int exportar(GestorTareas gestor, Formato formato, WritableByteChannel destino) throws IOException {
+        canal = destino;
+        texto.setLength(0);
+        bytes.clear();
+        codificador.reset();
+        try {
+            int total = gestor.getTotalTareas();
+            switch (formato) {
+                case CSV   -> texto.append(CABECERA_CSV).append('\n');
+                case TABLA -> encabezadoTabla(total);
+                case JSONL -> { }
+            }
+            int exportadas = 0;
+            for (Tarea t : gestor.vistaPorId()) {
+                switch (formato) {
+                    case CSV   -> filaCsv(t);
+                    case JSONL -> filaJsonl(t);
+                    case TABLA -> {
+                        texto.append("  ");
+                        t.escribirFila(texto);
+                        texto.append(RenderizadorTareas.FIN_DE_LINEA);
+                    }
+                }
+                exportadas++;
+                if (texto.length() >= TAMANO_BUFER) codificar(false);
+            }
+            if (formato == Formato.TABLA && total > 0) {
+                texto.append(RenderizadorTareas.SEPARADOR).append(RenderizadorTareas.FIN_DE_LINEA);
+                RenderizadorTareas.total(texto, exportadas);
+            }
+            codificar(true);
+            return exportadas;
+        } finally {
+            canal = null;
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  FILAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Título y cabecera iguales a los de {@link GestorTareas#listarTodas()}. */
+    private void encabezadoTabla(int total) {
+        RenderizadorTareas.titulo(texto, "TODAS LAS TAREAS");
+        if (total == 0) {
+            texto.append(RenderizadorTareas.SIN_TAREAS).append(RenderizadorTareas.FIN_DE_LINEA);
+            return;
+        }
+        texto.append(RenderizadorTareas.SEPARADOR).append(RenderizadorTareas.FIN_DE_LINEA)
+             .append(RenderizadorTareas.CABECERA).append(RenderizadorTareas.FIN_DE_LINEA)
+             .append(RenderizadorTareas.SEPARADOR).append(RenderizadorTareas.FIN_DE_LINEA);
+    }
+
+    private void filaCsv(Tarea t) {
+        texto.append(t.getId()).append(',').append(tipo(t)).append(',');
+        valorCsv(t.getNombre());
+        texto.append(',').append(t.getPrioridad().name()).append(',');
+        if (t instanceof TareaUrgente u) valorCsv(u.getFechaLimite());
+        texto.append(',').append(t.isCompletado()).append('\n');
+    }
+
+    private void filaJsonl(Tarea t) {
+        EscritorJson.tarea(texto, t);
+        texto.append('\n');
+    }
+
+    private static String tipo(Tarea t) {
+        return t instanceof TareaUrgente ? "URGENTE" : "NORMAL";
+    }
+
+    /**
+     * Agrega un valor CSV, entre comillas solo si contiene coma, comillas o
+     * saltos de línea. {@link ImportadorTareas} no lee saltos de línea dentro
+     * de un valor: para esos nombres conviene JSONL.
+     */
+    private void valorCsv(String valor) {
+        if (valor == null) return;
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            texto.append(valor);
+            return;
+        }
+        texto.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') texto.append('"');
+            texto.append(c);
+        }
+        texto.append('"');
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CODIFICACIÓN Y ESCRITURA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Codifica el texto acumulado en {@link #bytes}, escribiendo en el canal
+     * cada vez que se llena, y vacía {@link #texto}.
+     *
+     * @param fin {@code true} en la última llamada: escribe también lo que quede
+     */
+    private void codificar(boolean fin) throws IOException {
+        int largo = texto.length();
+        if (largo > caracteres.length) caracteres = new char[Math.max(largo, caracteres.length * 2)];
+        texto.getChars(0, largo, caracteres, 0);
+        texto.setLength(0);
+
+        // Cada fila termina en salto de línea: nunca queda un par sustituto a medias
+        CharBuffer entrada = CharBuffer.wrap(caracteres, 0, largo);
+        while (true) {
+            CoderResult r = codificador.encode(entrada, bytes, fin);
+            if (r.isOverflow()) escribir();
+            else break;
+        }
+        if (fin) {
+            while (codificador.flush(bytes).isOverflow()) escribir();
+            escribir();
+        }
+    }
+
+    private void escribir() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) canal.write(bytes);
+        bytes.clear();
+    }
+}
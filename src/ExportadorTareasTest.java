@@ -0,0 +1,148 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link ExportadorTareas}: la tabla coincide con el listado de
+ * consola, CSV y JSONL se pueden volver a importar y la escritura soporta
+ * canales que aceptan pocos bytes por llamada.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la exportación masiva de tareas")
+class ExportadorTareasTest {
+
+    @TempDir
+    Path carpeta;
+
+    private GestorTareas gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+        gestor.agregarTareaNormalLogica("Estudiar Java", Prioridad.ALTA);
+        gestor.agregarTareaUrgenteLogica("Informe, versión \"final\"", Prioridad.MEDIA, "2026-03-01");
+        gestor.agregarTareaNormalLogica("Línea\tcon \\ y \u0001", Prioridad.BAJA);
+        gestor.marcarComoCompletada(2);
+    }
+
+    private String exportar(GestorTareas origen, ExportadorTareas.Formato formato) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ExportadorTareas().exportar(origen, formato, Channels.newChannel(bytes));
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Compara tipo, nombre, prioridad, fecha y estado (los IDs pueden cambiar). */
+    private static void assertMismasTareas(List<Tarea> esperadas, List<Tarea> obtenidas) {
+        assertEquals(esperadas.size(), obtenidas.size());
+        for (int i = 0; i < esperadas.size(); i++) {
+            Tarea a = esperadas.get(i), b = obtenidas.get(i);
+            assertEquals(a.getClass(), b.getClass());
+            assertEquals(a.getNombre(), b.getNombre());
+            assertEquals(a.getPrioridad(), b.getPrioridad());
+            assertEquals(a.isCompletado(), b.isCompletado());
+            if (a instanceof TareaUrgente u) assertEquals(u.getFechaLimite(), ((TareaUrgente) b).getFechaLimite());
+        }
+    }
+
+    @Test
+    @DisplayName("TABLA produce los mismos bytes que listarTodas()")
+    void testTablaIgualAConsola() throws IOException {
+        PrintStream original = System.out;
+        ByteArrayOutputStream consola = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(consola, true, StandardCharsets.UTF_8));
+        try {
+            gestor.listarTodas();
+            new GestorTareas(false).listarTodas();
+        } finally {
+            System.setOut(original);
+        }
+
+        String esperado = consola.toString(StandardCharsets.UTF_8);
+        assertEquals(esperado, exportar(gestor, ExportadorTareas.Formato.TABLA)
+                + exportar(new GestorTareas(false), ExportadorTareas.Formato.TABLA));
+    }
+
+    @Test
+    @DisplayName("CSV: cabecera, comillas y vuelta por ImportadorTareas")
+    void testCsvIdaYVuelta() throws IOException {
+        String csv = exportar(gestor, ExportadorTareas.Formato.CSV);
+
+        String[] lineas = csv.split("\n");
+        assertEquals(ExportadorTareas.CABECERA_CSV, lineas[0]);
+        assertEquals("1,NORMAL,Estudiar Java,ALTA,,false", lineas[1]);
+        assertEquals("2,URGENTE,\"Informe, versión \"\"final\"\"\",MEDIA,2026-03-01,true", lineas[2]);
+
+        GestorTareas copia = new GestorTareas(false);
+        assertEquals(3, ImportadorTareas.importarCsv(new StringReader(csv), copia).getImportadas());
+        assertMismasTareas(gestor.obtenerTodas(), copia.obtenerTodas());
+    }
+
+    @Test
+    @DisplayName("JSONL: escapes y vuelta por ImportadorTareas")
+    void testJsonlIdaYVuelta() throws IOException {
+        Path archivo = carpeta.resolve("tareas.jsonl");
+        assertEquals(3, ExportadorTareas.exportar(gestor, archivo));
+
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        assertEquals("{\"id\":3,\"tipo\":\"NORMAL\",\"nombre\":\"Línea\\tcon \\\\ y \\u0001\","
+                + "\"prioridad\":\"BAJA\",\"completada\":false}", lineas.get(2));
+
+        GestorTareas copia = new GestorTareas(false);
+        assertEquals(3, ImportadorTareas.importar(archivo, copia).getImportadas());
+        assertMismasTareas(gestor.obtenerTodas(), copia.obtenerTodas());
+    }
+
+    @Test
+    @DisplayName("Varios búferes sobre un canal que acepta pocos bytes por llamada")
+    void testCanalLento() throws IOException {
+        GestorTareas grande = new GestorTareas(false);
+        int cantidad = 20_000;
+        for (int i = 0; i < cantidad; i++) grande.agregarTareaNormalLogica("Tarea ñ € 😀 " + i, Prioridad.MEDIA);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel lento = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer origen) {
+                int n = Math.min(origen.remaining(), 1000);
+                for (int i = 0; i < n; i++) bytes.write(origen.get());
+                return n;
+            }
+            @Override public boolean isOpen() { return true; }
+            @Override public void close() { }
+        };
+
+        ExportadorTareas exportador = new ExportadorTareas();
+        assertEquals(cantidad, exportador.exportar(grande, ExportadorTareas.Formato.JSONL, lento));
+        assertTrue(bytes.size() > 2 * ExportadorTareas.TAMANO_BUFER, "Debe ocupar varios búferes");
+
+        GestorTareas copia = new GestorTareas(false);
+        ImportadorTareas.Resultado r = ImportadorTareas.importarJsonl(
+                new StringReader(bytes.toString(StandardCharsets.UTF_8)), copia);
+        assertEquals(cantidad, r.getImportadas());
+        assertEquals(0, r.getConError());
+        assertEquals("Tarea ñ € 😀 19999", copia.buscarPorId(cantidad).getNombre());
+
+        // La misma instancia se puede reutilizar
+        assertEquals(cantidad, exportador.exportar(grande, ExportadorTareas.Formato.CSV, lento));
+    }
+}
@@ -1,7 +1,15 @@
 package smarttask;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
 /**
  * Clase {@code GestorTareas} — Lección 5: Paradigma de Orientación a Objetos.
@@ -20,16 +28,139 @@ import java.util.List;
  * @author Sabina Romero
  * @version 1.0
  */
-public class GestorTareas {
+public class GestorTareas implements OperacionesTareas {
 
     // ─────────────────────────────────────────────────────────────────────────
     //  ESTADO INTERNO
     //  ArrayList<Tarea> usa polimorfismo: puede guardar TareaNormal y TareaUrgente
     // ─────────────────────────────────────────────────────────────────────────
 
-    /** Lista de tareas. Puede contener TareaNormal o TareaUrgente (polimorfismo). */
+    /**
+     * Lista de tareas. Puede contener TareaNormal o TareaUrgente (polimorfismo).
+     * Se mantiene en orden de inserción, que coincide con el orden de IDs.
+     *
+     * <p>Eliminar no corre el resto de la lista: la tarea queda en su casilla
+     * como <em>lápida</em> (ver {@link #esLapida(Tarea)}) y todas las consultas
+     * la saltean. {@link #compactar()} las quita de una sola pasada.</p>
+     */
     private ArrayList<smarttask.Tarea> tareas;
 
+    /** Casillas de {@code tareas} ocupadas por tareas eliminadas. */
+    private int lapidas;
+
+    /** Veces que se compactó la lista. */
+    private long compactaciones;
+
+    /**
+     * Lápidas mínimas para compactar sola: con listas chicas no vale la pena
+     * recorrerlas después de cada baja.
+     */
+    static final int MINIMO_LAPIDAS = 64;
+
+    /**
+     * Proporción de la lista ocupada por lápidas a partir de la cual una baja
+     * compacta. Cada compactación cuesta O(n), pero antes hubo más de n/4
+     * bajas de O(log n): repartida entre ellas, cada una paga O(1) más.
+     */
+    static final double PROPORCION_LAPIDAS = 0.25;
+
+    /**
+     * Índice id → tarea con claves primitivas (sin boxing de {@code Integer}).
+     * Convierte {@link #buscarPorId(int)} en una operación de tiempo constante.
+     */
+    private MapaEnteros<Tarea> indice;
+
+    /**
+     * Archivo con las tareas que todavía no se cargaron (o {@code null}). Lo
+     * asigna {@link AlmacenMapeadoTareas#crearGestor()}. Mientras está, la
+     * lista, el índice y las particiones siguen vacíos: el total, las
+     * búsquedas por ID y las páginas de todas las tareas se responden desde
+     * el archivo creando solo las tareas que se devuelven, y cualquier otra
+     * operación primero carga todo con {@link #cargarRespaldo()}.
+     */
+    private AlmacenMapeadoTareas respaldo;
+
+    /** Tareas del respaldo ya creadas, por su posición en el archivo. */
+    private MapaEnteros<Tarea> entregadas;
+
+    /**
+     * Particiones por estado: el bit {@link #bit(int) bit(id)} está encendido
+     * si la tarea con ese ID es pendiente (o completada). Recorrerlas con
+     * {@code nextSetBit} devuelve las tareas en orden de ID sin revisar las
+     * del otro estado.
+     */
+    private ConjuntoBits pendientes;
+    private ConjuntoBits completadas;
+
+    /**
+     * En un segmento de {@link GestorTareasConcurrente}, todos los IDs tienen
+     * los mismos {@code desplazamiento} bits bajos ({@code residuo}), y el bit
+     * de un ID en las particiones es {@code id >>> desplazamiento}. Así cada
+     * segmento ocupa bits hasta su ID más alto dividido por la cantidad de
+     * segmentos, no hasta el ID más alto de todo el gestor. Fuera de un
+     * segmento ambos valen 0 y el bit es el ID.
+     */
+    private final int desplazamiento;
+    private final int residuo;
+
+    /** Tamaño de cada partición (evita contar los bits). */
+    private int totalPendientes;
+    private int totalCompletadas;
+
+    /**
+     * Cola de trabajo: las tareas pendientes ordenadas por prioridad, fecha
+     * límite e ID. Responde {@link #siguiente()} sin ordenar nada.
+     */
+    private MonticuloTareas porAtender;
+
+    /**
+     * Índice por vencimiento de las tareas urgentes pendientes con fecha
+     * válida. La clave combina día y ID ({@link #claveVencimiento(int, int)}),
+     * así un rango de fechas es un {@code subMap}: O(log n + k).
+     */
+    private TreeMap<Long, TareaUrgente> porVencimiento;
+
+    /**
+     * Índice de palabras y trigramas de los nombres. Se construye en la
+     * primera búsqueda (así quien nunca busca no paga su costo) y desde ahí
+     * se mantiene al agregar, eliminar o renombrar tareas.
+     */
+    private IndiceTexto indiceTexto;
+
+    /**
+     * Persistencia conectada (o {@code null} si el gestor vive solo en memoria).
+     * La asigna {@link PersistenciaTareas} al abrir su directorio de datos.
+     */
+    PersistenciaTareas persistencia;
+
+    /**
+     * Planificador de avisos de vencimiento conectado (o {@code null}). Lo
+     * asigna {@link PlanificadorVencimientos} al crearse.
+     */
+    PlanificadorVencimientos planificador;
+
+    /**
+     * Bus donde se publica cada cambio (o {@code null}). Lo asigna
+     * {@link BusEventos} al crearse.
+     */
+    BusEventos bus;
+
+    /**
+     * Versiones para lectores de otros hilos (o {@code null}). Las asigna
+     * {@link VersionesTareas} al crearse.
+     */
+    VersionesTareas versiones;
+
+    /**
+     * Métricas activas (o {@code null}: entonces no se mide nada). Las asigna
+     * {@link MetricasTareas}; es volátil porque JMX puede activarlas desde
+     * otro hilo.
+     */
+    volatile MetricasTareas metricas;
+
+    /** Recibe los avisos de {@link Tarea#setCompletado(boolean)}. */
+    private final ObservadorTarea sincronizador = new Sincronizador();
+
     /** Contador autoincrementable para asignar IDs únicos. */
     private int contadorId;
 
@@ -51,17 +182,43 @@ public class GestorTareas {
      * @param cargarEjemplos {@code true} para cargar datos de ejemplo al inicio
      */
     public GestorTareas(boolean cargarEjemplos) {
+        this(cargarEjemplos, 0, 0);
+    }
+
+    /**
+     * Crea un segmento vacío de un gestor repartido: solo acepta, con
+     * {@link #insertar(Tarea)}, tareas cuyo ID cumple
+     * {@code id % segmentos == segmento}.
+     *
+     * @param segmentos cantidad de segmentos (potencia de 2)
+     * @param segmento  número de este segmento, desde 0
+     */
+    GestorTareas(int segmentos, int segmento) {
+        this(false, Integer.numberOfTrailingZeros(segmentos), segmento);
+        if (Integer.bitCount(segmentos) != 1 || segmento < 0 || segmento >= segmentos) {
+            throw new IllegalArgumentException("Segmento " + segmento + " de " + segmentos + " no válido");
+        }
+    }
+
+    private GestorTareas(boolean cargarEjemplos, int desplazamiento, int residuo) {
+        this.desplazamiento = desplazamiento;
+        this.residuo = residuo;
         tareas     = new ArrayList<>();
-        contadorId = 1;
+        indice      = new MapaEnteros<>();
+        pendientes  = new ConjuntoBits();
+        completadas = new ConjuntoBits();
+        porAtender  = new MonticuloTareas();
+        porVencimiento = new TreeMap<>();
+        contadorId  = 1;
         if (cargarEjemplos) cargarTareasEjemplo();
     }
 
     /** Agrega algunas tareas de ejemplo para probar la app al abrirla. */
-    private void cargarTareasEjemplo() {
-        agregarTareaNormalLogica("Estudiar Java fundamentos", "ALTA");
-        agregarTareaNormalLogica("Leer capítulo 3 del manual", "MEDIA");
-        agregarTareaUrgenteLogica("Entregar proyecto SmartTask", "ALTA", "2026-03-01");
-        agregarTareaNormalLogica("Hacer ejercicios de algoritmos", "BAJA");
+    void cargarTareasEjemplo() {
+        agregarTareaNormalLogica("Estudiar Java fundamentos", Prioridad.ALTA);
+        agregarTareaNormalLogica("Leer capítulo 3 del manual", Prioridad.MEDIA);
+        agregarTareaUrgenteLogica("Entregar proyecto SmartTask", Prioridad.ALTA, "2026-03-01");
+        agregarTareaNormalLogica("Hacer ejercicios de algoritmos", Prioridad.BAJA);
     }
 
     // ════════════════════════════════════════════════════════════════════════
@@ -72,12 +229,16 @@ public class GestorTareas {
      * Agrega una {@link TareaNormal} a la lista.
      *
      * @param nombre    descripción de la tarea
-     * @param prioridad "ALTA", "MEDIA" o "BAJA"
+     * @param prioridad nivel de prioridad
      * @return la tarea creada con su ID asignado
      */
-    public smarttask.TareaNormal agregarTareaNormalLogica(String nombre, String prioridad) {
+    @Override
+    public smarttask.TareaNormal agregarTareaNormalLogica(String nombre, Prioridad prioridad) {
+        MetricasTareas m = metricas;
+        long inicio = m == null ? 0 : System.nanoTime();
         smarttask.TareaNormal nueva = new TareaNormal(contadorId++, nombre, prioridad);
-        tareas.add(nueva);
+        registrar(nueva);
+        if (m != null) m.medir(MetricasTareas.Operacion.AGREGAR, inicio);
         return nueva;
     }
 
@@ -85,27 +246,34 @@ public class GestorTareas {
      * Agrega una {@link TareaUrgente} a la lista.
      *
      * @param nombre      descripción de la tarea
-     * @param prioridad   prioridad recomendada: "ALTA"
+     * @param prioridad   prioridad recomendada: ALTA
      * @param fechaLimite fecha límite en formato "AAAA-MM-DD"
      * @return la tarea urgente creada
      */
-    public TareaUrgente agregarTareaUrgenteLogica(String nombre, String prioridad, String fechaLimite) {
+    @Override
+    public TareaUrgente agregarTareaUrgenteLogica(String nombre, Prioridad prioridad, String fechaLimite) {
+        MetricasTareas m = metricas;
+        long inicio = m == null ? 0 : System.nanoTime();
         TareaUrgente nueva = new TareaUrgente(contadorId++, nombre, prioridad, fechaLimite);
-        tareas.add(nueva);
+        registrar(nueva);
+        if (m != null) m.medir(MetricasTareas.Operacion.AGREGAR, inicio);
         return nueva;
     }
 
     /**
-     * Busca una tarea por su ID.
+     * Busca una tarea por su ID en tiempo constante usando el índice.
      *
      * @param id el identificador a buscar
      * @return la {@link Tarea} si existe, o {@code null} si no se encuentra
      */
+    @Override
     public Tarea buscarPorId(int id) {
-        for (Tarea t : tareas) {
-            if (t.getId() == id) return t;
-        }
-        return null;
+        MetricasTareas m = metricas;
+        if (m == null) return porId(id);
+        long inicio = System.nanoTime();
+        Tarea tarea = porId(id);
+        m.medir(MetricasTareas.Operacion.BUSCAR_POR_ID, inicio);
+        return tarea;
     }
 
     /**
@@ -113,47 +281,238 @@ public class GestorTareas {
      *
      * @return nueva lista con todas las tareas
      */
+    @Override
     public List<Tarea> obtenerTodas() {
-        return new ArrayList<>(tareas);
+        MetricasTareas m = metricas;
+        if (m == null) return copiarTodas();
+        long inicio = System.nanoTime();
+        List<Tarea> copia = copiarTodas();
+        m.medir(MetricasTareas.Operacion.OBTENER_TODAS, inicio);
+        return copia;
     }
 
     /**
      * Devuelve solo las tareas cuyo estado sea pendiente.
+     * Recorre únicamente la partición de pendientes: O(resultado).
      *
      * @return lista de tareas no completadas
      */
+    @Override
     public List<Tarea> obtenerPendientes() {
-        List<Tarea> resultado = new ArrayList<>();
-        for (Tarea t : tareas) {
-            if (!t.isCompletado()) resultado.add(t);
-        }
-        return resultado;
+        MetricasTareas m = metricas;
+        if (m == null) return copiarParticion(pendientes, totalPendientes);
+        long inicio = System.nanoTime();
+        List<Tarea> copia = copiarParticion(pendientes, totalPendientes);
+        m.medir(MetricasTareas.Operacion.OBTENER_PENDIENTES, inicio);
+        return copia;
     }
 
     /**
      * Devuelve solo las tareas completadas.
+     * Recorre únicamente la partición de completadas: O(resultado).
      *
      * @return lista de tareas completadas
      */
+    @Override
     public List<Tarea> obtenerCompletadas() {
+        MetricasTareas m = metricas;
+        if (m == null) return copiarParticion(completadas, totalCompletadas);
+        long inicio = System.nanoTime();
+        List<Tarea> copia = copiarParticion(completadas, totalCompletadas);
+        m.medir(MetricasTareas.Operacion.OBTENER_COMPLETADAS, inicio);
+        return copia;
+    }
+
+    /**
+     * Devuelve las tareas de una prioridad. Compara con {@code ==} sobre el
+     * enum: no calcula hashes ni compara texto.
+     *
+     * @param prioridad prioridad buscada
+     * @return lista de tareas con esa prioridad, en orden de ID
+     */
+    public List<Tarea> obtenerPorPrioridad(Prioridad prioridad) {
+        cargarRespaldo();
         List<Tarea> resultado = new ArrayList<>();
         for (Tarea t : tareas) {
-            if (t.isCompletado()) resultado.add(t);
+            if (t.getPrioridad() == prioridad && !esLapida(t)) resultado.add(t);
         }
         return resultado;
     }
 
+    /**
+     * Devuelve la próxima tarea pendiente en la que conviene trabajar: la de
+     * mayor prioridad; a igual prioridad, la urgente con fecha límite más
+     * cercana; después, la de menor ID. O(1), sin recorrer ni ordenar.
+     *
+     * @return la tarea pendiente más prioritaria, o {@code null} si no hay pendientes
+     */
+    public Tarea siguiente() {
+        cargarRespaldo();
+        return porAtender.primera();
+    }
+
+    /**
+     * Devuelve las {@code k} tareas pendientes más prioritarias, en el mismo
+     * orden que {@link #siguiente()}. O(k log k): no recorre todas las pendientes.
+     *
+     * @param k cantidad máxima de tareas
+     * @return lista nueva con hasta {@code k} tareas
+     * @throws IllegalArgumentException si {@code k} es negativo
+     */
+    public List<Tarea> topK(int k) {
+        if (k < 0) throw new IllegalArgumentException("k no puede ser negativo: " + k);
+        cargarRespaldo();
+        return porAtender.primeras(k);
+    }
+
+    /**
+     * Devuelve las tareas urgentes pendientes cuya fecha límite ya pasó:
+     * anterior a {@code fecha}. O(log n + k) gracias al índice por vencimiento.
+     *
+     * @param fecha fecha de referencia (normalmente hoy)
+     * @return tareas vencidas, de la más antigua a la más reciente
+     */
+    public List<TareaUrgente> vencidas(LocalDate fecha) {
+        cargarRespaldo();
+        long corte = claveVencimiento(aDiaEntero(fecha), 0);
+        return new ArrayList<>(porVencimiento.headMap(corte, false).values());
+    }
+
+    /**
+     * Devuelve las tareas urgentes pendientes que vencen entre dos fechas,
+     * ambas incluidas. O(log n + k).
+     *
+     * @param desde primera fecha del rango
+     * @param hasta última fecha del rango
+     * @return tareas que vencen en el rango, por fecha y luego por ID
+     * @throws IllegalArgumentException si {@code desde} es posterior a {@code hasta}
+     */
+    public List<TareaUrgente> vencenEntre(LocalDate desde, LocalDate hasta) {
+        if (desde.isAfter(hasta)) throw new IllegalArgumentException("Rango vacío: " + desde + " > " + hasta);
+        cargarRespaldo();
+        long inicio = claveVencimiento(aDiaEntero(desde), 0);
+        long fin    = claveVencimiento(aDiaEntero(hasta), 0) + (1L << 32); // primera clave del día siguiente
+        return new ArrayList<>(porVencimiento.subMap(inicio, true, fin, false).values());
+    }
+
+    /**
+     * Busca tareas por palabras de su nombre, sin importar mayúsculas ni
+     * tildes. Cada palabra de la consulta puede coincidir completa o como
+     * parte de una palabra más larga ("visi" encuentra "Revisión").
+     * Las tareas que coinciden en más palabras, y con palabras completas,
+     * aparecen primero.
+     *
+     * @param consulta texto a buscar
+     * @param limite   cantidad máxima de resultados
+     * @return tareas encontradas, de la más a la menos relevante
+     * @throws IllegalArgumentException si {@code limite} es negativo
+     */
+    public List<Tarea> buscar(String consulta, int limite) {
+        if (limite < 0) throw new IllegalArgumentException("Límite negativo: " + limite);
+        cargarRespaldo();
+        if (indiceTexto == null) {
+            indiceTexto = new IndiceTexto(true);
+            for (Tarea t : tareas) {
+                if (!esLapida(t)) indiceTexto.agregar(t.getId(), t.getNombre());
+            }
+        }
+        int[] ids = indiceTexto.buscar(consulta, indice, limite);
+        List<Tarea> resultado = new ArrayList<>(ids.length);
+        for (int id : ids) resultado.add(indice.get(id));
+        return resultado;
+    }
+
+    /**
+     * Devuelve un tramo de tareas a partir de un cursor, sin copiar la lista
+     * completa: solo se copian las tareas de la página.
+     * Con {@code TODAS} el inicio se ubica por búsqueda binaria; con un
+     * filtro de estado se recorre la partición correspondiente.
+     *
+     * @param cursor {@link PaginaTareas#INICIO} o el cursor devuelto por la página anterior
+     * @param tamano cantidad máxima de tareas de la página
+     * @param filtro estado de las tareas que se incluyen
+     * @return la página, con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor es negativo o el tamaño no es positivo
+     */
+    public PaginaTareas obtenerPagina(int cursor, int tamano, PaginaTareas.Filtro filtro) {
+        if (cursor < 0)  throw new IllegalArgumentException("Cursor no válido: " + cursor);
+        if (tamano <= 0) throw new IllegalArgumentException("Tamaño de página no válido: " + tamano);
+
+        if (filtro == PaginaTareas.Filtro.TODAS && respaldo != null) {
+            int desde = respaldo.posicionDesde(cursor);
+            int hasta = (int) Math.min((long) desde + tamano, respaldo.getCantidad());
+            List<Tarea> pagina = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) pagina.add(entregar(i));
+            return new PaginaTareas(pagina, hasta < respaldo.getCantidad() ? respaldo.getId(hasta) : PaginaTareas.FIN);
+        }
+        cargarRespaldo();
+        if (filtro == PaginaTareas.Filtro.TODAS) {
+            int desde = posicionDeInsercion(cursor); // primera tarea con ID >= cursor
+            if (lapidas == 0) {
+                int hasta = (int) Math.min((long) desde + tamano, tareas.size());
+                List<Tarea> pagina = new ArrayList<>(tareas.subList(desde, hasta));
+                int siguiente = hasta < tareas.size() ? tareas.get(hasta).getId() : PaginaTareas.FIN;
+                return new PaginaTareas(pagina, siguiente);
+            }
+            List<Tarea> pagina = new ArrayList<>(Math.min(tamano, 1024));
+            int i = desde;
+            for (; i < tareas.size(); i++) {
+                Tarea t = tareas.get(i);
+                if (esLapida(t)) continue;
+                if (pagina.size() == tamano) break;
+                pagina.add(t);
+            }
+            return new PaginaTareas(pagina, i < tareas.size() ? tareas.get(i).getId() : PaginaTareas.FIN);
+        }
+
+        ConjuntoBits particion = filtro == PaginaTareas.Filtro.PENDIENTES ? pendientes : completadas;
+        List<Tarea> pagina = new ArrayList<>(Math.min(tamano, 1024));
+        int b = bit(cursor);
+        if (idDeBit(b) < cursor) b++; // primer bit con ID >= cursor
+        b = particion.nextSetBit(b);
+        while (b >= 0 && pagina.size() < tamano) {
+            pagina.add(indice.get(idDeBit(b)));
+            b = particion.nextSetBit(b + 1);
+        }
+        return new PaginaTareas(pagina, b >= 0 ? idDeBit(b) : PaginaTareas.FIN);
+    }
+
+    /**
+     * Vista viva y no modificable de las tareas pendientes, sin copiar nada.
+     * Refleja al instante los cambios posteriores del gestor.
+     *
+     * @return colección de solo lectura con las tareas pendientes
+     */
+    public Collection<Tarea> vistaPendientes() {
+        cargarRespaldo();
+        return new VistaParticion(true);
+    }
+
+    /**
+     * Vista viva y no modificable de las tareas completadas, sin copiar nada.
+     *
+     * @return colección de solo lectura con las tareas completadas
+     */
+    public Collection<Tarea> vistaCompletadas() {
+        cargarRespaldo();
+        return new VistaParticion(false);
+    }
+
     /**
      * Marca una tarea como completada por su ID.
      *
      * @param id el identificador de la tarea
      * @return {@code true} si se marcó, {@code false} si el ID no existe o ya estaba completada
      */
+    @Override
     public boolean marcarComoCompletada(int id) {
-        Tarea tarea = buscarPorId(id);
-        if (tarea == null || tarea.isCompletado()) return false;
-        tarea.setCompletado(true);
-        return true;
+        MetricasTareas m = metricas;
+        long inicio = m == null ? 0 : System.nanoTime();
+        Tarea tarea = porId(id);
+        boolean completada = tarea != null && !tarea.isCompletado();
+        if (completada) tarea.setCompletado(true);
+        if (m != null) m.medir(MetricasTareas.Operacion.COMPLETAR, inicio);
+        return completada;
     }
 
     /**
@@ -162,74 +521,637 @@ public class GestorTareas {
      * @param id el identificador a eliminar
      * @return {@code true} si se eliminó, {@code false} si el ID no existe
      */
+    @Override
     public boolean eliminarTarea(int id) {
-        Tarea tarea = buscarPorId(id);
+        MetricasTareas m = metricas;
+        if (m == null) return quitarTarea(id);
+        long inicio = System.nanoTime();
+        boolean eliminada = quitarTarea(id);
+        m.medir(MetricasTareas.Operacion.ELIMINAR, inicio);
+        return eliminada;
+    }
+
+    /**
+     * Cuerpo de {@link #eliminarTarea(int)}, sin medir. La tarea sale de
+     * todos los índices al instante, pero en la lista queda como lápida: así
+     * eliminar una tarea vieja no corre el resto del arreglo.
+     */
+    private boolean quitarTarea(int id) {
+        cargarRespaldo();
+        Tarea tarea = indice.remove(id);
         if (tarea == null) return false;
-        tareas.remove(tarea);
+        int ultima = tareas.size() - 1;
+        if (tareas.get(ultima) == tarea) tareas.remove(ultima); // la última: no corre nada
+        else                             lapidas++;
+        salirDeParticion(tarea); // desde aquí esLapida(tarea) es true
+        if (indiceTexto != null) indiceTexto.quitar(id, tarea.getNombre());
+        tarea.observador = null; // la tarea ya no pertenece a este gestor
+        if (persistencia != null) persistencia.alEliminar(id);
+        if (bus != null) bus.publicar(BusEventos.Tipo.ELIMINADA, tarea);
+        if (versiones != null) versiones.alEliminar(id);
+        if (lapidas >= MINIMO_LAPIDAS && lapidas > tareas.size() * PROPORCION_LAPIDAS) compactar();
         return true;
     }
 
+    /**
+     * Quita de la lista interna las tareas eliminadas, en una sola pasada, y
+     * ajusta el índice por ID y las particiones si quedaron
+     * sobredimensionados. Las bajas ya lo
+     * hacen solas cuando las lápidas superan {@link #PROPORCION_LAPIDAS} de
+     * la lista; llamarlo en un momento de poca actividad evita que esa pasada
+     * le toque a una baja cualquiera.
+     */
+    public void compactar() {
+        // los bits de IDs altos ya eliminados quedan reservados aunque no haya lápidas
+        pendientes.ajustarCapacidad();
+        completadas.ajustarCapacidad();
+        if (lapidas == 0) return;
+        MetricasTareas m = metricas;
+        long inicio = m == null ? 0 : System.nanoTime();
+        int antes = tareas.size();
+        tareas.removeIf(this::esLapida);
+        if (tareas.size() < antes / 2) tareas.trimToSize(); // el arreglo quedó más de la mitad vacío
+        indice.ajustarCapacidad();
+        lapidas = 0;
+        compactaciones++;
+        if (m != null) m.medir(MetricasTareas.Operacion.COMPACTAR, inicio);
+    }
+
     /**
      * Devuelve el total de tareas registradas.
      *
      * @return cantidad de tareas en la lista
      */
+    @Override
     public int getTotalTareas() {
-        return tareas.size();
+        return respaldo != null ? respaldo.getCantidad() : tareas.size() - lapidas;
     }
 
-    // ════════════════════════════════════════════════════════════════════════
-    //  MÉTODOS DE CONSOLA — para usar en MenuPrincipal
-    // ════════════════════════════════════════════════════════════════════════
+    /**
+     * Registra una tarea que ya trae su ID (creada por otro componente, por
+     * ejemplo {@link GestorTareasConcurrente}). La lista sigue ordenada por ID
+     * aunque las tareas lleguen desordenadas, y el contador interno se ajusta
+     * para no repetir IDs en altas posteriores.
+     *
+     * @param tarea tarea con ID no usado en este gestor
+     * @throws IllegalStateException si ya existe una tarea con ese ID
+     */
+    void insertar(Tarea tarea) {
+        int id = tarea.getId();
+        if (id < 0) throw new IllegalArgumentException("ID negativo: " + id);
+        if ((id & ((1 << desplazamiento) - 1)) != residuo) {
+            throw new IllegalArgumentException("El ID " + id + " no pertenece a este segmento");
+        }
+        cargarRespaldo();
+        if (indice.get(id) != null) throw new IllegalStateException("ID duplicado: " + id);
+        if (tareas.isEmpty() || tareas.get(tareas.size() - 1).getId() < id) {
+            registrar(tarea); // caso habitual: IDs crecientes → al final
+        } else {
+            int posicion = posicionDeInsercion(id);
+            if (posicion < tareas.size() && tareas.get(posicion).getId() == id) {
+                tareas.set(posicion, tarea); // ocupa la lápida de una tarea eliminada con ese ID
+                lapidas--;
+            } else {
+                tareas.add(posicion, tarea);
+            }
+            indice.put(id, tarea);
+            entrarEnParticion(tarea);
+            if (indiceTexto != null) indiceTexto.agregar(id, tarea.getNombre());
+            tarea.observador = sincronizador;
+            if (persistencia != null) persistencia.alAgregar(tarea);
+            if (bus != null) bus.publicar(BusEventos.Tipo.CREADA, tarea);
+            if (versiones != null) versiones.alAgregar(tarea);
+        }
+        if (id >= contadorId) contadorId = id + 1;
+    }
 
     /**
-     * Imprime en consola la lista de tareas recibida con cabecera formateada.
-     * Si la lista está vacía, muestra un aviso.
+     * Agrega un lote de tareas que ya traen su ID (por ejemplo, de
+     * {@link ImportadorTareas}). Reserva lugar en la lista una sola vez y
+     * actualiza todos los índices igual que {@link #insertar(Tarea)}.
      *
-     * @param lista lista de tareas a mostrar
-     * @param titulo titulo de la sección (ej: "TODAS LAS TAREAS")
+     * @param lote tareas con IDs no usados, idealmente crecientes
      */
-    public void listarTareas(List<Tarea> lista, String titulo) {
-        System.out.println("\n  ══════════════════════ " + titulo + " ══════════════════════");
+    void agregarLote(List<? extends Tarea> lote) {
+        cargarRespaldo();
+        tareas.ensureCapacity(tareas.size() + lote.size());
+        VersionesTareas v = versiones;
+        if (v == null) {
+            for (Tarea t : lote) insertar(t);
+            return;
+        }
+        v.iniciarLote(); // el lote entero se publica como una sola versión
+        try {
+            for (Tarea t : lote) insertar(t);
+        } finally {
+            v.terminarLote();
+        }
+    }
+
+    /**
+     * Reserva un bloque de IDs consecutivos para crear tareas fuera del
+     * gestor y agregarlas después con {@link #agregarLote(List)}.
+     *
+     * @param cantidad IDs a reservar
+     * @return el primer ID del bloque
+     */
+    int reservarIds(int cantidad) {
+        int primero = contadorId;
+        contadorId += cantidad;
+        return primero;
+    }
 
-        if (lista.isEmpty()) {
-            System.out.println("  ⚠ No hay tareas en esta categoría.");
+    /**
+     * Devuelve el final no usado de un bloque reservado, si todavía es el
+     * último que se entregó; si no, esos IDs simplemente quedan sin usar.
+     *
+     * @param desde    primer ID no usado del bloque
+     * @param cantidad IDs no usados
+     */
+    void devolverIds(int desde, int cantidad) {
+        if (contadorId == desde + cantidad) contadorId = desde;
+    }
+
+    /**
+     * Vista de solo lectura de la lista interna, ordenada por ID. No copia
+     * nada: {@link ExportadorTareas} la recorre para escribir millones de
+     * tareas sin duplicarlas en memoria. Si hay lápidas, primero compacta:
+     * quien pide la vista la va a recorrer entera de todos modos.
+     *
+     * @return la lista interna envuelta como no modificable
+     */
+    List<Tarea> vistaPorId() {
+        cargarRespaldo();
+        compactar();
+        return Collections.unmodifiableList(tareas);
+    }
+
+    /** @return cantidad de tareas pendientes, sin copiar nada */
+    int getTotalPendientes() {
+        return totalPendientes;
+    }
+
+    /** @return cantidad de tareas completadas, sin copiar nada */
+    int getTotalCompletadas() {
+        return totalCompletadas;
+    }
+
+    /** @return tareas eliminadas que siguen ocupando una casilla de la lista */
+    int getTotalLapidas() {
+        return lapidas;
+    }
+
+    /** @return fracción de la lista ocupada por lápidas, entre 0 y 1 */
+    double getProporcionLapidas() {
+        int casillas = tareas.size();
+        return casillas == 0 ? 0 : (double) lapidas / casillas;
+    }
+
+    /** @return veces que se compactó la lista */
+    long getCompactaciones() {
+        return compactaciones;
+    }
+
+    /** @return el ID que recibirá la próxima tarea agregada */
+    int getSiguienteId() {
+        return contadorId;
+    }
+
+    /**
+     * Adelanta el contador de IDs (nunca lo retrocede). Sirve para no reutilizar
+     * IDs de tareas que se eliminaron antes de guardar una instantánea.
+     *
+     * @param siguienteId ID mínimo para la próxima tarea
+     */
+    void ajustarSiguienteId(int siguienteId) {
+        if (siguienteId > contadorId) contadorId = siguienteId;
+    }
+
+    /**
+     * Respalda este gestor vacío con un archivo mapeado, sin crear ninguna
+     * tarea (ver {@link #respaldo}).
+     *
+     * @param almacen archivo abierto; el gestor lo cierra al cargarlo
+     * @throws IllegalStateException si el gestor ya tiene tareas
+     */
+    void respaldarCon(AlmacenMapeadoTareas almacen) {
+        if (respaldo != null || !tareas.isEmpty()) throw new IllegalStateException("El gestor ya tiene tareas");
+        respaldo   = almacen;
+        entregadas = new MapaEnteros<>();
+        totalCompletadas = almacen.getCompletadas();
+        totalPendientes  = almacen.getCantidad() - totalCompletadas;
+        ajustarSiguienteId(almacen.getSiguienteId());
+    }
+
+    /** @return {@code true} si todavía hay tareas del archivo sin cargar */
+    boolean isRespaldado() {
+        return respaldo != null;
+    }
+
+    /**
+     * Programa en el planificador las urgentes pendientes. Mientras hay
+     * respaldo, las que no se crearon todavía se programan desde su registro
+     * (tipo, estado y día límite), sin crear la tarea.
+     *
+     * @param planificador planificador que se está conectando
+     */
+    void programarVencimientos(PlanificadorVencimientos planificador) {
+        if (respaldo == null) {
+            for (Tarea t : vistaPendientes()) {
+                if (t instanceof TareaUrgente u) planificador.programar(u);
+            }
             return;
         }
+        for (int i = 0, n = respaldo.getCantidad(); i < n; i++) {
+            Tarea t = entregadas.get(i);
+            if (t != null) {
+                if (!t.isCompletado() && t instanceof TareaUrgente u) planificador.programar(u);
+            } else if (respaldo.esUrgente(i) && !respaldo.isCompletado(i)
+                    && respaldo.getFechaLimiteDias(i) != AlmacenMapeadoTareas.SIN_FECHA) {
+                planificador.programar(respaldo.getId(i), respaldo.getFechaLimiteDias(i));
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES INTERNOS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Guarda una tarea en la lista y en el índice por ID.
+     *
+     * @param tarea la tarea recién creada
+     */
+    private void registrar(Tarea tarea) {
+        cargarRespaldo();
+        tareas.add(tarea);
+        indice.put(tarea.getId(), tarea);
+        entrarEnParticion(tarea);
+        if (indiceTexto != null) indiceTexto.agregar(tarea.getId(), tarea.getNombre());
+        tarea.observador = sincronizador;
+        if (persistencia != null) persistencia.alAgregar(tarea);
+        if (bus != null) bus.publicar(BusEventos.Tipo.CREADA, tarea);
+        if (versiones != null) versiones.alAgregar(tarea);
+    }
+
+    /**
+     * Primera posición de la lista cuyo ID es mayor que {@code id}.
+     *
+     * @param id ID que se quiere insertar
+     * @return posición donde insertarlo manteniendo el orden
+     */
+    private int posicionDeInsercion(int id) {
+        int bajo = 0, alto = tareas.size();
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (tareas.get(medio).getId() < id) bajo = medio + 1;
+            else                                alto = medio;
+        }
+        return bajo;
+    }
+
+    /** Enciende el bit de la tarea en la partición de su estado actual. */
+    private void entrarEnParticion(Tarea tarea) {
+        int b = bit(tarea.getId());
+        if (tarea.isCompletado()) { completadas.set(b); totalCompletadas++; }
+        else                      { pendientes.set(b);  totalPendientes++;  entrarEnColas(tarea); }
+    }
+
+    /** Apaga el bit de la tarea en la partición de su estado actual. */
+    private void salirDeParticion(Tarea tarea) {
+        int b = bit(tarea.getId());
+        if (tarea.isCompletado()) { completadas.clear(b); totalCompletadas--; }
+        else                      { pendientes.clear(b);  totalPendientes--;  salirDeColas(tarea); }
+    }
+
+    /** Bit de una tarea en las particiones (ver {@link #desplazamiento}). */
+    private int bit(int id) {
+        return id >>> desplazamiento;
+    }
+
+    /** ID de la tarea que ocupa un bit de las particiones. */
+    private int idDeBit(int bit) {
+        return bit << desplazamiento | residuo;
+    }
+
+    /** @return bits que reservan las dos particiones (para medir su memoria) */
+    int getBitsParticiones() {
+        return pendientes.size() + completadas.size();
+    }
+
+    /**
+     * Agrega una tarea pendiente a la cola de trabajo y, si vence, al índice
+     * por vencimiento y al planificador de avisos.
+     */
+    private void entrarEnColas(Tarea tarea) {
+        porAtender.agregar(tarea);
+        if (tarea instanceof TareaUrgente u && u.getDiaLimite() != TareaUrgente.SIN_FECHA) {
+            porVencimiento.put(claveVencimiento(u.getDiaLimite(), u.getId()), u);
+            if (planificador != null) planificador.programar(u);
+        }
+    }
+
+    /** Quita una tarea de la cola de trabajo, del índice por vencimiento y del planificador. */
+    private void salirDeColas(Tarea tarea) {
+        porAtender.quitar(tarea);
+        if (tarea instanceof TareaUrgente u && u.getDiaLimite() != TareaUrgente.SIN_FECHA) {
+            porVencimiento.remove(claveVencimiento(u.getDiaLimite(), u.getId()));
+            if (planificador != null) planificador.cancelar(u);
+        }
+    }
+
+    /**
+     * Clave del índice por vencimiento: el día en los 32 bits altos y el ID
+     * (nunca negativo) en los bajos. El orden de las claves es el de
+     * (día, ID).
+     */
+    private static long claveVencimiento(int dia, int id) {
+        return ((long) dia << 32) | id;
+    }
+
+    private static int aDiaEntero(LocalDate fecha) {
+        return Math.toIntExact(fecha.toEpochDay());
+    }
+
+    /**
+     * Una tarea eliminada sigue en la lista hasta {@link #compactar()}, pero
+     * ya no está en ninguna partición. Sin lápidas no mira los bits.
+     */
+    private boolean esLapida(Tarea t) {
+        if (lapidas == 0) return false;
+        int b = bit(t.getId());
+        return !pendientes.get(b) && !completadas.get(b);
+    }
+
+    /** @return lista nueva con las tareas vivas, en orden de ID */
+    private List<Tarea> copiarTodas() {
+        cargarRespaldo();
+        if (lapidas == 0) return new ArrayList<>(tareas);
+        List<Tarea> resultado = new ArrayList<>(tareas.size() - lapidas);
+        for (Tarea t : tareas) {
+            if (!esLapida(t)) resultado.add(t);
+        }
+        return resultado;
+    }
+
+    /**
+     * Copia una partición a una lista nueva del tamaño justo.
+     *
+     * @param particion bits de la partición
+     * @param total     cantidad de bits encendidos
+     * @return lista con las tareas de la partición, en orden de ID
+     */
+    private List<Tarea> copiarParticion(ConjuntoBits particion, int total) {
+        cargarRespaldo();
+        List<Tarea> resultado = new ArrayList<>(total);
+        for (int b = particion.nextSetBit(0); b >= 0; b = particion.nextSetBit(b + 1)) {
+            resultado.add(indice.get(idDeBit(b)));
+        }
+        return resultado;
+    }
+
+    /** Busca por ID en el índice o, si todavía no se cargó, en el respaldo. */
+    private Tarea porId(int id) {
+        if (respaldo == null) return indice.get(id);
+        int i = respaldo.posicionDe(id);
+        return i < 0 ? null : entregar(i);
+    }
+
+    /**
+     * Tarea de la posición {@code i} del respaldo. Se crea la primera vez y
+     * se guarda: pedirla de nuevo devuelve el mismo objeto, y al cargar todo
+     * entra esa misma tarea, con los cambios que haya recibido.
+     */
+    private Tarea entregar(int i) {
+        Tarea t = entregadas.get(i);
+        if (t == null) {
+            t = respaldo.materializar(i);
+            t.observador = sincronizador;
+            if (planificador != null && t instanceof TareaUrgente u) planificador.vincular(u);
+            entregadas.put(i, t);
+        }
+        return t;
+    }
+
+    /**
+     * Carga todas las tareas del respaldo en la lista, el índice y las
+     * particiones, y cierra el archivo. No avisa a la persistencia, al bus ni
+     * a las versiones: no son altas nuevas. Tampoco reprograma el planificador:
+     * sus avisos ya salieron de los registros y solo se vinculan a cada tarea.
+     */
+    private void cargarRespaldo() {
+        AlmacenMapeadoTareas almacen = respaldo;
+        if (almacen == null) return;
+        respaldo = null;
+        int n = almacen.getCantidad();
+        tareas.ensureCapacity(n);
+        indice = new MapaEnteros<>(n);
+        totalPendientes = totalCompletadas = 0;
+        PlanificadorVencimientos avisos = planificador;
+        planificador = null;
+        for (int i = 0; i < n; i++) {
+            Tarea t = entregadas.get(i);
+            if (t == null) {
+                t = almacen.materializar(i);
+                t.observador = sincronizador;
+                if (avisos != null && t instanceof TareaUrgente u) avisos.vincular(u);
+            }
+            tareas.add(t);
+            indice.put(t.getId(), t);
+            entrarEnParticion(t);
+        }
+        planificador = avisos;
+        entregadas = null;
+        try {
+            almacen.close();
+        } catch (IOException e) {
+            // solo se leía: las tareas ya están en memoria y no hay nada que perder
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CLASES INTERNAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Mueve la tarea de partición cuando su estado cambia, aunque el cambio
+     * venga de fuera del gestor (por ejemplo, {@code ejecutar()}), la
+     * reacomoda en la cola de trabajo si cambia su prioridad o fecha límite
+     * y la reindexa si cambia su nombre.
+     */
+    private final class Sincronizador implements ObservadorTarea {
+        @Override
+        public void estadoCambiado(Tarea tarea) {
+            int b = bit(tarea.getId());
+            if (respaldo != null) {
+                // todavía en el archivo: al cargarse entra con su estado nuevo
+                if (tarea.isCompletado()) { totalPendientes--;  totalCompletadas++; }
+                else                      { totalCompletadas--; totalPendientes++;  }
+                if (planificador != null && tarea instanceof TareaUrgente u) {
+                    if (u.isCompletado()) planificador.cancelar(u);
+                    else                  planificador.programar(u);
+                }
+            } else if (tarea.isCompletado()) {
+                pendientes.clear(b);  totalPendientes--;
+                completadas.set(b);   totalCompletadas++;
+                salirDeColas(tarea);
+            } else {
+                completadas.clear(b); totalCompletadas--;
+                pendientes.set(b);    totalPendientes++;
+                entrarEnColas(tarea);
+            }
+            if (persistencia != null) persistencia.alCambiarEstado(tarea);
+            if (bus != null) {
+                bus.publicar(tarea.isCompletado() ? BusEventos.Tipo.COMPLETADA : BusEventos.Tipo.REABIERTA, tarea);
+            }
+            if (versiones != null) versiones.alCambiar(tarea);
+        }
+
+        @Override
+        public void nombreCambiado(Tarea tarea, String nombreAnterior) {
+            if (indiceTexto != null) {
+                indiceTexto.quitar(tarea.getId(), nombreAnterior);
+                indiceTexto.agregar(tarea.getId(), tarea.getNombre());
+            }
+            if (persistencia != null) persistencia.alModificar(tarea);
+            if (bus != null) bus.publicar(BusEventos.Tipo.MODIFICADA, tarea, nombreAnterior);
+            if (versiones != null) versiones.alCambiar(tarea);
+        }
+
+        @Override
+        public void prioridadCambiada(Tarea tarea) {
+            if (respaldo == null) porAtender.actualizar(tarea);
+            if (persistencia != null) persistencia.alModificar(tarea);
+            if (bus != null) bus.publicar(BusEventos.Tipo.MODIFICADA, tarea);
+            if (versiones != null) versiones.alCambiar(tarea);
+        }
+
+        @Override
+        public void fechaLimiteCambiada(TareaUrgente tarea, int diaAnterior) {
+            if (respaldo == null) porAtender.actualizar(tarea);
+            if (persistencia != null) persistencia.alModificar(tarea);
+            if (bus != null) bus.publicar(BusEventos.Tipo.MODIFICADA, tarea);
+            if (versiones != null) versiones.alCambiar(tarea);
+            if (tarea.isCompletado()) return;
+            if (respaldo != null) { // el índice solo tiene pendientes cargadas
+                if (planificador != null) planificador.programar(tarea);
+                return;
+            }
+            if (diaAnterior != TareaUrgente.SIN_FECHA) {
+                porVencimiento.remove(claveVencimiento(diaAnterior, tarea.getId()));
+            }
+            if (tarea.getDiaLimite() != TareaUrgente.SIN_FECHA) {
+                porVencimiento.put(claveVencimiento(tarea.getDiaLimite(), tarea.getId()), tarea);
+            }
+            if (planificador != null) planificador.programar(tarea);
+        }
+    }
+
+    /** Vista de solo lectura sobre una partición; no copia las tareas. */
+    private final class VistaParticion extends AbstractCollection<Tarea> {
+
+        /** {@code true} = pendientes, {@code false} = completadas. */
+        private final boolean soloPendientes;
+
+        VistaParticion(boolean soloPendientes) {
+            this.soloPendientes = soloPendientes;
+        }
+
+        @Override
+        public int size() {
+            return soloPendientes ? totalPendientes : totalCompletadas;
+        }
 
-        // Cabecera de la tabla
-        System.out.println("  +------+------------+------------------------------+------------+--------------+");
-        System.out.println("  | ID   | TIPO       | NOMBRE                       | PRIORIDAD  | ESTADO       |");
-        System.out.println("  +------+------------+------------------------------+------------+--------------+");
+        @Override
+        public Iterator<Tarea> iterator() {
+            final ConjuntoBits particion = soloPendientes ? pendientes : completadas;
+            return new Iterator<Tarea>() {
+                private int siguiente = particion.nextSetBit(0);
 
-        // Polimorfismo en acción: cada Tarea llama a SU toString()
-        // Si es TareaUrgente, mostrará la fecha; si es TareaNormal, no.
-        for (Tarea t : lista) {
-            System.out.println("  " + t);
+                @Override
+                public boolean hasNext() {
+                    // la vista es viva: el bit pudo apagarse desde el último next()
+                    if (siguiente >= 0 && !particion.get(siguiente)) {
+                        siguiente = particion.nextSetBit(siguiente + 1);
+                    }
+                    return siguiente >= 0;
+                }
+
+                @Override
+                public Tarea next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    Tarea t = indice.get(idDeBit(siguiente));
+                    siguiente = particion.nextSetBit(siguiente + 1);
+                    return t;
+                }
+            };
         }
+    }
 
-        System.out.println("  +------+------------+------------------------------+------------+--------------+");
-        System.out.println("  Total: " + lista.size() + " tarea(s).");
+    // ════════════════════════════════════════════════════════════════════════
+    //  MÉTODOS DE CONSOLA — para usar en MenuPrincipal
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Imprime en consola la lista de tareas recibida con cabecera formateada.
+     * Si la lista está vacía, muestra un aviso. Las filas se escriben por
+     * páginas con {@link RenderizadorTareas}, no una por una.
+     *
+     * @param lista tareas a mostrar
+     * @param titulo titulo de la sección (ej: "TODAS LAS TAREAS")
+     */
+    public void listarTareas(Collection<? extends Tarea> lista, String titulo) {
+        new RenderizadorTareas(System.out).listar(lista, titulo);
     }
 
     /**
      * Lista todas las tareas (activas y completadas).
      */
     public void listarTodas() {
-        listarTareas(obtenerTodas(), "TODAS LAS TAREAS");
+        listarPorPaginas(new RenderizadorTareas(System.out), PaginaTareas.Filtro.TODAS, "TODAS LAS TAREAS");
     }
 
     /**
      * Lista solo las tareas pendientes.
      */
     public void listarPendientes() {
-        listarTareas(obtenerPendientes(), "TAREAS PENDIENTES");
+        listarPorPaginas(new RenderizadorTareas(System.out), PaginaTareas.Filtro.PENDIENTES, "TAREAS PENDIENTES");
     }
 
     /**
      * Lista solo las tareas completadas.
      */
     public void listarCompletadas() {
-        listarTareas(obtenerCompletadas(), "TAREAS COMPLETADAS");
+        listarPorPaginas(new RenderizadorTareas(System.out), PaginaTareas.Filtro.COMPLETADAS, "TAREAS COMPLETADAS");
+    }
+
+    /**
+     * Imprime la tabla pidiendo las tareas página a página con
+     * {@link #obtenerPagina(int, int, PaginaTareas.Filtro)}: nunca se copia
+     * más de una página a la vez. Es de paquete: {@link ComandosPorLotes}
+     * lo usa con su propio renderizador.
+     *
+     * @param renderizador destino de la tabla
+     * @param filtro       estado de las tareas a listar
+     * @param titulo       título de la sección
+     */
+    void listarPorPaginas(RenderizadorTareas renderizador, PaginaTareas.Filtro filtro, String titulo) {
+        int total = switch (filtro) {
+            case TODAS       -> getTotalTareas();
+            case PENDIENTES  -> totalPendientes;
+            case COMPLETADAS -> totalCompletadas;
+        };
+        if (total == 0) {
+            renderizador.sinTareas(titulo);
+            return;
+        }
+        renderizador.encabezado(titulo);
+        int cursor = PaginaTareas.INICIO;
+        do {
+            PaginaTareas pagina = obtenerPagina(cursor, RenderizadorTareas.FILAS_POR_PAGINA, filtro);
+            for (Tarea t : pagina.getTareas()) renderizador.fila(t);
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != PaginaTareas.FIN);
+        renderizador.pie(total);
     }
 }
@@ -0,0 +1,381 @@
+package smarttask;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Clase {@code GestorTareasColumnar} — motor de almacenamiento por columnas.
+ *
+ * <p>{@link GestorTareas} guarda cada tarea como un objeto en el heap: cabecera,
+ * un {@code int}, dos referencias a {@code String}, un {@code boolean} y, si es
+ * urgente, otra referencia más. Con decenas de millones de tareas esa
+ * sobrecarga pesa más que los datos. Este motor guarda cada atributo en su
+ * propio arreglo de primitivos (<em>struct of arrays</em>):</p>
+ * <ul>
+ *   <li>{@code int[] ids} — IDs en orden creciente.</li>
+ *   <li>{@code byte[] prioridades} — código de prioridad (bits 0-1) y tipo (bit 7).</li>
+ *   <li>{@code BitSet completadas} — un bit por ID.</li>
+ *   <li>{@code int[] fechas} — fecha límite en días desde 1970-01-01.</li>
+ *   <li>{@code char[] arena} — todos los nombres seguidos; cada tarea guarda
+ *       dónde empieza y cuánto mide el suyo.</li>
+ * </ul>
+ *
+ * <p>Los objetos {@link Tarea} se crean solo cuando alguien los pide
+ * (<em>flyweights</em>): son copias livianas de una fila. Sus setters
+ * ({@code setCompletado}, {@code setNombre}, {@code setPrioridad} y
+ * {@code setFechaLimite}) se escriben de vuelta en las columnas. Un nombre
+ * {@code null} o una fecha fuera de formato se rechazan y el flyweight vuelve
+ * a su valor anterior.</p>
+ *
+ * <p>Los recorridos por columna ({@link #contarPorPrioridad(Prioridad)},
+ * {@link #contarConFechaAntesDe(LocalDate)}) son bucles simples sobre arreglos
+ * de primitivos, que el compilador JIT puede vectorizar.</p>
+ *
+ * <p>Las fechas límite deben tener formato AAAA-MM-DD.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public class GestorTareasColumnar implements OperacionesTareas {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTANTES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Valor de la columna {@code fechas} para tareas normales. */
+    private static final int SIN_FECHA = Integer.MIN_VALUE;
+
+    /** Bit del byte de prioridad que marca una tarea urgente. */
+    private static final byte URGENTE = (byte) 0x80;
+
+    /** Bits del byte de prioridad con {@link Prioridad#ordinal()} (0 = ALTA, 1 = MEDIA, 2 = BAJA). */
+    private static final byte MASCARA_PRIORIDAD = 0x03;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  COLUMNAS — la fila i de cada arreglo describe la misma tarea
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private int[]  ids;
+    private byte[] prioridades;
+    private int[]  fechas;
+    private int[]  inicioNombre;
+    private int[]  largoNombre;
+
+    /** Bit encendido = la tarea con ese ID está completada. */
+    private final BitSet completadas = new BitSet();
+
+    /** Nombres concatenados. */
+    private char[] arena;
+
+    /** Primera posición libre de la arena. */
+    private int finArena;
+
+    /** Caracteres de la arena que ya no usa ninguna fila (nombres eliminados). */
+    private int arenaLibre;
+
+    /** Filas ocupadas. */
+    private int tamano;
+
+    /** Contador autoincrementable para asignar IDs únicos. */
+    private int contadorId = 1;
+
+    /** Escribe en las columnas los cambios hechos sobre los flyweights. */
+    private final ObservadorTarea escrituraDirecta = new EscrituraDirecta();
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Crea un motor vacío. */
+    public GestorTareasColumnar() {
+        this(1024);
+    }
+
+    /**
+     * Crea un motor vacío con espacio para {@code capacidad} tareas sin crecer.
+     *
+     * @param capacidad filas iniciales
+     */
+    public GestorTareasColumnar(int capacidad) {
+        capacidad    = Math.max(capacidad, 16);
+        ids          = new int[capacidad];
+        prioridades  = new byte[capacidad];
+        fechas       = new int[capacidad];
+        inicioNombre = new int[capacidad];
+        largoNombre  = new int[capacidad];
+        arena        = new char[capacidad * 16];
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  OPERACIONES
+    // ════════════════════════════════════════════════════════════════════════
+
+    /** {@inheritDoc} */
+    @Override
+    public TareaNormal agregarTareaNormalLogica(String nombre, Prioridad prioridad) {
+        int fila = agregarFila(nombre, (byte) prioridad.ordinal(), SIN_FECHA);
+        return (TareaNormal) materializar(fila);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException si la fecha no tiene formato AAAA-MM-DD
+     */
+    @Override
+    public TareaUrgente agregarTareaUrgenteLogica(String nombre, Prioridad prioridad, String fechaLimite) {
+        int dia;
+        try {
+            dia = Math.toIntExact(LocalDate.parse(fechaLimite).toEpochDay());
+        } catch (DateTimeParseException | ArithmeticException e) {
+            throw new IllegalArgumentException("Fecha límite no válida (AAAA-MM-DD): " + fechaLimite, e);
+        }
+        int fila = agregarFila(nombre, (byte) (prioridad.ordinal() | URGENTE), dia);
+        return (TareaUrgente) materializar(fila);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Devuelve un flyweight nuevo en cada llamada.
+     */
+    @Override
+    public Tarea buscarPorId(int id) {
+        int fila = filaDe(id);
+        return fila < 0 ? null : materializar(fila);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Tarea> obtenerTodas() {
+        List<Tarea> resultado = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) resultado.add(materializar(i));
+        return resultado;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Tarea> obtenerPendientes() {
+        List<Tarea> resultado = new ArrayList<>();
+        for (int i = 0; i < tamano; i++) {
+            if (!completadas.get(ids[i])) resultado.add(materializar(i));
+        }
+        return resultado;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Tarea> obtenerCompletadas() {
+        List<Tarea> resultado = new ArrayList<>();
+        for (int i = 0; i < tamano; i++) {
+            if (completadas.get(ids[i])) resultado.add(materializar(i));
+        }
+        return resultado;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean marcarComoCompletada(int id) {
+        if (filaDe(id) < 0 || completadas.get(id)) return false;
+        completadas.set(id);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Desplaza las filas siguientes una posición en cada columna
+     * ({@code System.arraycopy}); el nombre queda como espacio libre en la
+     * arena hasta la próxima compactación.
+     */
+    @Override
+    public boolean eliminarTarea(int id) {
+        int fila = filaDe(id);
+        if (fila < 0) return false;
+        arenaLibre += largoNombre[fila];
+        int mover = tamano - fila - 1;
+        System.arraycopy(ids,          fila + 1, ids,          fila, mover);
+        System.arraycopy(prioridades,  fila + 1, prioridades,  fila, mover);
+        System.arraycopy(fechas,       fila + 1, fechas,       fila, mover);
+        System.arraycopy(inicioNombre, fila + 1, inicioNombre, fila, mover);
+        System.arraycopy(largoNombre,  fila + 1, largoNombre,  fila, mover);
+        tamano--;
+        completadas.clear(id);
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTotalTareas() {
+        return tamano;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RECORRIDOS POR COLUMNA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Cuenta las tareas de una prioridad leyendo solo la columna de prioridades.
+     *
+     * @param prioridad prioridad a contar
+     * @return cantidad de tareas con esa prioridad
+     */
+    public int contarPorPrioridad(Prioridad prioridad) {
+        byte codigo = (byte) prioridad.ordinal();
+        byte[] p = prioridades;
+        int n = tamano, cuenta = 0;
+        for (int i = 0; i < n; i++) {
+            cuenta += ((p[i] & MASCARA_PRIORIDAD) == codigo) ? 1 : 0;
+        }
+        return cuenta;
+    }
+
+    /**
+     * Cuenta las tareas urgentes cuya fecha límite es anterior a {@code fecha},
+     * leyendo solo la columna de fechas. Las normales tienen
+     * {@code Integer.MIN_VALUE} y se excluyen con una comparación más.
+     *
+     * @param fecha fecha de corte (exclusiva)
+     * @return cantidad de tareas urgentes que vencen antes de esa fecha
+     */
+    public int contarConFechaAntesDe(LocalDate fecha) {
+        int corte = Math.toIntExact(fecha.toEpochDay());
+        int[] f = fechas;
+        int n = tamano, cuenta = 0;
+        for (int i = 0; i < n; i++) {
+            cuenta += (f[i] != SIN_FECHA && f[i] < corte) ? 1 : 0;
+        }
+        return cuenta;
+    }
+
+    /**
+     * Memoria aproximada ocupada por las columnas y la arena, en bytes.
+     *
+     * @return bytes reservados por este motor
+     */
+    public long getBytesReservados() {
+        long filas = ids.length;
+        return filas * (4 + 1 + 4 + 4 + 4) + arena.length * 2L + completadas.size() / 8;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Agrega una fila al final de cada columna y devuelve su posición. */
+    private int agregarFila(String nombre, byte prioridad, int fecha) {
+        if (tamano == ids.length) crecerFilas();
+        int fila = tamano++;
+        ids[fila]         = contadorId++;
+        prioridades[fila] = prioridad;
+        fechas[fila]      = fecha;
+        guardarNombre(fila, nombre);
+        return fila;
+    }
+
+    /** Copia el nombre al final de la arena (compactándola o creciendo si hace falta). */
+    private void guardarNombre(int fila, String nombre) {
+        int largo = nombre.length();
+        if (finArena + largo > arena.length) {
+            if (arenaLibre > arena.length / 2) compactarArena();
+            if (finArena + largo > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, finArena + largo));
+            }
+        }
+        nombre.getChars(0, largo, arena, finArena);
+        inicioNombre[fila] = finArena;
+        largoNombre[fila]  = largo;
+        finArena += largo;
+    }
+
+    /** Reescribe la arena sin los huecos dejados por nombres eliminados. */
+    private void compactarArena() {
+        char[] nueva = new char[arena.length];
+        int fin = 0;
+        for (int i = 0; i < tamano; i++) {
+            System.arraycopy(arena, inicioNombre[i], nueva, fin, largoNombre[i]);
+            inicioNombre[i] = fin;
+            fin += largoNombre[i];
+        }
+        arena = nueva;
+        finArena = fin;
+        arenaLibre = 0;
+    }
+
+    private void crecerFilas() {
+        int capacidad = ids.length * 2;
+        ids          = Arrays.copyOf(ids, capacidad);
+        prioridades  = Arrays.copyOf(prioridades, capacidad);
+        fechas       = Arrays.copyOf(fechas, capacidad);
+        inicioNombre = Arrays.copyOf(inicioNombre, capacidad);
+        largoNombre  = Arrays.copyOf(largoNombre, capacidad);
+    }
+
+    /** Búsqueda binaria del ID en la columna {@code ids} (ordenada). */
+    private int filaDe(int id) {
+        return Math.max(Arrays.binarySearch(ids, 0, tamano, id), -1);
+    }
+
+    /** Crea el objeto Tarea de una fila, conectado para escribir su estado de vuelta. */
+    private Tarea materializar(int fila) {
+        int id = ids[fila];
+        String nombre = new String(arena, inicioNombre[fila], largoNombre[fila]);
+        Prioridad prioridad = Prioridad.desdeCodigo(prioridades[fila] & MASCARA_PRIORIDAD);
+        Tarea t = (prioridades[fila] & URGENTE) != 0
+                ? new TareaUrgente(id, nombre, prioridad, LocalDate.ofEpochDay(fechas[fila]).toString())
+                : new TareaNormal(id, nombre, prioridad);
+        t.setCompletado(completadas.get(id));
+        t.observador = escrituraDirecta;
+        return t;
+    }
+
+    /**
+     * Lleva a las columnas los cambios de un flyweight. Si la fila ya fue
+     * eliminada, el cambio queda solo en el objeto.
+     */
+    private final class EscrituraDirecta implements ObservadorTarea {
+        @Override
+        public void estadoCambiado(Tarea tarea) {
+            if (filaDe(tarea.getId()) < 0) return; // la fila ya fue eliminada
+            completadas.set(tarea.getId(), tarea.isCompletado());
+        }
+
+        @Override
+        public void nombreCambiado(Tarea tarea, String nombreAnterior) {
+            int fila = filaDe(tarea.getId());
+            if (fila < 0) return;
+            if (tarea.getNombre() == null) {
+                tarea.observador = null; // deshace sin volver a avisar
+                tarea.setNombre(nombreAnterior);
+                tarea.observador = this;
+                throw new IllegalArgumentException("El nombre no puede ser null");
+            }
+            arenaLibre += largoNombre[fila]; // el nombre viejo queda como hueco
+            largoNombre[fila] = 0;           // y una compactación no lo copia
+            guardarNombre(fila, tarea.getNombre());
+        }
+
+        @Override
+        public void prioridadCambiada(Tarea tarea) {
+            int fila = filaDe(tarea.getId());
+            if (fila < 0) return;
+            prioridades[fila] = (byte) ((prioridades[fila] & ~MASCARA_PRIORIDAD) | tarea.getPrioridad().ordinal());
+        }
+
+        @Override
+        public void fechaLimiteCambiada(TareaUrgente tarea, int diaAnterior) {
+            int fila = filaDe(tarea.getId());
+            if (fila < 0) return;
+            if (tarea.getDiaLimite() == TareaUrgente.SIN_FECHA) {
+                String invalida = tarea.getFechaLimite();
+                tarea.observador = null; // deshace sin volver a avisar
+                tarea.setFechaLimite(LocalDate.ofEpochDay(diaAnterior).toString());
+                tarea.observador = this;
+                throw new IllegalArgumentException("Fecha límite no válida (AAAA-MM-DD): " + invalida);
+            }
+            fechas[fila] = tarea.getDiaLimite();
+        }
+    }
+}
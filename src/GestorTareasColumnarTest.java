@@ -0,0 +1,156 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link GestorTareasColumnar}.
+ *
+ * <p>El motor por columnas debe comportarse igual que {@link GestorTareas}
+ * ante la misma secuencia de operaciones: por eso varios tests ejecutan lo
+ * mismo en ambos y comparan las filas que muestran.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del motor por columnas — GestorTareasColumnar")
+class GestorTareasColumnarTest {
+
+    private GestorTareasColumnar columnar;
+
+    @BeforeEach
+    void setUp() {
+        columnar = new GestorTareasColumnar(16);
+    }
+
+    /** Aplica la misma secuencia de operaciones a cualquier gestor. */
+    private static void secuencia(OperacionesTareas g) {
+        for (int i = 0; i < 500; i++) {
+            if (i % 4 == 0) g.agregarTareaUrgenteLogica("Urgente " + i, "ALTA", "2026-03-" + (10 + i % 18));
+            else            g.agregarTareaNormalLogica("Normal " + i, i % 2 == 0 ? "media" : "BAJA");
+        }
+        for (int id = 3; id <= 500; id += 3) g.marcarComoCompletada(id);
+        for (int id = 5; id <= 500; id += 5) g.eliminarTarea(id);
+    }
+
+    private static void assertMismasFilas(List<Tarea> esperadas, List<Tarea> obtenidas) {
+        assertEquals(esperadas.size(), obtenidas.size());
+        for (int i = 0; i < esperadas.size(); i++) {
+            assertEquals(esperadas.get(i).toString(), obtenidas.get(i).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Da los mismos resultados que GestorTareas")
+    void testEquivalenteAGestorTareas() {
+        GestorTareas objetos = new GestorTareas(false);
+        secuencia(objetos);
+        secuencia(columnar);
+
+        assertEquals(objetos.getTotalTareas(), columnar.getTotalTareas());
+        assertMismasFilas(objetos.obtenerTodas(), columnar.obtenerTodas());
+        assertMismasFilas(objetos.obtenerPendientes(), columnar.obtenerPendientes());
+        assertMismasFilas(objetos.obtenerCompletadas(), columnar.obtenerCompletadas());
+        assertNull(columnar.buscarPorId(5));
+    }
+
+    @Test
+    @DisplayName("ejecutar() sobre un flyweight actualiza la columna de estado")
+    void testFlyweightEscribeEstado() {
+        TareaNormal t = columnar.agregarTareaNormalLogica("Estudiar", "ALTA");
+
+        t.ejecutar();
+
+        assertTrue(columnar.buscarPorId(t.getId()).isCompletado());
+        assertFalse(columnar.marcarComoCompletada(t.getId()), "Ya estaba completada");
+    }
+
+    @Test
+    @DisplayName("setNombre() sobre un flyweight reescribe el nombre en la arena")
+    void testFlyweightEscribeNombre() {
+        TareaNormal t = columnar.agregarTareaNormalLogica("Estudiar", "ALTA");
+        columnar.agregarTareaNormalLogica("Vecina", "BAJA");
+
+        t.setNombre("Estudiar Java a fondo");
+
+        assertEquals("Estudiar Java a fondo", columnar.buscarPorId(t.getId()).getNombre());
+        assertEquals("Vecina", columnar.buscarPorId(t.getId() + 1).getNombre());
+        for (int i = 0; i < 200; i++) t.setNombre("Renombrada con un nombre bastante largo " + i);
+        assertEquals("Renombrada con un nombre bastante largo 199", columnar.buscarPorId(t.getId()).getNombre());
+        assertEquals("Vecina", columnar.buscarPorId(t.getId() + 1).getNombre());
+
+        assertThrows(IllegalArgumentException.class, () -> t.setNombre(null));
+        assertEquals("Renombrada con un nombre bastante largo 199", t.getNombre());
+    }
+
+    @Test
+    @DisplayName("setPrioridad() sobre un flyweight actualiza la columna de prioridades")
+    void testFlyweightEscribePrioridad() {
+        TareaUrgente t = columnar.agregarTareaUrgenteLogica("Entregar", "BAJA", "2026-03-01");
+
+        t.setPrioridad(Prioridad.ALTA);
+
+        Tarea leida = columnar.buscarPorId(t.getId());
+        assertEquals(Prioridad.ALTA, leida.getPrioridad());
+        assertInstanceOf(TareaUrgente.class, leida, "El bit de tipo no se pierde");
+        assertEquals(1, columnar.contarPorPrioridad(Prioridad.ALTA));
+        assertEquals(0, columnar.contarPorPrioridad(Prioridad.BAJA));
+    }
+
+    @Test
+    @DisplayName("setFechaLimite() sobre un flyweight actualiza la columna de fechas")
+    void testFlyweightEscribeFecha() {
+        TareaUrgente t = columnar.agregarTareaUrgenteLogica("Entregar", "ALTA", "2026-05-01");
+
+        t.setFechaLimite("2026-03-01");
+
+        assertEquals("2026-03-01", ((TareaUrgente) columnar.buscarPorId(t.getId())).getFechaLimite());
+        assertEquals(1, columnar.contarConFechaAntesDe(LocalDate.of(2026, 4, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> t.setFechaLimite("mañana"));
+        assertEquals("2026-03-01", t.getFechaLimite());
+        assertEquals("2026-03-01", ((TareaUrgente) columnar.buscarPorId(t.getId())).getFechaLimite());
+    }
+
+    @Test
+    @DisplayName("Los nombres sobreviven a la compactación de la arena")
+    void testCompactacionArena() {
+        for (int ronda = 0; ronda < 50; ronda++) {
+            TareaNormal t = columnar.agregarTareaNormalLogica("Temporal con nombre largo " + ronda, "BAJA");
+            columnar.agregarTareaNormalLogica("Fija " + ronda, "MEDIA");
+            columnar.eliminarTarea(t.getId());
+        }
+
+        List<Tarea> todas = columnar.obtenerTodas();
+        assertEquals(50, todas.size());
+        for (int i = 0; i < 50; i++) assertEquals("Fija " + i, todas.get(i).getNombre());
+    }
+
+    @Test
+    @DisplayName("Los recorridos por columna cuentan sin crear objetos")
+    void testRecorridosPorColumna() {
+        columnar.agregarTareaNormalLogica("A", "ALTA");
+        columnar.agregarTareaNormalLogica("B", "BAJA");
+        columnar.agregarTareaUrgenteLogica("C", "ALTA", "2026-03-01");
+        columnar.agregarTareaUrgenteLogica("D", "MEDIA", "2026-05-01");
+
+        assertEquals(2, columnar.contarPorPrioridad(Prioridad.ALTA));
+        assertEquals(1, columnar.contarPorPrioridad(Prioridad.BAJA));
+        assertEquals(1, columnar.contarConFechaAntesDe(LocalDate.of(2026, 4, 1)));
+    }
+
+    @Test
+    @DisplayName("Una fecha límite sin formato AAAA-MM-DD se rechaza")
+    void testFechaInvalida() {
+        assertThrows(IllegalArgumentException.class,
+                () -> columnar.agregarTareaUrgenteLogica("X", "ALTA", "mañana"));
+        assertEquals(0, columnar.getTotalTareas());
+    }
+}
@@ -0,0 +1,482 @@
+package smarttask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Clase {@code GestorTareasConcurrente} — gestor de tareas para varios hilos.
+ *
+ * <p>{@link GestorTareas} no es seguro para hilos: su lista y su contador de
+ * IDs se corrompen si dos hilos agregan a la vez. Esta clase ofrece las mismas
+ * operaciones ({@link OperacionesTareas}) para compartir una sola instancia
+ * entre hilos sin un candado global:</p>
+ * <ul>
+ *   <li><strong>IDs sin candado</strong>: se asignan con un {@link AtomicInteger},
+ *       así nunca se repiten.</li>
+ *   <li><strong>Candados por segmento</strong>: las tareas se reparten en
+ *       segmentos según su ID; cada segmento es un {@link GestorTareas} con su
+ *       propio {@link ReentrantReadWriteLock}. Hilos que trabajan sobre IDs de
+ *       segmentos distintos no se bloquean entre sí, y las lecturas de un mismo
+ *       segmento pueden ir en paralelo.</li>
+ *   <li><strong>Operaciones atómicas</strong>: completar y eliminar revisan y
+ *       modifican la tarea dentro del candado de escritura de su segmento, así
+ *       que de varios hilos que intentan completar (o eliminar) la misma tarea
+ *       exactamente uno recibe {@code true}.</li>
+ * </ul>
+ *
+ * <p>Las listas de {@code obtener*()} y el {@link #iterator()} se arman
+ * segmento por segmento y se mezclan por ID: cada segmento se lee de forma
+ * consistente, pero el resultado no es una foto instantánea de todo el
+ * gestor. {@link #estadisticas()} muestra, por segmento, tareas, operaciones
+ * y cuántas veces se esperó un candado ocupado.</p>
+ *
+ * <p>Los setters de {@link Tarea} no toman candados: para cambiar el estado de
+ * una tarea compartida hay que usar {@link #marcarComoCompletada(int)}.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public class GestorTareasConcurrente implements OperacionesTareas, Iterable<Tarea> {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Próximo ID a asignar (compartido por todos los hilos). */
+    private final AtomicInteger contadorId = new AtomicInteger(1);
+
+    /** Total de tareas en todos los segmentos. */
+    private final LongAdder total = new LongAdder();
+
+    /** Segmentos; su cantidad es potencia de 2 para elegirlos con una máscara. */
+    private final Segmento[] segmentos;
+
+    /** {@code segmentos.length - 1}. */
+    private final int mascara;
+
+    /** {@code true} si cada segmento asigna sus propios IDs (ver {@link Segmento#nuevoId()}). */
+    private final boolean idsPorSegmento;
+
+    /** Orden por ID, que es el orden de inserción de las tareas. */
+    private static final Comparator<Tarea> POR_ID = Comparator.comparingInt(Tarea::getId);
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Crea un gestor vacío con cuatro segmentos por procesador disponible.
+     */
+    public GestorTareasConcurrente() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea un gestor vacío con al menos la cantidad de segmentos indicada
+     * (se redondea a la siguiente potencia de 2).
+     *
+     * @param cantidadSegmentos segmentos deseados (mínimo 1)
+     */
+    public GestorTareasConcurrente(int cantidadSegmentos) {
+        this(cantidadSegmentos, false);
+    }
+
+    /**
+     * Crea un gestor vacío eligiendo cómo se asignan los IDs.
+     *
+     * <p>Con {@code idsPorSegmento}, cada alta elige un segmento al azar con
+     * {@link ThreadLocalRandom} y es ese segmento el que asigna el ID, dentro
+     * de su candado: las altas no escriben ningún contador compartido. Los IDs
+     * siguen siendo únicos, pero ya no salen en orden de creación.</p>
+     *
+     * @param cantidadSegmentos segmentos deseados (mínimo 1)
+     * @param idsPorSegmento    {@code true} para que cada segmento asigne sus IDs
+     */
+    GestorTareasConcurrente(int cantidadSegmentos, boolean idsPorSegmento) {
+        if (cantidadSegmentos < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un segmento");
+        }
+        int n = Integer.highestOneBit(cantidadSegmentos);
+        if (n < cantidadSegmentos) n <<= 1;
+        segmentos = new Segmento[n];
+        for (int i = 0; i < n; i++) segmentos[i] = new Segmento(n, i);
+        mascara = n - 1;
+        this.idsPorSegmento = idsPorSegmento;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  OPERACIONES
+    // ════════════════════════════════════════════════════════════════════════
+
+    /** {@inheritDoc} */
+    @Override
+    public TareaNormal agregarTareaNormalLogica(String nombre, Prioridad prioridad) {
+        if (!idsPorSegmento) {
+            TareaNormal nueva = new TareaNormal(contadorId.getAndIncrement(), nombre, prioridad);
+            insertar(nueva);
+            return nueva;
+        }
+        Segmento s = segmentoAlAzar();
+        TareaNormal nueva;
+        Lock l = s.escribir();
+        try {
+            nueva = new TareaNormal(s.nuevoId(), nombre, prioridad);
+            s.gestor.insertar(nueva);
+        } finally {
+            l.unlock();
+        }
+        total.increment();
+        return nueva;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TareaUrgente agregarTareaUrgenteLogica(String nombre, Prioridad prioridad, String fechaLimite) {
+        if (!idsPorSegmento) {
+            TareaUrgente nueva = new TareaUrgente(contadorId.getAndIncrement(), nombre, prioridad, fechaLimite);
+            insertar(nueva);
+            return nueva;
+        }
+        Segmento s = segmentoAlAzar();
+        TareaUrgente nueva;
+        Lock l = s.escribir();
+        try {
+            nueva = new TareaUrgente(s.nuevoId(), nombre, prioridad, fechaLimite);
+            s.gestor.insertar(nueva);
+        } finally {
+            l.unlock();
+        }
+        total.increment();
+        return nueva;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Tarea buscarPorId(int id) {
+        Segmento s = segmentoDe(id);
+        Lock l = s.leer();
+        try {
+            return s.gestor.buscarPorId(id);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Tarea> obtenerTodas() {
+        return juntar(partes(Consulta.TODAS));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Tarea> obtenerPendientes() {
+        return juntar(partes(Consulta.PENDIENTES));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Tarea> obtenerCompletadas() {
+        return juntar(partes(Consulta.COMPLETADAS));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean marcarComoCompletada(int id) {
+        Segmento s = segmentoDe(id);
+        Lock l = s.escribir();
+        try {
+            return s.gestor.marcarComoCompletada(id);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean eliminarTarea(int id) {
+        Segmento s = segmentoDe(id);
+        Lock l = s.escribir();
+        try {
+            if (!s.gestor.eliminarTarea(id)) return false;
+        } finally {
+            l.unlock();
+        }
+        total.decrement();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTotalTareas() {
+        return total.intValue();
+    }
+
+    /**
+     * Recorre todas las tareas en orden de ID, mezclando las copias de cada
+     * segmento sin juntarlas antes en una sola lista.
+     */
+    @Override
+    public Iterator<Tarea> iterator() {
+        return new Mezcla(partes(Consulta.TODAS));
+    }
+
+    /** @return una fila por segmento, en orden de segmento */
+    public List<ResumenSegmento> estadisticas() {
+        List<ResumenSegmento> filas = new ArrayList<>(segmentos.length);
+        for (Segmento s : segmentos) {
+            Lock l = s.leer();
+            try {
+                filas.add(new ResumenSegmento(s));
+            } finally {
+                l.unlock();
+            }
+        }
+        return filas;
+    }
+
+    /** @return bits reservados por las particiones de todos los segmentos (para pruebas) */
+    int getBitsParticiones() {
+        int bits = 0;
+        for (Segmento s : segmentos) {
+            Lock l = s.leer();
+            try {
+                bits += s.gestor.getBitsParticiones();
+            } finally {
+                l.unlock();
+            }
+        }
+        return bits;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Qué lista pedirle a cada segmento. */
+    private enum Consulta { TODAS, PENDIENTES, COMPLETADAS }
+
+    /** Guarda una tarea nueva en su segmento. */
+    private void insertar(Tarea tarea) {
+        Segmento s = segmentoDe(tarea.getId());
+        Lock l = s.escribir();
+        try {
+            s.gestor.insertar(tarea);
+        } finally {
+            l.unlock();
+        }
+        total.increment();
+    }
+
+    /** Copia una lista de cada segmento, bajo su candado de lectura. */
+    private List<List<Tarea>> partes(Consulta consulta) {
+        List<List<Tarea>> partes = new ArrayList<>(segmentos.length);
+        for (Segmento s : segmentos) {
+            Lock l = s.leer();
+            try {
+                partes.add(switch (consulta) {
+                    case TODAS       -> s.gestor.obtenerTodas();
+                    case PENDIENTES  -> s.gestor.obtenerPendientes();
+                    case COMPLETADAS -> s.gestor.obtenerCompletadas();
+                });
+            } finally {
+                l.unlock();
+            }
+        }
+        return partes;
+    }
+
+    /**
+     * Une listas ya ordenadas por ID en una sola lista ordenada, con la misma
+     * mezcla de k listas que el {@link #iterator()}: O(n log k).
+     *
+     * @param partes listas ordenadas por ID
+     * @return lista nueva con todos los elementos en orden de ID
+     */
+    private static List<Tarea> juntar(List<List<Tarea>> partes) {
+        int totalElementos = 0;
+        for (List<Tarea> p : partes) totalElementos += p.size();
+        List<Tarea> resultado = new ArrayList<>(totalElementos);
+        for (Iterator<Tarea> it = new Mezcla(partes); it.hasNext(); ) resultado.add(it.next());
+        return resultado;
+    }
+
+    /** IDs consecutivos caen en segmentos consecutivos (reparto en ronda). */
+    private Segmento segmentoDe(int id) {
+        return segmentos[id & mascara];
+    }
+
+    private Segmento segmentoAlAzar() {
+        return segmentos[ThreadLocalRandom.current().nextInt() & mascara];
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  SEGMENTO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Un segmento: un gestor de un solo hilo protegido por su propio candado.
+     * Sus particiones usan el ID sin los bits del número de segmento, así que
+     * cada uno reserva memoria para sus tareas y no para todos los IDs.
+     */
+    private static final class Segmento {
+        final int indice;
+        final int cantidad;
+        final GestorTareas gestor;
+        final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+        /** Próximo múltiplo a asignar; protegido por el candado de escritura. */
+        int siguiente = 1;
+
+        final LongAdder lecturas = new LongAdder();
+        final LongAdder escrituras = new LongAdder();
+
+        /** Veces que un hilo encontró el candado ocupado y tuvo que esperar. */
+        final LongAdder esperas = new LongAdder();
+
+        Segmento(int segmentos, int indice) {
+            this.indice = indice;
+            this.cantidad = segmentos;
+            this.gestor = new GestorTareas(segmentos, indice);
+        }
+
+        /** Toma el candado de lectura; quien llama lo suelta en un {@code finally}. */
+        Lock leer() {
+            lecturas.increment();
+            return tomar(candado.readLock());
+        }
+
+        /** Toma el candado de escritura; quien llama lo suelta en un {@code finally}. */
+        Lock escribir() {
+            escrituras.increment();
+            return tomar(candado.writeLock());
+        }
+
+        private Lock tomar(Lock l) {
+            if (!l.tryLock()) {
+                esperas.increment();
+                l.lock();
+            }
+            return l;
+        }
+
+        /**
+         * IDs de la forma {@code indice + siguiente × cantidad}: el resto de
+         * dividir por la cantidad de segmentos dice a qué segmento pertenece, y
+         * el cociente es su bit local. Se llama con el candado de escritura tomado.
+         */
+        int nuevoId() {
+            try {
+                return Math.addExact(indice, Math.multiplyExact(siguiente++, cantidad));
+            } catch (ArithmeticException e) {
+                siguiente--;
+                throw new IllegalStateException("El segmento " + indice + " no tiene más IDs libres");
+            }
+        }
+    }
+
+    /**
+     * Estado de un segmento, tomado bajo su candado de lectura. Sirve para ver
+     * si las tareas y la contención se reparten parejo.
+     */
+    public static final class ResumenSegmento {
+        private final int segmento;
+        private final int tareas;
+        private final int pendientes;
+        private final long lecturas;
+        private final long escrituras;
+        private final long esperas;
+
+        private ResumenSegmento(Segmento s) {
+            this.segmento   = s.indice;
+            this.tareas     = s.gestor.getTotalTareas();
+            this.pendientes = s.gestor.getTotalPendientes();
+            this.lecturas   = s.lecturas.sum();
+            this.escrituras = s.escrituras.sum();
+            this.esperas    = s.esperas.sum();
+        }
+
+        /** @return número de segmento, desde 0 */
+        public int getSegmento() { return segmento; }
+
+        /** @return tareas guardadas en el segmento */
+        public int getTareas() { return tareas; }
+
+        /** @return tareas pendientes del segmento */
+        public int getPendientes() { return pendientes; }
+
+        /** @return tareas completadas del segmento */
+        public int getCompletadas() { return tareas - pendientes; }
+
+        /** @return operaciones de lectura atendidas */
+        public long getLecturas() { return lecturas; }
+
+        /** @return operaciones de escritura atendidas */
+        public long getEscrituras() { return escrituras; }
+
+        /** @return veces que una operación encontró el candado ocupado */
+        public long getEsperas() { return esperas; }
+
+        @Override
+        public String toString() {
+            return "segmento " + segmento + ": " + tareas + " tareas (" + pendientes + " pendientes), "
+                    + lecturas + " lecturas, " + escrituras + " escrituras, " + esperas + " esperas";
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  MEZCLA DE LISTAS ORDENADAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Recorre k listas ordenadas por ID como una sola: un montículo guarda la
+     * posición actual de cada lista y entrega siempre la de menor ID.
+     */
+    private static final class Mezcla implements Iterator<Tarea> {
+        private final PriorityQueue<Cursor> frentes;
+
+        Mezcla(List<List<Tarea>> partes) {
+            frentes = new PriorityQueue<>(Math.max(1, partes.size()),
+                    (a, b) -> POR_ID.compare(a.actual(), b.actual()));
+            for (List<Tarea> p : partes) {
+                if (!p.isEmpty()) frentes.add(new Cursor(p));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !frentes.isEmpty();
+        }
+
+        @Override
+        public Tarea next() {
+            Cursor c = frentes.poll();
+            if (c == null) throw new NoSuchElementException();
+            Tarea t = c.actual();
+            if (++c.posicion < c.lista.size()) frentes.add(c);
+            return t;
+        }
+
+        private static final class Cursor {
+            final List<Tarea> lista;
+            int posicion;
+
+            Cursor(List<Tarea> lista) {
+                this.lista = lista;
+            }
+
+            Tarea actual() {
+                return lista.get(posicion);
+            }
+        }
+    }
+}
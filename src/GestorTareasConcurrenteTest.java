@@ -0,0 +1,192 @@
+package smarttask;
+
+/**
+ * Pruebas de concurrencia para {@link GestorTareasConcurrente}.
+ *
+ * <p>Cada test lanza muchos hilos que golpean la misma instancia a la vez
+ * y luego verifica que no se perdieron ni duplicaron tareas ni IDs.
+ * Un {@link CountDownLatch} de largada hace que todos los hilos arranquen
+ * juntos para maximizar la contención.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de concurrencia — GestorTareasConcurrente")
+class GestorTareasConcurrenteTest {
+
+    private static final int HILOS = 16;
+    private static final int TAREAS_POR_HILO = 5_000;
+
+    private GestorTareasConcurrente gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareasConcurrente(8);
+    }
+
+    /**
+     * Ejecuta la misma acción en {@link #HILOS} hilos que arrancan a la vez
+     * y devuelve el resultado de cada uno.
+     */
+    private <T> List<T> enParalelo(Callable<T> accion) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<T>> futuros = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                futuros.add(pool.submit(() -> {
+                    largada.await();
+                    return accion.call();
+                }));
+            }
+            largada.countDown();
+            List<T> resultados = new ArrayList<>();
+            for (Future<T> f : futuros) resultados.add(f.get(30, TimeUnit.SECONDS));
+            return resultados;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Altas concurrentes: ningún ID repetido y ninguna tarea perdida")
+    void testAltasConcurrentesSinIdsDuplicados() throws Exception {
+        List<List<Integer>> idsPorHilo = enParalelo(() -> {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < TAREAS_POR_HILO; i++) {
+                Tarea t = (i % 2 == 0)
+                        ? gestor.agregarTareaNormalLogica("N" + i, "MEDIA")
+                        : gestor.agregarTareaUrgenteLogica("U" + i, "ALTA", "2026-03-01");
+                ids.add(t.getId());
+            }
+            return ids;
+        });
+
+        Set<Integer> todos = new HashSet<>();
+        for (List<Integer> ids : idsPorHilo) {
+            for (int id : ids) assertTrue(todos.add(id), "ID duplicado: " + id);
+        }
+        assertEquals(HILOS * TAREAS_POR_HILO, gestor.getTotalTareas());
+        assertEquals(HILOS * TAREAS_POR_HILO, gestor.obtenerTodas().size());
+        for (int id : todos) assertNotNull(gestor.buscarPorId(id));
+    }
+
+    @Test
+    @DisplayName("obtenerTodas() devuelve las tareas en orden de ID")
+    void testObtenerTodasOrdenada() throws Exception {
+        enParalelo(() -> {
+            for (int i = 0; i < 500; i++) gestor.agregarTareaNormalLogica("T" + i, "BAJA");
+            return null;
+        });
+
+        List<Tarea> todas = gestor.obtenerTodas();
+        for (int i = 1; i < todas.size(); i++) {
+            assertTrue(todas.get(i - 1).getId() < todas.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Completar en paralelo: cada tarea se completa exactamente una vez")
+    void testCompletarEsAtomico() throws Exception {
+        int cantidad = 2_000;
+        for (int i = 0; i < cantidad; i++) gestor.agregarTareaNormalLogica("T" + i, "ALTA");
+
+        List<Integer> exitos = enParalelo(() -> {
+            int ok = 0;
+            for (int id = 1; id <= cantidad; id++) {
+                if (gestor.marcarComoCompletada(id)) ok++;
+            }
+            return ok;
+        });
+
+        int totalExitos = 0;
+        for (int ok : exitos) totalExitos += ok;
+        assertEquals(cantidad, totalExitos, "Cada ID debe completarse una sola vez");
+        assertEquals(cantidad, gestor.obtenerCompletadas().size());
+        assertTrue(gestor.obtenerPendientes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Eliminar en paralelo: cada tarea se elimina exactamente una vez")
+    void testEliminarEsAtomico() throws Exception {
+        int cantidad = 2_000;
+        for (int i = 0; i < cantidad; i++) gestor.agregarTareaNormalLogica("T" + i, "ALTA");
+        AtomicInteger eliminadas = new AtomicInteger();
+
+        enParalelo(() -> {
+            for (int id = 1; id <= cantidad; id++) {
+                if (gestor.eliminarTarea(id)) eliminadas.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(cantidad, eliminadas.get());
+        assertEquals(0, gestor.getTotalTareas());
+        assertTrue(gestor.obtenerTodas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Altas, completados y bajas mezclados dejan el gestor consistente")
+    void testOperacionesMezcladas() throws Exception {
+        enParalelo(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                Tarea t = gestor.agregarTareaNormalLogica("T" + i, "MEDIA");
+                if (i % 3 == 0) gestor.marcarComoCompletada(t.getId());
+                if (i % 5 == 0) gestor.eliminarTarea(t.getId());
+            }
+            return null;
+        });
+
+        int total = gestor.getTotalTareas();
+        assertEquals(total, gestor.obtenerTodas().size());
+        assertEquals(total, gestor.obtenerPendientes().size() + gestor.obtenerCompletadas().size());
+    }
+
+    @Test
+    @DisplayName("Cada segmento reserva bits solo para sus propios IDs")
+    void testSegmentoConIdsLocales() {
+        int segmentos = 16, porSegmento = 50_000;
+        GestorTareas segmento = new GestorTareas(segmentos, 5);
+        for (int i = 0; i < porSegmento; i++) {
+            Tarea t = new TareaNormal(5 + i * segmentos, "T" + i, Prioridad.MEDIA);
+            if (i % 2 == 0) t.setCompletado(true);
+            segmento.insertar(t);
+        }
+        // con el ID completo serían 16 veces más bits
+        assertTrue(segmento.getBitsParticiones() < 4 * porSegmento, "bits: " + segmento.getBitsParticiones());
+
+        assertEquals(porSegmento / 2, segmento.obtenerPendientes().size());
+        assertEquals(21, segmento.obtenerPendientes().get(0).getId());
+        assertEquals(5, segmento.vistaCompletadas().iterator().next().getId());
+        segmento.buscarPorId(21).setCompletado(true);
+        assertTrue(segmento.eliminarTarea(5));
+        assertEquals(53, segmento.obtenerPendientes().get(0).getId());
+        assertEquals(porSegmento / 2, segmento.obtenerCompletadas().size());
+
+        PaginaTareas pagina = segmento.obtenerPagina(22, 2, PaginaTareas.Filtro.COMPLETADAS);
+        assertEquals(List.of(37, 37 + 2 * segmentos), pagina.getTareas().stream().map(Tarea::getId).toList());
+        assertEquals(37 + 4 * segmentos, pagina.getSiguienteCursor());
+
+        assertThrows(IllegalArgumentException.class, () -> segmento.insertar(new TareaNormal(6, "Ajena", Prioridad.BAJA)));
+        assertThrows(IllegalArgumentException.class, () -> new GestorTareas(12, 0));
+    }
+}
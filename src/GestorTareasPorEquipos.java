@@ -0,0 +1,147 @@
+package smarttask;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Clase {@code GestorTareasPorEquipos} — una lista de tareas por equipo en
+ * una sola JVM, repartida en segmentos independientes.
+ *
+ * <p>Con un {@link GestorTareas} por equipo hay que administrar a mano cada
+ * instancia y su sincronización; con uno solo para todos, cada hilo compite
+ * por la misma lista. Aquí cada equipo tiene su propio {@link Equipo}: un
+ * {@link GestorTareasConcurrente} de {@link #getSegmentosPorEquipo()}
+ * segmentos, cada uno un {@link GestorTareas} con su propio
+ * {@link java.util.concurrent.locks.ReentrantReadWriteLock}. Hilos de equipos
+ * distintos nunca se cruzan, y dentro de un equipo solo se bloquean si caen
+ * en el mismo segmento.</p>
+ *
+ * <ul>
+ *   <li><strong>IDs sin contador compartido</strong>: el segmento {@code k}
+ *       de {@code n} asigna {@code k + n}, {@code k + 2n}, {@code k + 3n}…
+ *       con su propio contador, dentro de su candado. El segmento de un ID
+ *       es {@code id & (n - 1)}: buscar, completar y eliminar van directo a
+ *       él, y dentro del segmento el ID ocupa el bit {@code id / n}. Los IDs
+ *       son únicos dentro del equipo, no entre equipos.</li>
+ *   <li><strong>Altas repartidas al azar</strong>: cada alta elige segmento
+ *       con {@link ThreadLocalRandom}, sin escribir nada compartido.</li>
+ *   <li><strong>Listados por mezcla</strong> y <strong>estadísticas por
+ *       segmento</strong>: los de {@link GestorTareasConcurrente}
+ *       ({@link GestorTareasConcurrente#iterator()},
+ *       {@link GestorTareasConcurrente#estadisticas()}).</li>
+ * </ul>
+ *
+ * <pre>
+ *   GestorTareasPorEquipos gestor = new GestorTareasPorEquipos();
+ *   GestorTareasPorEquipos.Equipo backend = gestor.equipo("backend");
+ *   int id = backend.agregarTareaNormalLogica("Migrar base", Prioridad.ALTA).getId();
+ *   backend.marcarComoCompletada(id);
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public class GestorTareasPorEquipos {
+
+    private final ConcurrentHashMap<String, Equipo> equipos = new ConcurrentHashMap<>();
+
+    /** Segmentos de cada equipo; potencia de 2. */
+    private final int segmentosPorEquipo;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Crea un gestor con dos segmentos por procesador disponible en cada equipo. */
+    public GestorTareasPorEquipos() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea un gestor con al menos la cantidad de segmentos indicada por equipo
+     * (se redondea a la siguiente potencia de 2).
+     *
+     * @param segmentosPorEquipo segmentos deseados (mínimo 1)
+     */
+    public GestorTareasPorEquipos(int segmentosPorEquipo) {
+        if (segmentosPorEquipo < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un segmento");
+        }
+        int n = Integer.highestOneBit(segmentosPorEquipo);
+        if (n < segmentosPorEquipo) n <<= 1;
+        this.segmentosPorEquipo = n;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  EQUIPOS
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Devuelve las tareas de un equipo, creándolo vacío la primera vez.
+     *
+     * @param nombre nombre del equipo
+     * @return el equipo; siempre la misma instancia para el mismo nombre
+     * @throws IllegalArgumentException si el nombre está vacío
+     */
+    public Equipo equipo(String nombre) {
+        if (nombre == null || nombre.isBlank()) {
+            throw new IllegalArgumentException("El nombre del equipo no puede estar vacío");
+        }
+        Equipo e = equipos.get(nombre); // camino habitual: sin bloquear el mapa
+        return e != null ? e : equipos.computeIfAbsent(nombre, n -> new Equipo(n, segmentosPorEquipo));
+    }
+
+    /**
+     * @param nombre nombre del equipo
+     * @return {@code true} si el equipo existía y se quitó con sus tareas
+     */
+    public boolean eliminarEquipo(String nombre) {
+        return nombre != null && equipos.remove(nombre) != null;
+    }
+
+    /** @return nombres de los equipos, en orden alfabético */
+    public SortedSet<String> getEquipos() {
+        return new TreeSet<>(equipos.keySet());
+    }
+
+    /** @return cantidad de tareas sumando todos los equipos */
+    public int getTotalTareas() {
+        int total = 0;
+        for (Equipo e : equipos.values()) total += e.getTotalTareas();
+        return total;
+    }
+
+    /** @return segmentos de cada equipo */
+    public int getSegmentosPorEquipo() {
+        return segmentosPorEquipo;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  EQUIPO
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Las tareas de un equipo: un {@link GestorTareasConcurrente} cuyos
+     * segmentos asignan sus propios IDs. Es seguro para varios hilos y se
+     * recorre en orden de ID.
+     *
+     * <p>Los setters de {@link Tarea} no toman candados: para cambiar el
+     * estado de una tarea compartida hay que usar
+     * {@link #marcarComoCompletada(int)}.</p>
+     */
+    public static final class Equipo extends GestorTareasConcurrente {
+        private final String nombre;
+
+        private Equipo(String nombre, int cantidadSegmentos) {
+            super(cantidadSegmentos, true);
+            this.nombre = nombre;
+        }
+
+        /** @return nombre del equipo */
+        public String getNombre() {
+            return nombre;
+        }
+    }
+}
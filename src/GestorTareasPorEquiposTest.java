@@ -0,0 +1,157 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link GestorTareasPorEquipos}: equipos aislados, IDs que
+ * llevan a su segmento, listados mezclados en orden, estadísticas por
+ * segmento, memoria acotada por segmento y hilos concurrentes sobre varios
+ * equipos.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del gestor por equipos")
+class GestorTareasPorEquiposTest {
+
+    private GestorTareasPorEquipos gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareasPorEquipos(4);
+    }
+
+    @Test
+    @DisplayName("Cada equipo tiene sus propias tareas e IDs")
+    void testEquiposAislados() {
+        GestorTareasPorEquipos.Equipo backend = gestor.equipo("backend");
+        GestorTareasPorEquipos.Equipo frontend = gestor.equipo("frontend");
+        assertSame(backend, gestor.equipo("backend"));
+
+        Tarea a = backend.agregarTareaNormalLogica("Migrar base", Prioridad.ALTA);
+        Tarea b = frontend.agregarTareaUrgenteLogica("Arreglar login", Prioridad.ALTA, "2026-03-01");
+        assertSame(a, backend.buscarPorId(a.getId()));
+        if (a.getId() != b.getId()) assertNull(backend.buscarPorId(b.getId()));
+        assertNotSame(b, backend.buscarPorId(b.getId()));
+
+        assertTrue(backend.marcarComoCompletada(a.getId()));
+        assertFalse(backend.marcarComoCompletada(a.getId()));
+        assertEquals(1, backend.obtenerCompletadas().size());
+        assertEquals(1, frontend.obtenerPendientes().size());
+        assertEquals(2, gestor.getTotalTareas());
+        assertEquals(Set.of("backend", "frontend"), gestor.getEquipos());
+
+        assertTrue(gestor.eliminarEquipo("frontend"));
+        assertEquals(1, gestor.getTotalTareas());
+        assertEquals(0, gestor.equipo("frontend").getTotalTareas());
+        assertThrows(IllegalArgumentException.class, () -> gestor.equipo(" "));
+        assertThrows(IllegalArgumentException.class, () -> new GestorTareasPorEquipos(0));
+    }
+
+    @Test
+    @DisplayName("Los IDs son únicos, llevan a su segmento y los listados salen en orden")
+    void testIdsYMezcla() {
+        GestorTareasPorEquipos.Equipo equipo = gestor.equipo("datos");
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            assertTrue(ids.add(equipo.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA).getId()));
+        }
+        for (int id : ids) {
+            if (id % 3 == 0) assertTrue(equipo.marcarComoCompletada(id));
+            if (id % 5 == 0) assertTrue(equipo.eliminarTarea(id));
+        }
+        assertFalse(equipo.eliminarTarea(-1));
+
+        List<Tarea> todas = equipo.obtenerTodas();
+        assertEquals(equipo.getTotalTareas(), todas.size());
+        for (int i = 1; i < todas.size(); i++) assertTrue(todas.get(i - 1).getId() < todas.get(i).getId());
+        int i = 0;
+        for (Tarea t : equipo) assertSame(todas.get(i++), t);
+        assertEquals(todas.size(), i);
+        assertEquals(todas.size(), equipo.obtenerPendientes().size() + equipo.obtenerCompletadas().size());
+
+        List<GestorTareasConcurrente.ResumenSegmento> filas = equipo.estadisticas();
+        assertEquals(4, filas.size());
+        int tareas = 0;
+        for (GestorTareasConcurrente.ResumenSegmento f : filas) {
+            assertTrue(f.getTareas() > 0, f.toString()); // las altas se reparten
+            assertEquals(f.getTareas(), f.getPendientes() + f.getCompletadas());
+            tareas += f.getTareas();
+        }
+        assertEquals(todas.size(), tareas);
+    }
+
+    @Test
+    @DisplayName("Cada segmento de un equipo reserva bits solo para sus propios IDs")
+    void testSegmentosConIdsLocales() {
+        GestorTareasPorEquipos.Equipo equipo = new GestorTareasPorEquipos(16).equipo("grande");
+        int maximo = 0;
+        for (int i = 0; i < 50_000; i++) {
+            int id = equipo.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA).getId();
+            maximo = Math.max(maximo, id);
+            if (i % 2 == 0) assertTrue(equipo.marcarComoCompletada(id));
+        }
+        // Con el ID global cada segmento reservaría dos particiones de 'maximo'
+        // bits: 32 × maximo. Con el bit local, cada uno cubre ~maximo / 16.
+        assertTrue(equipo.getBitsParticiones() < 4L * maximo + 16 * 2 * 64,
+                equipo.getBitsParticiones() + " bits para IDs hasta " + maximo);
+        assertEquals(25_000, equipo.obtenerCompletadas().size());
+    }
+
+    @Test
+    @DisplayName("Hilos sobre varios equipos no pierden ni repiten tareas")
+    void testConcurrencia() throws Exception {
+        int hilos = 8, porHilo = 5_000;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<List<Integer>>> futuros = new ArrayList<>();
+        long inicio;
+        try (ExecutorService pool = Executors.newFixedThreadPool(hilos)) {
+            for (int h = 0; h < hilos; h++) {
+                GestorTareasPorEquipos.Equipo equipo = gestor.equipo("equipo-" + (h % 2));
+                futuros.add(pool.submit(() -> {
+                    largada.await();
+                    List<Integer> vivas = new ArrayList<>();
+                    for (int i = 0; i < porHilo; i++) {
+                        int id = equipo.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA).getId();
+                        if (i % 4 == 0) assertTrue(equipo.marcarComoCompletada(id));
+                        if (i % 10 == 0) assertTrue(equipo.eliminarTarea(id));
+                        else vivas.add(id);
+                    }
+                    return vivas;
+                }));
+            }
+            inicio = System.nanoTime();
+            largada.countDown();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Set<Integer>> porEquipo = List.of(new HashSet<>(), new HashSet<>());
+        for (int h = 0; h < hilos; h++) {
+            for (int id : futuros.get(h).get(30, TimeUnit.SECONDS)) assertTrue(porEquipo.get(h % 2).add(id));
+        }
+        for (int e = 0; e < 2; e++) {
+            GestorTareasPorEquipos.Equipo equipo = gestor.equipo("equipo-" + e);
+            assertEquals(porEquipo.get(e).size(), equipo.getTotalTareas());
+            for (Tarea t : equipo) assertTrue(porEquipo.get(e).contains(t.getId()));
+        }
+        int operaciones = hilos * porHilo * 2;
+        System.out.printf(Locale.ROOT, "  Gestor por equipos: %d operaciones de %d hilos en %.2f s (%.0f operaciones/s)%n",
+                operaciones, hilos, segundos, operaciones / segundos);
+    }
+}
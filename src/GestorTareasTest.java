@@ -19,7 +19,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -74,11 +79,11 @@ class GestorTareasTest {
         }
 
         @Test
-        @DisplayName("La prioridad se normaliza a mayúsculas")
+        @DisplayName("La prioridad en texto se convierte al enum sin importar mayúsculas")
         void testPrioridadNormalizada() {
             TareaNormal t = gestor.agregarTareaNormalLogica("Tarea", "alta");
 
-            assertEquals("ALTA", t.getPrioridad(), "La prioridad debe guardarse en mayúsculas");
+            assertSame(Prioridad.ALTA, t.getPrioridad(), "La prioridad debe convertirse al enum");
         }
 
         @Test
@@ -362,4 +367,470 @@ class GestorTareasTest {
                     "La descripción de urgente debe incluir la fecha límite");
         }
     }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  ⚡ ÍNDICE POR ID
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("⚡ Índice por ID")
+    class IndicePorIdTest {
+
+        @Test
+        @DisplayName("buscarPorId() encuentra cada tarea tras muchas altas y bajas")
+        void testIndiceTrasAltasYBajas() {
+            for (int i = 0; i < 1000; i++) {
+                gestor.agregarTareaNormalLogica("T" + i, "MEDIA");
+            }
+            // Eliminar los IDs pares obliga al índice a reacomodar sus grupos
+            for (int id = 2; id <= 1000; id += 2) {
+                assertTrue(gestor.eliminarTarea(id));
+            }
+
+            assertEquals(500, gestor.getTotalTareas());
+            for (int id = 1; id <= 1000; id++) {
+                Tarea t = gestor.buscarPorId(id);
+                if (id % 2 == 0) assertNull(t, "El ID " + id + " fue eliminado");
+                else             assertEquals("T" + (id - 1), t.getNombre());
+            }
+        }
+
+        @Test
+        @DisplayName("Eliminar conserva el orden de inserción en obtenerTodas()")
+        void testEliminarConservaOrden() {
+            TareaNormal t1 = gestor.agregarTareaNormalLogica("T1", "ALTA");
+            TareaNormal t2 = gestor.agregarTareaNormalLogica("T2", "MEDIA");
+            TareaNormal t3 = gestor.agregarTareaNormalLogica("T3", "BAJA");
+
+            gestor.eliminarTarea(t2.getId());
+
+            List<Tarea> todas = gestor.obtenerTodas();
+            assertEquals(2, todas.size());
+            assertSame(t1, todas.get(0));
+            assertSame(t3, todas.get(1));
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  📂 PARTICIONES POR ESTADO
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("📂 Particiones por estado")
+    class ParticionesTest {
+
+        @Test
+        @DisplayName("Crear y eliminar la tarea más nueva lejos de las demás es O(1)")
+        void testAltaYBajaDeLaMasNueva() {
+            gestor.agregarTareaNormalLogica("Vieja", "ALTA");
+            gestor.ajustarSiguienteId(1 << 25); // un hueco de medio millón de palabras
+            // Con BitSet, cada clear() del bit más alto buscaba la palabra anterior en uso
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 100_000; i++) {
+                    Tarea nueva = gestor.agregarTareaNormalLogica("Nueva", "BAJA");
+                    assertTrue(gestor.eliminarTarea(nueva.getId()));
+                    gestor.devolverIds(nueva.getId(), 1);
+                }
+            });
+            assertEquals(List.of(1), gestor.obtenerPendientes().stream().map(Tarea::getId).toList());
+            assertEquals(0, gestor.getTotalLapidas());
+
+            gestor.compactar(); // devuelve los bits que reservó el ID alto
+            assertTrue(gestor.getBitsParticiones() <= 4 * 64, "bits: " + gestor.getBitsParticiones());
+        }
+
+        @Test
+        @DisplayName("ejecutar() mueve la tarea a completadas aunque no pase por el gestor")
+        void testEjecutarActualizaParticiones() {
+            TareaNormal t = gestor.agregarTareaNormalLogica("Estudiar", "ALTA");
+
+            t.ejecutar();
+
+            assertTrue(gestor.obtenerPendientes().isEmpty());
+            assertEquals(1, gestor.obtenerCompletadas().size());
+        }
+
+        @Test
+        @DisplayName("Las particiones conservan el orden por ID")
+        void testParticionesOrdenadas() {
+            TareaNormal t1 = gestor.agregarTareaNormalLogica("T1", "ALTA");
+            TareaNormal t2 = gestor.agregarTareaNormalLogica("T2", "MEDIA");
+            TareaNormal t3 = gestor.agregarTareaNormalLogica("T3", "BAJA");
+            gestor.marcarComoCompletada(t3.getId());
+            gestor.marcarComoCompletada(t1.getId());
+
+            List<Tarea> completadas = gestor.obtenerCompletadas();
+
+            assertSame(t1, completadas.get(0));
+            assertSame(t3, completadas.get(1));
+            assertSame(t2, gestor.obtenerPendientes().get(0));
+        }
+
+        @Test
+        @DisplayName("La vista de pendientes es viva y no modificable")
+        void testVistaViva() {
+            Collection<Tarea> vista = gestor.vistaPendientes();
+            TareaNormal t = gestor.agregarTareaNormalLogica("T1", "ALTA");
+
+            assertEquals(1, vista.size());
+            assertTrue(vista.contains(t));
+            assertThrows(UnsupportedOperationException.class, () -> vista.add(t));
+
+            gestor.eliminarTarea(t.getId());
+
+            assertTrue(vista.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Una tarea eliminada ya no afecta al gestor al cambiar de estado")
+        void testTareaEliminadaDesvinculada() {
+            TareaNormal t = gestor.agregarTareaNormalLogica("T1", "ALTA");
+            gestor.eliminarTarea(t.getId());
+
+            t.setCompletado(true);
+
+            assertTrue(gestor.obtenerCompletadas().isEmpty());
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  🎚 PRIORIDAD (enum)
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("🎚 Prioridad")
+    class PrioridadTest {
+
+        @Test
+        @DisplayName("Una prioridad desconocida lanza IllegalArgumentException")
+        void testPrioridadInvalida() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> gestor.agregarTareaNormalLogica("Tarea", "URGENTISIMA"));
+            assertEquals(0, gestor.getTotalTareas(), "No debe agregarse ninguna tarea");
+        }
+
+        @Test
+        @DisplayName("obtenerPorPrioridad() filtra por el valor del enum")
+        void testObtenerPorPrioridad() {
+            TareaNormal t1 = gestor.agregarTareaNormalLogica("T1", Prioridad.ALTA);
+            gestor.agregarTareaNormalLogica("T2", Prioridad.MEDIA);
+            TareaUrgente t3 = gestor.agregarTareaUrgenteLogica("T3", Prioridad.ALTA, "2026-03-01");
+
+            assertEquals(List.of(t1, t3), gestor.obtenerPorPrioridad(Prioridad.ALTA));
+            assertTrue(gestor.obtenerPorPrioridad(Prioridad.BAJA).isEmpty());
+        }
+
+        @Test
+        @DisplayName("El orden del enum va de más a menos urgente")
+        void testOrdenPrioridades() {
+            assertTrue(Prioridad.ALTA.esMasUrgenteQue(Prioridad.MEDIA));
+            assertTrue(Prioridad.MEDIA.esMasUrgenteQue(Prioridad.BAJA));
+            assertFalse(Prioridad.BAJA.esMasUrgenteQue(Prioridad.ALTA));
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  📄 PAGINACIÓN CON CURSOR
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("📄 Paginación con cursor")
+    class PaginacionTest {
+
+        private List<Tarea> leerPorPaginas(int tamano, PaginaTareas.Filtro filtro) {
+            List<Tarea> leidas = new ArrayList<>();
+            int cursor = PaginaTareas.INICIO;
+            do {
+                PaginaTareas pagina = gestor.obtenerPagina(cursor, tamano, filtro);
+                assertTrue(pagina.getTareas().size() <= tamano);
+                leidas.addAll(pagina.getTareas());
+                cursor = pagina.getSiguienteCursor();
+            } while (cursor != PaginaTareas.FIN);
+            return leidas;
+        }
+
+        @Test
+        @DisplayName("Recorrer todas las páginas devuelve lo mismo que obtenerTodas()")
+        void testRecorridoCompleto() {
+            for (int i = 0; i < 23; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+            for (int id = 2; id <= 23; id += 3) gestor.marcarComoCompletada(id);
+
+            assertEquals(gestor.obtenerTodas(),       leerPorPaginas(5, PaginaTareas.Filtro.TODAS));
+            assertEquals(gestor.obtenerPendientes(),  leerPorPaginas(4, PaginaTareas.Filtro.PENDIENTES));
+            assertEquals(gestor.obtenerCompletadas(), leerPorPaginas(3, PaginaTareas.Filtro.COMPLETADAS));
+        }
+
+        @Test
+        @DisplayName("El cursor es un ID: eliminar tareas ya leídas no salta filas")
+        void testCursorEstableAnteCambios() {
+            for (int i = 1; i <= 6; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.BAJA);
+
+            PaginaTareas primera = gestor.obtenerPagina(PaginaTareas.INICIO, 3, PaginaTareas.Filtro.TODAS);
+            assertEquals(4, primera.getSiguienteCursor());
+            gestor.eliminarTarea(1);
+            gestor.eliminarTarea(2);
+
+            PaginaTareas segunda = gestor.obtenerPagina(primera.getSiguienteCursor(), 3, PaginaTareas.Filtro.TODAS);
+            assertEquals(4, segunda.getTareas().get(0).getId());
+            assertFalse(segunda.hayMas());
+        }
+
+        @Test
+        @DisplayName("La página es de solo lectura y los argumentos se validan")
+        void testValidaciones() {
+            gestor.agregarTareaNormalLogica("T1", Prioridad.ALTA);
+            PaginaTareas pagina = gestor.obtenerPagina(PaginaTareas.INICIO, 10, PaginaTareas.Filtro.TODAS);
+
+            assertThrows(UnsupportedOperationException.class, () -> pagina.getTareas().clear());
+            assertThrows(IllegalArgumentException.class,
+                    () -> gestor.obtenerPagina(PaginaTareas.FIN, 10, PaginaTareas.Filtro.TODAS));
+            assertThrows(IllegalArgumentException.class,
+                    () -> gestor.obtenerPagina(PaginaTareas.INICIO, 0, PaginaTareas.Filtro.TODAS));
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  🎯 COLA DE TRABAJO (siguiente / topK)
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("🎯 Cola de trabajo")
+    class ColaDeTrabajoTest {
+
+        @Test
+        @DisplayName("siguiente() ordena por prioridad, fecha límite e ID")
+        void testOrdenDeTrabajo() {
+            TareaNormal  media    = gestor.agregarTareaNormalLogica("Media", Prioridad.MEDIA);
+            TareaNormal  alta     = gestor.agregarTareaNormalLogica("Alta", Prioridad.ALTA);
+            TareaUrgente tarde    = gestor.agregarTareaUrgenteLogica("Tarde", Prioridad.ALTA, "2026-05-01");
+            TareaUrgente temprano = gestor.agregarTareaUrgenteLogica("Temprano", Prioridad.ALTA, "2026-03-01");
+            TareaNormal  alta2    = gestor.agregarTareaNormalLogica("Alta 2", Prioridad.ALTA);
+
+            assertSame(temprano, gestor.siguiente());
+            assertEquals(List.of(temprano, tarde, alta, alta2, media), gestor.topK(10));
+            assertEquals(List.of(temprano, tarde), gestor.topK(2));
+        }
+
+        @Test
+        @DisplayName("Completar, reabrir, eliminar y cambiar prioridad actualizan la cola")
+        void testActualizaciones() {
+            TareaNormal a = gestor.agregarTareaNormalLogica("A", Prioridad.BAJA);
+            TareaNormal b = gestor.agregarTareaNormalLogica("B", Prioridad.MEDIA);
+            TareaNormal c = gestor.agregarTareaNormalLogica("C", Prioridad.ALTA);
+            assertSame(c, gestor.siguiente());
+
+            gestor.marcarComoCompletada(c.getId());
+            assertSame(b, gestor.siguiente());
+
+            a.setPrioridad(Prioridad.ALTA);
+            assertSame(a, gestor.siguiente());
+
+            gestor.eliminarTarea(a.getId());
+            c.setCompletado(false);
+            assertEquals(List.of(c, b), gestor.topK(5));
+
+            gestor.marcarComoCompletada(b.getId());
+            gestor.marcarComoCompletada(c.getId());
+            assertNull(gestor.siguiente());
+            assertTrue(gestor.topK(3).isEmpty());
+        }
+
+        @Test
+        @DisplayName("topK() coincide con ordenar las pendientes a mano")
+        void testTopKContraOrdenamiento() {
+            SplittableRandom azar = new SplittableRandom(7);
+            for (int i = 0; i < 500; i++) {
+                Prioridad p = Prioridad.desdeCodigo(azar.nextInt(3));
+                if (azar.nextBoolean()) gestor.agregarTareaUrgenteLogica("U" + i, p, "2026-0" + (1 + azar.nextInt(9)) + "-15");
+                else                    gestor.agregarTareaNormalLogica("N" + i, p);
+            }
+            for (int i = 0; i < 150; i++) gestor.marcarComoCompletada(1 + azar.nextInt(500));
+            for (int i = 0; i < 50; i++)  gestor.eliminarTarea(1 + azar.nextInt(500));
+
+            List<Tarea> esperadas = gestor.obtenerPendientes();
+            esperadas.sort(MonticuloTareas.ORDEN);
+
+            assertEquals(esperadas.subList(0, 40), gestor.topK(40));
+            assertEquals(esperadas, gestor.topK(esperadas.size() + 10));
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  📅 ÍNDICE POR VENCIMIENTO
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("📅 Índice por vencimiento")
+    class VencimientoTest {
+
+        private final LocalDate hoy = LocalDate.of(2026, 3, 10);
+
+        @Test
+        @DisplayName("vencidas() y vencenEntre() devuelven las urgentes pendientes del rango")
+        void testRangos() {
+            TareaUrgente vieja    = gestor.agregarTareaUrgenteLogica("Vieja", Prioridad.ALTA, "2026-03-01");
+            TareaUrgente ayer     = gestor.agregarTareaUrgenteLogica("Ayer", Prioridad.BAJA, "2026-03-09");
+            TareaUrgente hoyMismo = gestor.agregarTareaUrgenteLogica("Hoy", Prioridad.MEDIA, "2026-03-10");
+            TareaUrgente semana   = gestor.agregarTareaUrgenteLogica("Semana", Prioridad.ALTA, "2026-03-16");
+            gestor.agregarTareaUrgenteLogica("Lejos", Prioridad.ALTA, "2026-12-01");
+            gestor.agregarTareaUrgenteLogica("Sin formato", Prioridad.ALTA, "pronto");
+            gestor.agregarTareaNormalLogica("Normal", Prioridad.ALTA);
+
+            assertEquals(List.of(vieja, ayer), gestor.vencidas(hoy));
+            assertEquals(List.of(hoyMismo, semana), gestor.vencenEntre(hoy, hoy.plusDays(6)));
+        }
+
+        @Test
+        @DisplayName("El índice sigue a completar, eliminar y cambiar la fecha")
+        void testActualizaciones() {
+            TareaUrgente a = gestor.agregarTareaUrgenteLogica("A", Prioridad.ALTA, "2026-03-01");
+            TareaUrgente b = gestor.agregarTareaUrgenteLogica("B", Prioridad.ALTA, "2026-03-02");
+            TareaUrgente c = gestor.agregarTareaUrgenteLogica("C", Prioridad.ALTA, "2026-04-01");
+
+            gestor.marcarComoCompletada(a.getId());
+            gestor.eliminarTarea(b.getId());
+            c.setFechaLimite("2026-03-05");
+            assertEquals(List.of(c), gestor.vencidas(hoy));
+
+            a.setCompletado(false);
+            c.setFechaLimite("sin definir");
+            assertEquals(List.of(a), gestor.vencidas(hoy));
+            assertEquals(TareaUrgente.SIN_FECHA, c.getDiaLimite());
+        }
+
+        @Test
+        @DisplayName("La fecha se convierte a días una sola vez al crear la tarea")
+        void testDiaLimite() {
+            TareaUrgente u = gestor.agregarTareaUrgenteLogica("U", Prioridad.ALTA, "2026-03-01");
+
+            assertEquals(LocalDate.of(2026, 3, 1).toEpochDay(), u.getDiaLimite());
+            assertThrows(IllegalArgumentException.class, () -> gestor.vencenEntre(hoy, hoy.minusDays(1)));
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  🔍 BÚSQUEDA POR TEXTO
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("🔍 Búsqueda por texto")
+    class BusquedaTest {
+
+        @Test
+        @DisplayName("Ignora mayúsculas y tildes y ordena por relevancia")
+        void testBusquedaPlegada() {
+            TareaNormal a = gestor.agregarTareaNormalLogica("Revisión del informe", Prioridad.ALTA);
+            TareaNormal b = gestor.agregarTareaNormalLogica("Informe de REVISION anual", Prioridad.MEDIA);
+            TareaNormal c = gestor.agregarTareaNormalLogica("Comprar café", Prioridad.BAJA);
+
+            assertEquals(List.of(a, b), gestor.buscar("revision informe", 10));
+            assertEquals(List.of(c), gestor.buscar("CAFE", 10));
+            assertTrue(gestor.buscar("inexistente", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Encuentra partes de palabras y prefiere la palabra completa")
+        void testBusquedaParcial() {
+            TareaNormal parcial  = gestor.agregarTareaNormalLogica("Preparar presentación", Prioridad.ALTA);
+            TareaNormal completa = gestor.agregarTareaNormalLogica("Ensayar la presentacion", Prioridad.ALTA);
+            gestor.agregarTareaNormalLogica("Leer el manual", Prioridad.ALTA);
+
+            assertEquals(List.of(parcial, completa), gestor.buscar("senta", 10));
+            parcial.setNombre("Preparar diapositivas");
+            assertEquals(List.of(completa), gestor.buscar("presentacion", 10));
+        }
+
+        @Test
+        @DisplayName("El índice sigue a las altas, bajas y cambios de nombre")
+        void testIndiceSincronizado() {
+            TareaNormal a = gestor.agregarTareaNormalLogica("Estudiar Java", Prioridad.ALTA);
+            assertEquals(List.of(a), gestor.buscar("java", 5)); // construye el índice
+
+            TareaNormal b = gestor.agregarTareaNormalLogica("Java avanzado", Prioridad.ALTA);
+            a.setNombre("Estudiar Python");
+            gestor.eliminarTarea(b.getId());
+            TareaNormal c = gestor.agregarTareaNormalLogica("Repasar java", Prioridad.BAJA);
+
+            assertEquals(List.of(c), gestor.buscar("java", 5));
+            assertEquals(List.of(a), gestor.buscar("python", 5));
+            assertEquals(1, gestor.buscar("estudiar repasar", 1).size(), "Respeta el límite");
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  🪦 BAJAS CON LÁPIDAS Y COMPACTACIÓN
+    // ════════════════════════════════════════════════════════════════════════
+    @Nested
+    @DisplayName("🪦 Bajas con lápidas y compactación")
+    class LapidasTest {
+
+        @Test
+        @DisplayName("Las tareas eliminadas no aparecen en ninguna consulta")
+        void testConsultasSaltanLapidas() {
+            for (int i = 1; i <= 10; i++) gestor.agregarTareaNormalLogica("Tarea " + i, i % 2 == 0 ? Prioridad.ALTA : Prioridad.BAJA);
+            gestor.marcarComoCompletada(3);
+            for (int id : new int[] { 2, 3, 7 }) assertTrue(gestor.eliminarTarea(id));
+            assertFalse(gestor.eliminarTarea(3));
+
+            assertEquals(3, gestor.getTotalLapidas());
+            assertEquals(7, gestor.getTotalTareas());
+            assertEquals(List.of(1, 4, 5, 6, 8, 9, 10), gestor.obtenerTodas().stream().map(Tarea::getId).toList());
+            assertEquals(List.of(4, 6, 8, 10), gestor.obtenerPorPrioridad(Prioridad.ALTA).stream().map(Tarea::getId).toList());
+            assertTrue(gestor.buscar("tarea 7", 10).stream().noneMatch(t -> t.getId() == 7));
+            assertEquals(7, gestor.obtenerPendientes().size());
+
+            PaginaTareas pagina = gestor.obtenerPagina(2, 3, PaginaTareas.Filtro.TODAS);
+            assertEquals(List.of(4, 5, 6), pagina.getTareas().stream().map(Tarea::getId).toList());
+            assertEquals(8, pagina.getSiguienteCursor());
+
+            gestor.compactar();
+            assertEquals(0, gestor.getTotalLapidas());
+            assertEquals(7, gestor.vistaPorId().size());
+        }
+
+        @Test
+        @DisplayName("Eliminar la última tarea no deja lápida y un ID eliminado se puede volver a insertar")
+        void testUltimaYReinsercion() {
+            for (int i = 0; i < 5; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+            gestor.eliminarTarea(5);
+            assertEquals(0, gestor.getTotalLapidas());
+
+            Tarea vieja = gestor.buscarPorId(3);
+            gestor.eliminarTarea(3);
+            assertEquals(1, gestor.getTotalLapidas());
+            gestor.insertar(vieja); // ocupa su propia lápida
+            assertEquals(0, gestor.getTotalLapidas());
+            assertEquals(List.of(1, 2, 3, 4), gestor.obtenerTodas().stream().map(Tarea::getId).toList());
+            assertSame(vieja, gestor.buscarPorId(3));
+        }
+
+        @Test
+        @DisplayName("Las bajas compactan solas al superar la proporción de lápidas")
+        void testCompactacionPorUmbral() {
+            int n = 4 * GestorTareas.MINIMO_LAPIDAS;
+            for (int i = 0; i < n; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+            for (int id = 1; id <= n / 4; id++) gestor.eliminarTarea(id);
+            assertEquals(n / 4, gestor.getTotalLapidas());
+            assertEquals(0, gestor.getCompactaciones());
+
+            gestor.eliminarTarea(n / 4 + 1); // supera el 25 %
+            assertEquals(1, gestor.getCompactaciones());
+            assertEquals(0, gestor.getTotalLapidas());
+            assertEquals(n - n / 4 - 1, gestor.getTotalTareas());
+            assertEquals(n / 4 + 2, gestor.obtenerTodas().get(0).getId());
+        }
+
+        @Test
+        @DisplayName("Bajas al azar mezcladas con altas: igual que un modelo simple")
+        void testAzarContraModelo() {
+            SplittableRandom azar = new SplittableRandom(25);
+            List<Integer> modelo = new ArrayList<>();
+            for (int paso = 0; paso < 20_000; paso++) {
+                if (modelo.isEmpty() || azar.nextInt(3) == 0) {
+                    modelo.add(gestor.agregarTareaNormalLogica("T" + paso, Prioridad.MEDIA).getId());
+                } else {
+                    int id = modelo.remove(azar.nextInt(modelo.size()));
+                    assertTrue(gestor.eliminarTarea(id));
+                }
+                assertTrue(gestor.getProporcionLapidas() <= GestorTareas.PROPORCION_LAPIDAS
+                        || gestor.getTotalLapidas() < GestorTareas.MINIMO_LAPIDAS);
+            }
+            assertTrue(gestor.getCompactaciones() > 0);
+            assertEquals(modelo.size(), gestor.getTotalTareas());
+            assertEquals(modelo.stream().sorted().toList(), gestor.obtenerTodas().stream().map(Tarea::getId).toList());
+        }
+    }
 }
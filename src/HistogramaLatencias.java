@@ -0,0 +1,118 @@
+package smarttask;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase {@code HistogramaLatencias} — histograma de duraciones en
+ * nanosegundos con error relativo acotado, al estilo HdrHistogram.
+ *
+ * <p>Las cubetas son <em>log-lineales</em>: cada potencia de 2 se divide en
+ * {@link #SUBCUBETAS} partes iguales, así una duración cae en una cubeta que
+ * difiere de ella en menos de 1/16 (6,25 %), desde un nanosegundo hasta el
+ * máximo de un {@code long}, con menos de mil contadores. Registrar es calcular
+ * el índice con {@link Long#numberOfLeadingZeros(long)} e incrementar un
+ * contador atómico: sin objetos ni candados.</p>
+ *
+ * <p>Es de paquete: lo usa {@link MetricasTareas}.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class HistogramaLatencias {
+
+    private static final int BITS_SUB = 4;
+
+    /** Cubetas por cada potencia de 2. */
+    static final int SUBCUBETAS = 1 << BITS_SUB;
+
+    /** Hasta {@code 2^63 - 1}: 16 cubetas exactas y 16 por cada potencia desde 2^4. */
+    private static final int CUBETAS = (64 - BITS_SUB) * SUBCUBETAS;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra una duración.
+     *
+     * @param nanos duración en nanosegundos (los negativos cuentan como 0)
+     */
+    void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cuentas.incrementAndGet(indice(valor));
+        total.increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /** @return cantidad de duraciones registradas */
+    long cantidad() {
+        return total.sum();
+    }
+
+    /** @return promedio en nanosegundos (0 si no hay registros) */
+    long promedio() {
+        long n = total.sum();
+        return n == 0 ? 0 : suma.sum() / n;
+    }
+
+    /** @return la mayor duración registrada, exacta */
+    long maximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Duración bajo la cual queda la fracción {@code p} de los registros.
+     * Devuelve el extremo superior de la cubeta (nunca más que el máximo).
+     *
+     * @param p fracción entre 0 y 1 (0.99 = percentil 99)
+     * @return nanosegundos, o 0 si no hay registros
+     */
+    long percentil(double p) {
+        long n = total.sum();
+        if (n == 0) return 0;
+        long buscado = Math.max(1, (long) Math.ceil(p * n));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= buscado) return Math.min(limiteSuperior(i), maximo());
+        }
+        return maximo(); // registros concurrentes: la suma de cubetas iba atrasada
+    }
+
+    /** Pone todo en cero (no es atómico respecto de registros concurrentes). */
+    void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) cuentas.set(i, 0);
+        total.reset();
+        suma.reset();
+        maximo.reset();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CUBETAS (de paquete para las pruebas)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** @return la cubeta de un valor no negativo */
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) return (int) valor;
+        int exponente = 63 - Long.numberOfLeadingZeros(valor); // >= BITS_SUB
+        int sub = (int) (valor >>> (exponente - BITS_SUB)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUB + 1) * SUBCUBETAS + sub;
+    }
+
+    /** @return el menor valor de la cubeta */
+    static long limiteInferior(int indice) {
+        if (indice < SUBCUBETAS) return indice;
+        int exponente = indice / SUBCUBETAS + BITS_SUB - 1;
+        long sub = indice % SUBCUBETAS;
+        return (SUBCUBETAS + sub) << (exponente - BITS_SUB);
+    }
+
+    /** @return el mayor valor de la cubeta */
+    static long limiteSuperior(int indice) {
+        return indice == CUBETAS - 1 ? Long.MAX_VALUE : limiteInferior(indice + 1) - 1;
+    }
+}
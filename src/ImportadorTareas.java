@@ -0,0 +1,418 @@
+package smarttask;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Clase {@code ImportadorTareas} — carga masiva de tareas desde CSV o JSON Lines.
+ *
+ * <p>Lee el archivo línea por línea con un lector con búfer (nunca lo tiene
+ * entero en memoria), interpreta cada fila a mano (sin expresiones
+ * regulares), reserva los IDs por bloques y agrega las tareas al
+ * {@link GestorTareas} en lotes de {@link #TAMANO_LOTE}. Una fila con error
+ * se anota en el {@link Resultado} y la carga sigue con la siguiente.</p>
+ *
+ * <p>Campos reconocidos (en ambos formatos):</p>
+ * <ul>
+ *   <li>{@code nombre} — obligatorio.</li>
+ *   <li>{@code prioridad} — ALTA, MEDIA o BAJA; MEDIA si falta.</li>
+ *   <li>{@code tipo} — NORMAL o URGENTE; si falta, es URGENTE cuando hay fecha.</li>
+ *   <li>{@code fechaLimite} — obligatoria para las urgentes.</li>
+ *   <li>{@code completada} — {@code true}/{@code false}; {@code false} si falta.</li>
+ * </ul>
+ * <p>Cualquier otro campo (por ejemplo {@code id}) se ignora: las tareas
+ * importadas reciben IDs nuevos del gestor.</p>
+ *
+ * <pre>
+ *   tipo,nombre,prioridad,fechaLimite,completada        ← CSV: la primera línea es la cabecera
+ *   URGENTE,"Entregar informe, versión final",ALTA,2026-03-01,false
+ *
+ *   {"nombre":"Entregar informe","prioridad":"ALTA","fechaLimite":"2026-03-01"}   ← JSONL
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class ImportadorTareas {
+
+    /** Filas que se agregan al gestor de una vez (y tamaño de cada bloque de IDs). */
+    public static final int TAMANO_LOTE = 4096;
+
+    /** Errores que se guardan con detalle; los siguientes solo se cuentan. */
+    public static final int MAX_ERRORES_DETALLADOS = 100;
+
+    private ImportadorTareas() { }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  API PÚBLICA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Importa un archivo eligiendo el formato por la extensión:
+     * {@code .jsonl} o {@code .ndjson} como JSON Lines, cualquier otra como CSV.
+     *
+     * @param archivo archivo UTF-8 a importar
+     * @param gestor  gestor que recibe las tareas
+     * @return resumen de la importación
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static Resultado importar(Path archivo, GestorTareas gestor) throws IOException {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson")
+                    ? importarJsonl(lector, gestor)
+                    : importarCsv(lector, gestor);
+        }
+    }
+
+    /**
+     * Importa filas CSV. La primera línea no vacía es la cabecera con los
+     * nombres de los campos. Los valores pueden ir entre comillas dobles
+     * (con {@code ""} para una comilla literal); no se admiten saltos de
+     * línea dentro de un valor.
+     *
+     * @param entrada texto CSV
+     * @param gestor  gestor que recibe las tareas
+     * @return resumen de la importación
+     * @throws IOException si falla la lectura
+     */
+    public static Resultado importarCsv(Reader entrada, GestorTareas gestor) throws IOException {
+        Carga carga = new Carga(gestor);
+        BufferedReader lector = enBufer(entrada);
+        String[] cabecera = null;
+        List<String> valores = new ArrayList<>();
+        Map<String, String> fila = new HashMap<>();
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            carga.linea++;
+            if (linea.isBlank()) continue;
+            try {
+                separarCsv(linea, valores);
+                if (cabecera == null) {
+                    cabecera = new String[valores.size()];
+                    for (int i = 0; i < cabecera.length; i++) cabecera[i] = valores.get(i).trim();
+                    continue;
+                }
+                fila.clear();
+                for (int i = 0; i < cabecera.length && i < valores.size(); i++) fila.put(cabecera[i], valores.get(i));
+                carga.agregar(fila);
+            } catch (IllegalArgumentException e) {
+                carga.error(e.getMessage());
+            }
+        }
+        return carga.terminar();
+    }
+
+    /**
+     * Importa JSON Lines: un objeto JSON por línea. Los valores pueden ser
+     * texto, {@code true}/{@code false}, {@code null} o números.
+     *
+     * @param entrada texto JSONL
+     * @param gestor  gestor que recibe las tareas
+     * @return resumen de la importación
+     * @throws IOException si falla la lectura
+     */
+    public static Resultado importarJsonl(Reader entrada, GestorTareas gestor) throws IOException {
+        Carga carga = new Carga(gestor);
+        BufferedReader lector = enBufer(entrada);
+        Map<String, String> fila = new HashMap<>();
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            carga.linea++;
+            if (linea.isBlank()) continue;
+            try {
+                fila.clear();
+                new LectorJson(linea).objeto(fila);
+                carga.agregar(fila);
+            } catch (IllegalArgumentException e) {
+                carga.error(e.getMessage());
+            }
+        }
+        return carga.terminar();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RESULTADO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Resumen de una importación: cuántas filas entraron, errores y velocidad. */
+    public static final class Resultado {
+        private final int importadas;
+        private final int conError;
+        private final List<String> errores;
+        private final long nanos;
+
+        Resultado(int importadas, int conError, List<String> errores, long nanos) {
+            this.importadas = importadas;
+            this.conError   = conError;
+            this.errores    = Collections.unmodifiableList(errores);
+            this.nanos      = nanos;
+        }
+
+        /** @return filas agregadas al gestor */
+        public int getImportadas() { return importadas; }
+
+        /** @return filas descartadas por error */
+        public int getConError() { return conError; }
+
+        /**
+         * @return los primeros {@link #MAX_ERRORES_DETALLADOS} errores, con
+         *         el formato "línea N: motivo"
+         */
+        public List<String> getErrores() { return errores; }
+
+        /** @return duración de la importación en milisegundos */
+        public long getMilisegundos() { return nanos / 1_000_000; }
+
+        /** @return filas procesadas (importadas o con error) por segundo */
+        public double getFilasPorSegundo() {
+            return nanos == 0 ? 0 : (importadas + conError) * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d importadas, %d con error, %d ms (%.0f filas/s)",
+                    importadas, conError, getMilisegundos(), getFilasPorSegundo());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CARGA POR LOTES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Estado de una importación en curso. */
+    private static final class Carga {
+        private final GestorTareas gestor;
+        private final long inicio = System.nanoTime();
+        private final List<Tarea> lote = new ArrayList<>(TAMANO_LOTE);
+        private final List<Tarea> completadas = new ArrayList<>();
+        private final List<String> errores = new ArrayList<>();
+        private int importadas, conError, linea;
+
+        /** Próximo ID del bloque reservado y cuántos quedan. */
+        private int siguienteId, idsLibres;
+
+        Carga(GestorTareas gestor) {
+            this.gestor = gestor;
+        }
+
+        /** Valida una fila y la deja en el lote; lanza IllegalArgumentException si no es válida. */
+        void agregar(Map<String, String> fila) {
+            String nombre = fila.get("nombre");
+            if (nombre == null || nombre.isBlank()) throw new IllegalArgumentException("falta el nombre");
+
+            String textoPrioridad = fila.get("prioridad");
+            Prioridad prioridad = textoPrioridad == null || textoPrioridad.isBlank()
+                    ? Prioridad.MEDIA : Prioridad.desde(textoPrioridad);
+
+            String fecha = fila.get("fechaLimite");
+            boolean conFecha = fecha != null && !fecha.isBlank();
+            String tipo = fila.get("tipo");
+            boolean urgente;
+            if (tipo == null || tipo.isBlank())               urgente = conFecha;
+            else if (tipo.trim().equalsIgnoreCase("URGENTE")) urgente = true;
+            else if (tipo.trim().equalsIgnoreCase("NORMAL"))  urgente = false;
+            else throw new IllegalArgumentException("tipo no válido: " + tipo);
+            if (urgente && !conFecha) throw new IllegalArgumentException("una tarea urgente necesita fechaLimite");
+
+            boolean completada = esVerdadero(fila.get("completada"));
+
+            if (idsLibres == 0) {
+                siguienteId = gestor.reservarIds(TAMANO_LOTE);
+                idsLibres   = TAMANO_LOTE;
+            }
+            int id = siguienteId++;
+            idsLibres--;
+            Tarea tarea = urgente
+                    ? new TareaUrgente(id, nombre, prioridad, fecha.trim())
+                    : new TareaNormal(id, nombre, prioridad);
+            lote.add(tarea);
+            if (completada) completadas.add(tarea);
+            if (lote.size() == TAMANO_LOTE) vaciarLote();
+        }
+
+        void error(String motivo) {
+            conError++;
+            if (errores.size() < MAX_ERRORES_DETALLADOS) errores.add("línea " + linea + ": " + motivo);
+        }
+
+        Resultado terminar() {
+            vaciarLote();
+            if (idsLibres > 0) gestor.devolverIds(siguienteId, idsLibres); // sin huecos si nadie más pidió IDs
+            return new Resultado(importadas, conError, errores, System.nanoTime() - inicio);
+        }
+
+        private void vaciarLote() {
+            gestor.agregarLote(lote);
+            // Se completan después de agregarlas para que el gestor (y su diario) registren el cambio
+            for (Tarea t : completadas) t.setCompletado(true);
+            importadas += lote.size();
+            lote.clear();
+            completadas.clear();
+        }
+    }
+
+    private static boolean esVerdadero(String valor) {
+        if (valor == null || valor.isBlank()) return false;
+        String v = valor.trim();
+        if (v.equalsIgnoreCase("true") || v.equals("1") || v.equalsIgnoreCase("si") || v.equalsIgnoreCase("sí")) return true;
+        if (v.equalsIgnoreCase("false") || v.equals("0") || v.equalsIgnoreCase("no")) return false;
+        throw new IllegalArgumentException("completada no válido: " + valor);
+    }
+
+    private static BufferedReader enBufer(Reader entrada) {
+        return entrada instanceof BufferedReader b ? b : new BufferedReader(entrada, 64 * 1024);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CSV
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Separa una línea CSV en valores, recorriéndola una sola vez.
+     *
+     * @param linea   línea sin el salto final
+     * @param valores lista (reutilizada) donde se dejan los valores
+     */
+    static void separarCsv(String linea, List<String> valores) {
+        valores.clear();
+        StringBuilder valor = new StringBuilder();
+        int i = 0, n = linea.length();
+        while (true) {
+            valor.setLength(0);
+            if (i < n && linea.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= n) throw new IllegalArgumentException("comillas sin cerrar");
+                    char c = linea.charAt(i++);
+                    if (c != '"') { valor.append(c); continue; }
+                    if (i < n && linea.charAt(i) == '"') { valor.append('"'); i++; continue; }
+                    break;
+                }
+                if (i < n && linea.charAt(i) != ',') throw new IllegalArgumentException("texto después de las comillas");
+            } else {
+                int coma = linea.indexOf(',', i);
+                int fin = coma < 0 ? n : coma;
+                valor.append(linea, i, fin);
+                i = fin;
+            }
+            valores.add(valor.toString());
+            if (i >= n) return;
+            i++; // salta la coma
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  JSON
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Lector mínimo de un objeto JSON plano (sin objetos ni arreglos
+     * anidados). Es de paquete: {@link ServidorTareas} lo usa para los
+     * cuerpos de las peticiones.
+     */
+    static final class LectorJson {
+        private final String texto;
+        private int i;
+
+        LectorJson(String texto) {
+            this.texto = texto;
+        }
+
+        /** Lee {@code {"clave": valor, ...}} y deja cada valor como texto ({@code null} queda fuera). */
+        void objeto(Map<String, String> destino) {
+            espera('{');
+            espacios();
+            if (mira() == '}') { i++; fin(); return; }
+            while (true) {
+                espacios();
+                String clave = cadena();
+                espacios();
+                espera(':');
+                espacios();
+                String valor = valor();
+                if (valor != null) destino.put(clave, valor);
+                espacios();
+                char c = siguiente();
+                if (c == '}') break;
+                if (c != ',') throw new IllegalArgumentException("se esperaba ',' o '}' en la posición " + (i - 1));
+            }
+            fin();
+        }
+
+        private String valor() {
+            char c = mira();
+            if (c == '"') return cadena();
+            int inicio = i;
+            while (i < texto.length() && ",} \t\r\n".indexOf(texto.charAt(i)) < 0) i++;
+            String literal = texto.substring(inicio, i);
+            if (literal.equals("null")) return null;
+            if (literal.equals("true") || literal.equals("false")) return literal;
+            if (!literal.isEmpty() && (Character.isDigit(literal.charAt(0)) || literal.charAt(0) == '-')) return literal;
+            throw new IllegalArgumentException("valor JSON no válido: " + (literal.isEmpty() ? String.valueOf(c) : literal));
+        }
+
+        private String cadena() {
+            espera('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = siguiente();
+                if (c == '"') return sb.toString();
+                if (c != '\\') { sb.append(c); continue; }
+                char e = siguiente();
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (i + 4 > texto.length()) throw new IllegalArgumentException("escape \\u incompleto");
+                        try {
+                            sb.append((char) Integer.parseInt(texto, i, i + 4, 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IllegalArgumentException("escape \\u no válido");
+                        }
+                        i += 4;
+                    }
+                    default -> throw new IllegalArgumentException("escape no válido: \\" + e);
+                }
+            }
+        }
+
+        private void espacios() {
+            while (i < texto.length() && Character.isWhitespace(texto.charAt(i))) i++;
+        }
+
+        private char mira() {
+            if (i >= texto.length()) throw new IllegalArgumentException("JSON incompleto");
+            return texto.charAt(i);
+        }
+
+        private char siguiente() {
+            char c = mira();
+            i++;
+            return c;
+        }
+
+        private void espera(char esperado) {
+            if (siguiente() != esperado) throw new IllegalArgumentException("se esperaba '" + esperado + "' en la posición " + (i - 1));
+        }
+
+        private void fin() {
+            espacios();
+            if (i != texto.length()) throw new IllegalArgumentException("texto sobrante después del objeto");
+        }
+    }
+}
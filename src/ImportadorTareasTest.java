@@ -0,0 +1,132 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link ImportadorTareas}: carga de CSV y JSON Lines, errores
+ * por línea sin cortar la importación y lotes más grandes que
+ * {@link ImportadorTareas#TAMANO_LOTE}.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la importación masiva de tareas")
+class ImportadorTareasTest {
+
+    @TempDir
+    Path carpeta;
+
+    private GestorTareas gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+    }
+
+    @Test
+    @DisplayName("CSV con cabecera, comillas y comas dentro de un valor")
+    void testCsv() throws IOException {
+        String csv = """
+                tipo,nombre,prioridad,fechaLimite,completada
+                NORMAL,Estudiar Java,alta,,false
+                URGENTE,"Entregar informe, versión ""final\""",ALTA,2026-03-01,true
+                ,Sin tipo con fecha,,2026-04-01,
+                """;
+
+        ImportadorTareas.Resultado r = ImportadorTareas.importarCsv(new StringReader(csv), gestor);
+
+        assertEquals(3, r.getImportadas());
+        assertEquals(0, r.getConError());
+        List<Tarea> todas = gestor.obtenerTodas();
+        assertEquals(Prioridad.ALTA, todas.get(0).getPrioridad());
+        assertInstanceOf(TareaNormal.class, todas.get(0));
+        assertEquals("Entregar informe, versión \"final\"", todas.get(1).getNombre());
+        assertTrue(todas.get(1).isCompletado());
+        assertEquals(List.of(todas.get(1)), gestor.obtenerCompletadas());
+        assertInstanceOf(TareaUrgente.class, todas.get(2), "Con fecha y sin tipo es urgente");
+        assertEquals(Prioridad.MEDIA, todas.get(2).getPrioridad());
+    }
+
+    @Test
+    @DisplayName("JSON Lines con escapes, null y campos que se ignoran")
+    void testJsonl() throws IOException {
+        Path archivo = carpeta.resolve("tareas.jsonl");
+        Files.writeString(archivo, """
+                {"id": 99, "nombre": "Leer \\"manual\\" \\u00f1", "prioridad": "BAJA", "fechaLimite": null}
+                {"tipo":"URGENTE","nombre":"Entregar","prioridad":"ALTA","fechaLimite":"2026-03-01","completada":true}
+                """, StandardCharsets.UTF_8);
+
+        ImportadorTareas.Resultado r = ImportadorTareas.importar(archivo, gestor);
+
+        assertEquals(2, r.getImportadas());
+        Tarea primera = gestor.buscarPorId(1);
+        assertEquals("Leer \"manual\" ñ", primera.getNombre(), "El id del archivo se ignora");
+        assertTrue(gestor.buscarPorId(2).isCompletado());
+        assertEquals(3, gestor.agregarTareaNormalLogica("Después", Prioridad.MEDIA).getId(),
+                "Los IDs reservados y no usados se devuelven");
+    }
+
+    @Test
+    @DisplayName("Las filas con error se informan con su línea y no detienen la carga")
+    void testErroresPorLinea() throws IOException {
+        String jsonl = """
+                {"nombre":"Bien 1"}
+                {"nombre":"Mala prioridad","prioridad":"URGENTISIMA"}
+                no es json
+                {"tipo":"URGENTE","nombre":"Sin fecha"}
+
+                {"nombre":"Bien 2"}
+                """;
+
+        ImportadorTareas.Resultado r = ImportadorTareas.importarJsonl(new StringReader(jsonl), gestor);
+
+        assertEquals(2, r.getImportadas());
+        assertEquals(3, r.getConError());
+        assertTrue(r.getErrores().get(0).startsWith("línea 2: "), r.getErrores().get(0));
+        assertTrue(r.getErrores().get(1).startsWith("línea 3: "));
+        assertTrue(r.getErrores().get(2).startsWith("línea 4: "));
+    }
+
+    @Test
+    @DisplayName("Una carga de varios lotes deja los índices sincronizados")
+    void testVariosLotes() throws IOException {
+        int filas = ImportadorTareas.TAMANO_LOTE * 2 + 10;
+        StringBuilder csv = new StringBuilder("nombre,prioridad,completada\n");
+        for (int i = 0; i < filas; i++) {
+            csv.append("Tarea ").append(i).append(',').append(Prioridad.desdeCodigo(i % 3)).append(',').append(i % 2 == 0).append('\n');
+        }
+
+        ImportadorTareas.Resultado r = ImportadorTareas.importarCsv(new StringReader(csv.toString()), gestor);
+
+        assertEquals(filas, r.getImportadas());
+        assertEquals(filas, gestor.getTotalTareas());
+        assertEquals(filas / 2, gestor.obtenerCompletadas().size());
+        assertEquals(filas / 2, gestor.obtenerPendientes().size());
+        assertEquals(Prioridad.ALTA, gestor.siguiente().getPrioridad());
+        assertTrue(r.getFilasPorSegundo() > 0);
+    }
+
+    @Test
+    @DisplayName("separarCsv() respeta comillas y valores vacíos")
+    void testSepararCsv() {
+        List<String> valores = new ArrayList<>();
+        ImportadorTareas.separarCsv("a,\"b,c\",,\"\"", valores);
+        assertEquals(List.of("a", "b,c", "", ""), valores);
+
+        assertThrows(IllegalArgumentException.class, () -> ImportadorTareas.separarCsv("\"abierta", valores));
+    }
+}
@@ -0,0 +1,268 @@
+package smarttask;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Clase {@code IndiceTexto} — índice invertido sobre los nombres de las tareas.
+ *
+ * <p>Para cada palabra guarda la lista ordenada de IDs de las tareas que la
+ * contienen, así buscar una palabra no recorre todas las tareas. Las palabras
+ * se <em>pliegan</em> antes de indexarlas: minúsculas y sin tildes
+ * ("Revisión" y "revision" son la misma palabra).</p>
+ *
+ * <p>Con trigramas activados también guarda, para cada secuencia de tres
+ * caracteres, las tareas que la contienen. Una búsqueda de "visi" intersecta
+ * las listas de "vis" y "isi" y solo revisa el nombre de esas candidatas:
+ * encuentra "Revisión" aunque "visi" no sea una palabra completa.</p>
+ *
+ * <p>Puntaje de cada tarea: 2 por cada palabra de la consulta que aparece
+ * completa en el nombre y 1 por cada una que aparece solo como parte de otra.
+ * Los resultados van de mayor a menor puntaje y, a igual puntaje, por ID.</p>
+ *
+ * <p>Es de paquete: la mantiene {@link GestorTareas}.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class IndiceTexto {
+
+    private static final int PUNTOS_PALABRA = 2;
+    private static final int PUNTOS_PARCIAL = 1;
+
+    /** Palabra plegada → IDs que la contienen. */
+    private final HashMap<String, ListaIds> palabras = new HashMap<>();
+
+    /** Trigrama → IDs que lo contienen (vacío si no se usan trigramas). */
+    private final HashMap<String, ListaIds> trigramas = new HashMap<>();
+
+    private final boolean conTrigramas;
+
+    /**
+     * @param conTrigramas {@code true} para permitir búsquedas de partes de palabras
+     */
+    IndiceTexto(boolean conTrigramas) {
+        this.conTrigramas = conTrigramas;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  MANTENIMIENTO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Indexa el nombre de una tarea.
+     *
+     * @param id     ID de la tarea
+     * @param nombre nombre a indexar (puede ser {@code null})
+     */
+    void agregar(int id, String nombre) {
+        for (String palabra : palabras(nombre)) {
+            palabras.computeIfAbsent(palabra, p -> new ListaIds()).agregar(id);
+            if (conTrigramas) {
+                for (String t : trigramasDe(palabra)) trigramas.computeIfAbsent(t, x -> new ListaIds()).agregar(id);
+            }
+        }
+    }
+
+    /**
+     * Quita del índice el nombre con que se indexó una tarea.
+     *
+     * @param id     ID de la tarea
+     * @param nombre el nombre que tenía al indexarla
+     */
+    void quitar(int id, String nombre) {
+        for (String palabra : palabras(nombre)) {
+            quitarDe(palabras, palabra, id);
+            if (conTrigramas) {
+                for (String t : trigramasDe(palabra)) quitarDe(trigramas, t, id);
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  BÚSQUEDA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Busca las tareas que contienen alguna palabra de la consulta.
+     *
+     * @param consulta texto libre
+     * @param tareas   tareas por ID (para confirmar coincidencias parciales en el nombre)
+     * @param limite   cantidad máxima de resultados
+     * @return IDs ordenados por puntaje descendente y luego por ID
+     */
+    int[] buscar(String consulta, MapaEnteros<Tarea> tareas, int limite) {
+        // Acumulado ordenado por ID: cada palabra de la consulta se mezcla en O(n + m)
+        int[] ids = new int[0], puntos = new int[0];
+        for (String palabra : palabras(consulta)) {
+            int[][] coincidencias = coincidencias(palabra, tareas);
+            int[][] mezcla = mezclar(ids, puntos, coincidencias[0], coincidencias[1]);
+            ids = mezcla[0];
+            puntos = mezcla[1];
+        }
+
+        // (puntaje descendente, ID ascendente) empaquetado en un long: se ordena sin objetos
+        long[] orden = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) orden[i] = ((long) (Integer.MAX_VALUE - puntos[i]) << 32) | ids[i];
+        Arrays.sort(orden);
+        int[] resultado = new int[Math.min(limite, orden.length)];
+        for (int i = 0; i < resultado.length; i++) resultado[i] = (int) orden[i];
+        return resultado;
+    }
+
+    /** @return {IDs, puntos} de las tareas que contienen {@code palabra}, ordenados por ID */
+    private int[][] coincidencias(String palabra, MapaEnteros<Tarea> tareas) {
+        ListaIds exactas = palabras.get(palabra);
+        if (!conTrigramas || palabra.length() < 3) {
+            if (exactas == null) return new int[][] { new int[0], new int[0] };
+            int[] puntos = new int[exactas.tamano];
+            Arrays.fill(puntos, PUNTOS_PALABRA);
+            return new int[][] { Arrays.copyOf(exactas.ids, exactas.tamano), puntos };
+        }
+
+        // Candidatas: intersección de las listas de todos los trigramas
+        int[] candidatas = null;
+        int enCandidatas = 0;
+        for (String t : trigramasDe(palabra)) {
+            ListaIds lista = trigramas.get(t);
+            if (lista == null) return new int[][] { new int[0], new int[0] };
+            if (candidatas == null) {
+                candidatas = Arrays.copyOf(lista.ids, lista.tamano);
+                enCandidatas = lista.tamano;
+            } else {
+                enCandidatas = intersectar(candidatas, enCandidatas, lista);
+            }
+        }
+
+        // Los trigramas pueden coincidir en otro orden: se confirma en el nombre
+        int[] ids = new int[enCandidatas], puntos = new int[enCandidatas];
+        int n = 0;
+        for (int i = 0; i < enCandidatas; i++) {
+            int id = candidatas[i];
+            Tarea t = tareas.get(id);
+            if (t == null || !plegar(t.getNombre()).contains(palabra)) continue;
+            ids[n] = id;
+            puntos[n++] = exactas != null && exactas.contiene(id) ? PUNTOS_PALABRA : PUNTOS_PARCIAL;
+        }
+        return new int[][] { Arrays.copyOf(ids, n), Arrays.copyOf(puntos, n) };
+    }
+
+    /** Deja en {@code a} solo los IDs que también están en {@code b}; devuelve cuántos quedan. */
+    private static int intersectar(int[] a, int enA, ListaIds b) {
+        int i = 0, j = 0, n = 0;
+        while (i < enA && j < b.tamano) {
+            if      (a[i] < b.ids[j]) i++;
+            else if (a[i] > b.ids[j]) j++;
+            else { a[n++] = a[i++]; j++; }
+        }
+        return n;
+    }
+
+    /** Une dos listas ordenadas de (ID, puntos) sumando los puntos de los IDs repetidos. */
+    private static int[][] mezclar(int[] idsA, int[] ptsA, int[] idsB, int[] ptsB) {
+        int[] ids = new int[idsA.length + idsB.length], pts = new int[ids.length];
+        int i = 0, j = 0, n = 0;
+        while (i < idsA.length || j < idsB.length) {
+            if (j == idsB.length || (i < idsA.length && idsA[i] < idsB[j])) { ids[n] = idsA[i]; pts[n++] = ptsA[i++]; }
+            else if (i == idsA.length || idsB[j] < idsA[i])                 { ids[n] = idsB[j]; pts[n++] = ptsB[j++]; }
+            else { ids[n] = idsA[i]; pts[n++] = ptsA[i++] + ptsB[j++]; }
+        }
+        return new int[][] { Arrays.copyOf(ids, n), Arrays.copyOf(pts, n) };
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  PLEGADO Y PALABRAS (de paquete)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Pasa el texto a minúsculas, quita tildes y diacríticos ("ñ" → "n") y
+     * cambia todo lo que no sea letra o dígito por un espacio. Los textos solo
+     * ASCII no pasan por {@link Normalizer}.
+     *
+     * @param texto texto original (puede ser {@code null})
+     * @return texto plegado, del mismo largo o más corto
+     */
+    static String plegar(String texto) {
+        if (texto == null) return "";
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) ascii = texto.charAt(i) < 0x80;
+        String base = ascii ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+
+        StringBuilder plegado = new StringBuilder(base.length());
+        for (int i = 0; i < base.length(); i++) {
+            char c = base.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            plegado.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return plegado.toString();
+    }
+
+    /** @return las palabras plegadas y sin repetir de un texto */
+    static Set<String> palabras(String texto) {
+        Set<String> resultado = new LinkedHashSet<>();
+        String plegado = plegar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= plegado.length(); i++) {
+            boolean separador = i == plegado.length() || plegado.charAt(i) == ' ';
+            if (!separador && inicio < 0) inicio = i;
+            else if (separador && inicio >= 0) {
+                resultado.add(plegado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return resultado;
+    }
+
+    /** @return los trigramas distintos de una palabra (ninguno si tiene menos de 3 caracteres) */
+    private static Set<String> trigramasDe(String palabra) {
+        Set<String> resultado = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= palabra.length(); i++) resultado.add(palabra.substring(i, i + 3));
+        return resultado;
+    }
+
+    private static void quitarDe(HashMap<String, ListaIds> mapa, String clave, int id) {
+        ListaIds lista = mapa.get(clave);
+        if (lista != null && lista.quitar(id) && lista.tamano == 0) mapa.remove(clave);
+    }
+
+    /**
+     * Lista ordenada de IDs sin repetir, sobre un {@code int[]}. Los IDs
+     * nuevos casi siempre son los mayores, así que agregar es al final.
+     */
+    private static final class ListaIds {
+        int[] ids = new int[4];
+        int tamano;
+
+        void agregar(int id) {
+            if (tamano > 0 && ids[tamano - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, tamano, id);
+                if (pos >= 0) return; // ya estaba
+                insertarEn(-pos - 1, id);
+            } else {
+                insertarEn(tamano, id);
+            }
+        }
+
+        boolean quitar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamano, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, tamano - pos - 1);
+            tamano--;
+            return true;
+        }
+
+        boolean contiene(int id) {
+            return Arrays.binarySearch(ids, 0, tamano, id) >= 0;
+        }
+
+        private void insertarEn(int pos, int id) {
+            if (tamano == ids.length) ids = Arrays.copyOf(ids, tamano * 2);
+            System.arraycopy(ids, pos, ids, pos + 1, tamano - pos);
+            ids[pos] = id;
+            tamano++;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package smarttask;
+
+import java.util.Arrays;
+
+/**
+ * Clase {@code MapaEnteros} — índice interno de {@link GestorTareas}.
+ *
+ * <p>Mapa de claves {@code int} a objetos con <em>direccionamiento abierto</em>
+ * y sondeo lineal. A diferencia de {@code HashMap<Integer, V>}, las claves se
+ * guardan en un arreglo de primitivos: no se crea un {@code Integer} por cada
+ * búsqueda ni por cada inserción.</p>
+ *
+ * <p>Decisiones de diseño:</p>
+ * <ul>
+ *   <li>La capacidad siempre es potencia de 2, así el índice de una clave se
+ *       calcula con una máscara en vez de con {@code %}.</li>
+ *   <li>Una casilla está libre cuando su valor es {@code null}; por eso no se
+ *       admiten valores {@code null}.</li>
+ *   <li>Al eliminar se desplazan hacia atrás los elementos del mismo grupo
+ *       (<em>backward shift</em>): no quedan marcas de borrado que alarguen
+ *       las búsquedas posteriores.</li>
+ * </ul>
+ *
+ * @param <V> tipo de los valores guardados
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class MapaEnteros<V> {
+
+    /** Capacidad inicial por defecto (debe ser potencia de 2). */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /** Constante de Fibonacci para dispersar claves consecutivas (1, 2, 3…). */
+    private static final int DISPERSION = 0x9E3779B9;
+
+    /** Claves de cada casilla. Solo son válidas donde {@code valores[i] != null}. */
+    private int[] claves;
+
+    /** Valores de cada casilla; {@code null} = casilla libre. */
+    private Object[] valores;
+
+    /** Cantidad de pares guardados. */
+    private int tamano;
+
+    /** Tamaño a partir del cual se duplica la capacidad (75% de ocupación). */
+    private int umbral;
+
+    /**
+     * Crea un mapa vacío con la capacidad inicial por defecto.
+     */
+    MapaEnteros() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un mapa vacío preparado para {@code esperados} elementos sin redimensionar.
+     *
+     * @param esperados cantidad aproximada de elementos
+     */
+    MapaEnteros(int esperados) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * 3 / 4 < esperados) capacidad <<= 1;
+        asignarCapacidad(capacidad);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OPERACIONES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Devuelve el valor asociado a la clave.
+     *
+     * @param clave la clave a buscar
+     * @return el valor, o {@code null} si la clave no existe
+     */
+    @SuppressWarnings("unchecked")
+    V get(int clave) {
+        int mascara = claves.length - 1;
+        int i = casillaInicial(clave, mascara);
+        Object v;
+        while ((v = valores[i]) != null) {
+            if (claves[i] == clave) return (V) v;
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Asocia el valor a la clave, reemplazando el anterior si existía.
+     *
+     * @param clave la clave
+     * @param valor el valor (no puede ser {@code null})
+     * @return el valor anterior, o {@code null} si la clave era nueva
+     */
+    @SuppressWarnings("unchecked")
+    V put(int clave, V valor) {
+        if (valor == null) throw new IllegalArgumentException("MapaEnteros no admite valores null");
+        int mascara = claves.length - 1;
+        int i = casillaInicial(clave, mascara);
+        Object v;
+        while ((v = valores[i]) != null) {
+            if (claves[i] == clave) {
+                valores[i] = valor;
+                return (V) v;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i]  = clave;
+        valores[i] = valor;
+        if (++tamano > umbral) redimensionar(claves.length << 1);
+        return null;
+    }
+
+    /**
+     * Elimina la clave del mapa.
+     *
+     * @param clave la clave a eliminar
+     * @return el valor que tenía, o {@code null} si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int clave) {
+        int mascara = claves.length - 1;
+        int i = casillaInicial(clave, mascara);
+        Object v;
+        while ((v = valores[i]) != null) {
+            if (claves[i] == clave) {
+                desplazarHaciaAtras(i, mascara);
+                tamano--;
+                return (V) v;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /** @return cantidad de pares guardados */
+    int size() { return tamano; }
+
+    /**
+     * Achica los arreglos si quedaron cuatro veces más grandes de lo que hace
+     * falta (por ejemplo, después de muchas bajas). Nunca crece.
+     */
+    void ajustarCapacidad() {
+        int necesaria = CAPACIDAD_INICIAL;
+        while (necesaria * 3 / 4 < tamano) necesaria <<= 1;
+        if (claves.length >= 4 * necesaria) redimensionar(2 * necesaria);
+    }
+
+    /** Vacía el mapa conservando la capacidad actual. */
+    void clear() {
+        Arrays.fill(valores, null);
+        tamano = 0;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Primera casilla a probar para la clave (multiplicación de Fibonacci). */
+    private static int casillaInicial(int clave, int mascara) {
+        int h = clave * DISPERSION;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Libera la casilla {@code libre} y mueve hacia atrás los elementos
+     * siguientes del grupo que quedarían inalcanzables.
+     */
+    private void desplazarHaciaAtras(int libre, int mascara) {
+        int i = libre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (valores[i] == null) break;
+            int ideal = casillaInicial(claves[i], mascara);
+            // ¿la casilla libre está entre la ideal y la actual (circularmente)?
+            if (((i - ideal) & mascara) >= ((i - libre) & mascara)) {
+                claves[libre]  = claves[i];
+                valores[libre] = valores[i];
+                libre = i;
+            }
+        }
+        valores[libre] = null;
+    }
+
+    /** Reserva arreglos nuevos de la capacidad indicada. */
+    private void asignarCapacidad(int capacidad) {
+        claves  = new int[capacidad];
+        valores = new Object[capacidad];
+        umbral  = capacidad * 3 / 4;
+    }
+
+    /** Cambia la capacidad (mayor o menor) y vuelve a insertar todos los pares. */
+    private void redimensionar(int capacidad) {
+        int[]    viejasClaves  = claves;
+        Object[] viejosValores = valores;
+        asignarCapacidad(capacidad);
+        int mascara = capacidad - 1;
+        for (int j = 0; j < viejasClaves.length; j++) {
+            if (viejosValores[j] == null) continue;
+            int i = casillaInicial(viejasClaves[j], mascara);
+            while (valores[i] != null) i = (i + 1) & mascara;
+            claves[i]  = viejasClaves[j];
+            valores[i] = viejosValores[j];
+        }
+    }
+}
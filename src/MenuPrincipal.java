@@ -1,5 +1,14 @@
 package smarttask;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -20,6 +29,9 @@ import java.util.Scanner;
  * <pre>
  *   javac smarttask/*.java
  *   java smarttask.MenuPrincipal
+ *   java smarttask.MenuPrincipal --lote comandos.txt      (sin menú, ver {@link ComandosPorLotes})
+ *   generar-comandos | java smarttask.MenuPrincipal --lote
+ *   java smarttask.MenuPrincipal --servidor 8080          (API HTTP, ver {@link ServidorTareas})
  * </pre>
  *
  * @author Sabina Romero
@@ -27,15 +39,53 @@ import java.util.Scanner;
  */
 public class MenuPrincipal {
 
+    /** Carpeta donde se guardan las tareas entre ejecuciones. */
+    private static final Path DIRECTORIO_DATOS = Paths.get("smarttask-datos");
+
+    /** Cantidad máxima de tareas que muestra una búsqueda. */
+    private static final int MAX_RESULTADOS_BUSQUEDA = 20;
+
+    /** Argumento que activa el modo por lotes. */
+    private static final String OPCION_LOTE = "--lote";
+
+    /** Argumento que activa la API HTTP. */
+    private static final String OPCION_SERVIDOR = "--servidor";
+
+    /**
+     * Intervalo de confirmación del diario en el modo por lotes: más largo que
+     * el interactivo para juntar más comandos en cada escritura a disco.
+     */
+    private static final long INTERVALO_CONFIRMACION_LOTE_MS = 100;
+
     /**
      * Punto de entrada de la aplicación SmartTask.
      *
-     * @param args argumentos de línea de comandos (no se usan)
+     * @param args vacío para el menú interactivo; {@code --lote [archivo]}
+     *             para ejecutar comandos de un archivo (o de la entrada
+     *             estándar si se omite o es {@code -}); {@code --servidor [puerto]}
+     *             para atender la API HTTP
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(OPCION_LOTE)) {
+            ejecutarLote(args.length > 1 ? args[1] : "-");
+            return;
+        }
+        if (args.length > 0 && args[0].equals(OPCION_SERVIDOR)) {
+            int puerto = args.length > 1 ? leerPuerto(args[1]) : ServidorTareas.PUERTO_POR_DEFECTO;
+            if (puerto < 0) {
+                System.out.println("  ❌ Puerto no válido: " + args[1] + " (debe ser un número entre 0 y 65535).");
+                return;
+            }
+            iniciarServidor(puerto);
+            return;
+        }
 
-        // Crear el gestor de tareas (carga datos de ejemplo)
-        GestorTareas gestor = new GestorTareas();
+        // Recuperar las tareas guardadas (la primera vez carga datos de ejemplo)
+        PersistenciaTareas datos = abrirDatos();
+        GestorTareas gestor = (datos != null) ? datos.getGestor() : new GestorTareas();
+
+        // Avisos de tareas urgentes por vencer o vencidas (se revisan antes de cada menú)
+        PlanificadorVencimientos recordatorios = new PlanificadorVencimientos(gestor, new AvisosEnConsola());
 
         // Scanner para leer lo que el usuario escribe en la consola
         Scanner teclado = new Scanner(System.in);
@@ -49,59 +99,68 @@ public class MenuPrincipal {
         System.out.println(  "  ╚══════════════════════════════════════════╝");
 
         // ─── Bucle principal del menú ────────────────────────────────────────
-        // do-while: se ejecuta AL MENOS una vez antes de verificar la condición
-        do {
-            mostrarMenu();
-
-            // Leer opción del usuario con validación
-            opcion = leerEntero(teclado);
-
-            // switch: ejecuta el bloque correspondiente a la opción elegida
-            switch (opcion) {
-
-                case 1:
-                    gestor.listarTodas();
-                    break;
-
-                case 2:
-                    gestor.listarPendientes();
-                    break;
-
-                case 3:
-                    gestor.listarCompletadas();
-                    break;
-
-                case 4:
-                    opcionAgregarNormal(gestor, teclado);
-                    break;
-
-                case 5:
-                    opcionAgregarUrgente(gestor, teclado);
-                    break;
-
-                case 6:
-                    opcionMarcarCompletada(gestor, teclado);
-                    break;
-
-                case 7:
-                    opcionEliminar(gestor, teclado);
-                    break;
-
-                case 8:
-                    opcionVerDetalle(gestor, teclado);
-                    break;
-
-                case 0:
-                    System.out.println("\n  👋 Hasta luego. ¡Sigue gestionando tus tareas!");
-                    break;
-
-                default:
-                    System.out.println("\n  ❌ Opción no válida. Elige entre 0 y 8.");
-            }
-
-        } while (opcion != 0); // repetir mientras el usuario no elija Salir
-
-        teclado.close(); // liberar el recurso Scanner al terminar
+        // do-while: se ejecuta AL MENOS una vez antes de verificar la condición.
+        // finally: aunque algo falle dentro del bucle, el diario se confirma en disco
+        try {
+            do {
+                recordatorios.avanzar();
+                mostrarMenu();
+
+                // Leer opción del usuario con validación
+                opcion = leerEntero(teclado);
+
+                // switch: ejecuta el bloque correspondiente a la opción elegida
+                switch (opcion) {
+
+                    case 1:
+                        gestor.listarTodas();
+                        break;
+
+                    case 2:
+                        gestor.listarPendientes();
+                        break;
+
+                    case 3:
+                        gestor.listarCompletadas();
+                        break;
+
+                    case 4:
+                        opcionAgregarNormal(gestor, teclado);
+                        break;
+
+                    case 5:
+                        opcionAgregarUrgente(gestor, teclado);
+                        break;
+
+                    case 6:
+                        opcionMarcarCompletada(gestor, teclado);
+                        break;
+
+                    case 7:
+                        opcionEliminar(gestor, teclado);
+                        break;
+
+                    case 8:
+                        opcionVerDetalle(gestor, teclado);
+                        break;
+
+                    case 9:
+                        opcionBuscar(gestor, teclado);
+                        break;
+
+                    case 0:
+                        System.out.println("\n  👋 Hasta luego. ¡Sigue gestionando tus tareas!");
+                        break;
+
+                    default:
+                        System.out.println("\n  ❌ Opción no válida. Elige entre 0 y 9.");
+                }
+
+            } while (opcion != 0); // repetir mientras el usuario no elija Salir
+        } finally {
+            teclado.close(); // liberar el recurso Scanner al terminar
+            cerrarDatos(datos);
+        }
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -122,6 +181,7 @@ public class MenuPrincipal {
         System.out.println("    6. Marcar tarea como completada");
         System.out.println("    7. Eliminar tarea por ID");
         System.out.println("    8. Ver detalle de una tarea");
+        System.out.println("    9. Buscar tareas por nombre");
         System.out.println("    0. Salir");
         System.out.println("  ══════════════════════════════════════════════");
         System.out.print("    Selecciona una opción: ");
@@ -145,7 +205,7 @@ public class MenuPrincipal {
         }
 
         System.out.println("  Prioridad (1=ALTA, 2=MEDIA, 3=BAJA): ");
-        String prioridad = leerPrioridad(teclado);
+        Prioridad prioridad = leerPrioridad(teclado);
 
         TareaNormal nueva = gestor.agregarTareaNormalLogica(nombre, prioridad);
         System.out.println("  ✅ Tarea Normal agregada con ID: " + nueva.getId());
@@ -168,13 +228,16 @@ public class MenuPrincipal {
         }
 
         System.out.println("  Prioridad (1=ALTA, 2=MEDIA, 3=BAJA): ");
-        String prioridad = leerPrioridad(teclado);
+        Prioridad prioridad = leerPrioridad(teclado);
 
         System.out.print("  Fecha límite (AAAA-MM-DD): ");
         String fechaLimite = teclado.nextLine();
 
         TareaUrgente nueva = gestor.agregarTareaUrgenteLogica(nombre, prioridad, fechaLimite);
         System.out.println("  🚨 Tarea Urgente agregada con ID: " + nueva.getId());
+        if (nueva.getDiaLimite() == TareaUrgente.SIN_FECHA) {
+            System.out.println("  ⚠ La fecha no tiene formato AAAA-MM-DD: la tarea no aparecerá en las consultas por vencimiento.");
+        }
     }
 
     /**
@@ -256,10 +319,158 @@ public class MenuPrincipal {
         }
     }
 
+    /**
+     * Busca tareas por palabras del nombre y muestra las más relevantes.
+     *
+     * @param gestor  el gestor de tareas
+     * @param teclado el Scanner
+     */
+    private static void opcionBuscar(GestorTareas gestor, Scanner teclado) {
+        System.out.print("\n  Texto a buscar: ");
+        String consulta = teclado.nextLine();
+
+        if (consulta.trim().isEmpty()) {
+            System.out.println("  ❌ La búsqueda no puede estar vacía.");
+            return;
+        }
+
+        List<Tarea> encontradas = gestor.buscar(consulta, MAX_RESULTADOS_BUSQUEDA);
+        gestor.listarTareas(encontradas, "BÚSQUEDA: " + consulta.trim());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  MODO POR LOTES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Ejecuta los comandos de un archivo o de la entrada estándar sin mostrar
+     * el menú. Las respuestas van a la salida estándar; el resumen y los
+     * avisos van a la de errores, para no mezclarlos con lo que lee el
+     * siguiente programa. No carga tareas de ejemplo: un lote trabaja solo
+     * con lo guardado y con lo que él mismo agrega.
+     *
+     * @param origen ruta del archivo, o {@code -} para la entrada estándar
+     */
+    private static void ejecutarLote(String origen) {
+        PersistenciaTareas datos = abrirDatos(INTERVALO_CONFIRMACION_LOTE_MS, false, System.err);
+        GestorTareas gestor = (datos != null) ? datos.getGestor() : new GestorTareas(false);
+        try (BufferedReader entrada = origen.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 64 * 1024)
+                : Files.newBufferedReader(Paths.get(origen), StandardCharsets.UTF_8)) {
+            ComandosPorLotes.Resultado resultado = new ComandosPorLotes(gestor, System.out).ejecutar(entrada);
+            System.err.println("  " + resultado);
+        } catch (IOException e) {
+            System.err.println("  ❌ No se pudieron leer los comandos: " + e.getMessage());
+        } finally {
+            cerrarDatos(datos, System.err); // confirma en disco lo que quede del diario
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  MODO SERVIDOR
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Atiende la API HTTP hasta que se detenga el proceso (Ctrl+C). Al salir
+     * cierra el servidor y confirma el diario en disco.
+     *
+     * @param puerto puerto TCP donde escuchar
+     */
+    private static void iniciarServidor(int puerto) {
+        // Afecta a toda la JVM; aquí es el único servidor HTTP (ver ServidorTareas)
+        if (System.getProperty(ServidorTareas.PROPIEDAD_SIN_RETARDO) == null) {
+            System.setProperty(ServidorTareas.PROPIEDAD_SIN_RETARDO, "true");
+        }
+        PersistenciaTareas datos = abrirDatos();
+        GestorTareas gestor = (datos != null) ? datos.getGestor() : new GestorTareas();
+        ServidorTareas servidor;
+        try {
+            servidor = new ServidorTareas(gestor, puerto);
+        } catch (IOException e) {
+            System.out.println("  ❌ No se pudo abrir el puerto " + puerto + ": " + e.getMessage());
+            cerrarDatos(datos);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.close();
+            cerrarDatos(datos);
+        }));
+        // El hilo del servidor no es demonio: la aplicación sigue viva al volver de main()
+        System.out.println("  🌐 API en http://localhost:" + servidor.getPuerto() + ServidorTareas.RUTA
+                + " (Ctrl+C para detener)");
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     //  UTILIDADES
     // ─────────────────────────────────────────────────────────────────────────
 
+    /**
+     * Abre la carpeta de datos. Si falla, avisa y la app sigue solo en memoria.
+     *
+     * @return la persistencia abierta, o {@code null} si no se pudo abrir
+     */
+    private static PersistenciaTareas abrirDatos() {
+        return abrirDatos(PersistenciaTareas.INTERVALO_CONFIRMACION_MS, true, System.out);
+    }
+
+    /**
+     * Abre la carpeta de datos con un intervalo de confirmación dado.
+     *
+     * @param intervaloMs    cada cuánto se confirma el diario en disco
+     * @param cargarEjemplos {@code true} para cargar ejemplos si no hay datos
+     * @param avisos         dónde escribir los avisos si falla la apertura
+     * @return la persistencia abierta, o {@code null} si no se pudo abrir
+     */
+    private static PersistenciaTareas abrirDatos(long intervaloMs, boolean cargarEjemplos, PrintStream avisos) {
+        try {
+            return PersistenciaTareas.abrir(DIRECTORIO_DATOS, cargarEjemplos,
+                    PersistenciaTareas.UMBRAL_DIARIO_POR_DEFECTO, intervaloMs);
+        } catch (IOException e) {
+            avisos.println("  ⚠ No se pudieron cargar las tareas guardadas: " + e.getMessage());
+            avisos.println("  ⚠ Los cambios de esta sesión no se guardarán.");
+            return null;
+        }
+    }
+
+    /**
+     * Confirma en disco los últimos cambios antes de salir.
+     *
+     * @param datos la persistencia abierta (puede ser {@code null})
+     */
+    private static void cerrarDatos(PersistenciaTareas datos) {
+        cerrarDatos(datos, System.out);
+    }
+
+    /**
+     * Confirma en disco los últimos cambios antes de salir.
+     *
+     * @param datos  la persistencia abierta (puede ser {@code null})
+     * @param avisos dónde escribir el error si falla
+     */
+    private static void cerrarDatos(PersistenciaTareas datos, PrintStream avisos) {
+        if (datos == null) return;
+        try {
+            datos.close();
+        } catch (IOException e) {
+            avisos.println("  ❌ Error al guardar las tareas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Convierte el argumento de {@code --servidor} en un puerto.
+     *
+     * @param texto el argumento
+     * @return el puerto (0 a 65535), o -1 si no es válido
+     */
+    private static int leerPuerto(String texto) {
+        try {
+            int puerto = Integer.parseInt(texto.trim());
+            return puerto >= 0 && puerto <= 65_535 ? puerto : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Lee un entero del teclado con validación de tipo.
      * Si el usuario escribe algo que no es número, pide que lo reintente.
@@ -278,19 +489,34 @@ public class MenuPrincipal {
     }
 
     /**
-     * Muestra un submenú de prioridades y devuelve el string elegido.
+     * Muestra un submenú de prioridades y devuelve la prioridad elegida.
      *
      * @param teclado el Scanner
-     * @return "ALTA", "MEDIA" o "BAJA"
+     * @return {@link Prioridad#ALTA}, {@link Prioridad#MEDIA} o {@link Prioridad#BAJA}
      */
-    private static String leerPrioridad(Scanner teclado) {
+    private static Prioridad leerPrioridad(Scanner teclado) {
         System.out.print("  Opción: ");
         int opcion = leerEntero(teclado);
-        // switch para mapear número a texto de prioridad
+        // switch para mapear número a prioridad
         switch (opcion) {
-            case 1:  return "ALTA";
-            case 3:  return "BAJA";
-            default: return "MEDIA"; // 2 o cualquier otro valor
+            case 1:  return Prioridad.ALTA;
+            case 3:  return Prioridad.BAJA;
+            default: return Prioridad.MEDIA; // 2 o cualquier otro valor
+        }
+    }
+
+    /** Imprime los avisos de {@link PlanificadorVencimientos} antes del menú. */
+    private static final class AvisosEnConsola implements PlanificadorVencimientos.Oyente {
+        @Override
+        public void porVencer(TareaUrgente tarea) {
+            System.out.println("  ⏰ Vence pronto: #" + tarea.getId() + " " + tarea.getNombre()
+                    + " (límite " + tarea.getFechaLimite() + ")");
+        }
+
+        @Override
+        public void vencida(TareaUrgente tarea) {
+            System.out.println("  ⌛ Venció: #" + tarea.getId() + " " + tarea.getNombre()
+                    + " (límite " + tarea.getFechaLimite() + ")");
         }
     }
 }
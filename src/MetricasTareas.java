@@ -0,0 +1,180 @@
+package smarttask;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Clase {@code MetricasTareas} — cuenta y mide cada operación pública de un
+ * {@link GestorTareas} y lo publica por JMX.
+ *
+ * <p>Por cada {@link Operacion} guarda un contador {@link LongAdder} (que
+ * reparte los incrementos en celdas para no competir entre hilos) y un
+ * {@link HistogramaLatencias}. Además expone como indicadores el total de
+ * tareas, las pendientes, las completadas y las lápidas de tareas eliminadas
+ * que esperan la próxima compactación.</p>
+ *
+ * <p>Se conecta al gestor al crearla, igual que {@link PersistenciaTareas}.
+ * Desactivada ({@link #setActiva(boolean)}), el gestor vuelve a tener el campo
+ * en {@code null} y cada operación solo paga esa comparación.</p>
+ *
+ * <pre>
+ *   MetricasTareas metricas = new MetricasTareas(gestor);
+ *   metricas.registrarEnJmx("principal");   // smarttask:type=MetricasTareas,name="principal"
+ * </pre>
+ *
+ * <p>Los indicadores leen contadores del gestor sin candado desde el hilo de
+ * JMX: pueden mostrar un valor de hace un instante.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class MetricasTareas implements MetricasTareasMXBean {
+
+    /** Operaciones medidas. */
+    public enum Operacion {
+        AGREGAR, BUSCAR_POR_ID, COMPLETAR, ELIMINAR,
+        OBTENER_TODAS, OBTENER_PENDIENTES, OBTENER_COMPLETADAS, COMPACTAR
+    }
+
+    private final GestorTareas gestor;
+    private final EnumMap<Operacion, LongAdder> llamadas = new EnumMap<>(Operacion.class);
+    private final EnumMap<Operacion, HistogramaLatencias> latencias = new EnumMap<>(Operacion.class);
+    private volatile boolean activa;
+    private ObjectName nombreJmx;
+
+    /**
+     * Crea las métricas y empieza a medir el gestor.
+     *
+     * @param gestor gestor a medir
+     * @throws IllegalStateException si el gestor ya tiene métricas
+     */
+    public MetricasTareas(GestorTareas gestor) {
+        if (gestor.metricas != null) throw new IllegalStateException("El gestor ya tiene métricas");
+        this.gestor = gestor;
+        for (Operacion op : Operacion.values()) {
+            llamadas.put(op, new LongAdder());
+            latencias.put(op, new HistogramaLatencias());
+        }
+        setActiva(true);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  MEDICIÓN (de paquete: la llama el gestor)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Registra una llamada que empezó en {@code inicio} ({@link System#nanoTime()}).
+     */
+    void medir(Operacion operacion, long inicio) {
+        long nanos = System.nanoTime() - inicio;
+        llamadas.get(operacion).increment();
+        latencias.get(operacion).registrar(nanos);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSULTA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * @param operacion operación
+     * @return cantidad y latencias de esa operación hasta ahora
+     */
+    public ResumenOperacion resumen(Operacion operacion) {
+        return new ResumenOperacion(latencias.get(operacion));
+    }
+
+    /**
+     * @param operacion operación
+     * @return veces que se llamó
+     */
+    public long getLlamadas(Operacion operacion) {
+        return llamadas.get(operacion).sum();
+    }
+
+    @Override
+    public Map<String, ResumenOperacion> getOperaciones() {
+        Map<String, ResumenOperacion> resultado = new LinkedHashMap<>();
+        for (Operacion op : Operacion.values()) {
+            resultado.put(op.name().toLowerCase(Locale.ROOT), resumen(op));
+        }
+        return resultado;
+    }
+
+    @Override
+    public int getTotalTareas() { return gestor.getTotalTareas(); }
+
+    @Override
+    public int getPendientes() { return gestor.getTotalPendientes(); }
+
+    @Override
+    public int getCompletadas() { return gestor.getTotalCompletadas(); }
+
+    @Override
+    public int getLapidas() { return gestor.getTotalLapidas(); }
+
+    @Override
+    public double getProporcionLapidas() { return gestor.getProporcionLapidas(); }
+
+    @Override
+    public long getCompactaciones() { return gestor.getCompactaciones(); }
+
+    @Override
+    public boolean isActiva() { return activa; }
+
+    @Override
+    public synchronized void setActiva(boolean activa) {
+        this.activa = activa;
+        gestor.metricas = activa ? this : null;
+    }
+
+    @Override
+    public void reiniciar() {
+        for (Operacion op : Operacion.values()) {
+            llamadas.get(op).reset();
+            latencias.get(op).reiniciar();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  JMX
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Publica estas métricas en el servidor JMX de la plataforma como
+     * {@code smarttask:type=MetricasTareas,name=<nombre>}.
+     *
+     * @param nombre nombre que distingue a este gestor
+     * @throws IllegalStateException si JMX rechaza el registro (por ejemplo, nombre repetido)
+     */
+    public synchronized void registrarEnJmx(String nombre) {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objeto = ObjectName.getInstance("smarttask:type=MetricasTareas,name=" + ObjectName.quote(nombre));
+            servidor.registerMBean(this, objeto);
+            nombreJmx = objeto;
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron registrar las métricas en JMX", e);
+        }
+    }
+
+    /**
+     * Deja de medir, desconecta las métricas del gestor y las quita de JMX.
+     */
+    public synchronized void cerrar() {
+        setActiva(false);
+        if (nombreJmx == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(nombreJmx);
+        } catch (JMException e) {
+            // ya no estaba registrado: nada que hacer
+        }
+        nombreJmx = null;
+    }
+}
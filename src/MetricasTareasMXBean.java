@@ -0,0 +1,52 @@
+package smarttask;
+
+import java.util.Map;
+
+/**
+ * Interfaz {@code MetricasTareasMXBean} — lo que {@link MetricasTareas}
+ * publica por JMX (JConsole, VisualVM, {@code jcmd}).
+ *
+ * <p>Al ser un <em>MXBean</em>, el mapa de {@link #getOperaciones()} se ve
+ * como una tabla con una fila por operación, sin que el cliente JMX necesite
+ * las clases de SmartTask.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public interface MetricasTareasMXBean {
+
+    /** @return tareas en el gestor */
+    int getTotalTareas();
+
+    /** @return tareas pendientes */
+    int getPendientes();
+
+    /** @return tareas completadas */
+    int getCompletadas();
+
+    /** @return tareas eliminadas que todavía ocupan una casilla de la lista */
+    int getLapidas();
+
+    /** @return fracción de la lista ocupada por lápidas, entre 0 y 1 */
+    double getProporcionLapidas();
+
+    /** @return veces que se compactó la lista */
+    long getCompactaciones();
+
+    /** @return {@code true} si se están midiendo las operaciones */
+    boolean isActiva();
+
+    /**
+     * Activa o desactiva la medición. Desactivada, el gestor no mide nada
+     * (ni siquiera lee el reloj); los contadores conservan sus valores.
+     *
+     * @param activa nuevo estado
+     */
+    void setActiva(boolean activa);
+
+    /** @return resumen de cada operación, por nombre */
+    Map<String, ResumenOperacion> getOperaciones();
+
+    /** Pone en cero contadores e histogramas. */
+    void reiniciar();
+}
@@ -0,0 +1,158 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link MetricasTareas} y {@link HistogramaLatencias}: conteo por
+ * operación, activar y desactivar, percentiles con error acotado y
+ * publicación por JMX.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de métricas e histogramas de latencia")
+class MetricasTareasTest {
+
+    private GestorTareas gestor;
+    private MetricasTareas metricas;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+        metricas = new MetricasTareas(gestor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metricas.cerrar();
+    }
+
+    @Test
+    @DisplayName("Cuenta cada operación pública y mide su latencia")
+    void testConteoPorOperacion() {
+        for (int i = 0; i < 10; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+        gestor.agregarTareaUrgenteLogica("U", Prioridad.ALTA, "2026-03-01");
+        gestor.buscarPorId(3);
+        gestor.marcarComoCompletada(3);
+        gestor.marcarComoCompletada(3); // sin efecto, pero se cuenta
+        gestor.eliminarTarea(4);
+        gestor.obtenerTodas();
+        gestor.obtenerPendientes();
+        gestor.obtenerCompletadas();
+
+        assertEquals(11, metricas.getLlamadas(MetricasTareas.Operacion.AGREGAR));
+        assertEquals(1, metricas.getLlamadas(MetricasTareas.Operacion.BUSCAR_POR_ID), "Completar no pasa por buscarPorId()");
+        assertEquals(2, metricas.getLlamadas(MetricasTareas.Operacion.COMPLETAR));
+        assertEquals(1, metricas.getLlamadas(MetricasTareas.Operacion.ELIMINAR));
+        assertEquals(1, metricas.getLlamadas(MetricasTareas.Operacion.OBTENER_TODAS));
+
+        ResumenOperacion agregar = metricas.resumen(MetricasTareas.Operacion.AGREGAR);
+        assertEquals(11, agregar.getCantidad());
+        assertTrue(agregar.getMaximoNanos() > 0);
+        assertTrue(agregar.getMedianaNanos() <= agregar.getP99Nanos());
+        assertTrue(agregar.getP99Nanos() <= agregar.getMaximoNanos());
+
+        assertEquals(10, metricas.getTotalTareas());
+        assertEquals(9, metricas.getPendientes());
+        assertEquals(1, metricas.getCompletadas());
+    }
+
+    @Test
+    @DisplayName("Desactivadas no cuentan nada y el gestor queda sin métricas")
+    void testDesactivar() {
+        metricas.setActiva(false);
+        assertNull(gestor.metricas);
+        gestor.agregarTareaNormalLogica("T", Prioridad.MEDIA);
+        assertEquals(0, metricas.getLlamadas(MetricasTareas.Operacion.AGREGAR));
+
+        metricas.setActiva(true);
+        gestor.agregarTareaNormalLogica("T", Prioridad.MEDIA);
+        assertEquals(1, metricas.getLlamadas(MetricasTareas.Operacion.AGREGAR));
+
+        metricas.reiniciar();
+        assertEquals(0, metricas.resumen(MetricasTareas.Operacion.AGREGAR).getCantidad());
+        assertThrows(IllegalStateException.class, () -> new MetricasTareas(gestor));
+    }
+
+    @Test
+    @DisplayName("Histograma: cubetas contiguas y percentiles con error menor a 1/16")
+    void testHistograma() {
+        for (long v : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE }) {
+            int i = HistogramaLatencias.indice(v);
+            assertTrue(HistogramaLatencias.limiteInferior(i) <= v && v <= HistogramaLatencias.limiteSuperior(i), "Valor " + v);
+        }
+        for (int i = 0; i < 900; i++) {
+            assertEquals(HistogramaLatencias.limiteSuperior(i) + 1, HistogramaLatencias.limiteInferior(i + 1));
+        }
+
+        HistogramaLatencias h = new HistogramaLatencias();
+        SplittableRandom azar = new SplittableRandom(3);
+        long[] valores = new long[100_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = azar.nextLong(100, 10_000_000);
+            h.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        for (double p : new double[] { 0.5, 0.9, 0.99, 0.999 }) {
+            long exacto = valores[(int) Math.ceil(p * valores.length) - 1];
+            long aproximado = h.percentil(p);
+            assertTrue(aproximado >= exacto && aproximado <= exacto + exacto / 16 + 1,
+                    "p" + p + ": exacto " + exacto + ", histograma " + aproximado);
+        }
+        assertEquals(valores[valores.length - 1], h.maximo());
+    }
+
+    @Test
+    @DisplayName("Informa las lápidas de las bajas y mide la compactación")
+    void testLapidas() {
+        for (int i = 0; i < 10; i++) gestor.agregarTareaNormalLogica("T" + i, Prioridad.MEDIA);
+        gestor.eliminarTarea(2);
+        gestor.eliminarTarea(5);
+
+        assertEquals(2, metricas.getLapidas());
+        assertEquals(0.2, metricas.getProporcionLapidas(), 1e-9);
+        assertEquals(8, metricas.getTotalTareas());
+
+        gestor.compactar();
+        assertEquals(0, metricas.getLapidas());
+        assertEquals(0.0, metricas.getProporcionLapidas());
+        assertEquals(1, metricas.getCompactaciones());
+        assertEquals(1, metricas.getLlamadas(MetricasTareas.Operacion.COMPACTAR));
+    }
+
+    @Test
+    @DisplayName("Se publica como MXBean con una fila por operación")
+    void testJmx() throws Exception {
+        gestor.agregarTareaNormalLogica("T", Prioridad.MEDIA);
+        metricas.registrarEnJmx("prueba");
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName("smarttask:type=MetricasTareas,name=\"prueba\"");
+
+        assertEquals(1, servidor.getAttribute(nombre, "TotalTareas"));
+        assertEquals(0.0, servidor.getAttribute(nombre, "ProporcionLapidas"));
+        TabularData operaciones = (TabularData) servidor.getAttribute(nombre, "Operaciones");
+        CompositeData agregar = operaciones.get(new Object[] { "agregar" });
+        assertEquals(1L, ((CompositeData) agregar.get("value")).get("cantidad"));
+
+        servidor.setAttribute(nombre, new Attribute("Activa", false));
+        assertNull(gestor.metricas);
+
+        metricas.cerrar();
+        assertFalse(servidor.isRegistered(nombre));
+    }
+}
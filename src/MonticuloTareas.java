@@ -0,0 +1,192 @@
+package smarttask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Clase {@code MonticuloTareas} — cola de prioridad indexada de tareas.
+ *
+ * <p>Es un montículo binario (mínimo en la raíz) guardado en un arreglo.
+ * Cada tarea recuerda su posición en el arreglo
+ * ({@code Tarea.posicionMonticulo}), así que quitarla o reordenarla cuando
+ * cambia su prioridad no requiere buscarla: todas las operaciones que
+ * modifican la cola son O(log n) y consultar la primera es O(1).</p>
+ *
+ * <p>Orden: primero la {@link Prioridad} (ALTA antes que BAJA); a igual
+ * prioridad, las tareas urgentes por fecha límite más cercana y después las
+ * normales, que no tienen fecha; por último, el ID más bajo.</p>
+ *
+ * <p>Es de paquete: la usa {@link GestorTareas} para
+ * {@link GestorTareas#siguiente()} y {@link GestorTareas#topK(int)}.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+final class MonticuloTareas {
+
+    /** Valor de {@code Tarea.posicionMonticulo} para tareas fuera de la cola. */
+    static final int FUERA = -1;
+
+    /**
+     * Orden de trabajo. Las urgentes sin fecha válida se tratan como las
+     * normales (sin fecha).
+     */
+    static final Comparator<Tarea> ORDEN = (a, b) -> {
+        int c = Integer.compare(a.getPrioridad().ordinal(), b.getPrioridad().ordinal());
+        if (c != 0) return c;
+        c = Integer.compare(diaDeOrden(a), diaDeOrden(b));
+        if (c != 0) return c;
+        return Integer.compare(a.getId(), b.getId());
+    };
+
+    /** Fecha límite para ordenar; sin fecha va al final. */
+    private static int diaDeOrden(Tarea t) {
+        if (t instanceof TareaUrgente u && u.getDiaLimite() != TareaUrgente.SIN_FECHA) return u.getDiaLimite();
+        return Integer.MAX_VALUE;
+    }
+
+    private Tarea[] monticulo = new Tarea[64];
+    private int tamano;
+
+    /** @return cantidad de tareas en la cola */
+    int tamano() { return tamano; }
+
+    /** @return la primera tarea según {@link #ORDEN}, o {@code null} si está vacía */
+    Tarea primera() {
+        return tamano == 0 ? null : monticulo[0];
+    }
+
+    /**
+     * Agrega una tarea que no está en la cola.
+     *
+     * @param tarea tarea a agregar
+     */
+    void agregar(Tarea tarea) {
+        if (tamano == monticulo.length) monticulo = Arrays.copyOf(monticulo, tamano * 2);
+        monticulo[tamano] = tarea;
+        tarea.posicionMonticulo = tamano;
+        subir(tamano++);
+    }
+
+    /**
+     * Quita una tarea de la cola; no hace nada si no estaba.
+     *
+     * @param tarea tarea a quitar
+     */
+    void quitar(Tarea tarea) {
+        int i = tarea.posicionMonticulo;
+        if (i == FUERA) return;
+        tarea.posicionMonticulo = FUERA;
+        Tarea ultima = monticulo[--tamano];
+        monticulo[tamano] = null;
+        if (i == tamano) return;
+        monticulo[i] = ultima;
+        ultima.posicionMonticulo = i;
+        reubicar(i);
+    }
+
+    /**
+     * Reacomoda una tarea cuya prioridad o fecha límite cambió.
+     *
+     * @param tarea tarea modificada
+     */
+    void actualizar(Tarea tarea) {
+        if (tarea.posicionMonticulo != FUERA) reubicar(tarea.posicionMonticulo);
+    }
+
+    /**
+     * Devuelve las {@code k} primeras tareas en orden sin modificar la cola.
+     * Recorre el montículo de mejor a peor con una cola auxiliar de
+     * posiciones: como los hijos nunca van antes que su padre, solo hace falta
+     * mirar O(k) nodos, en O(k log k).
+     *
+     * @param k cantidad máxima de tareas
+     * @return lista nueva con hasta {@code k} tareas
+     */
+    List<Tarea> primeras(int k) {
+        int limite = Math.min(k, tamano);
+        List<Tarea> resultado = new ArrayList<>(limite);
+        if (limite == 0) return resultado;
+
+        // Montículo auxiliar de posiciones del principal (a lo sumo 2k + 1)
+        int[] frontera = new int[2 * limite + 1];
+        int enFrontera = 0;
+        frontera[enFrontera++] = 0;
+        while (resultado.size() < limite) {
+            int mejor = frontera[0];
+            frontera[0] = frontera[--enFrontera];
+            bajarPosicion(frontera, enFrontera, 0);
+            resultado.add(monticulo[mejor]);
+            for (int hijo = 2 * mejor + 1; hijo <= 2 * mejor + 2 && hijo < tamano; hijo++) {
+                frontera[enFrontera] = hijo;
+                subirPosicion(frontera, enFrontera++);
+            }
+        }
+        return resultado;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AUXILIARES INTERNOS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void reubicar(int i) {
+        if (i > 0 && ORDEN.compare(monticulo[i], monticulo[(i - 1) >>> 1]) < 0) subir(i);
+        else                                                                      bajar(i);
+    }
+
+    private void subir(int i) {
+        Tarea tarea = monticulo[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (ORDEN.compare(tarea, monticulo[padre]) >= 0) break;
+            colocar(i, monticulo[padre]);
+            i = padre;
+        }
+        colocar(i, tarea);
+    }
+
+    private void bajar(int i) {
+        Tarea tarea = monticulo[i];
+        int mitad = tamano >>> 1; // los nodos desde aquí no tienen hijos
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && ORDEN.compare(monticulo[hijo + 1], monticulo[hijo]) < 0) hijo++;
+            if (ORDEN.compare(tarea, monticulo[hijo]) <= 0) break;
+            colocar(i, monticulo[hijo]);
+            i = hijo;
+        }
+        colocar(i, tarea);
+    }
+
+    private void colocar(int i, Tarea tarea) {
+        monticulo[i] = tarea;
+        tarea.posicionMonticulo = i;
+    }
+
+    private void subirPosicion(int[] frontera, int i) {
+        int posicion = frontera[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (ORDEN.compare(monticulo[posicion], monticulo[frontera[padre]]) >= 0) break;
+            frontera[i] = frontera[padre];
+            i = padre;
+        }
+        frontera[i] = posicion;
+    }
+
+    private void bajarPosicion(int[] frontera, int enFrontera, int i) {
+        if (enFrontera == 0) return;
+        int posicion = frontera[i];
+        while (2 * i + 1 < enFrontera) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < enFrontera
+                    && ORDEN.compare(monticulo[frontera[hijo + 1]], monticulo[frontera[hijo]]) < 0) hijo++;
+            if (ORDEN.compare(monticulo[posicion], monticulo[frontera[hijo]]) <= 0) break;
+            frontera[i] = frontera[hijo];
+            i = hijo;
+        }
+        frontera[i] = posicion;
+    }
+}
@@ -0,0 +1,50 @@
+package smarttask;
+
+/**
+ * Interfaz {@code ObservadorTarea} — enlace interno entre una {@link Tarea}
+ * y el gestor que la contiene.
+ *
+ * <p>Los setters de {@link Tarea} son públicos, así que el estado de una tarea
+ * puede cambiar sin pasar por {@link GestorTareas} (por ejemplo desde
+ * {@link Accionable#ejecutar()}). Para que las estructuras auxiliares del
+ * gestor no queden desactualizadas, la tarea avisa a su observador después
+ * de cada cambio relevante.</p>
+ *
+ * <p>Es de paquete: no forma parte de la API pública de SmartTask.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+interface ObservadorTarea {
+
+    /**
+     * Se invoca después de que cambia el estado completado/pendiente.
+     *
+     * @param tarea la tarea modificada (ya con el estado nuevo)
+     */
+    void estadoCambiado(Tarea tarea);
+
+    /**
+     * Se invoca después de que cambia el nombre de la tarea.
+     *
+     * @param tarea          la tarea modificada (ya con el nombre nuevo)
+     * @param nombreAnterior el nombre que tenía antes
+     */
+    default void nombreCambiado(Tarea tarea, String nombreAnterior) { }
+
+    /**
+     * Se invoca después de que cambia la prioridad de la tarea.
+     *
+     * @param tarea la tarea modificada (ya con la prioridad nueva)
+     */
+    default void prioridadCambiada(Tarea tarea) { }
+
+    /**
+     * Se invoca después de que cambia la fecha límite de una tarea urgente.
+     *
+     * @param tarea       la tarea modificada (ya con la fecha nueva)
+     * @param diaAnterior fecha anterior en días desde 1970-01-01
+     *                    (o {@link TareaUrgente#SIN_FECHA})
+     */
+    default void fechaLimiteCambiada(TareaUrgente tarea, int diaAnterior) { }
+}
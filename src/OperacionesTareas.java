@@ -0,0 +1,116 @@
+package smarttask;
+
+import java.util.List;
+
+/**
+ * Interfaz {@code OperacionesTareas} — contrato común de los gestores de tareas.
+ *
+ * <p>Reúne los métodos de lógica (sin consola) que comparten
+ * {@link GestorTareas} (un solo hilo) y {@link GestorTareasConcurrente}
+ * (varios hilos). Quien solo necesita agregar, buscar, completar o eliminar
+ * tareas puede programar contra esta interfaz y elegir la implementación
+ * al crear el objeto.</p>
+ *
+ * <p>Principio aplicado: <em>Programar hacia la interfaz, no hacia la implementación.</em></p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public interface OperacionesTareas {
+
+    /**
+     * Agrega una {@link TareaNormal} con un ID nuevo.
+     *
+     * @param nombre    descripción de la tarea
+     * @param prioridad nivel de prioridad
+     * @return la tarea creada con su ID asignado
+     */
+    TareaNormal agregarTareaNormalLogica(String nombre, Prioridad prioridad);
+
+    /**
+     * Agrega una {@link TareaUrgente} con un ID nuevo.
+     *
+     * @param nombre      descripción de la tarea
+     * @param prioridad   prioridad recomendada: ALTA
+     * @param fechaLimite fecha límite en formato "AAAA-MM-DD"
+     * @return la tarea urgente creada
+     */
+    TareaUrgente agregarTareaUrgenteLogica(String nombre, Prioridad prioridad, String fechaLimite);
+
+    /**
+     * Variante con la prioridad como texto (compatibilidad).
+     *
+     * @param nombre    descripción de la tarea
+     * @param prioridad "ALTA", "MEDIA" o "BAJA" (sin importar mayúsculas)
+     * @return la tarea creada con su ID asignado
+     * @throws IllegalArgumentException si la prioridad no es válida
+     */
+    default TareaNormal agregarTareaNormalLogica(String nombre, String prioridad) {
+        return agregarTareaNormalLogica(nombre, Prioridad.desde(prioridad));
+    }
+
+    /**
+     * Variante con la prioridad como texto (compatibilidad).
+     *
+     * @param nombre      descripción de la tarea
+     * @param prioridad   "ALTA", "MEDIA" o "BAJA" (sin importar mayúsculas)
+     * @param fechaLimite fecha límite en formato "AAAA-MM-DD"
+     * @return la tarea urgente creada
+     * @throws IllegalArgumentException si la prioridad no es válida
+     */
+    default TareaUrgente agregarTareaUrgenteLogica(String nombre, String prioridad, String fechaLimite) {
+        return agregarTareaUrgenteLogica(nombre, Prioridad.desde(prioridad), fechaLimite);
+    }
+
+    /**
+     * Busca una tarea por su ID.
+     *
+     * @param id el identificador a buscar
+     * @return la {@link Tarea} si existe, o {@code null} si no se encuentra
+     */
+    Tarea buscarPorId(int id);
+
+    /**
+     * Devuelve todas las tareas en orden de ID.
+     *
+     * @return nueva lista con todas las tareas
+     */
+    List<Tarea> obtenerTodas();
+
+    /**
+     * Devuelve las tareas pendientes en orden de ID.
+     *
+     * @return nueva lista con las tareas no completadas
+     */
+    List<Tarea> obtenerPendientes();
+
+    /**
+     * Devuelve las tareas completadas en orden de ID.
+     *
+     * @return nueva lista con las tareas completadas
+     */
+    List<Tarea> obtenerCompletadas();
+
+    /**
+     * Marca una tarea como completada por su ID.
+     *
+     * @param id el identificador de la tarea
+     * @return {@code true} si se marcó, {@code false} si el ID no existe o ya estaba completada
+     */
+    boolean marcarComoCompletada(int id);
+
+    /**
+     * Elimina una tarea por su ID.
+     *
+     * @param id el identificador a eliminar
+     * @return {@code true} si se eliminó, {@code false} si el ID no existe
+     */
+    boolean eliminarTarea(int id);
+
+    /**
+     * Devuelve el total de tareas registradas.
+     *
+     * @return cantidad de tareas
+     */
+    int getTotalTareas();
+}
@@ -0,0 +1,55 @@
+package smarttask;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clase {@code PaginaTareas} — un tramo de tareas devuelto por
+ * {@link GestorTareas#obtenerPagina(int, int, Filtro)}.
+ *
+ * <p>En lugar de copiar todas las tareas en cada consulta, el cliente pide
+ * páginas de tamaño fijo. Cada página trae un <em>cursor</em>: el ID de la
+ * primera tarea de la página siguiente. Como el cursor es un ID y no una
+ * posición, agregar o eliminar tareas entre dos pedidos no hace que se
+ * repitan ni se salten filas ya leídas.</p>
+ *
+ * <pre>
+ *   int cursor = PaginaTareas.INICIO;
+ *   do {
+ *       PaginaTareas pagina = gestor.obtenerPagina(cursor, 50, PaginaTareas.Filtro.PENDIENTES);
+ *       for (Tarea t : pagina.getTareas()) { ... }
+ *       cursor = pagina.getSiguienteCursor();
+ *   } while (cursor != PaginaTareas.FIN);
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class PaginaTareas {
+
+    /** Estado de las tareas que entran en la página. */
+    public enum Filtro { TODAS, PENDIENTES, COMPLETADAS }
+
+    /** Cursor para pedir la primera página. */
+    public static final int INICIO = 0;
+
+    /** Cursor que indica que no quedan más tareas. */
+    public static final int FIN = -1;
+
+    private final List<Tarea> tareas;
+    private final int siguienteCursor;
+
+    PaginaTareas(List<Tarea> tareas, int siguienteCursor) {
+        this.tareas          = Collections.unmodifiableList(tareas);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    /** @return las tareas de esta página, en orden de ID (solo lectura) */
+    public List<Tarea> getTareas() { return tareas; }
+
+    /** @return el cursor de la página siguiente, o {@link #FIN} si esta es la última */
+    public int getSiguienteCursor() { return siguienteCursor; }
+
+    /** @return {@code true} si hay otra página después de esta */
+    public boolean hayMas() { return siguienteCursor != FIN; }
+}
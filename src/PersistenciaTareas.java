@@ -0,0 +1,313 @@
+package smarttask;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * Clase {@code PersistenciaTareas} — guarda en disco las tareas de un {@link GestorTareas}.
+ *
+ * <p>Combina dos archivos dentro de un directorio:</p>
+ * <ul>
+ *   <li><strong>{@code instantanea.bin}</strong>: todas las tareas en un momento dado,
+ *       en el formato de {@link AlmacenMapeadoTareas}. Al abrir solo se mapea:
+ *       las tareas se crean cuando se leen o cuando un cambio necesita
+ *       todas.</li>
+ *   <li><strong>{@code diario.log}</strong>: los cambios posteriores a esa instantánea
+ *       (ver {@link DiarioTareas}).</li>
+ * </ul>
+ *
+ * <p>Cada alta, cambio de estado, modificación o eliminación se agrega al diario en lugar de
+ * reescribir todo. Cuando el diario supera un umbral, el hilo de fondo del
+ * diario escribe una instantánea nueva a partir de la anterior y del propio
+ * diario (no toca el gestor, que es de un solo hilo) y descarta la parte ya
+ * incluida, así el arranque (instantánea + cola del diario) tarda lo mismo
+ * aunque la aplicación lleve meses en uso. Registrar un cambio nunca lanza
+ * excepciones: el cambio ya está hecho en memoria, y los errores de disco se
+ * informan en {@link #sincronizar()} y {@link #close()}.</p>
+ *
+ * <p>Uso típico:</p>
+ * <pre>
+ *   try (PersistenciaTareas datos = PersistenciaTareas.abrir(Paths.get("datos"), true)) {
+ *       GestorTareas gestor = datos.getGestor();
+ *       gestor.agregarTareaNormalLogica("Estudiar", "ALTA"); // queda en el diario
+ *   }
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class PersistenciaTareas implements Closeable {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTANTES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    static final String ARCHIVO_DIARIO      = "diario.log";
+    static final String ARCHIVO_INSTANTANEA = "instantanea.bin";
+
+    /** Tamaño del diario a partir del cual se escribe una instantánea (8 MB). */
+    public static final long UMBRAL_DIARIO_POR_DEFECTO = 8L * 1024 * 1024;
+
+    /** Intervalo de confirmación en grupo por defecto, en milisegundos. */
+    public static final long INTERVALO_CONFIRMACION_MS = 10;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final Path directorio;
+    private final GestorTareas gestor;
+    private final DiarioTareas diario;
+    private final long umbralDiario;
+
+    /** Serializa la escritura de instantáneas (la del umbral y la pedida). */
+    private final Object instantaneas = new Object();
+
+    /** Hay una instantánea por umbral pedida o en curso. */
+    private volatile boolean instantaneaEnCurso;
+
+    /** Error de la última instantánea por umbral; se informa en {@link #sincronizar()}. */
+    private volatile IOException errorInstantanea;
+
+    private PersistenciaTareas(Path directorio, GestorTareas gestor, DiarioTareas diario, long umbralDiario) {
+        this.directorio   = directorio;
+        this.gestor       = gestor;
+        this.diario       = diario;
+        this.umbralDiario = umbralDiario;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  APERTURA Y RECUPERACIÓN
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Abre el directorio con los valores por defecto.
+     *
+     * @param directorio     carpeta de datos (se crea si no existe)
+     * @param cargarEjemplos {@code true} para cargar las tareas de ejemplo
+     *                       si la carpeta todavía no tiene datos
+     * @return la persistencia abierta, con su gestor ya recuperado
+     * @throws IOException si no se pueden leer o crear los archivos
+     */
+    public static PersistenciaTareas abrir(Path directorio, boolean cargarEjemplos) throws IOException {
+        return abrir(directorio, cargarEjemplos, UMBRAL_DIARIO_POR_DEFECTO, INTERVALO_CONFIRMACION_MS);
+    }
+
+    /**
+     * Abre el directorio: carga la instantánea, aplica la cola del diario y
+     * deja el gestor conectado para registrar los cambios siguientes.
+     *
+     * @param directorio     carpeta de datos (se crea si no existe)
+     * @param cargarEjemplos {@code true} para cargar ejemplos si no hay datos
+     * @param umbralDiario   bytes de diario que disparan una instantánea
+     * @param intervaloMs    cada cuánto se confirma el diario en disco
+     * @return la persistencia abierta
+     * @throws IOException si no se pueden leer o crear los archivos
+     */
+    public static PersistenciaTareas abrir(Path directorio, boolean cargarEjemplos,
+                                           long umbralDiario, long intervaloMs) throws IOException {
+        Files.createDirectories(directorio);
+        Path archivoDiario      = directorio.resolve(ARCHIVO_DIARIO);
+        Path archivoInstantanea = directorio.resolve(ARCHIVO_INSTANTANEA);
+        boolean sinDatos = !Files.exists(archivoDiario) && !Files.exists(archivoInstantanea);
+
+        GestorTareas gestor = new GestorTareas(false);
+        long secuenciaInstantanea = cargarInstantanea(archivoInstantanea, gestor);
+        long secuenciaDiario = DiarioTareas.leer(archivoDiario, new Reproductor(gestor, secuenciaInstantanea));
+
+        DiarioTareas diario = new DiarioTareas(archivoDiario,
+                Math.max(secuenciaInstantanea, secuenciaDiario), intervaloMs);
+        PersistenciaTareas persistencia = new PersistenciaTareas(directorio, gestor, diario, umbralDiario);
+        gestor.persistencia = persistencia; // desde aquí cada cambio va al diario
+
+        if (sinDatos && cargarEjemplos) gestor.cargarTareasEjemplo();
+        return persistencia;
+    }
+
+    /** @return el gestor recuperado, conectado a esta persistencia */
+    public GestorTareas getGestor() { return gestor; }
+
+    /**
+     * Espera a que todos los cambios registrados estén escritos en disco.
+     *
+     * @throws IOException si falla la escritura, o si falló una instantánea
+     *                     por umbral (el diario sigue completo)
+     */
+    public void sincronizar() throws IOException {
+        diario.sincronizar();
+        IOException e = errorInstantanea;
+        if (e != null) {
+            errorInstantanea = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Escribe una instantánea con todas las tareas y vacía el diario.
+     * La instantánea se escribe en un archivo temporal y luego se renombra,
+     * así una caída a mitad de camino nunca deja una instantánea corrupta.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public void instantanea() throws IOException {
+        synchronized (instantaneas) {
+            Path temporal = directorio.resolve(ARCHIVO_INSTANTANEA + ".tmp");
+            long secuencia = diario.getSecuencia();
+
+            AlmacenMapeadoTareas.escribir(gestor.obtenerTodas(), gestor.getSiguienteId(), secuencia, temporal);
+            Files.move(temporal, directorio.resolve(ARCHIVO_INSTANTANEA),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            // Si el proceso cae aquí, al reabrir se saltan los registros ya incluidos
+            diario.truncar();
+        }
+    }
+
+    /**
+     * Confirma lo pendiente y desconecta el gestor del diario.
+     *
+     * @throws IOException si falla la última escritura o la última
+     *                     instantánea por umbral
+     */
+    @Override
+    public void close() throws IOException {
+        gestor.persistencia = null;
+        diario.close(); // espera también la instantánea de fondo que esté en curso
+        IOException e = errorInstantanea;
+        if (e != null) throw e;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AVISOS DEL GESTOR (de paquete)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** @param tarea tarea recién agregada al gestor */
+    void alAgregar(Tarea tarea) {
+        diario.registrarAlta(tarea);
+        // El alta no guarda el estado: una tarea que llega ya completada necesita su registro
+        if (tarea.isCompletado()) diario.registrarEstado(tarea);
+        revisarUmbral();
+    }
+
+    /** @param tarea tarea cuyo estado acaba de cambiar */
+    void alCambiarEstado(Tarea tarea) {
+        diario.registrarEstado(tarea);
+        revisarUmbral();
+    }
+
+    /** @param tarea tarea cuyo nombre, prioridad o fecha límite acaba de cambiar */
+    void alModificar(Tarea tarea) {
+        diario.registrarModificacion(tarea);
+        revisarUmbral();
+    }
+
+    /** @param id ID de la tarea recién eliminada */
+    void alEliminar(int id) {
+        diario.registrarBaja(id);
+        revisarUmbral();
+    }
+
+    /** Pide una instantánea al hilo del diario si el diario ya creció demasiado. */
+    private void revisarUmbral() {
+        if (instantaneaEnCurso || diario.getTamano() < umbralDiario) return;
+        instantaneaEnCurso = true;
+        diario.enFondo(this::instantaneaDeFondo);
+    }
+
+    /**
+     * Corre en el hilo del diario: arma las tareas desde la instantánea
+     * anterior y el diario hasta un corte, las escribe como instantánea nueva
+     * y descarta del diario lo que quedó incluido. Los cambios posteriores al
+     * corte siguen en el diario. Si algo falla, el diario queda completo.
+     */
+    private void instantaneaDeFondo() {
+        try {
+            synchronized (instantaneas) {
+                DiarioTareas.Corte corte = diario.cortar();
+                Path archivoInstantanea = directorio.resolve(ARCHIVO_INSTANTANEA);
+                Path temporal = directorio.resolve(ARCHIVO_INSTANTANEA + ".tmp");
+
+                GestorTareas copia = new GestorTareas(false);
+                long desde = cargarInstantanea(archivoInstantanea, copia);
+                DiarioTareas.leerHasta(directorio.resolve(ARCHIVO_DIARIO), corte.bytes, new Reproductor(copia, desde));
+
+                AlmacenMapeadoTareas.escribir(copia.obtenerTodas(), copia.getSiguienteId(), corte.secuencia, temporal);
+                Files.move(temporal, archivoInstantanea, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                diario.descartarHasta(corte.bytes);
+            }
+        } catch (IOException | RuntimeException e) {
+            errorInstantanea = e instanceof IOException io ? io : new IOException("No se pudo escribir la instantánea", e);
+        } finally {
+            instantaneaEnCurso = false;
+        }
+        if (errorInstantanea == null) revisarUmbral(); // lo que llegó durante esta ya puede superarlo
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  LECTURA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Conecta la instantánea al gestor: la mapea y lo respalda con ella, sin
+     * crear las tareas (ver {@link AlmacenMapeadoTareas#crearGestor()}).
+     *
+     * @return secuencia del diario incluida en la instantánea (0 si no hay)
+     */
+    private static long cargarInstantanea(Path archivo, GestorTareas gestor) throws IOException {
+        if (!Files.exists(archivo)) return 0;
+        AlmacenMapeadoTareas almacen = AlmacenMapeadoTareas.abrir(archivo);
+        gestor.respaldarCon(almacen);
+        return almacen.getSecuencia();
+    }
+
+    /**
+     * Aplica al gestor los registros del diario posteriores a la instantánea.
+     * Mientras reproduce, el gestor todavía no tiene persistencia conectada,
+     * así que nada se vuelve a escribir en el diario.
+     */
+    private static final class Reproductor implements DiarioTareas.Lector {
+        private final GestorTareas gestor;
+        private final long desde;
+
+        Reproductor(GestorTareas gestor, long desde) {
+            this.gestor = gestor;
+            this.desde  = desde;
+        }
+
+        @Override
+        public void alta(long secuencia, byte tipo, int id, String prioridad, String nombre, String fechaLimite) {
+            if (secuencia <= desde) return;
+            gestor.insertar(tipo == DiarioTareas.ALTA_URGENTE
+                    ? new TareaUrgente(id, nombre, prioridad, fechaLimite)
+                    : new TareaNormal(id, nombre, prioridad));
+        }
+
+        @Override
+        public void estado(long secuencia, int id, boolean completado) {
+            if (secuencia <= desde) return;
+            Tarea t = gestor.buscarPorId(id);
+            if (t != null) t.setCompletado(completado);
+        }
+
+        @Override
+        public void baja(long secuencia, int id) {
+            if (secuencia <= desde) return;
+            gestor.eliminarTarea(id);
+        }
+
+        @Override
+        public void modificacion(long secuencia, int id, String prioridad, String nombre, String fechaLimite) {
+            if (secuencia <= desde) return;
+            Tarea t = gestor.buscarPorId(id);
+            if (t == null) return;
+            t.setNombre(nombre);
+            t.setPrioridad(prioridad);
+            if (t instanceof TareaUrgente u && !Objects.equals(u.getFechaLimite(), fechaLimite)) {
+                u.setFechaLimite(fechaLimite);
+            }
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link PersistenciaTareas} y {@link DiarioTareas}.
+ *
+ * <p>Cada test trabaja en una carpeta temporal ({@code @TempDir}): abre la
+ * persistencia, hace cambios, la cierra y vuelve a abrirla para comprobar
+ * que el gestor recuperado es igual al original.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de persistencia — diario e instantáneas")
+class PersistenciaTareasTest {
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    @DisplayName("Altas, completados y bajas sobreviven a un reinicio")
+    void testReinicioRecuperaCambios() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            g.agregarTareaNormalLogica("Estudiar", "ALTA");
+            g.agregarTareaUrgenteLogica("Entregar", "ALTA", "2026-03-01");
+            g.agregarTareaNormalLogica("Leer", "BAJA");
+            g.marcarComoCompletada(1);
+            g.eliminarTarea(3);
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertEquals(2, g.getTotalTareas());
+            assertTrue(g.buscarPorId(1).isCompletado());
+            assertEquals("2026-03-01", ((TareaUrgente) g.buscarPorId(2)).getFechaLimite());
+            assertNull(g.buscarPorId(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Cambios de nombre, prioridad y fecha límite sobreviven a un reinicio")
+    void testModificacionesSobreviven() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            g.agregarTareaNormalLogica("Estudiar", "ALTA");
+            TareaUrgente u = g.agregarTareaUrgenteLogica("Entregar", "ALTA", "2026-03-01");
+            g.buscarPorId(1).setNombre("Estudiar Java");
+            g.buscarPorId(1).setPrioridad(Prioridad.BAJA);
+            u.setFechaLimite("2026-04-15");
+            u.setNombre("Entregar informe");
+            u.setCompletado(true);
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertEquals("Estudiar Java", g.buscarPorId(1).getNombre());
+            assertEquals(Prioridad.BAJA, g.buscarPorId(1).getPrioridad());
+            TareaUrgente u = (TareaUrgente) g.buscarPorId(2);
+            assertEquals("Entregar informe", u.getNombre());
+            assertEquals("2026-04-15", u.getFechaLimite());
+            assertEquals(Prioridad.ALTA, u.getPrioridad());
+            assertTrue(u.isCompletado());
+            assertEquals(1, g.buscar("java", 10).size()); // el índice de texto ve el nombre recuperado
+            u.setPrioridad(Prioridad.MEDIA); // después de recuperar, los cambios siguen yendo al diario
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            assertEquals(Prioridad.MEDIA, datos.getGestor().buscarPorId(2).getPrioridad());
+        }
+    }
+
+    @Test
+    @DisplayName("Un nombre o una fecha límite null se guardan en el diario y vuelven como null")
+    void testTextosNullEnElDiario() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            g.agregarTareaNormalLogica(null, "ALTA");
+            TareaUrgente u = g.agregarTareaUrgenteLogica("Entregar", "ALTA", null);
+            g.agregarTareaUrgenteLogica("Vacía", "BAJA", "");
+            u.setNombre(null);
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertNull(g.buscarPorId(1).getNombre());
+            assertNull(g.buscarPorId(2).getNombre());
+            assertNull(((TareaUrgente) g.buscarPorId(2)).getFechaLimite());
+            assertEquals("", ((TareaUrgente) g.buscarPorId(3)).getFechaLimite());
+        }
+    }
+
+    @Test
+    @DisplayName("ejecutar() sobre una tarea también queda registrado")
+    void testEjecutarQuedaEnDiario() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            datos.getGestor().agregarTareaNormalLogica("Estudiar", "ALTA").ejecutar();
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            assertTrue(datos.getGestor().buscarPorId(1).isCompletado());
+        }
+    }
+
+    @Test
+    @DisplayName("Superar el umbral escribe una instantánea y vacía el diario")
+    void testInstantaneaPorUmbral() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false, 2_000, 5)) {
+            GestorTareas g = datos.getGestor();
+            for (int i = 0; i < 200; i++) g.agregarTareaNormalLogica("Tarea " + i, "MEDIA");
+        }
+
+        assertTrue(Files.exists(carpeta.resolve(PersistenciaTareas.ARCHIVO_INSTANTANEA)));
+        assertTrue(Files.size(carpeta.resolve(PersistenciaTareas.ARCHIVO_DIARIO)) < 2_000);
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            assertEquals(200, datos.getGestor().getTotalTareas());
+            assertEquals("Tarea 199", datos.getGestor().buscarPorId(200).getNombre());
+        }
+    }
+
+    @Test
+    @DisplayName("La instantánea se abre mapeada y los cambios siguientes se reproducen sin cargarla")
+    void testInstantaneaMapeada() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            for (int i = 0; i < 1_000; i++) g.agregarTareaNormalLogica("Tarea " + i, "MEDIA");
+            g.marcarComoCompletada(10);
+            datos.instantanea();
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertTrue(g.isRespaldado());
+            assertEquals(1_000, g.getTotalTareas());
+            assertTrue(g.buscarPorId(10).isCompletado());
+            assertTrue(g.marcarComoCompletada(20));
+            g.buscarPorId(30).setNombre("Renombrada");
+            assertTrue(g.isRespaldado()); // los cambios van al diario sin cargar las 1000 tareas
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertTrue(g.isRespaldado());
+            assertTrue(g.buscarPorId(20).isCompletado());
+            assertEquals("Renombrada", g.buscarPorId(30).getNombre());
+            assertEquals(2, g.obtenerCompletadas().size());
+            assertEquals(1_001, g.agregarTareaNormalLogica("Nueva", "BAJA").getId());
+        }
+    }
+
+    @Test
+    @DisplayName("La instantánea por umbral se escribe en el hilo del diario sin cargar el gestor")
+    void testInstantaneaPorUmbralDeFondo() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            for (int i = 0; i < 1_000; i++) g.agregarTareaNormalLogica("Tarea " + i, "MEDIA");
+            datos.instantanea();
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false, 2_000, 5)) {
+            GestorTareas g = datos.getGestor();
+            for (int id = 1; id <= 300; id++) assertTrue(g.marcarComoCompletada(id));
+            assertTrue(g.isRespaldado()); // la instantánea sale del archivo y del diario, no del gestor
+            datos.sincronizar();
+        }
+        assertTrue(Files.size(carpeta.resolve(PersistenciaTareas.ARCHIVO_DIARIO)) < 2_000);
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertEquals(1_000, g.getTotalTareas());
+            assertEquals(300, g.obtenerCompletadas().size());
+            assertEquals(300, g.obtenerCompletadas().get(299).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Conectar el planificador, como al arrancar el menú, no carga la instantánea")
+    void testPlanificadorNoCargaInstantanea() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            for (int i = 0; i < 100; i++) g.agregarTareaNormalLogica("Tarea " + i, "MEDIA");
+            g.agregarTareaUrgenteLogica("Entregar", "ALTA", "2026-03-01");
+            g.agregarTareaUrgenteLogica("Pagar", "ALTA", "2026-03-05");
+            g.agregarTareaUrgenteLogica("Renovar", "ALTA", "2026-03-10");
+            datos.instantanea();
+        }
+
+        AtomicLong ahora = new AtomicLong(medianoche("2026-02-20"));
+        List<String> avisos = new ArrayList<>();
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false,
+                PersistenciaTareas.UMBRAL_DIARIO_POR_DEFECTO, PersistenciaTareas.INTERVALO_CONFIRMACION_MS)) {
+            GestorTareas g = datos.getGestor();
+            PlanificadorVencimientos planificador = new PlanificadorVencimientos(g, new PlanificadorVencimientos.Oyente() {
+                @Override public void porVencer(TareaUrgente t) { avisos.add("por vencer " + t.getNombre()); }
+                @Override public void vencida(TareaUrgente t)   { avisos.add("vencida " + t.getNombre()); }
+            }, ahora::get, Duration.ofDays(1), ZoneOffset.UTC);
+            assertTrue(g.isRespaldado());
+            assertEquals(6, planificador.getProgramados());
+
+            // Completar y cambiar la fecha de tareas todavía respaldadas cancela y reprograma
+            assertTrue(g.marcarComoCompletada(102));
+            ((TareaUrgente) g.buscarPorId(103)).setFechaLimite("2026-03-02");
+            assertEquals(4, planificador.getProgramados());
+
+            ahora.set(medianoche("2026-03-02") + 60_000);
+            assertEquals(3, planificador.avanzar());
+            assertEquals(List.of("por vencer Entregar", "vencida Entregar", "por vencer Renovar"), avisos);
+            assertTrue(g.isRespaldado());
+
+            // Al cargar todo, los avisos que quedan siguen programados una sola vez
+            assertEquals(2, g.vistaPendientes().size() - 100);
+            assertFalse(g.isRespaldado());
+            assertEquals(1, planificador.getProgramados());
+            ahora.set(medianoche("2026-03-03"));
+            assertEquals(1, planificador.avanzar());
+            assertEquals("vencida Renovar", avisos.get(3));
+            planificador.cerrar();
+        }
+    }
+
+    /** Medianoche UTC del día indicado, en milisegundos. */
+    private static long medianoche(String fecha) {
+        return LocalDate.parse(fecha).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    @Test
+    @DisplayName("Los IDs eliminados antes de una instantánea no se reutilizan")
+    void testNoReutilizaIds() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            g.agregarTareaNormalLogica("T1", "ALTA");
+            g.agregarTareaNormalLogica("T2", "ALTA");
+            g.eliminarTarea(2);
+            datos.instantanea();
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            assertEquals(3, datos.getGestor().agregarTareaNormalLogica("T3", "BAJA").getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Un registro cortado al final del diario se descarta sin perder los anteriores")
+    void testColaCortada() throws IOException {
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            datos.getGestor().agregarTareaNormalLogica("T1", "ALTA");
+            datos.getGestor().agregarTareaNormalLogica("T2", "ALTA");
+        }
+        Path diario = carpeta.resolve(PersistenciaTareas.ARCHIVO_DIARIO);
+        try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3); // simula una caída a mitad de escritura
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            GestorTareas g = datos.getGestor();
+            assertEquals(1, g.getTotalTareas());
+            assertEquals("T1", g.buscarPorId(1).getNombre());
+            // el diario sigue siendo usable después del truncado
+            g.agregarTareaNormalLogica("T2 otra vez", "MEDIA");
+        }
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, false)) {
+            assertEquals(2, datos.getGestor().getTotalTareas());
+        }
+    }
+
+    @Test
+    @DisplayName("Una carpeta nueva carga los ejemplos solo la primera vez")
+    void testEjemplosSoloLaPrimeraVez() throws IOException {
+        int ejemplos;
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, true)) {
+            ejemplos = datos.getGestor().getTotalTareas();
+            assertTrue(ejemplos > 0);
+            datos.getGestor().eliminarTarea(1);
+        }
+
+        try (PersistenciaTareas datos = PersistenciaTareas.abrir(carpeta, true)) {
+            assertEquals(ejemplos - 1, datos.getGestor().getTotalTareas());
+        }
+    }
+}
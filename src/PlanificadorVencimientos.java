@@ -0,0 +1,369 @@
+package smarttask;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Clase {@code PlanificadorVencimientos} — avisa cuando una tarea urgente
+ * está por vencer y cuando vence.
+ *
+ * <p>Revisar todas las tareas cada cierto tiempo no escala. Este planificador
+ * guarda cada aviso en una <em>rueda de tiempo jerárquica</em>: seis niveles
+ * de {@link #RANURAS} ranuras; cada ranura del nivel 0 dura un tic
+ * ({@link #TIC}, un minuto) y cada ranura de un nivel abarca una
+ * vuelta entera del nivel anterior. Un aviso entra en el nivel más bajo que
+ * alcanza su momento y, cuando la rueda llega a su ranura, baja al nivel
+ * siguiente hasta dispararse en el nivel 0. Programar y cancelar son O(1):
+ * cada ranura es una lista doblemente enlazada y la tarea recuerda sus
+ * avisos.</p>
+ *
+ * <p>Se conecta al {@link GestorTareas} al crearlo: programa las urgentes
+ * pendientes que ya existen y, desde ahí, el gestor le avisa de cada urgente
+ * nueva o reabierta, de cada cambio de {@code fechaLimite} y de cada tarea que
+ * se completa o se elimina. Las tareas sin fecha válida (AAAA-MM-DD) no
+ * tienen avisos. Si el gestor todavía está respaldado por un archivo mapeado,
+ * los avisos se programan desde los registros, sin crear las tareas: cada
+ * aviso recuerda el ID y busca su tarea recién al dispararse (o cuando el
+ * gestor la crea por otro motivo).</p>
+ *
+ * <p>Una tarea vence al terminar el día de su fecha límite (medianoche en la
+ * {@link ZoneId} indicada) y está "por vencer" desde la anticipación elegida
+ * antes de ese momento. El planificador no tiene hilo propio: quien lo usa
+ * llama a {@link #avanzar()} (por ejemplo, en cada vuelta del menú) desde el
+ * mismo hilo que usa el gestor, y la hora la da un {@link Reloj}
+ * intercambiable, así se prueba sin esperar.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class PlanificadorVencimientos {
+
+    /** Fuente de la hora actual, en milisegundos desde 1970-01-01T00:00Z. */
+    @FunctionalInterface
+    public interface Reloj {
+        long ahora();
+
+        /** Reloj del sistema. */
+        Reloj SISTEMA = System::currentTimeMillis;
+    }
+
+    /** Recibe los avisos; se llama desde {@link #avanzar()}. */
+    public interface Oyente {
+        /** La tarea entró en el período de anticipación. */
+        void porVencer(TareaUrgente tarea);
+
+        /** Terminó el día de la fecha límite y la tarea sigue pendiente. */
+        void vencida(TareaUrgente tarea);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTANTES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Duración de un tic (milisegundos): la precisión de los avisos. */
+    public static final long TIC = 60_000;
+
+    /** Anticipación del aviso "por vencer" si no se indica otra. */
+    public static final Duration ANTICIPACION_POR_DEFECTO = Duration.ofDays(1);
+
+    private static final int BITS = 6;
+
+    /** Ranuras por nivel. */
+    static final int RANURAS = 1 << BITS;
+
+    private static final int MASCARA = RANURAS - 1;
+
+    /** Niveles: 64^6 tics de un minuto son más de 130 000 años. */
+    static final int NIVELES = 6;
+
+    /** Máxima distancia (en tics) que la rueda representa sin recortar. */
+    private static final long ALCANCE = 1L << (BITS * NIVELES);
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final GestorTareas gestor;
+    private final Oyente oyente;
+    private final Reloj reloj;
+    private final long anticipacion;
+    private final ZoneId zona;
+
+    /** Centinelas de las listas: {@code nivel * RANURAS + ranura}. */
+    private final Temporizador[] ranuras = new Temporizador[NIVELES * RANURAS];
+
+    /** Avisos cuyo momento ya llegó; se disparan en el próximo {@link #avanzar()}. */
+    private final Temporizador listos = Temporizador.centinela();
+
+    /** Último tic procesado. */
+    private long ticActual;
+
+    private int programados;
+
+    /** Aviso "vencida" de cada tarea todavía sin crear, por ID. */
+    private final MapaEnteros<Temporizador> sinTarea = new MapaEnteros<>();
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Crea un planificador con el reloj del sistema, la zona horaria local y
+     * un día de anticipación.
+     *
+     * @param gestor gestor cuyas tareas urgentes se vigilan
+     * @param oyente quien recibe los avisos
+     */
+    public PlanificadorVencimientos(GestorTareas gestor, Oyente oyente) {
+        this(gestor, oyente, Reloj.SISTEMA, ANTICIPACION_POR_DEFECTO, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param gestor       gestor cuyas tareas urgentes se vigilan
+     * @param oyente       quien recibe los avisos
+     * @param reloj        fuente de la hora actual
+     * @param anticipacion cuánto antes del vencimiento se avisa "por vencer"
+     *                     ({@link Duration#ZERO} para no avisar)
+     * @param zona         zona horaria en la que terminan los días
+     * @throws IllegalStateException si el gestor ya tiene un planificador
+     */
+    public PlanificadorVencimientos(GestorTareas gestor, Oyente oyente, Reloj reloj,
+                                    Duration anticipacion, ZoneId zona) {
+        if (anticipacion.isNegative()) throw new IllegalArgumentException("La anticipación no puede ser negativa");
+        if (gestor.planificador != null) throw new IllegalStateException("El gestor ya tiene un planificador");
+        this.gestor       = gestor;
+        this.oyente       = oyente;
+        this.reloj        = reloj;
+        this.anticipacion = anticipacion.toMillis();
+        this.zona         = zona;
+        for (int i = 0; i < ranuras.length; i++) ranuras[i] = Temporizador.centinela();
+        ticActual = Math.floorDiv(reloj.ahora(), TIC);
+
+        gestor.programarVencimientos(this);
+        gestor.planificador = this; // desde aquí el gestor avisa cada cambio
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  API PÚBLICA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lleva la rueda hasta la hora actual del reloj y dispara, en orden, los
+     * avisos cuyo momento llegó.
+     *
+     * @return cantidad de avisos disparados
+     */
+    public int avanzar() {
+        long hasta = Math.floorDiv(reloj.ahora(), TIC);
+        int disparados = disparar(listos);
+        while (ticActual < hasta) {
+            if (programados == 0) { // nada que mover: salta directo
+                ticActual = hasta;
+                break;
+            }
+            ticActual++;
+            // Al completar una vuelta de un nivel, baja la ranura siguiente del
+            // nivel de arriba; se empieza por el nivel más alto que dio la vuelta
+            int nivel = 0;
+            while (nivel < NIVELES - 1 && (ticActual & ((1L << (BITS * (nivel + 1))) - 1)) == 0) nivel++;
+            for (; nivel >= 1; nivel--) bajar(ranuras[indice(nivel, ticActual)]);
+            disparados += disparar(ranuras[indice(0, ticActual)]);
+            disparados += disparar(listos);
+        }
+        return disparados;
+    }
+
+    /** @return avisos programados que todavía no se dispararon */
+    public int getProgramados() {
+        return programados;
+    }
+
+    /**
+     * Desconecta el planificador del gestor y cancela todos los avisos.
+     */
+    public void cerrar() {
+        if (gestor.planificador == this) gestor.planificador = null;
+        for (Temporizador ranura : ranuras) vaciar(ranura);
+        vaciar(listos);
+        sinTarea.clear();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  AVISOS DEL GESTOR (de paquete)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * (Re)programa los avisos de una tarea urgente pendiente según su fecha
+     * límite actual. Si la fecha no es válida, solo cancela los anteriores.
+     */
+    void programar(TareaUrgente tarea) {
+        cancelar(tarea);
+        if (tarea.getDiaLimite() == TareaUrgente.SIN_FECHA) return;
+        long vence = LocalDate.ofEpochDay(tarea.getDiaLimite() + 1L).atStartOfDay(zona).toInstant().toEpochMilli();
+        if (anticipacion > 0 && reloj.ahora() < vence) {
+            tarea.avisoPorVencer = agregar(tarea, true, vence - anticipacion);
+        }
+        tarea.avisoVencida = agregar(tarea, false, vence);
+    }
+
+    /**
+     * Programa los avisos de una urgente pendiente que el gestor todavía no
+     * creó; se enlazan a la tarea con {@link #vincular(TareaUrgente)}.
+     *
+     * @param id  ID de la tarea
+     * @param dia fecha límite, en días desde 1970-01-01
+     */
+    void programar(int id, int dia) {
+        long vence = LocalDate.ofEpochDay(dia + 1L).atStartOfDay(zona).toInstant().toEpochMilli();
+        Temporizador vencida = new Temporizador(id, false, Math.ceilDiv(vence, TIC));
+        if (anticipacion > 0 && reloj.ahora() < vence) {
+            vencida.pareja = new Temporizador(id, true, Math.ceilDiv(vence - anticipacion, TIC));
+            ubicar(vencida.pareja);
+            programados++;
+        }
+        ubicar(vencida);
+        programados++;
+        sinTarea.put(id, vencida);
+    }
+
+    /**
+     * Enlaza a la tarea recién creada los avisos que se programaron por su ID,
+     * para que cancelar y reprogramar la encuentren.
+     */
+    void vincular(TareaUrgente tarea) {
+        if (sinTarea.size() == 0) return;
+        Temporizador vencida = sinTarea.remove(tarea.getId());
+        if (vencida == null) return;
+        Temporizador porVencer = vencida.pareja;
+        if (porVencer != null && porVencer.siguiente != null) {
+            porVencer.tarea = tarea;
+            tarea.avisoPorVencer = porVencer;
+        }
+        vencida.tarea = tarea;
+        tarea.avisoVencida = vencida;
+    }
+
+    /** Cancela los avisos pendientes de una tarea; O(1). */
+    void cancelar(TareaUrgente tarea) {
+        if (tarea.avisoPorVencer != null) { quitar(tarea.avisoPorVencer); tarea.avisoPorVencer = null; }
+        if (tarea.avisoVencida != null)   { quitar(tarea.avisoVencida);   tarea.avisoVencida = null; }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RUEDA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private Temporizador agregar(TareaUrgente tarea, boolean porVencer, long momento) {
+        Temporizador t = new Temporizador(tarea.getId(), porVencer, Math.ceilDiv(momento, TIC));
+        t.tarea = tarea;
+        ubicar(t);
+        programados++;
+        return t;
+    }
+
+    /** Pone el aviso en el nivel más bajo cuya vuelta alcanza su tic. */
+    private void ubicar(Temporizador t) {
+        long distancia = t.tic - ticActual;
+        if (distancia <= 0) {
+            t.enlazarAntesDe(listos);
+            return;
+        }
+        // Más allá del alcance se recorta: al bajar se vuelve a ubicar con su tic real
+        long destino = distancia < ALCANCE ? t.tic : ticActual + ALCANCE - 1;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && destino - ticActual >= 1L << (BITS * (nivel + 1))) nivel++;
+        t.enlazarAntesDe(ranuras[indice(nivel, destino)]);
+    }
+
+    private static int indice(int nivel, long tic) {
+        return nivel * RANURAS + (int) ((tic >>> (BITS * nivel)) & MASCARA);
+    }
+
+    /** Reubica cada aviso de la ranura en un nivel más bajo. */
+    private void bajar(Temporizador ranura) {
+        // Se separa la lista primero: un aviso puede volver a una ranura de este mismo nivel
+        Temporizador primero = ranura.siguiente;
+        if (primero == ranura) return;
+        ranura.anterior.siguiente = null;
+        ranura.siguiente = ranura.anterior = ranura;
+        for (Temporizador t = primero; t != null; ) {
+            Temporizador siguiente = t.siguiente;
+            ubicar(t);
+            t = siguiente;
+        }
+    }
+
+    /** Dispara los avisos de la ranura de a uno; el oyente puede programar o cancelar otros. */
+    private int disparar(Temporizador ranura) {
+        int disparados = 0;
+        while (ranura.siguiente != ranura) {
+            Temporizador t = ranura.siguiente;
+            if (t.tarea == null) gestor.buscarPorId(t.id); // la crea y la vincula
+            quitar(t);
+            if (t.tarea == null) continue;                 // ya no existe
+            if (t.porVencer) t.tarea.avisoPorVencer = null;
+            else             t.tarea.avisoVencida = null;
+            if (t.porVencer) oyente.porVencer(t.tarea);
+            else             oyente.vencida(t.tarea);
+            disparados++;
+        }
+        return disparados;
+    }
+
+    private void quitar(Temporizador t) {
+        t.desenlazar();
+        programados--;
+    }
+
+    /** Quita todos los avisos de la ranura sin dispararlos. */
+    private void vaciar(Temporizador ranura) {
+        while (ranura.siguiente != ranura) {
+            Temporizador t = ranura.siguiente;
+            quitar(t);
+            if (t.tarea == null) continue;
+            if (t.porVencer) t.tarea.avisoPorVencer = null;
+            else             t.tarea.avisoVencida = null;
+        }
+    }
+
+    /**
+     * Nodo de una ranura: un aviso de una tarea. Es de paquete para que
+     * {@link TareaUrgente} pueda guardar los suyos.
+     */
+    static final class Temporizador {
+        final int id;
+        final boolean porVencer;
+        final long tic;
+        /** {@code null} mientras la tarea siga sin crear en el respaldo. */
+        TareaUrgente tarea;
+        /** En el aviso "vencida" de una tarea sin crear: su aviso "por vencer". */
+        Temporizador pareja;
+        Temporizador anterior, siguiente;
+
+        Temporizador(int id, boolean porVencer, long tic) {
+            this.id        = id;
+            this.porVencer = porVencer;
+            this.tic       = tic;
+        }
+
+        static Temporizador centinela() {
+            Temporizador c = new Temporizador(0, false, 0);
+            c.anterior = c.siguiente = c;
+            return c;
+        }
+
+        void enlazarAntesDe(Temporizador centinela) {
+            anterior = centinela.anterior;
+            siguiente = centinela;
+            anterior.siguiente = this;
+            centinela.anterior = this;
+        }
+
+        void desenlazar() {
+            anterior.siguiente = siguiente;
+            siguiente.anterior = anterior;
+            anterior = siguiente = null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link PlanificadorVencimientos}: avisos "por vencer" y
+ * "vencida" con un reloj manual, reprogramación al cambiar la fecha,
+ * cancelación al completar o eliminar, y exactitud de la rueda con miles de
+ * fechas al azar.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del planificador de vencimientos")
+class PlanificadorVencimientosTest {
+
+    private static final long MINUTO = 60_000;
+
+    private GestorTareas gestor;
+    private AtomicLong ahora;
+    private List<String> avisos;
+    private PlanificadorVencimientos planificador;
+
+    /** Medianoche UTC del día indicado, en milisegundos. */
+    private static long medianoche(String fecha) {
+        return LocalDate.parse(fecha).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+        ahora  = new AtomicLong(medianoche("2026-02-20"));
+        avisos = new ArrayList<>();
+    }
+
+    private void conectar() {
+        planificador = new PlanificadorVencimientos(gestor, new PlanificadorVencimientos.Oyente() {
+            @Override public void porVencer(TareaUrgente t) { avisos.add("por vencer #" + t.getId()); }
+            @Override public void vencida(TareaUrgente t)   { avisos.add("vencida #" + t.getId()); }
+        }, ahora::get, Duration.ofDays(1), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Avisa un día antes y al terminar el día de la fecha límite")
+    void testAvisos() {
+        conectar();
+        gestor.agregarTareaUrgenteLogica("Entregar", Prioridad.ALTA, "2026-03-01");
+        gestor.agregarTareaNormalLogica("Sin fecha", Prioridad.ALTA);
+        gestor.agregarTareaUrgenteLogica("Fecha libre", Prioridad.ALTA, "pronto");
+        assertEquals(2, planificador.getProgramados());
+
+        ahora.set(medianoche("2026-03-01") - MINUTO);
+        assertEquals(0, planificador.avanzar());
+        ahora.set(medianoche("2026-03-01"));
+        assertEquals(1, planificador.avanzar());
+        assertEquals(List.of("por vencer #1"), avisos);
+
+        ahora.set(medianoche("2026-03-02") + 5 * MINUTO);
+        assertEquals(1, planificador.avanzar());
+        assertEquals(List.of("por vencer #1", "vencida #1"), avisos);
+        assertEquals(0, planificador.getProgramados());
+    }
+
+    @Test
+    @DisplayName("Programa al conectarse las urgentes pendientes que ya existían")
+    void testTareasExistentes() {
+        gestor.agregarTareaUrgenteLogica("Vencida hace días", Prioridad.ALTA, "2026-02-01");
+        gestor.agregarTareaUrgenteLogica("Completada", Prioridad.ALTA, "2026-02-25");
+        gestor.marcarComoCompletada(2);
+        conectar();
+
+        assertEquals(1, planificador.getProgramados(), "Solo 'vencida' para la que ya venció");
+        assertEquals(1, planificador.avanzar(), "Lo que ya venció se avisa en el siguiente avanzar()");
+        assertEquals(List.of("vencida #1"), avisos);
+    }
+
+    @Test
+    @DisplayName("setFechaLimite() reprograma; completar y eliminar cancelan")
+    void testReprogramarYCancelar() {
+        conectar();
+        TareaUrgente mover = gestor.agregarTareaUrgenteLogica("Mover", Prioridad.ALTA, "2026-03-01");
+        gestor.agregarTareaUrgenteLogica("Completar", Prioridad.ALTA, "2026-03-01");
+        gestor.agregarTareaUrgenteLogica("Eliminar", Prioridad.ALTA, "2026-03-01");
+        assertEquals(6, planificador.getProgramados());
+
+        mover.setFechaLimite("2026-04-01");
+        gestor.marcarComoCompletada(2);
+        gestor.eliminarTarea(3);
+        assertEquals(2, planificador.getProgramados());
+
+        ahora.set(medianoche("2026-03-10"));
+        assertEquals(0, planificador.avanzar());
+
+        // Reabrir vuelve a programar (ya pasó la fecha: solo 'vencida')
+        gestor.buscarPorId(2).setCompletado(false);
+        assertEquals(1, planificador.avanzar());
+        assertEquals(List.of("vencida #2"), avisos);
+
+        ahora.set(medianoche("2026-04-02"));
+        planificador.avanzar();
+        assertEquals(List.of("vencida #2", "por vencer #1", "vencida #1"), avisos);
+    }
+
+    @Test
+    @DisplayName("El oyente puede completar tareas mientras se disparan los avisos")
+    void testOyenteModificaGestor() {
+        planificador = new PlanificadorVencimientos(gestor, new PlanificadorVencimientos.Oyente() {
+            @Override public void porVencer(TareaUrgente t) { gestor.marcarComoCompletada(t.getId()); }
+            @Override public void vencida(TareaUrgente t)   { fail("Ya estaba completada: #" + t.getId()); }
+        }, ahora::get, Duration.ofDays(1), ZoneOffset.UTC);
+        for (int i = 0; i < 10; i++) gestor.agregarTareaUrgenteLogica("T" + i, Prioridad.MEDIA, "2026-03-01");
+
+        ahora.set(medianoche("2026-03-05"));
+        assertEquals(10, planificador.avanzar());
+        assertEquals(0, planificador.getProgramados());
+        assertTrue(gestor.obtenerPendientes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Miles de fechas al azar: cada aviso sale en el primer avanzar() que llega a su momento")
+    void testRuedaExacta() {
+        long[] anterior = { ahora.get() };
+        Map<Integer, long[]> disparos = new HashMap<>(); // id → {hora anterior, hora del aviso}
+        planificador = new PlanificadorVencimientos(gestor, new PlanificadorVencimientos.Oyente() {
+            @Override public void porVencer(TareaUrgente t) { }
+            @Override public void vencida(TareaUrgente t) {
+                assertNull(disparos.put(t.getId(), new long[] { anterior[0], ahora.get() }), "Un solo aviso por tarea");
+            }
+        }, ahora::get, Duration.ofDays(1), ZoneOffset.UTC);
+
+        SplittableRandom azar = new SplittableRandom(7);
+        LocalDate hoy = LocalDate.parse("2026-02-20");
+        Map<Integer, Long> vence = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            LocalDate fecha = hoy.plusDays(azar.nextInt(0, 3_650)); // hasta diez años
+            TareaUrgente t = gestor.agregarTareaUrgenteLogica("T" + i, Prioridad.BAJA, fecha.toString());
+            vence.put(t.getId(), medianoche(fecha.plusDays(1).toString()));
+        }
+
+        while (disparos.size() < vence.size()) {
+            ahora.addAndGet(azar.nextLong(1, 3 * 24 * 60) * MINUTO);
+            planificador.avanzar();
+            anterior[0] = ahora.get();
+        }
+        for (var e : vence.entrySet()) {
+            long[] d = disparos.get(e.getKey());
+            assertTrue(d[0] < e.getValue() && e.getValue() <= d[1], "Aviso fuera de tiempo para #" + e.getKey());
+        }
+        assertEquals(0, planificador.getProgramados());
+    }
+}
@@ -0,0 +1,86 @@
+package smarttask;
+
+/**
+ * Enumeración {@code Prioridad} — niveles de prioridad de una {@link Tarea}.
+ *
+ * <p>Antes la prioridad era un {@code String}: cada comparación o filtro
+ * calculaba hashes y comparaba caracteres, y cada fila de la tabla hacía un
+ * {@code switch} sobre texto. Con un {@code enum} cada valor existe una sola
+ * vez en memoria, se compara con {@code ==} y su orden es el de declaración
+ * ({@link #ordinal()}): {@code ALTA} &lt; {@code MEDIA} &lt; {@code BAJA}.</p>
+ *
+ * <p>El ícono y el texto de la columna se calculan una sola vez, al cargar
+ * la clase.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public enum Prioridad {
+
+    ALTA("🔴"),
+    MEDIA("🟡"),
+    BAJA("🟢");
+
+    /** Copia de {@code values()} hecha una sola vez ({@code values()} crea un arreglo nuevo en cada llamada). */
+    private static final Prioridad[] VALORES = values();
+
+    /** Ícono que se muestra en la tabla de tareas. */
+    private final String icono;
+
+    /** Nombre completado con espacios hasta 5 caracteres (ancho de la columna). */
+    private final String etiqueta;
+
+    Prioridad(String icono) {
+        this.icono    = icono;
+        this.etiqueta = String.format("%-5s", name());
+    }
+
+    /** @return el ícono de color de esta prioridad */
+    public String getIcono() { return icono; }
+
+    /** @return el nombre con ancho fijo de 5 caracteres, listo para la tabla */
+    public String getEtiqueta() { return etiqueta; }
+
+    /**
+     * Indica si esta prioridad es más urgente que otra.
+     *
+     * @param otra prioridad a comparar
+     * @return {@code true} si esta va antes que {@code otra}
+     */
+    public boolean esMasUrgenteQue(Prioridad otra) {
+        return ordinal() < otra.ordinal();
+    }
+
+    /**
+     * Convierte un texto a {@code Prioridad} sin importar mayúsculas
+     * ("alta", "Alta" y "ALTA" son lo mismo). No crea objetos: compara
+     * contra los nombres con {@code equalsIgnoreCase}.
+     *
+     * @param texto "ALTA", "MEDIA" o "BAJA" en cualquier combinación de mayúsculas
+     * @return la prioridad correspondiente
+     * @throws IllegalArgumentException si el texto no es una prioridad válida
+     */
+    public static Prioridad desde(String texto) {
+        if (texto != null) {
+            String limpio = texto.trim();
+            for (Prioridad p : VALORES) {
+                if (p.name().equalsIgnoreCase(limpio)) return p;
+            }
+        }
+        throw new IllegalArgumentException("Prioridad no válida: " + texto + " (use ALTA, MEDIA o BAJA)");
+    }
+
+    /**
+     * Devuelve la prioridad de un código numérico ({@link #ordinal()}).
+     *
+     * @param codigo 0 = ALTA, 1 = MEDIA, 2 = BAJA
+     * @return la prioridad correspondiente
+     * @throws IllegalArgumentException si el código está fuera de rango
+     */
+    public static Prioridad desdeCodigo(int codigo) {
+        if (codigo < 0 || codigo >= VALORES.length) {
+            throw new IllegalArgumentException("Código de prioridad no válido: " + codigo);
+        }
+        return VALORES[codigo];
+    }
+}
@@ -0,0 +1,223 @@
+package smarttask;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+
+/**
+ * Clase {@code RenderizadorTareas} — imprime tablas de tareas sin crear
+ * objetos por fila.
+ *
+ * <p>Antes cada fila pasaba por {@code String.format} (que interpreta el
+ * patrón y crea un {@code Formatter}, varios {@code String} intermedios y el
+ * resultado) y luego por un {@code System.out.println}, que vacía la consola
+ * en cada línea. Con miles de filas eso es lento y llena el heap de basura.</p>
+ *
+ * <p>Este renderizador escribe las filas en un {@link StringBuilder} que se
+ * reutiliza, rellena los anchos fijos a mano y manda el texto a un flujo con
+ * búfer que solo se vacía una vez por página de {@link #FILAS_POR_PAGINA}
+ * filas. La salida es idéntica, byte a byte, a la de los
+ * {@code toString()} originales.</p>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class RenderizadorTareas {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTANTES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Filas que se acumulan antes de escribir en el flujo de salida. */
+    public static final int FILAS_POR_PAGINA = 256;
+
+    static final String SEPARADOR =
+            "  +------+------------+------------------------------+------------+--------------+";
+    static final String CABECERA =
+            "  | ID   | TIPO       | NOMBRE                       | PRIORIDAD  | ESTADO       |";
+
+    static final String SIN_TAREAS = "  ⚠ No hay tareas en esta categoría.";
+
+    static final String FIN_DE_LINEA = System.lineSeparator();
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Página en construcción; se vacía (sin liberar memoria) tras cada escritura. */
+    private final StringBuilder pagina = new StringBuilder(FILAS_POR_PAGINA * 128);
+
+    /** Copia de la página para {@link Writer#write(char[], int, int)}, que no crea un {@code String}. */
+    private char[] caracteres = new char[FILAS_POR_PAGINA * 128];
+
+    /** Filas acumuladas en la página actual. */
+    private int filasEnPagina;
+
+    /** Codifica y guarda los bytes; solo se vacía al cerrar cada página. */
+    private final Writer salida;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Crea un renderizador que escribe en la consola con su misma codificación,
+     * así los bytes coinciden con los de {@code System.out.println}.
+     *
+     * @param consola flujo de consola (normalmente {@code System.out})
+     */
+    public RenderizadorTareas(PrintStream consola) {
+        this(consola, consola.charset());
+    }
+
+    /**
+     * Crea un renderizador sobre cualquier flujo de bytes.
+     *
+     * @param destino flujo donde se escriben las páginas
+     * @param juego   codificación de caracteres
+     */
+    public RenderizadorTareas(OutputStream destino, Charset juego) {
+        this.salida = new OutputStreamWriter(new BufferedOutputStream(destino, 64 * 1024), juego);
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  TABLAS
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Escribe la tabla completa: título, cabecera, una fila por tarea y total.
+     * Si la colección está vacía, escribe el aviso en lugar de la tabla.
+     *
+     * @param tareas tareas a mostrar, en el orden en que se recorren
+     * @param titulo título de la sección (ej: "TODAS LAS TAREAS")
+     */
+    public void listar(Collection<? extends Tarea> tareas, String titulo) {
+        if (tareas.isEmpty()) {
+            sinTareas(titulo);
+            return;
+        }
+        encabezado(titulo);
+        // Polimorfismo en acción: cada Tarea escribe SU fila
+        for (Tarea t : tareas) fila(t);
+        pie(tareas.size());
+    }
+
+    /**
+     * Escribe el título y el aviso de que no hay tareas.
+     *
+     * @param titulo título de la sección
+     */
+    public void sinTareas(String titulo) {
+        titulo(pagina, titulo);
+        linea(SIN_TAREAS);
+        vaciar();
+    }
+
+    /**
+     * Agrega el título y la cabecera de la tabla. Las filas se agregan después
+     * con {@link #fila(Tarea)} y la tabla se cierra con {@link #pie(int)}.
+     *
+     * @param titulo título de la sección
+     */
+    public void encabezado(String titulo) {
+        titulo(pagina, titulo);
+        linea(SEPARADOR);
+        linea(CABECERA);
+        linea(SEPARADOR);
+    }
+
+    /**
+     * Cierra la tabla con el total y escribe lo que quede pendiente.
+     *
+     * @param total cantidad de tareas listadas
+     */
+    public void pie(int total) {
+        linea(SEPARADOR);
+        total(pagina, total);
+        vaciar();
+    }
+
+    /**
+     * Agrega una fila de la tabla (lo mismo que {@code "  " + tarea}).
+     * Escribe la página cuando se llena.
+     *
+     * @param tarea tarea a mostrar
+     */
+    public void fila(Tarea tarea) {
+        pagina.append("  ");
+        tarea.escribirFila(pagina);
+        pagina.append(FIN_DE_LINEA);
+        if (++filasEnPagina == FILAS_POR_PAGINA) vaciar();
+    }
+
+    /**
+     * Agrega una línea de texto tal cual.
+     *
+     * @param texto contenido de la línea, sin salto final
+     */
+    public void linea(String texto) {
+        pagina.append(texto).append(FIN_DE_LINEA);
+    }
+
+    /**
+     * Escribe la página acumulada en el flujo de salida y lo vacía.
+     *
+     * @throws UncheckedIOException si falla la escritura
+     */
+    public void vaciar() {
+        int largo = pagina.length();
+        if (largo > caracteres.length) caracteres = new char[Math.max(largo, caracteres.length * 2)];
+        pagina.getChars(0, largo, caracteres, 0);
+        try {
+            salida.write(caracteres, 0, largo);
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el listado", e);
+        }
+        pagina.setLength(0);
+        filasEnPagina = 0;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  LÍNEAS FIJAS (de paquete) — también las usa ExportadorTareas
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Agrega la línea de título de la sección. */
+    static void titulo(StringBuilder destino, String titulo) {
+        destino.append("\n  ══════════════════════ ").append(titulo)
+               .append(" ══════════════════════").append(FIN_DE_LINEA);
+    }
+
+    /** Agrega la línea con el total de tareas del pie de la tabla. */
+    static void total(StringBuilder destino, int total) {
+        destino.append("  Total: ").append(total).append(" tarea(s).").append(FIN_DE_LINEA);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  RELLENO DE ANCHO FIJO (de paquete)
+    //  Equivalen a "%-Ns" y "%-Nd" de String.format, sin Formatter.
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Agrega {@code texto} y completa con espacios hasta {@code ancho}
+     * caracteres. Si el texto es más largo, no lo recorta.
+     */
+    static void rellenar(StringBuilder destino, String texto, int ancho) {
+        int inicio = destino.length();
+        destino.append(texto);
+        for (int i = destino.length() - inicio; i < ancho; i++) destino.append(' ');
+    }
+
+    /** Agrega {@code numero} alineado a la izquierda en {@code ancho} caracteres. */
+    static void rellenar(StringBuilder destino, int numero, int ancho) {
+        int inicio = destino.length();
+        destino.append(numero);
+        for (int i = destino.length() - inicio; i < ancho; i++) destino.append(' ');
+    }
+}
@@ -0,0 +1,120 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link RenderizadorTareas}: la tabla escrita por páginas debe
+ * ser idéntica, byte a byte, a la que producían {@code String.format} y un
+ * {@code println} por fila.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del renderizador de tablas de tareas")
+class RenderizadorTareasTest {
+
+    private GestorTareas gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  Referencia: el formato original con String.format
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static String filaOriginal(Tarea t) {
+        String estado = t.isCompletado() ? "✅ Completada" : "⏳ Pendiente ";
+        String fila = String.format("| %-4d | %-10s | %-28s | %s %-5s | %s |",
+                t.getId(), t.getEtiquetaTipo(), t.getNombre(),
+                t.getPrioridad().getIcono(), t.getPrioridad().name(), estado);
+        return t instanceof TareaUrgente u ? fila + " Límite: " + u.getFechaLimite() + " |" : fila;
+    }
+
+    private static String describirOriginal(Tarea t) {
+        String estado = t.isCompletado() ? "Completada" : "Pendiente";
+        if (t instanceof TareaUrgente u) {
+            return String.format("Tarea Urgente #%d | Nombre: %-28s | Prioridad: %-5s | Límite: %-12s | Estado: %s",
+                    t.getId(), t.getNombre(), t.getPrioridad().name(), u.getFechaLimite(), estado);
+        }
+        return String.format("Tarea Normal #%d | Nombre: %-28s | Prioridad: %-5s | Estado: %s",
+                t.getId(), t.getNombre(), t.getPrioridad().name(), estado);
+    }
+
+    private static byte[] listadoOriginal(List<Tarea> lista, String titulo) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream salida = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        salida.println("\n  ══════════════════════ " + titulo + " ══════════════════════");
+        salida.println(RenderizadorTareas.SEPARADOR);
+        salida.println(RenderizadorTareas.CABECERA);
+        salida.println(RenderizadorTareas.SEPARADOR);
+        for (Tarea t : lista) salida.println("  " + filaOriginal(t));
+        salida.println(RenderizadorTareas.SEPARADOR);
+        salida.println("  Total: " + lista.size() + " tarea(s).");
+        return bytes.toByteArray();
+    }
+
+    private void cargarVariadas(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            Prioridad prioridad = Prioridad.desdeCodigo(i % 3);
+            // Nombres cortos, exactos y más largos que la columna de 28
+            String nombre = "Tarea ñ " + "x".repeat(i % 40);
+            if (i % 4 == 0) gestor.agregarTareaUrgenteLogica(nombre, prioridad, i % 8 == 0 ? "2026-03-01" : "pronto");
+            else            gestor.agregarTareaNormalLogica(nombre, prioridad);
+        }
+        for (int id = 3; id <= cantidad; id += 3) gestor.marcarComoCompletada(id);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  Tests
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("toString() y describir() coinciden con el formato original")
+    void testFilasIdenticas() {
+        cargarVariadas(50);
+        TareaNormal sinNombre = gestor.agregarTareaNormalLogica(null, Prioridad.MEDIA);
+
+        for (Tarea t : gestor.obtenerTodas()) {
+            assertEquals(filaOriginal(t), t.toString());
+            assertEquals(describirOriginal(t), ((Accionable) t).describir());
+        }
+        assertTrue(sinNombre.toString().contains("| null "));
+    }
+
+    @Test
+    @DisplayName("El listado por páginas es idéntico byte a byte al de println")
+    void testListadoIdentico() {
+        // Más de una página para probar el vaciado intermedio
+        cargarVariadas(RenderizadorTareas.FILAS_POR_PAGINA * 2 + 7);
+        List<Tarea> todas = gestor.obtenerTodas();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new RenderizadorTareas(bytes, StandardCharsets.UTF_8).listar(todas, "TODAS LAS TAREAS");
+
+        assertArrayEquals(listadoOriginal(todas, "TODAS LAS TAREAS"), bytes.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Una colección vacía muestra el aviso")
+    void testListadoVacio() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new RenderizadorTareas(bytes, StandardCharsets.UTF_8).listar(gestor.vistaPendientes(), "PENDIENTES");
+
+        String n = System.lineSeparator();
+        assertEquals("\n  ══════════════════════ PENDIENTES ══════════════════════" + n
+                + "  ⚠ No hay tareas en esta categoría." + n,
+                bytes.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package smarttask;
+
+/**
+ * Clase {@code ResumenOperacion} — cantidad y latencias de una operación de
+ * {@link GestorTareas}, tomadas de {@link MetricasTareas}. Los percentiles
+ * tienen un error relativo menor al 6,25 % (ver {@link HistogramaLatencias}).
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class ResumenOperacion {
+
+    private final long cantidad;
+    private final long promedioNanos;
+    private final long medianaNanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maximoNanos;
+
+    ResumenOperacion(HistogramaLatencias h) {
+        this.cantidad      = h.cantidad();
+        this.promedioNanos = h.promedio();
+        this.medianaNanos  = h.percentil(0.5);
+        this.p99Nanos      = h.percentil(0.99);
+        this.p999Nanos     = h.percentil(0.999);
+        this.maximoNanos   = h.maximo();
+    }
+
+    /** @return veces que se llamó la operación */
+    public long getCantidad() { return cantidad; }
+
+    /** @return duración promedio en nanosegundos */
+    public long getPromedioNanos() { return promedioNanos; }
+
+    /** @return percentil 50 en nanosegundos */
+    public long getMedianaNanos() { return medianaNanos; }
+
+    /** @return percentil 99 en nanosegundos */
+    public long getP99Nanos() { return p99Nanos; }
+
+    /** @return percentil 99,9 en nanosegundos */
+    public long getP999Nanos() { return p999Nanos; }
+
+    /** @return duración máxima en nanosegundos */
+    public long getMaximoNanos() { return maximoNanos; }
+
+    @Override
+    public String toString() {
+        return cantidad + " llamadas, p50 " + medianaNanos + " ns, p99 " + p99Nanos
+                + " ns, p99.9 " + p999Nanos + " ns, máx " + maximoNanos + " ns";
+    }
+}
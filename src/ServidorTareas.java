@@ -0,0 +1,341 @@
+package smarttask;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase {@code ServidorTareas} — API HTTP/JSON sobre un {@link GestorTareas},
+ * con el servidor que trae el JDK ({@code com.sun.net.httpserver}).
+ *
+ * <table>
+ *   <caption>Rutas</caption>
+ *   <tr><th>Método y ruta</th><th>Respuesta</th></tr>
+ *   <tr><td>{@code GET /tareas?estado=todas|pendientes|completadas}</td><td>200, arreglo de tareas</td></tr>
+ *   <tr><td>{@code POST /tareas} con {@code {"nombre","prioridad","fechaLimite"}}</td><td>201, la tarea creada</td></tr>
+ *   <tr><td>{@code GET /tareas/{id}}</td><td>200, la tarea; 404 si no existe</td></tr>
+ *   <tr><td>{@code POST /tareas/{id}/completar}</td><td>200, la tarea; 409 si ya estaba completada</td></tr>
+ *   <tr><td>{@code DELETE /tareas/{id}}</td><td>204; 404 si no existe</td></tr>
+ * </table>
+ *
+ * <p>Cada petición se atiende en su propio <em>hilo virtual</em>: miles de
+ * clientes lentos no ocupan miles de hilos del sistema. Como el gestor es de
+ * un solo hilo, las peticiones lo usan de a una con un {@link ReentrantLock}
+ * (no {@code synchronized}, que en Java 21 fija el hilo virtual a su
+ * portador mientras espera). Con el candado tomado solo se trabaja en
+ * memoria: la respuesta se arma en un búfer y se escribe en la red después
+ * de soltarlo. Los listados se arman y se envían por páginas de
+ * {@link RenderizadorTareas#FILAS_POR_PAGINA} tareas con
+ * {@link EscritorJson}, en una respuesta <em>chunked</em>.</p>
+ *
+ * <p>Todas las respuestas llevan su largo ({@code Content-Length}) o van por
+ * partes, y el cuerpo de cada petición se lee completo: la conexión queda
+ * abierta (<em>keep-alive</em>) para la siguiente petición del cliente.</p>
+ *
+ * <p>El servidor del JDK escribe las cabeceras y el cuerpo en dos envíos. Con
+ * el algoritmo de Nagle el segundo espera el ACK del primero, que el cliente
+ * demora hasta 40 ms: sin {@code TCP_NODELAY} cada respuesta corta tarda eso.
+ * Esta clase no lo cambia por su cuenta, porque {@link #PROPIEDAD_SIN_RETARDO}
+ * vale para toda la JVM y se lee una sola vez, al crear el primer servidor.
+ * {@code MenuPrincipal --servidor} la activa; quien use la clase de otra forma
+ * puede arrancar con {@code -Dsun.net.httpserver.nodelay=true}.</p>
+ *
+ * <pre>
+ *   try (ServidorTareas servidor = new ServidorTareas(gestor, 8080)) {
+ *       ...   // curl -d '{"nombre":"Estudiar"}' localhost:8080/tareas
+ *   }
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class ServidorTareas implements Closeable {
+
+    /** Puerto si no se indica otro. */
+    public static final int PUERTO_POR_DEFECTO = 8080;
+
+    /** Ruta base de la API. */
+    public static final String RUTA = "/tareas";
+
+    /** Propiedad del servidor HTTP del JDK que activa {@code TCP_NODELAY}. */
+    public static final String PROPIEDAD_SIN_RETARDO = "sun.net.httpserver.nodelay";
+
+    /** Cuerpo más largo que se acepta en una petición. */
+    static final int MAX_CUERPO = 64 * 1024;
+
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO INTERNO
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final GestorTareas gestor;
+    private final ReentrantLock candado = new ReentrantLock();
+    private final HttpServer servidor;
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTORES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Crea el servidor en todas las interfaces y lo pone a escuchar.
+     *
+     * @param gestor gestor que atiende la API; no debe usarse desde otros
+     *               hilos mientras el servidor esté abierto
+     * @param puerto puerto TCP (0 para uno libre cualquiera)
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorTareas(GestorTareas gestor, int puerto) throws IOException {
+        this(gestor, new InetSocketAddress(puerto));
+    }
+
+    /**
+     * Crea el servidor y lo pone a escuchar.
+     *
+     * @param gestor    gestor que atiende la API
+     * @param direccion dirección y puerto donde escuchar
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorTareas(GestorTareas gestor, InetSocketAddress direccion) throws IOException {
+        this.gestor = gestor;
+        this.servidor = HttpServer.create(direccion, 0);
+        servidor.createContext(RUTA, this::atender);
+        servidor.setExecutor(hilos);
+        servidor.start();
+    }
+
+    /** @return el puerto en el que escucha (útil si se pidió el 0) */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Deja de aceptar conexiones, espera hasta un segundo a las peticiones en
+     * curso y libera los hilos.
+     */
+    @Override
+    public void close() {
+        servidor.stop(1);
+        hilos.close();
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  RUTEO
+    // ════════════════════════════════════════════════════════════════════════
+
+    private void atender(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            try {
+                rutear(intercambio);
+            } catch (IllegalArgumentException e) { // datos de la petición no válidos
+                error(intercambio, 400, e.getMessage());
+            }
+        }
+    }
+
+    private void rutear(HttpExchange intercambio) throws IOException {
+        String metodo = intercambio.getRequestMethod();
+        String resto = intercambio.getRequestURI().getPath().substring(RUTA.length());
+        if (resto.isEmpty() || resto.equals("/")) {
+            switch (metodo) {
+                case "GET"  -> listar(intercambio);
+                case "POST" -> crear(intercambio);
+                default     -> noPermitido(intercambio, "GET, POST");
+            }
+            return;
+        }
+        if (resto.charAt(0) != '/') {
+            error(intercambio, 404, "ruta desconocida");
+            return;
+        }
+        int barra = resto.indexOf('/', 1);
+        int id = leerId(barra < 0 ? resto.substring(1) : resto.substring(1, barra));
+        String accion = barra < 0 ? "" : resto.substring(barra);
+        if (id < 0 || !(accion.isEmpty() || accion.equals("/completar"))) {
+            error(intercambio, 404, "ruta desconocida");
+        } else if (accion.isEmpty()) {
+            switch (metodo) {
+                case "GET"    -> detalle(intercambio, id);
+                case "DELETE" -> eliminar(intercambio, id);
+                default       -> noPermitido(intercambio, "GET, DELETE");
+            }
+        } else if (metodo.equals("POST")) {
+            completar(intercambio, id);
+        } else {
+            noPermitido(intercambio, "POST");
+        }
+    }
+
+    /** @return el ID, o -1 si el texto no es un entero no negativo */
+    private static int leerId(String texto) {
+        if (texto.isEmpty() || texto.length() > 10) return -1;
+        long id = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            id = id * 10 + (c - '0');
+        }
+        return id > Integer.MAX_VALUE ? -1 : (int) id;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  OPERACIONES
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Envía el arreglo por páginas: cada página se arma con el candado y se escribe sin él. */
+    private void listar(HttpExchange intercambio) throws IOException {
+        PaginaTareas.Filtro filtro = filtro(intercambio.getRequestURI().getRawQuery());
+        descartarCuerpo(intercambio);
+        intercambio.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        intercambio.sendResponseHeaders(200, 0); // 0 = por partes
+        EscritorJson json = new EscritorJson(intercambio.getResponseBody());
+        json.inicioArreglo();
+        int cursor = PaginaTareas.INICIO;
+        do {
+            candado.lock();
+            try {
+                PaginaTareas pagina = gestor.obtenerPagina(cursor, RenderizadorTareas.FILAS_POR_PAGINA, filtro);
+                for (Tarea t : pagina.getTareas()) json.elemento(t);
+                cursor = pagina.getSiguienteCursor();
+            } finally {
+                candado.unlock();
+            }
+            if (cursor == PaginaTareas.FIN) json.finArreglo();
+            json.vaciar();
+        } while (cursor != PaginaTareas.FIN);
+    }
+
+    private void crear(HttpExchange intercambio) throws IOException {
+        Map<String, String> campos = new HashMap<>();
+        new ImportadorTareas.LectorJson(leerCuerpo(intercambio)).objeto(campos);
+        String nombre = campos.get("nombre");
+        if (nombre == null || nombre.isBlank()) throw new IllegalArgumentException("falta el nombre");
+        String textoPrioridad = campos.get("prioridad");
+        Prioridad prioridad = textoPrioridad == null ? Prioridad.MEDIA : Prioridad.desde(textoPrioridad);
+        String fechaLimite = campos.get("fechaLimite");
+
+        StringBuilder respuesta = new StringBuilder(160);
+        int id;
+        candado.lock();
+        try {
+            Tarea nueva = fechaLimite == null
+                    ? gestor.agregarTareaNormalLogica(nombre, prioridad)
+                    : gestor.agregarTareaUrgenteLogica(nombre, prioridad, fechaLimite);
+            id = nueva.getId();
+            EscritorJson.tarea(respuesta, nueva);
+        } finally {
+            candado.unlock();
+        }
+        intercambio.getResponseHeaders().set("Location", RUTA + "/" + id);
+        responder(intercambio, 201, respuesta);
+    }
+
+    private void detalle(HttpExchange intercambio, int id) throws IOException {
+        descartarCuerpo(intercambio);
+        StringBuilder respuesta = new StringBuilder(160);
+        candado.lock();
+        try {
+            Tarea tarea = gestor.buscarPorId(id);
+            if (tarea != null) EscritorJson.tarea(respuesta, tarea);
+        } finally {
+            candado.unlock();
+        }
+        if (respuesta.isEmpty()) error(intercambio, 404, "no existe una tarea con ID " + id);
+        else                     responder(intercambio, 200, respuesta);
+    }
+
+    private void completar(HttpExchange intercambio, int id) throws IOException {
+        descartarCuerpo(intercambio);
+        StringBuilder respuesta = new StringBuilder(160);
+        boolean marcada;
+        candado.lock();
+        try {
+            marcada = gestor.marcarComoCompletada(id);
+            Tarea tarea = gestor.buscarPorId(id);
+            if (tarea != null) EscritorJson.tarea(respuesta, tarea);
+        } finally {
+            candado.unlock();
+        }
+        if (respuesta.isEmpty()) error(intercambio, 404, "no existe una tarea con ID " + id);
+        else if (!marcada)       error(intercambio, 409, "la tarea " + id + " ya estaba completada");
+        else                     responder(intercambio, 200, respuesta);
+    }
+
+    private void eliminar(HttpExchange intercambio, int id) throws IOException {
+        descartarCuerpo(intercambio);
+        boolean eliminada;
+        candado.lock();
+        try {
+            eliminada = gestor.eliminarTarea(id);
+        } finally {
+            candado.unlock();
+        }
+        if (!eliminada) error(intercambio, 404, "no existe una tarea con ID " + id);
+        else            intercambio.sendResponseHeaders(204, -1); // -1 = sin cuerpo
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  PETICIÓN Y RESPUESTA
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static PaginaTareas.Filtro filtro(String consulta) {
+        if (consulta == null) return PaginaTareas.Filtro.TODAS;
+        for (String par : consulta.split("&")) {
+            if (!par.startsWith("estado=")) continue;
+            String estado = par.substring("estado=".length()).toLowerCase(Locale.ROOT);
+            return switch (estado) {
+                case "todas"       -> PaginaTareas.Filtro.TODAS;
+                case "pendientes"  -> PaginaTareas.Filtro.PENDIENTES;
+                case "completadas" -> PaginaTareas.Filtro.COMPLETADAS;
+                default -> throw new IllegalArgumentException("estado no válido: " + estado);
+            };
+        }
+        return PaginaTareas.Filtro.TODAS;
+    }
+
+    private static String leerCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream cuerpo = intercambio.getRequestBody()) {
+            byte[] bytes = cuerpo.readNBytes(MAX_CUERPO + 1);
+            if (bytes.length > MAX_CUERPO) throw new IllegalArgumentException("cuerpo demasiado largo");
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Lee lo que quede del cuerpo para poder reutilizar la conexión. */
+    private static void descartarCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream cuerpo = intercambio.getRequestBody()) {
+            cuerpo.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, CharSequence json) throws IOException {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        intercambio.sendResponseHeaders(codigo, bytes.length);
+        intercambio.getResponseBody().write(bytes);
+    }
+
+    private static void error(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        EscritorJson.cadena(json, mensaje);
+        responder(intercambio, codigo, json.append('}'));
+    }
+
+    private static void noPermitido(HttpExchange intercambio, String permitidos) throws IOException {
+        intercambio.getResponseHeaders().set("Allow", permitidos);
+        error(intercambio, 405, "método no permitido");
+    }
+}
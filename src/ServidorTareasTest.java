@@ -0,0 +1,195 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link ServidorTareas}: cada ruta con sus códigos, listados por
+ * partes, errores de la petición, dos peticiones por la misma conexión y una
+ * prueba de carga con clientes concurrentes.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la API HTTP")
+class ServidorTareasTest {
+
+    private GestorTareas gestor;
+    private ServidorTareas servidor;
+    private HttpClient cliente;
+    private String base;
+
+    @BeforeAll
+    static void sinRetardo() {
+        // Igual que MenuPrincipal --servidor: sin esto cada respuesta corta espera el ACK demorado
+        System.setProperty(ServidorTareas.PROPIEDAD_SIN_RETARDO, "true");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gestor = new GestorTareas(false);
+        servidor = new ServidorTareas(gestor, 0);
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = "http://localhost:" + servidor.getPuerto() + ServidorTareas.RUTA;
+    }
+
+    @AfterEach
+    void tearDown() {
+        cliente.close();
+        servidor.close();
+    }
+
+    private HttpResponse<String> pedir(String metodo, String ruta, String cuerpo) throws Exception {
+        HttpRequest.BodyPublisher publicador = cuerpo == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(cuerpo);
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(base + ruta)).method(metodo, publicador).build();
+        return cliente.send(peticion, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static int contar(String texto, String parte) {
+        int n = 0;
+        for (int i = texto.indexOf(parte); i >= 0; i = texto.indexOf(parte, i + 1)) n++;
+        return n;
+    }
+
+    @Test
+    @DisplayName("Crear, consultar, completar y eliminar con sus códigos")
+    void testRutas() throws Exception {
+        HttpResponse<String> r = pedir("POST", "", "{\"nombre\":\"Estudiar \\\"Java\\\"\",\"prioridad\":\"alta\"}");
+        assertEquals(201, r.statusCode());
+        assertEquals("/tareas/1", r.headers().firstValue("Location").orElseThrow());
+        assertEquals("{\"id\":1,\"tipo\":\"NORMAL\",\"nombre\":\"Estudiar \\\"Java\\\"\",\"prioridad\":\"ALTA\",\"completada\":false}", r.body());
+
+        r = pedir("POST", "/", "{\n  \"nombre\": \"Informe\",\n  \"fechaLimite\": \"2026-03-01\"\n}");
+        assertEquals(201, r.statusCode());
+        assertTrue(r.body().contains("\"tipo\":\"URGENTE\"") && r.body().contains("\"prioridad\":\"MEDIA\""), r.body());
+
+        assertEquals(200, pedir("GET", "/2", null).statusCode());
+        assertEquals(404, pedir("GET", "/9", null).statusCode());
+
+        r = pedir("POST", "/1/completar", null);
+        assertEquals(200, r.statusCode());
+        assertTrue(r.body().endsWith("\"completada\":true}"));
+        assertEquals(409, pedir("POST", "/1/completar", null).statusCode());
+        assertTrue(gestor.buscarPorId(1).isCompletado());
+
+        assertEquals(204, pedir("DELETE", "/2", null).statusCode());
+        assertEquals(404, pedir("DELETE", "/2", null).statusCode());
+        assertEquals(1, gestor.getTotalTareas());
+
+        r = pedir("GET", "?estado=pendientes", null);
+        assertEquals(200, r.statusCode());
+        assertEquals("[]", r.body());
+        assertEquals("application/json; charset=utf-8", r.headers().firstValue("Content-Type").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Los listados se envían por páginas, completos y en orden")
+    void testListadoPorPartes() throws Exception {
+        for (int i = 1; i <= 1000; i++) gestor.agregarTareaNormalLogica("Tarea " + i, Prioridad.BAJA);
+        for (int i = 1; i <= 1000; i += 3) gestor.marcarComoCompletada(i);
+
+        String todas = pedir("GET", "", null).body();
+        assertTrue(todas.startsWith("[{\"id\":1,") && todas.endsWith("\"completada\":true}]"));
+        assertEquals(1000, contar(todas, "\"id\":"));
+        assertEquals(334, contar(pedir("GET", "?estado=completadas", null).body(), "\"id\":"));
+        assertEquals(666, contar(pedir("GET", "?estado=pendientes", null).body(), "\"id\":"));
+    }
+
+    @Test
+    @DisplayName("Peticiones no válidas reciben 400, 404 o 405 con un JSON de error")
+    void testErrores() throws Exception {
+        HttpResponse<String> r = pedir("POST", "", "{\"nombre\":");
+        assertEquals(400, r.statusCode());
+        assertTrue(r.body().startsWith("{\"error\":"));
+        assertEquals(400, pedir("POST", "", "{\"nombre\":\"X\",\"prioridad\":\"ENORME\"}").statusCode());
+        assertEquals(400, pedir("POST", "", "{\"prioridad\":\"ALTA\"}").statusCode());
+        assertEquals(400, pedir("GET", "?estado=raras", null).statusCode());
+        assertEquals(404, pedir("GET", "/abc", null).statusCode());
+        assertEquals(404, pedir("GET", "/1/otra", null).statusCode());
+        r = pedir("PUT", "/1", "{}");
+        assertEquals(405, r.statusCode());
+        assertEquals("GET, DELETE", r.headers().firstValue("Allow").orElseThrow());
+        assertEquals(0, gestor.getTotalTareas());
+    }
+
+    @Test
+    @DisplayName("Varias peticiones viajan por la misma conexión (keep-alive)")
+    void testKeepAlive() throws IOException {
+        gestor.agregarTareaNormalLogica("Leer", Prioridad.MEDIA);
+        try (Socket socket = new Socket("localhost", servidor.getPuerto())) {
+            OutputStream salida = socket.getOutputStream();
+            BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (int vuelta = 0; vuelta < 3; vuelta++) {
+                salida.write(("GET /tareas/1 HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                salida.flush();
+                assertEquals("HTTP/1.1 200 OK", entrada.readLine());
+                int largo = -1;
+                for (String linea; !(linea = entrada.readLine()).isEmpty(); ) {
+                    if (linea.toLowerCase(Locale.ROOT).startsWith("content-length:")) largo = Integer.parseInt(linea.substring(15).trim());
+                }
+                char[] cuerpo = new char[largo];
+                assertEquals(largo, entrada.read(cuerpo, 0, largo));
+                assertTrue(new String(cuerpo).startsWith("{\"id\":1,"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Prueba de carga: clientes concurrentes sobre conexiones persistentes")
+    void testCarga() throws Exception {
+        int clientes = 8, peticionesPorCliente = 400;
+        for (int i = 0; i < 100; i++) gestor.agregarTareaNormalLogica("Base " + i, Prioridad.MEDIA);
+
+        long inicio = System.nanoTime();
+        List<Future<Integer>> resultados = new ArrayList<>();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                int numero = c;
+                resultados.add(hilos.submit(() -> {
+                    int correctas = 0;
+                    for (int i = 0; i < peticionesPorCliente; i++) {
+                        HttpResponse<String> r = i % 4 == 0
+                                ? pedir("POST", "", "{\"nombre\":\"C" + numero + "-" + i + "\"}")
+                                : pedir("GET", "/" + (1 + (i * 7 + numero) % 100), null);
+                        if (r.statusCode() / 100 == 2) correctas++;
+                    }
+                    return correctas;
+                }));
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        int correctas = 0;
+        for (Future<Integer> f : resultados) correctas += f.get();
+        int total = clientes * peticionesPorCliente;
+        assertEquals(total, correctas);
+        assertEquals(100 + total / 4, gestor.getTotalTareas());
+        System.out.printf(Locale.ROOT, "  Carga HTTP: %d peticiones de %d clientes en %.2f s (%.0f peticiones/s)%n",
+                total, clientes, segundos, total / segundos);
+    }
+}
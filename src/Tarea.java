@@ -1,5 +1,7 @@
 package smarttask;
 
+import java.util.Objects;
+
 /**
  * Clase abstracta {@code Tarea} — Lecciones 3 y 5: Sintaxis Java y POO.
  *
@@ -31,14 +33,26 @@ public abstract class Tarea {
     private String nombre;
 
     /**
-     * Prioridad de la tarea.
-     * Valores válidos: {@code "ALTA"}, {@code "MEDIA"}, {@code "BAJA"}.
+     * Prioridad de la tarea: {@link Prioridad#ALTA}, {@link Prioridad#MEDIA}
+     * o {@link Prioridad#BAJA}.
      */
-    private String prioridad;
+    private Prioridad prioridad;
 
     /** Estado de la tarea: {@code true} = completada, {@code false} = pendiente. */
     private boolean completado;
 
+    /**
+     * Gestor al que se avisa de los cambios (o {@code null} si la tarea no
+     * pertenece a ninguno). Es de paquete: solo lo asigna {@link GestorTareas}.
+     */
+    ObservadorTarea observador;
+
+    /**
+     * Posición de la tarea en la cola de trabajo del gestor
+     * ({@link MonticuloTareas}), o {@link MonticuloTareas#FUERA}.
+     */
+    int posicionMonticulo = MonticuloTareas.FUERA;
+
     // ─────────────────────────────────────────────────────────────────────────
     //  CONSTRUCTOR
     // ─────────────────────────────────────────────────────────────────────────
@@ -49,16 +63,29 @@ public abstract class Tarea {
      *
      * @param id        identificador único
      * @param nombre    descripción de la tarea
-     * @param prioridad nivel de prioridad ("ALTA", "MEDIA" o "BAJA")
+     * @param prioridad nivel de prioridad
      */
-    public Tarea(int id, String nombre, String prioridad) {
+    public Tarea(int id, String nombre, Prioridad prioridad) {
+        if (prioridad == null) throw new IllegalArgumentException("La prioridad no puede ser null");
         this.id         = id;
         this.nombre     = nombre;
-        // toUpperCase() normaliza la prioridad: "alta" → "ALTA"
-        this.prioridad  = prioridad.toUpperCase();
+        this.prioridad  = prioridad;
         this.completado = false; // toda tarea nueva empieza pendiente
     }
 
+    /**
+     * Crea una nueva tarea indicando la prioridad como texto (compatibilidad).
+     *
+     * @param id        identificador único
+     * @param nombre    descripción de la tarea
+     * @param prioridad "ALTA", "MEDIA" o "BAJA" (sin importar mayúsculas)
+     * @throws IllegalArgumentException si la prioridad no es válida
+     */
+    public Tarea(int id, String nombre, String prioridad) {
+        // Prioridad.desde() normaliza la prioridad: "alta" → ALTA
+        this(id, nombre, Prioridad.desde(prioridad));
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     //  MÉTODO ABSTRACTO — las subclases DEBEN implementarlo
     // ─────────────────────────────────────────────────────────────────────────
@@ -82,7 +109,7 @@ public abstract class Tarea {
     public String getNombre()     { return nombre; }
 
     /** @return la prioridad de la tarea */
-    public String getPrioridad()  { return prioridad; }
+    public Prioridad getPrioridad() { return prioridad; }
 
     /** @return {@code true} si la tarea está completada */
     public boolean isCompletado() { return completado; }
@@ -92,13 +119,35 @@ public abstract class Tarea {
     // ─────────────────────────────────────────────────────────────────────────
 
     /** @param nombre nuevo nombre de la tarea */
-    public void setNombre(String nombre)          { this.nombre    = nombre; }
+    public void setNombre(String nombre) {
+        if (Objects.equals(this.nombre, nombre)) return;
+        String anterior = this.nombre;
+        this.nombre = nombre;
+        if (observador != null) observador.nombreCambiado(this, anterior);
+    }
 
-    /** @param prioridad nueva prioridad ("ALTA", "MEDIA" o "BAJA") */
-    public void setPrioridad(String prioridad)    { this.prioridad = prioridad.toUpperCase(); }
+    /** @param prioridad nueva prioridad */
+    public void setPrioridad(Prioridad prioridad) {
+        if (prioridad == null) throw new IllegalArgumentException("La prioridad no puede ser null");
+        if (this.prioridad == prioridad) return;
+        this.prioridad = prioridad;
+        if (observador != null) observador.prioridadCambiada(this);
+    }
 
-    /** @param completado {@code true} para marcar como completada */
-    public void setCompletado(boolean completado) { this.completado = completado; }
+    /** @param prioridad nueva prioridad ("ALTA", "MEDIA" o "BAJA", sin importar mayúsculas) */
+    public void setPrioridad(String prioridad)    { setPrioridad(Prioridad.desde(prioridad)); }
+
+    /**
+     * Cambia el estado de la tarea y, si cambió, avisa al gestor que la contiene
+     * para que actualice sus listas de pendientes y completadas.
+     *
+     * @param completado {@code true} para marcar como completada
+     */
+    public void setCompletado(boolean completado) {
+        if (this.completado == completado) return;
+        this.completado = completado;
+        if (observador != null) observador.estadoCambiado(this);
+    }
 
     // ─────────────────────────────────────────────────────────────────────────
     //  toString()
@@ -107,23 +156,34 @@ public abstract class Tarea {
 
     /**
      * Representación en formato tabla de la tarea.
-     * Usa {@code String.format} para alinear columnas con ancho fijo.
+     * Las columnas tienen ancho fijo; ver {@link #escribirFila(StringBuilder)}.
      *
      * @return fila formateada para mostrar en la lista de tareas
      */
     @Override
     public String toString() {
-        String estado = completado ? "✅ Completada" : "⏳ Pendiente ";
-
-        String iconoPrioridad;
-        switch (prioridad) {
-            case "ALTA":  iconoPrioridad = "🔴"; break;
-            case "MEDIA": iconoPrioridad = "🟡"; break;
-            case "BAJA":  iconoPrioridad = "🟢"; break;
-            default:      iconoPrioridad = "⚪"; break;
-        }
-
-        return String.format("| %-4d | %-10s | %-28s | %s %-5s | %s |",
-                id, getEtiquetaTipo(), nombre, iconoPrioridad, prioridad, estado);
+        StringBuilder fila = new StringBuilder(96);
+        escribirFila(fila);
+        return fila.toString();
+    }
+
+    /**
+     * Agrega la fila de esta tarea a {@code destino} sin crear texto intermedio.
+     * Produce lo mismo que {@code "| %-4d | %-10s | %-28s | %s %s | %s |"}.
+     * {@link RenderizadorTareas} la usa para escribir miles de filas con un
+     * único {@code StringBuilder}.
+     *
+     * @param destino donde se agrega la fila
+     */
+    void escribirFila(StringBuilder destino) {
+        destino.append("| ");
+        RenderizadorTareas.rellenar(destino, id, 4);
+        destino.append(" | ");
+        RenderizadorTareas.rellenar(destino, getEtiquetaTipo(), 10);
+        destino.append(" | ");
+        RenderizadorTareas.rellenar(destino, nombre, 28);
+        // El ícono y el ancho fijo vienen precalculados en el enum Prioridad
+        destino.append(" | ").append(prioridad.getIcono()).append(' ').append(prioridad.getEtiqueta())
+               .append(" | ").append(completado ? "✅ Completada" : "⏳ Pendiente ").append(" |");
     }
-}
\ No newline at end of file
+}
@@ -24,14 +24,25 @@ public class TareaNormal extends Tarea implements Accionable {
      *
      * @param id        identificador único
      * @param nombre    descripción de la tarea
-     * @param prioridad nivel de prioridad ("ALTA", "MEDIA" o "BAJA")
+     * @param prioridad nivel de prioridad
      */
-    public TareaNormal(int id, String nombre, String prioridad) {
+    public TareaNormal(int id, String nombre, Prioridad prioridad) {
         // "super()" llama al constructor de la clase padre (Tarea)
         // Es OBLIGATORIO como primera línea cuando hay herencia
         super(id, nombre, prioridad);
     }
 
+    /**
+     * Crea una tarea normal indicando la prioridad como texto (compatibilidad).
+     *
+     * @param id        identificador único
+     * @param nombre    descripción de la tarea
+     * @param prioridad nivel de prioridad ("ALTA", "MEDIA" o "BAJA")
+     */
+    public TareaNormal(int id, String nombre, String prioridad) {
+        super(id, nombre, prioridad);
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     //  @Override — implementar método abstracto de Tarea
     // ─────────────────────────────────────────────────────────────────────────
@@ -70,8 +81,11 @@ public class TareaNormal extends Tarea implements Accionable {
      */
     @Override
     public String describir() {
-        return String.format("Tarea Normal #%d | Nombre: %-28s | Prioridad: %-5s | Estado: %s",
-                getId(), getNombre(), getPrioridad(),
-                isCompletado() ? "Completada" : "Pendiente");
+        StringBuilder texto = new StringBuilder(96);
+        texto.append("Tarea Normal #").append(getId()).append(" | Nombre: ");
+        RenderizadorTareas.rellenar(texto, getNombre(), 28);
+        texto.append(" | Prioridad: ").append(getPrioridad().getEtiqueta())
+             .append(" | Estado: ").append(isCompletado() ? "Completada" : "Pendiente");
+        return texto.toString();
     }
 }
@@ -1,5 +1,8 @@
 package smarttask;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 /**
  * Clase {@code TareaUrgente} — Lección 6: Herencia y Polimorfismo.
  *
@@ -8,7 +11,7 @@ package smarttask;
  * {@link Accionable}.</p>
  *
  * <p>A diferencia de {@link TareaNormal}, agrega el atributo {@code fechaLimite}
- * y sobreescribe {@code toString()} para mostrar esa información extra.</p>
+ * y sobreescribe la fila de la tabla para mostrar esa información extra.</p>
  *
  * @author Sabina Romero
  * @version 1.0
@@ -19,12 +22,28 @@ public class TareaUrgente extends Tarea implements Accionable {
     //  ATRIBUTO PROPIO — solo TareaUrgente tiene fecha límite
     // ─────────────────────────────────────────────────────────────────────────
 
+    /** Valor de {@link #getDiaLimite()} cuando la fecha no tiene formato AAAA-MM-DD. */
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+
     /**
-     * Fecha límite de la tarea en formato libre (ej: "2026-03-01").
+     * Fecha límite de la tarea tal como se ingresó (ej: "2026-03-01").
      * Es un atributo específico de TareaUrgente, no existe en Tarea.
      */
     private String fechaLimite;
 
+    /**
+     * La misma fecha en días desde 1970-01-01, calculada una sola vez al
+     * asignarla. Las consultas por vencimiento comparan este entero en vez
+     * de volver a interpretar el texto.
+     */
+    private int diaLimite;
+
+    /**
+     * Avisos programados en {@link PlanificadorVencimientos} (o {@code null}).
+     * Son de paquete: guardarlos en la tarea permite cancelarlos en O(1).
+     */
+    PlanificadorVencimientos.Temporizador avisoPorVencer, avisoVencida;
+
     // ─────────────────────────────────────────────────────────────────────────
     //  CONSTRUCTOR
     // ─────────────────────────────────────────────────────────────────────────
@@ -34,12 +53,25 @@ public class TareaUrgente extends Tarea implements Accionable {
      *
      * @param id          identificador único
      * @param nombre      descripción de la tarea
-     * @param prioridad   nivel de prioridad (siempre se recomienda "ALTA")
+     * @param prioridad   nivel de prioridad (siempre se recomienda ALTA)
      * @param fechaLimite fecha límite en formato "AAAA-MM-DD"
      */
-    public TareaUrgente(int id, String nombre, String prioridad, String fechaLimite) {
+    public TareaUrgente(int id, String nombre, Prioridad prioridad, String fechaLimite) {
         super(id, nombre, prioridad); // llama al constructor de Tarea
         this.fechaLimite = fechaLimite;
+        this.diaLimite   = aDia(fechaLimite);
+    }
+
+    /**
+     * Crea una tarea urgente indicando la prioridad como texto (compatibilidad).
+     *
+     * @param id          identificador único
+     * @param nombre      descripción de la tarea
+     * @param prioridad   "ALTA", "MEDIA" o "BAJA"
+     * @param fechaLimite fecha límite en formato "AAAA-MM-DD"
+     */
+    public TareaUrgente(int id, String nombre, String prioridad, String fechaLimite) {
+        this(id, nombre, Prioridad.desde(prioridad), fechaLimite);
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -49,8 +81,31 @@ public class TareaUrgente extends Tarea implements Accionable {
     /** @return la fecha límite de esta tarea urgente */
     public String getFechaLimite() { return fechaLimite; }
 
+    /** @return la fecha límite en días desde 1970-01-01, o {@link #SIN_FECHA} si no es AAAA-MM-DD */
+    public int getDiaLimite() { return diaLimite; }
+
     /** @param fechaLimite nueva fecha límite */
-    public void setFechaLimite(String fechaLimite) { this.fechaLimite = fechaLimite; }
+    public void setFechaLimite(String fechaLimite) {
+        int anterior = diaLimite;
+        this.fechaLimite = fechaLimite;
+        this.diaLimite   = aDia(fechaLimite);
+        if (observador != null) observador.fechaLimiteCambiada(this, anterior);
+    }
+
+    /**
+     * Convierte "AAAA-MM-DD" a días desde 1970-01-01.
+     *
+     * @param fecha texto de la fecha
+     * @return los días, o {@link #SIN_FECHA} si el texto no es una fecha válida
+     */
+    static int aDia(String fecha) {
+        if (fecha == null) return SIN_FECHA;
+        try {
+            return Math.toIntExact(LocalDate.parse(fecha).toEpochDay());
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return SIN_FECHA;
+        }
+    }
 
     // ─────────────────────────────────────────────────────────────────────────
     //  @Override — método abstracto de Tarea
@@ -91,24 +146,30 @@ public class TareaUrgente extends Tarea implements Accionable {
      */
     @Override
     public String describir() {
-        return String.format("Tarea Urgente #%d | Nombre: %-28s | Prioridad: %-5s | Límite: %-12s | Estado: %s",
-                getId(), getNombre(), getPrioridad(), fechaLimite,
-                isCompletado() ? "Completada" : "Pendiente");
+        StringBuilder texto = new StringBuilder(128);
+        texto.append("Tarea Urgente #").append(getId()).append(" | Nombre: ");
+        RenderizadorTareas.rellenar(texto, getNombre(), 28);
+        texto.append(" | Prioridad: ").append(getPrioridad().getEtiqueta()).append(" | Límite: ");
+        RenderizadorTareas.rellenar(texto, fechaLimite, 12);
+        texto.append(" | Estado: ").append(isCompletado() ? "Completada" : "Pendiente");
+        return texto.toString();
     }
 
     // ─────────────────────────────────────────────────────────────────────────
-    //  @Override toString() — sobreescribir para agregar la fecha
+    //  @Override escribirFila() — sobreescribir para agregar la fecha
     // ─────────────────────────────────────────────────────────────────────────
 
     /**
-     * Sobreescribe {@code toString()} de {@link Tarea} agregando la fecha límite.
+     * Sobreescribe la fila de {@link Tarea} agregando la fecha límite, así
+     * {@code toString()} y {@link RenderizadorTareas} la muestran.
      * Esto es polimorfismo en acción: mismo método, distinto comportamiento.
      *
-     * @return fila formateada con fecha límite incluida
+     * @param destino donde se agrega la fila con fecha límite incluida
      */
     @Override
-    public String toString() {
-        // Llamamos al toString() de la clase padre y le agregamos info
-        return super.toString() + " Límite: " + fechaLimite + " |";
+    void escribirFila(StringBuilder destino) {
+        // Llamamos a la fila de la clase padre y le agregamos info
+        super.escribirFila(destino);
+        destino.append(" Límite: ").append(fechaLimite).append(" |");
     }
 }
@@ -0,0 +1,384 @@
+package smarttask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase {@code VersionesTareas} — fotos inmutables de un {@link GestorTareas}
+ * para leerlo desde otros hilos sin candados (<em>MVCC</em>).
+ *
+ * <p>{@link GestorTareas} es de un solo hilo: recorrer su lista mientras otro
+ * hilo agrega o completa tareas exige un candado global o termina en
+ * {@code ConcurrentModificationException}. Con estas versiones conectadas,
+ * cada cambio del gestor produce una {@link Instantanea} nueva y la publica
+ * con una escritura volátil. Un lector toma la última con {@link #actual()}
+ * en O(1) y la recorre el tiempo que quiera: nunca cambia y nunca frena al
+ * hilo que escribe.</p>
+ *
+ * <p>Cada instantánea es un <em>trie</em> persistente indexado por ID: 32
+ * hijos por nodo, así un millón de IDs caben en cuatro niveles. Un cambio
+ * copia solo el camino de la raíz a la hoja (unos pocos nodos de 32
+ * referencias) y comparte el resto con la versión anterior. Los nodos creados
+ * dentro de un mismo cambio, o de un lote de {@link GestorTareas#agregarLote},
+ * se modifican en el lugar hasta publicarlos (como los <em>transients</em> de
+ * Clojure): un lote de miles de altas se publica una sola vez.</p>
+ *
+ * <p>Las tareas de una instantánea son copias congeladas, sin gestor: sus
+ * datos son los del momento de la foto. Siguen siendo {@link TareaNormal} o
+ * {@link TareaUrgente}, pero sus setters lanzan
+ * {@link UnsupportedOperationException}, porque otras lecturas de la misma
+ * versión las comparten.</p>
+ *
+ * <pre>
+ *   VersionesTareas versiones = new VersionesTareas(gestor);   // en el hilo del gestor
+ *   ...
+ *   VersionesTareas.Instantanea foto = versiones.actual();   // desde cualquier hilo
+ *   for (Tarea t : foto) { ... }
+ * </pre>
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+public final class VersionesTareas {
+
+    /** Bits del ID que consume cada nivel del trie. */
+    private static final int BITS = 5;
+
+    /** Hijos por nodo. */
+    private static final int ANCHO = 1 << BITS;
+
+    private static final int MASCARA = ANCHO - 1;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  ESTADO DEL ESCRITOR (solo lo toca el hilo del gestor)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final GestorTareas gestor;
+
+    /** Raíz en construcción; coincide con la publicada fuera de un cambio. */
+    private Nodo raiz;
+
+    /** Desplazamiento del nivel de la raíz (0 = la raíz es hoja). */
+    private int desplazamiento;
+
+    private int total, pendientes, completadas;
+    private long version;
+
+    /**
+     * Marca de los nodos creados desde la última publicación: solo esos se
+     * pueden modificar en el lugar. Se reemplaza al publicar.
+     */
+    private Object edicion = new Object();
+
+    /** Lotes abiertos; mientras sea mayor que cero no se publica. */
+    private int enLote;
+
+    /** Última versión publicada. */
+    private volatile Instantanea actual;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  CONSTRUCTOR
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Toma la primera foto del gestor y se conecta a él: desde aquí cada
+     * cambio publica una versión nueva. Debe crearse en el hilo del gestor.
+     *
+     * @param gestor gestor a versionar
+     * @throws IllegalStateException si el gestor ya tiene versiones
+     */
+    public VersionesTareas(GestorTareas gestor) {
+        if (gestor.versiones != null) throw new IllegalStateException("El gestor ya tiene versiones");
+        this.gestor = gestor;
+        for (Tarea t : gestor.vistaPorId()) alAgregar(t, false);
+        publicar();
+        gestor.versiones = this;
+    }
+
+    /**
+     * @return la última versión publicada; O(1) y sin candados, desde
+     *         cualquier hilo
+     */
+    public Instantanea actual() {
+        return actual;
+    }
+
+    /** Desconecta las versiones del gestor; {@link #actual()} queda en la última. */
+    public void cerrar() {
+        if (gestor.versiones == this) gestor.versiones = null;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  CAMBIOS (de paquete: los avisa el gestor, en su hilo)
+    // ════════════════════════════════════════════════════════════════════════
+
+    /** @param tarea tarea recién agregada al gestor */
+    void alAgregar(Tarea tarea) {
+        alAgregar(tarea, true);
+    }
+
+    /** @param tarea tarea que cambió de estado, nombre, prioridad o fecha */
+    void alCambiar(Tarea tarea) {
+        Tarea anterior = buscar(raiz, desplazamiento, tarea.getId());
+        if (anterior != null) contar(anterior, -1);
+        asignar(tarea.getId(), congelar(tarea));
+        contar(tarea, +1);
+        if (enLote == 0) publicar();
+    }
+
+    /** @param id ID de la tarea recién eliminada */
+    void alEliminar(int id) {
+        Tarea anterior = buscar(raiz, desplazamiento, id);
+        if (anterior == null) return;
+        contar(anterior, -1);
+        asignar(id, null);
+        if (enLote == 0) publicar();
+    }
+
+    /** Junta los cambios siguientes en una sola versión, hasta {@link #terminarLote()}. */
+    void iniciarLote() {
+        enLote++;
+    }
+
+    /** Cierra un lote y, si era el último abierto, publica. */
+    void terminarLote() {
+        if (--enLote == 0) publicar();
+    }
+
+    private void alAgregar(Tarea tarea, boolean publicar) {
+        asignar(tarea.getId(), congelar(tarea));
+        contar(tarea, +1);
+        if (publicar && enLote == 0) publicar();
+    }
+
+    private void contar(Tarea tarea, int cambio) {
+        total += cambio;
+        if (tarea.isCompletado()) completadas += cambio;
+        else                      pendientes  += cambio;
+    }
+
+    private void publicar() {
+        actual = new Instantanea(raiz, desplazamiento, total, pendientes, completadas, ++version);
+        edicion = new Object(); // lo publicado ya no se toca
+    }
+
+    /** Copia inmutable y sin gestor con los datos actuales de la tarea. */
+    private static Tarea congelar(Tarea t) {
+        return t instanceof TareaUrgente u ? new UrgenteCongelada(u) : new NormalCongelada(t);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  TRIE PERSISTENTE
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /** Nodo del trie: hijos {@link Nodo} en los niveles internos, {@link Tarea} en las hojas. */
+    private static final class Nodo {
+        final Object edicion;
+        final Object[] hijos;
+        int ocupados;
+
+        Nodo(Object edicion) {
+            this.edicion = edicion;
+            this.hijos = new Object[ANCHO];
+        }
+
+        Nodo(Object edicion, Nodo original) {
+            this.edicion = edicion;
+            this.hijos = original.hijos.clone();
+            this.ocupados = original.ocupados;
+        }
+    }
+
+    /** Pone (o quita, con {@code null}) la tarea de un ID, copiando el camino si hace falta. */
+    private void asignar(int id, Tarea valor) {
+        while (valor != null && (id >>> desplazamiento) >= ANCHO) { // crecer un nivel
+            Nodo nueva = new Nodo(edicion);
+            if (raiz != null) {
+                nueva.hijos[0] = raiz;
+                nueva.ocupados = 1;
+            }
+            raiz = nueva;
+            desplazamiento += BITS;
+        }
+        if ((id >>> desplazamiento) >= ANCHO) return; // quitar un ID fuera de rango: no estaba
+        raiz = asignar(raiz, desplazamiento, id, valor);
+    }
+
+    private Nodo asignar(Nodo nodo, int nivel, int id, Tarea valor) {
+        if (nodo == null && valor == null) return null;
+        Nodo n = nodo == null ? new Nodo(edicion)
+               : nodo.edicion == edicion ? nodo
+               : new Nodo(edicion, nodo);
+        int i = (id >>> nivel) & MASCARA;
+        Object antes = n.hijos[i];
+        Object despues = nivel == 0 ? valor : asignar((Nodo) antes, nivel - BITS, id, valor);
+        n.hijos[i] = despues;
+        if (antes == null && despues != null) n.ocupados++;
+        if (antes != null && despues == null) n.ocupados--;
+        return n.ocupados == 0 ? null : n; // los nodos vacíos se podan
+    }
+
+    private static Tarea buscar(Nodo raiz, int desplazamiento, int id) {
+        if (id < 0 || (id >>> desplazamiento) >= ANCHO) return null;
+        Nodo n = raiz;
+        for (int nivel = desplazamiento; n != null; nivel -= BITS) {
+            Object hijo = n.hijos[(id >>> nivel) & MASCARA];
+            if (nivel == 0) return (Tarea) hijo;
+            n = (Nodo) hijo;
+        }
+        return null;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    //  TAREAS CONGELADAS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private static UnsupportedOperationException congelada() {
+        return new UnsupportedOperationException("Las tareas de una instantánea no se pueden modificar");
+    }
+
+    /** {@link TareaNormal} de una instantánea: se lee, no se modifica. */
+    private static final class NormalCongelada extends TareaNormal {
+        NormalCongelada(Tarea t) {
+            super(t.getId(), t.getNombre(), t.getPrioridad());
+            super.setCompletado(t.isCompletado()); // sin observador: no avisa a nadie
+        }
+
+        @Override public void setNombre(String nombre)         { throw congelada(); }
+        @Override public void setPrioridad(Prioridad prioridad) { throw congelada(); }
+        @Override public void setPrioridad(String prioridad)    { throw congelada(); }
+        @Override public void setCompletado(boolean completado) { throw congelada(); }
+    }
+
+    /** {@link TareaUrgente} de una instantánea: se lee, no se modifica. */
+    private static final class UrgenteCongelada extends TareaUrgente {
+        UrgenteCongelada(TareaUrgente t) {
+            super(t.getId(), t.getNombre(), t.getPrioridad(), t.getFechaLimite());
+            super.setCompletado(t.isCompletado()); // sin observador: no avisa a nadie
+        }
+
+        @Override public void setNombre(String nombre)           { throw congelada(); }
+        @Override public void setPrioridad(Prioridad prioridad)   { throw congelada(); }
+        @Override public void setPrioridad(String prioridad)      { throw congelada(); }
+        @Override public void setCompletado(boolean completado)   { throw congelada(); }
+        @Override public void setFechaLimite(String fechaLimite)  { throw congelada(); }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  INSTANTÁNEA
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Foto inmutable del gestor en un momento dado. Se puede leer desde
+     * cualquier hilo y recorrer en orden de ID.
+     */
+    public static final class Instantanea implements Iterable<Tarea> {
+        private final Nodo raiz;
+        private final int desplazamiento;
+        private final int total, pendientes, completadas;
+        private final long version;
+
+        private Instantanea(Nodo raiz, int desplazamiento, int total, int pendientes, int completadas, long version) {
+            this.raiz           = raiz;
+            this.desplazamiento = desplazamiento;
+            this.total          = total;
+            this.pendientes     = pendientes;
+            this.completadas    = completadas;
+            this.version        = version;
+        }
+
+        /** @return número de versión, creciente desde 1 */
+        public long getVersion() { return version; }
+
+        /** @return cantidad de tareas en esta versión */
+        public int getTotalTareas() { return total; }
+
+        /** @return cantidad de tareas pendientes en esta versión */
+        public int getTotalPendientes() { return pendientes; }
+
+        /** @return cantidad de tareas completadas en esta versión */
+        public int getTotalCompletadas() { return completadas; }
+
+        /**
+         * @param id ID a buscar
+         * @return la tarea tal como estaba en esta versión, o {@code null}
+         */
+        public Tarea buscarPorId(int id) {
+            return buscar(raiz, desplazamiento, id);
+        }
+
+        /** @return todas las tareas de esta versión, en orden de ID */
+        public List<Tarea> obtenerTodas() {
+            return copiar(total, null);
+        }
+
+        /** @return las tareas pendientes de esta versión, en orden de ID */
+        public List<Tarea> obtenerPendientes() {
+            return copiar(pendientes, Boolean.FALSE);
+        }
+
+        /** @return las tareas completadas de esta versión, en orden de ID */
+        public List<Tarea> obtenerCompletadas() {
+            return copiar(completadas, Boolean.TRUE);
+        }
+
+        private List<Tarea> copiar(int cantidad, Boolean completada) {
+            List<Tarea> resultado = new ArrayList<>(cantidad);
+            for (Tarea t : this) {
+                if (completada == null || t.isCompletado() == completada) resultado.add(t);
+            }
+            return resultado;
+        }
+
+        /** Recorre las hojas en orden de ID sin copiar nada. */
+        @Override
+        public Iterator<Tarea> iterator() {
+            return new Iterator<Tarea>() {
+                private final Nodo[] nodos = new Nodo[desplazamiento / BITS + 1];
+                private final int[] posiciones = new int[nodos.length];
+                private int profundidad = raiz == null ? -1 : 0;
+                private Tarea siguiente;
+
+                {
+                    nodos[0] = raiz;
+                    avanzar();
+                }
+
+                /** Baja por el trie hasta la próxima hoja ocupada. */
+                private void avanzar() {
+                    siguiente = null;
+                    while (profundidad >= 0) {
+                        int i = posiciones[profundidad]++;
+                        if (i == ANCHO) {
+                            profundidad--;
+                            continue;
+                        }
+                        Object hijo = nodos[profundidad].hijos[i];
+                        if (hijo == null) continue;
+                        if (profundidad == nodos.length - 1) {
+                            siguiente = (Tarea) hijo;
+                            return;
+                        }
+                        nodos[++profundidad] = (Nodo) hijo;
+                        posiciones[profundidad] = 0;
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente != null;
+                }
+
+                @Override
+                public Tarea next() {
+                    if (siguiente == null) throw new NoSuchElementException();
+                    Tarea t = siguiente;
+                    avanzar();
+                    return t;
+                }
+            };
+        }
+    }
+}
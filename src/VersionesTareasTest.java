@@ -0,0 +1,193 @@
+package smarttask;
+
+/**
+ * Pruebas de {@link VersionesTareas}: versiones viejas que no cambian,
+ * coincidencia con el gestor tras cambios al azar, lotes publicados de una
+ * vez y lectores concurrentes con un escritor.
+ *
+ * @author Sabina Romero
+ * @version 1.0
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de las versiones para lectores concurrentes")
+class VersionesTareasTest {
+
+    private GestorTareas gestor;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas(false);
+    }
+
+    /** Compara una versión con el estado actual del gestor, campo por campo. */
+    private void assertIgual(VersionesTareas.Instantanea foto) {
+        List<Tarea> esperadas = gestor.obtenerTodas();
+        List<Tarea> obtenidas = foto.obtenerTodas();
+        assertEquals(esperadas.size(), obtenidas.size());
+        for (int i = 0; i < esperadas.size(); i++) {
+            Tarea e = esperadas.get(i), o = obtenidas.get(i);
+            assertEquals(e.getId(), o.getId());
+            assertEquals(e.getNombre(), o.getNombre());
+            assertEquals(e.getPrioridad(), o.getPrioridad());
+            assertEquals(e.isCompletado(), o.isCompletado());
+            assertEquals(e instanceof TareaUrgente, o instanceof TareaUrgente);
+        }
+        assertEquals(gestor.getTotalPendientes(), foto.getTotalPendientes());
+        assertEquals(gestor.getTotalCompletadas(), foto.getTotalCompletadas());
+        assertEquals(gestor.obtenerPendientes().size(), foto.obtenerPendientes().size());
+    }
+
+    @Test
+    @DisplayName("Una versión vieja no cambia aunque el gestor sí")
+    void testVersionViejaInmutable() {
+        gestor.agregarTareaNormalLogica("Estudiar", Prioridad.ALTA);
+        gestor.agregarTareaUrgenteLogica("Entregar", Prioridad.ALTA, "2026-03-01");
+        VersionesTareas versiones = new VersionesTareas(gestor);
+        VersionesTareas.Instantanea antes = versiones.actual();
+
+        gestor.agregarTareaNormalLogica("Leer", Prioridad.BAJA);
+        gestor.marcarComoCompletada(1);
+        gestor.buscarPorId(2).setNombre("Entregar informe");
+        gestor.eliminarTarea(2);
+
+        assertEquals(2, antes.getTotalTareas());
+        assertEquals(2, antes.getTotalPendientes());
+        assertFalse(antes.buscarPorId(1).isCompletado());
+        assertEquals("Entregar", antes.buscarPorId(2).getNombre());
+        assertNull(antes.buscarPorId(3));
+
+        // Las tareas de una versión las comparten todos sus lectores: no se tocan
+        Tarea normal = antes.buscarPorId(1);
+        TareaUrgente urgente = (TareaUrgente) antes.buscarPorId(2);
+        assertThrows(UnsupportedOperationException.class, () -> normal.setNombre("Otro"));
+        assertThrows(UnsupportedOperationException.class, () -> normal.setPrioridad(Prioridad.BAJA));
+        assertThrows(UnsupportedOperationException.class, () -> normal.setPrioridad("BAJA"));
+        assertThrows(UnsupportedOperationException.class, () -> normal.setCompletado(true));
+        assertThrows(UnsupportedOperationException.class, () -> ((Accionable) normal).ejecutar());
+        assertThrows(UnsupportedOperationException.class, () -> urgente.setFechaLimite("2026-04-01"));
+        assertThrows(UnsupportedOperationException.class, () -> urgente.setCompletado(true));
+        assertEquals("Entregar", urgente.getNombre());
+        assertEquals("2026-03-01", urgente.getFechaLimite());
+        assertFalse(normal.isCompletado());
+
+        VersionesTareas.Instantanea despues = versiones.actual();
+        assertTrue(despues.getVersion() > antes.getVersion());
+        assertTrue(despues.buscarPorId(1).isCompletado());
+        assertNull(despues.buscarPorId(2));
+        assertIgual(despues);
+
+        versiones.cerrar();
+        gestor.agregarTareaNormalLogica("Sin versionar", Prioridad.MEDIA);
+        assertSame(despues, versiones.actual());
+        new VersionesTareas(gestor); // se puede volver a conectar
+        assertThrows(IllegalStateException.class, () -> new VersionesTareas(gestor));
+    }
+
+    @Test
+    @DisplayName("Tras cambios al azar la versión actual coincide con el gestor")
+    void testCoincideConGestor() {
+        VersionesTareas versiones = new VersionesTareas(gestor);
+        Random azar = new Random(22);
+        List<Integer> vivas = new ArrayList<>();
+        for (int paso = 0; paso < 5_000; paso++) {
+            int op = azar.nextInt(10);
+            if (op < 5 || vivas.isEmpty()) {
+                Tarea t = op == 0
+                        ? gestor.agregarTareaUrgenteLogica("U" + paso, Prioridad.ALTA, "2026-0" + (1 + azar.nextInt(9)) + "-10")
+                        : gestor.agregarTareaNormalLogica("N" + paso, Prioridad.MEDIA);
+                vivas.add(t.getId());
+            } else {
+                int id = vivas.get(azar.nextInt(vivas.size()));
+                switch (op) {
+                    case 5, 6 -> gestor.marcarComoCompletada(id);
+                    case 7 -> gestor.buscarPorId(id).setCompletado(false);
+                    case 8 -> gestor.buscarPorId(id).setPrioridad(Prioridad.BAJA);
+                    default -> {
+                        gestor.eliminarTarea(id);
+                        vivas.remove(Integer.valueOf(id));
+                    }
+                }
+            }
+        }
+        // IDs grandes y desordenados: el trie crece varios niveles
+        gestor.insertar(new TareaNormal(40_000_000, "Lejana", Prioridad.BAJA));
+        gestor.insertar(new TareaNormal(7_000, "Intermedia", Prioridad.BAJA));
+        assertIgual(versiones.actual());
+        assertEquals("Lejana", versiones.actual().buscarPorId(40_000_000).getNombre());
+
+        gestor.eliminarTarea(40_000_000);
+        for (int id : vivas) gestor.eliminarTarea(id);
+        assertIgual(versiones.actual());
+        assertEquals(1, versiones.actual().getTotalTareas());
+    }
+
+    @Test
+    @DisplayName("Un lote de altas se publica como una sola versión")
+    void testLoteUnaVersion() {
+        VersionesTareas versiones = new VersionesTareas(gestor);
+        long inicial = versiones.actual().getVersion();
+        int primero = gestor.reservarIds(1_000);
+        List<Tarea> lote = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) lote.add(new TareaNormal(primero + i, "Lote " + i, Prioridad.MEDIA));
+
+        gestor.agregarLote(lote);
+
+        assertEquals(inicial + 1, versiones.actual().getVersion());
+        assertEquals(1_000, versiones.actual().getTotalTareas());
+        assertIgual(versiones.actual());
+    }
+
+    @Test
+    @DisplayName("Los lectores ven versiones coherentes mientras el escritor avanza")
+    void testLectoresConcurrentes() throws Exception {
+        VersionesTareas versiones = new VersionesTareas(gestor);
+        AtomicBoolean terminado = new AtomicBoolean();
+        List<Future<Long>> lecturas = new ArrayList<>();
+        try (ExecutorService hilos = Executors.newFixedThreadPool(3)) {
+            for (int l = 0; l < 3; l++) {
+                lecturas.add(hilos.submit(() -> {
+                    long recorridas = 0, ultima = 0;
+                    do {
+                        VersionesTareas.Instantanea foto = versiones.actual();
+                        assertTrue(foto.getVersion() >= ultima);
+                        ultima = foto.getVersion();
+                        int contadas = 0, completadas = 0, anterior = -1;
+                        for (Tarea t : foto) {
+                            assertTrue(t.getId() > anterior);
+                            anterior = t.getId();
+                            contadas++;
+                            if (t.isCompletado()) completadas++;
+                        }
+                        assertEquals(foto.getTotalTareas(), contadas);
+                        assertEquals(foto.getTotalCompletadas(), completadas);
+                        assertEquals(foto.getTotalTareas(), foto.getTotalPendientes() + foto.getTotalCompletadas());
+                        recorridas++;
+                    } while (!terminado.get());
+                    return recorridas;
+                }));
+            }
+            for (int i = 1; i <= 20_000; i++) {
+                gestor.agregarTareaNormalLogica("Tarea " + i, Prioridad.MEDIA);
+                if (i % 3 == 0) gestor.marcarComoCompletada(i - 1);
+                if (i % 7 == 0) gestor.eliminarTarea(i - 5);
+            }
+            terminado.set(true);
+        }
+        for (Future<Long> f : lecturas) assertTrue(f.get() > 0);
+        assertIgual(versiones.actual());
+    }
+}